@@ -0,0 +1,114 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.benchmarks;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.openliberty.tools.eclipse.CommandBuilder;
+import io.openliberty.tools.eclipse.utils.Utils;
+
+/**
+ * Measures the building of the dev mode command lines. The projects contain Maven and Gradle wrappers so that the commands are found
+ * without the plugin preferences.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandBuilderBenchmark {
+
+    /** The directory holding the synthetic projects. */
+    private Path workspaceDir;
+
+    /** The Maven project path. */
+    private String mavenProjectPath;
+
+    /** The Gradle project path. */
+    private String gradleProjectPath;
+
+    /** The PATH environment variable. */
+    private String pathEnv;
+
+    @Setup
+    public void setup() throws Exception {
+        workspaceDir = Files.createTempDirectory("commandBuilderBenchmark");
+        boolean windows = Utils.isWindows();
+
+        Path mavenDir = Files.createDirectories(workspaceDir.resolve("mavenApp"));
+        Files.createFile(mavenDir.resolve(windows ? "mvnw.cmd" : "mvnw"));
+        Path mavenWrapperDir = Files.createDirectories(mavenDir.resolve(".mvn").resolve("wrapper"));
+        Files.createFile(mavenWrapperDir.resolve("maven-wrapper.jar"));
+        Files.createFile(mavenWrapperDir.resolve("maven-wrapper.properties"));
+        mavenProjectPath = mavenDir.toString();
+
+        Path gradleDir = Files.createDirectories(workspaceDir.resolve("gradleApp"));
+        Files.createFile(gradleDir.resolve(windows ? "gradlew.bat" : "gradlew"));
+        Path gradleWrapperDir = Files.createDirectories(gradleDir.resolve("gradle").resolve("wrapper"));
+        Files.createFile(gradleWrapperDir.resolve("gradle-wrapper.jar"));
+        Files.createFile(gradleWrapperDir.resolve("gradle-wrapper.properties"));
+        gradleProjectPath = gradleDir.toString();
+
+        pathEnv = System.getenv("PATH");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        try (Stream<Path> paths = Files.walk(workspaceDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    /**
+     * Builds the Maven dev mode command line.
+     *
+     * @return The command line.
+     *
+     * @throws Exception
+     */
+    @Benchmark
+    public String getMavenCommandLine() throws Exception {
+        return CommandBuilder.getMavenCommandLine(mavenProjectPath, "io.openliberty.tools:liberty-maven-plugin:dev -f pom.xml",
+                pathEnv, true);
+    }
+
+    /**
+     * Builds the Gradle dev mode command line.
+     *
+     * @return The command line.
+     *
+     * @throws Exception
+     */
+    @Benchmark
+    public String getGradleCommandLine() throws Exception {
+        return CommandBuilder.getGradleCommandLine(gradleProjectPath, "libertyDev -b=build.gradle", pathEnv, true);
+    }
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationDelegateLauncher.RuntimeEnv;
+import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationHelper;
+
+/**
+ * Measures the filtering of the Liberty launch configurations done each time a project is started from the dashboard. There are two
+ * configurations per project in the synthetic workspace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LaunchConfigurationBenchmark {
+
+    /** The number of projects in the synthetic workspace. */
+    @Param({ "10", "100", "1000", "5000" })
+    public int projectCount;
+
+    /** The launch configurations. */
+    private ILaunchConfiguration[] configurations;
+
+    /** The launch configuration helper. */
+    private LaunchConfigurationHelper helper;
+
+    /** The project whose configurations are filtered. */
+    private String projectName;
+
+    @Setup
+    public void setup() {
+        configurations = StubWorkspace.createLaunchConfigurations(projectCount * 2, projectCount);
+        helper = LaunchConfigurationHelper.getInstance();
+        projectName = "project" + (projectCount / 2);
+    }
+
+    /**
+     * Filters the launch configurations of a project for a local run.
+     *
+     * @return The matching configurations.
+     *
+     * @throws Exception
+     */
+    @Benchmark
+    public List<ILaunchConfiguration> filterLaunchConfigurations() throws Exception {
+        return helper.filterLaunchConfigurations(configurations, projectName, RuntimeEnv.LOCAL);
+    }
+}
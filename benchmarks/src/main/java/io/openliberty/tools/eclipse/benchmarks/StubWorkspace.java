@@ -0,0 +1,288 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.IResourceProxyVisitor;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.debug.core.ILaunchConfiguration;
+
+import io.openliberty.tools.eclipse.LibertyNature;
+import io.openliberty.tools.eclipse.Project;
+import io.openliberty.tools.eclipse.ui.launch.StartTab;
+
+/**
+ * Synthetic workspaces backed by stub IProject implementations. The stubs are dynamic proxies that answer the calls made by the
+ * project model and return default values for all other calls. No Eclipse runtime is needed.
+ */
+public class StubWorkspace {
+
+    /** The number of modules in each multi-module project. */
+    public static final int MODULES_PER_PARENT = 19;
+
+    /** The project relative path of the server.xml file of the modules that contain Liberty server configuration. */
+    private static final String SERVER_XML = Project.LIBERTY_CONFIG_DIR + "/server.xml";
+
+    /**
+     * Creates a synthetic workspace with the input number of projects. The workspace consists of multi-module Maven projects, each
+     * with a parent project and {@link #MODULES_PER_PARENT} modules. Every fourth module contains Liberty server configuration. The
+     * remaining projects are standalone Gradle projects with Liberty server configuration.
+     *
+     * @param projectCount The number of projects in the workspace.
+     *
+     * @return The workspace projects.
+     */
+    public static List<IProject> createWorkspace(int projectCount) {
+        List<IProject> projects = new ArrayList<IProject>(projectCount);
+        IPath workspaceLocation = new Path("/benchmark/ws");
+
+        int parentCount = projectCount / (MODULES_PER_PARENT + 1);
+        for (int i = 0; i < parentCount; i++) {
+            IPath parentLocation = workspaceLocation.append("parent" + i);
+            projects.add(createProject("parent" + i, parentLocation, Project.MAVEN_NATURE, false));
+            for (int j = 0; j < MODULES_PER_PARENT; j++) {
+                projects.add(createProject("parent" + i + "-module" + j, parentLocation.append("module" + j), Project.MAVEN_NATURE,
+                        j % 4 == 0));
+            }
+        }
+
+        for (int i = projects.size(); i < projectCount; i++) {
+            projects.add(createProject("gradleApp" + i, workspaceLocation.append("gradleApp" + i), Project.GRADLE_NATURE, true));
+        }
+
+        return projects;
+    }
+
+    /**
+     * Creates a stub project.
+     *
+     * @param name The project name.
+     * @param location The project location.
+     * @param buildNature The Maven or Gradle nature.
+     * @param hasServerConfig True if the project contains Liberty server configuration.
+     *
+     * @return A stub project.
+     */
+    public static IProject createProject(String name, IPath location, String buildNature, boolean hasServerConfig) {
+        // The Liberty nature is reported as present to avoid updates to the project description.
+        String[] natureIds = new String[] { buildNature, Project.JAVA_NATURE_ID, LibertyNature.NATURE_ID };
+        IProjectDescription description = stub(IProjectDescription.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+            case "getNatureIds":
+                return natureIds.clone();
+            case "hasNature":
+                for (String natureId : natureIds) {
+                    if (natureId.equals(args[0])) {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                return defaultValue(method.getReturnType());
+            }
+        });
+
+        IFile buildFile = stubFile(true);
+        IFile missingFile = stubFile(false);
+
+        return stub(IProject.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+            case "getName":
+                return name;
+            case "getLocation":
+            case "getRawLocation":
+                return location;
+            case "isOpen":
+            case "exists":
+            case "isAccessible":
+                return true;
+            case "getDescription":
+                return description;
+            case "getFile":
+                String path = args[0].toString();
+                return (path.equals("pom.xml") || path.equals("build.gradle") || (hasServerConfig && path.equals(SERVER_XML)))
+                        ? buildFile
+                        : missingFile;
+            case "members":
+                return new IResource[0];
+            case "accept":
+                if (args.length == 2 && args[0] instanceof IResourceProxyVisitor) {
+                    visit((IResourceProxyVisitor) args[0], name, Path.EMPTY, IResource.PROJECT, hasServerConfig);
+                }
+                return null;
+            case "getAdapter":
+                return null;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "P/" + name;
+            default:
+                return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    /**
+     * Creates the input number of stub launch configurations. The configurations are spread over the input number of projects and
+     * alternate between local and container runs.
+     *
+     * @param configCount The number of configurations.
+     * @param projectCount The number of projects the configurations are associated with.
+     *
+     * @return The stub launch configurations.
+     */
+    public static ILaunchConfiguration[] createLaunchConfigurations(int configCount, int projectCount) {
+        ILaunchConfiguration[] configs = new ILaunchConfiguration[configCount];
+        for (int i = 0; i < configCount; i++) {
+            Map<String, Object> attributes = Map.of(StartTab.PROJECT_NAME, "project" + (i % projectCount),
+                    StartTab.PROJECT_RUN_IN_CONTAINER, i % 2 == 0, StartTab.PROJECT_RUN_TIME, Long.toString(1000000000000L + i));
+            String configName = "config" + i;
+            configs[i] = stub(ILaunchConfiguration.class, (proxy, method, args) -> {
+                switch (method.getName()) {
+                case "getName":
+                    return configName;
+                case "getAttribute":
+                    Object value = attributes.get(args[0]);
+                    return (value == null) ? args[1] : value;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return configName;
+                default:
+                    return defaultValue(method.getReturnType());
+                }
+            });
+        }
+        return configs;
+    }
+
+    /**
+     * Visits the input stub resource and, if requested by the visitor, its members. The members of a project are the folders leading
+     * to its server.xml file, if any.
+     *
+     * @param visitor The visitor.
+     * @param projectName The project name.
+     * @param relativePath The project relative path of the resource.
+     * @param type The resource type.
+     * @param hasServerConfig True if the project contains Liberty server configuration.
+     */
+    private static void visit(IResourceProxyVisitor visitor, String projectName, IPath relativePath, int type,
+            boolean hasServerConfig) {
+        IPath fullPath = new Path("/" + projectName).append(relativePath);
+        IResourceProxy resourceProxy = stub(IResourceProxy.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+            case "getType":
+                return type;
+            case "getName":
+                return (type == IResource.PROJECT) ? projectName : relativePath.lastSegment();
+            case "requestFullPath":
+                return fullPath;
+            default:
+                return defaultValue(method.getReturnType());
+            }
+        });
+
+        try {
+            if (!visitor.visit(resourceProxy) || type == IResource.FILE || !hasServerConfig) {
+                return;
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+
+        IPath serverXml = new Path(SERVER_XML);
+        int depth = relativePath.segmentCount();
+        if (depth < serverXml.segmentCount()) {
+            int memberType = (depth + 1 == serverXml.segmentCount()) ? IResource.FILE : IResource.FOLDER;
+            visit(visitor, projectName, serverXml.uptoSegment(depth + 1), memberType, hasServerConfig);
+        }
+    }
+
+    /**
+     * Creates a stub file.
+     *
+     * @param exists The value returned by exists().
+     *
+     * @return A stub file.
+     */
+    private static IFile stubFile(boolean exists) {
+        return stub(IFile.class, (proxy, method, args) -> {
+            if (method.getName().equals("exists")) {
+                return exists;
+            }
+            return defaultValue(method.getReturnType());
+        });
+    }
+
+    /**
+     * Creates a dynamic proxy implementing the input interface.
+     *
+     * @param type The interface to implement.
+     * @param handler The invocation handler.
+     *
+     * @return A dynamic proxy implementing the input interface.
+     */
+    private static <T> T stub(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StubWorkspace.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    /**
+     * Returns the default value of the input type: false or zero for primitives, null otherwise.
+     *
+     * @param type The type.
+     *
+     * @return The default value of the input type.
+     */
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == float.class) {
+            return 0f;
+        }
+        if (type == double.class) {
+            return 0d;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return (byte) 0;
+    }
+}
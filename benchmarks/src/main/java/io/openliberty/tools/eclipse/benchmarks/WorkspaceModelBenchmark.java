@@ -0,0 +1,87 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.openliberty.tools.eclipse.WorkspaceProjectsModel;
+
+/**
+ * Measures the complete build of the workspace project model (WorkspaceProjectsModel.buildMultiProjectModel) and the computation of
+ * the dashboard content for synthetic workspaces of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkspaceModelBenchmark {
+
+    /** The number of projects in the synthetic workspace. */
+    @Param({ "10", "100", "1000", "5000" })
+    public int projectCount;
+
+    /** True if the model is built in parallel once the workspace is large enough. */
+    @Param({ "false", "true" })
+    public boolean parallelBuild;
+
+    /** The synthetic workspace projects. */
+    private List<IProject> projects;
+
+    /** A model built from the synthetic workspace. */
+    private WorkspaceProjectsModel builtModel;
+
+    @Setup
+    public void setup() {
+        projects = StubWorkspace.createWorkspace(projectCount);
+        builtModel = new WorkspaceProjectsModel(parallelBuild);
+        builtModel.createNewCompleteWorkspaceModel(projects, true);
+    }
+
+    /**
+     * Builds a new model from the synthetic workspace and classifies its projects.
+     *
+     * @return The model.
+     */
+    @Benchmark
+    public WorkspaceProjectsModel buildMultiProjectModel() {
+        WorkspaceProjectsModel model = new WorkspaceProjectsModel(parallelBuild);
+        model.createNewCompleteWorkspaceModel(projects, true);
+        return model;
+    }
+
+    /**
+     * Computes the dashboard content from a built model.
+     *
+     * @return The sorted dashboard project names.
+     */
+    @Benchmark
+    public List<String> getSortedDashboardProjectList() {
+        return builtModel.getSortedDashboardProjectList();
+    }
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.runtime.IPath;
+
+import io.openliberty.tools.eclipse.ServerConfigDetector.ConfigLocations;
+
+/**
+ * Visits the resource delta of a project to find the changes that affect the project's classification: changes to the build files
+ * at the root of the project, and Liberty server configuration files added to or removed from the project's configuration locations.
+ * Only the folders leading to a configuration location are visited.
+ */
+public class BuildConfigDeltaVisitor implements IResourceDeltaVisitor {
+
+    /** The build files, relative to the project, that determine the build type and the Liberty configuration locations. */
+    public static final List<String> BUILD_FILE_NAMES = Collections
+            .unmodifiableList(Arrays.asList("pom.xml", "build.gradle", "settings.gradle"));
+
+    /** The file delta flags that denote a change of the file's content. */
+    private static final int CONTENT_FLAGS = IResourceDelta.CONTENT | IResourceDelta.REPLACED | IResourceDelta.MOVED_FROM
+            | IResourceDelta.MOVED_TO;
+
+    /** The project relative configuration directories. */
+    private final Set<IPath> configDirs = new HashSet<IPath>();
+
+    /** The project relative configuration files. */
+    private final Set<IPath> configFiles = new HashSet<IPath>();
+
+    /** True if a build file was added, removed or changed. */
+    private boolean buildFileChanged;
+
+    /** True if a configuration file was added or removed. */
+    private boolean configChanged;
+
+    /**
+     * Constructor.
+     *
+     * @param projectLocation The project location.
+     * @param locations The Liberty server configuration locations of the project. Locations outside the project are ignored.
+     */
+    public BuildConfigDeltaVisitor(IPath projectLocation, ConfigLocations locations) {
+        if (projectLocation != null && locations != null) {
+            for (IPath configDir : locations.getConfigDirs()) {
+                if (projectLocation.isPrefixOf(configDir)) {
+                    configDirs.add(configDir.makeRelativeTo(projectLocation));
+                }
+            }
+            for (IPath configFile : locations.getConfigFiles()) {
+                if (projectLocation.isPrefixOf(configFile)) {
+                    configFiles.add(configFile.makeRelativeTo(projectLocation));
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean visit(IResourceDelta delta) {
+        IResource resource = delta.getResource();
+        switch (resource.getType()) {
+        case IResource.PROJECT:
+            return true;
+        case IResource.FOLDER:
+            return ServerConfigDetector.leadsToConfigLocation(resource.getProjectRelativePath(), configDirs, configFiles);
+        case IResource.FILE:
+            IPath path = resource.getProjectRelativePath();
+            boolean addedOrRemoved = delta.getKind() == IResourceDelta.ADDED || delta.getKind() == IResourceDelta.REMOVED;
+            if (path.segmentCount() == 1 && BUILD_FILE_NAMES.contains(path.lastSegment())) {
+                if (addedOrRemoved || (delta.getFlags() & CONTENT_FLAGS) != 0) {
+                    buildFileChanged = true;
+                }
+            } else if (addedOrRemoved && (configFiles.contains(path) || (configDirs.contains(path.removeLastSegments(1))
+                    && ServerConfigDetector.CONFIG_FILE_NAMES.contains(path.lastSegment())))) {
+                configChanged = true;
+            }
+            return false;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Returns true if a build file was added, removed or changed. False, otherwise.
+     *
+     * @return True if a build file was added, removed or changed. False, otherwise.
+     */
+    public boolean isBuildFileChanged() {
+        return buildFileChanged;
+    }
+
+    /**
+     * Returns true if the project must be classified again. False, otherwise.
+     *
+     * @return True if a build file changed or if a configuration file was added or removed. False, otherwise.
+     */
+    public boolean isReclassificationNeeded() {
+        return buildFileChanged || configChanged;
+    }
+}
@@ -0,0 +1,339 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.launching.IVMInstall;
+import org.eclipse.jdt.launching.JavaRuntime;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.ui.preferences.LibertyToolsPreferencePage;
+
+/**
+ * Keeps pre-started Maven and Gradle build JVMs ready for dev mode launches. Gradle daemons are started through the Gradle launch
+ * engine with the same Gradle distribution and Java installation the terminal uses, so that the Gradle client run on the terminal
+ * connects to an idle warm daemon. Maven daemons are started with the Maven daemon client (mvnd) when it is available in the PATH.
+ * Each time a launch uses a warm daemon, a replacement daemon is started in the background.
+ */
+public class BuildDaemonPool {
+
+    /** The family of jobs that start build daemons. */
+    public static final Object FAMILY = BuildDaemonPool.class;
+
+    /** The maximum number of distinct build daemons pre-started when the dashboard content is computed. */
+    public static final int MAX_PRESTARTED_DAEMONS = 3;
+
+    /** The time after which a warm daemon is started again because the build tool may have stopped it. */
+    public static final long DAEMON_REFRESH_MS = TimeUnit.HOURS.toMillis(1);
+
+    /** The maximum time to wait for a Maven daemon to start. */
+    private static final long MAVEN_DAEMON_START_TIMEOUT_SECONDS = 120;
+
+    /** The daemons started or being started. */
+    private final Map<DaemonKey, WarmDaemon> daemons = new ConcurrentHashMap<DaemonKey, WarmDaemon>();
+
+    /** The last measured build JVM start latency, in milliseconds, by project name. */
+    private final Map<String, Long> startLatencies = new ConcurrentHashMap<String, Long>();
+
+    /** PATH environment variable. */
+    private final String pathEnv;
+
+    /**
+     * Constructor.
+     *
+     * @param pathEnv The PATH environment variable.
+     */
+    public BuildDaemonPool(String pathEnv) {
+        this.pathEnv = pathEnv;
+    }
+
+    /**
+     * Returns true if warm dev mode launches are enabled in the preferences.
+     *
+     * @return True if warm dev mode launches are enabled in the preferences. False, otherwise.
+     */
+    public static boolean isEnabled() {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        return plugin != null && plugin.getPreferenceStore().getBoolean(LibertyToolsPreferencePage.WARM_LAUNCH);
+    }
+
+    /**
+     * Starts build daemons in the background for the first dashboard projects, using the workspace default Java installation. At most
+     * {@link #MAX_PRESTARTED_DAEMONS} distinct daemons are started.
+     *
+     * @param projects The dashboard projects.
+     */
+    public void prestart(Collection<Project> projects) {
+        IVMInstall vmInstall = JavaRuntime.getDefaultVMInstall();
+        if (vmInstall == null || vmInstall.getInstallLocation() == null) {
+            return;
+        }
+        String javaHome = vmInstall.getInstallLocation().getAbsolutePath();
+
+        int count = 0;
+        for (Project project : projects) {
+            if (count >= MAX_PRESTARTED_DAEMONS) {
+                break;
+            }
+            DaemonKey key = getDaemonKey(project, javaHome);
+            if (key != null) {
+                warm(key, project);
+                count++;
+            }
+        }
+    }
+
+    /**
+     * Returns the Maven daemon command line to run on the terminal if warm launches are enabled and the input project can use the
+     * Maven daemon. This is only used for Maven projects. Gradle projects keep their command line: the Gradle client connects to an
+     * idle compatible daemon by itself.
+     *
+     * @param project The project.
+     * @param cmdArgs The command args.
+     *
+     * @return The Maven daemon command line, or null if the default command line must be used.
+     */
+    public String getMavenDaemonCommandLine(Project project, String cmdArgs) {
+        return CommandBuilder.getMavenDaemonCommandLine(project.getPath(), cmdArgs, pathEnv, true);
+    }
+
+    /**
+     * Records that dev mode was started for the input project and starts a replacement daemon in the background. The daemon used by
+     * the launch stays busy while dev mode runs.
+     *
+     * @param project The project.
+     * @param javaHome The Java installation used by the launch.
+     */
+    public void launched(Project project, String javaHome) {
+        DaemonKey key = getDaemonKey(project, javaHome);
+        if (key == null) {
+            return;
+        }
+
+        WarmDaemon daemon = daemons.remove(key);
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Dev mode for project " + project.getName() + " dispatched "
+                    + (daemon != null && daemon.isReady() ? "to a warm" : "without a warm") + " build daemon. Key: " + key);
+        }
+
+        warm(key, project);
+    }
+
+    /**
+     * Returns the last measured time, in milliseconds, taken to start a build JVM and configure the input project. This is the
+     * start latency a warm launch avoids.
+     *
+     * @param projectName The project name.
+     *
+     * @return The last measured start latency, or null if none was measured.
+     */
+    public Long getStartLatency(String projectName) {
+        return startLatencies.get(projectName);
+    }
+
+    /**
+     * Forgets the daemons started so far. The daemons themselves are left to the build tool's idle timeout.
+     */
+    public void clear() {
+        Job.getJobManager().cancel(FAMILY);
+        daemons.clear();
+    }
+
+    /**
+     * Starts a build daemon for the input key in the background unless one is being started or is ready.
+     *
+     * @param key The daemon key.
+     * @param project The project used to start the daemon.
+     */
+    private void warm(DaemonKey key, Project project) {
+        WarmDaemon newDaemon = new WarmDaemon();
+        WarmDaemon current = daemons.putIfAbsent(key, newDaemon);
+        if (current != null) {
+            if (!current.isStale()) {
+                return;
+            }
+            if (!daemons.replace(key, current, newDaemon)) {
+                return;
+            }
+        }
+
+        String projectName = project.getName();
+        File projectDir = new File(project.getPath());
+        Job job = new Job("Starting build daemon for project " + projectName) {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                long startTime = System.nanoTime();
+                try {
+                    if (key.buildType == Project.BuildType.GRADLE) {
+                        startGradleDaemon(key, projectDir);
+                    } else {
+                        startMavenDaemon(key, projectDir);
+                    }
+                    long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+                    newDaemon.setReady();
+                    startLatencies.put(projectName, latency);
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                                "Build daemon for project " + projectName + " started in " + latency + " ms. Key: " + key);
+                    }
+                } catch (Exception e) {
+                    daemons.remove(key, newDaemon);
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to start the build daemon for project " + projectName, e);
+                    }
+                }
+                return Status.OK_STATUS;
+            }
+
+            @Override
+            public boolean belongsTo(Object family) {
+                return FAMILY == family;
+            }
+        };
+        job.setSystem(true);
+        job.setPriority(Job.DECORATE);
+        job.schedule();
+    }
+
+    /**
+     * Starts a Gradle daemon and configures the project in it. The build runs through the Gradle launch engine, which uses the same
+     * Gradle distribution as the terminal.
+     *
+     * @param key The daemon key.
+     * @param projectDir The project directory.
+     *
+     * @throws Exception
+     */
+    private void startGradleDaemon(DaemonKey key, File projectDir) throws Exception {
+        GradleLaunchEngine.getInstance().run(projectDir.getPath(), pathEnv, List.of("help"), List.of("-q"), key.javaHome, null, null)
+                .get();
+    }
+
+    /**
+     * Starts a Maven daemon and loads the project in it.
+     *
+     * @param key The daemon key.
+     * @param projectDir The project directory.
+     *
+     * @throws Exception
+     */
+    private void startMavenDaemon(DaemonKey key, File projectDir) throws Exception {
+        ProcessBuilder pb = new ProcessBuilder(key.command, "-q", "validate").directory(projectDir).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        pb.environment().put("JAVA_HOME", key.javaHome);
+        Process process = pb.start();
+        if (!process.waitFor(MAVEN_DAEMON_START_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new Exception("The Maven daemon did not start within " + MAVEN_DAEMON_START_TIMEOUT_SECONDS + " seconds.");
+        }
+        if (process.exitValue() != 0) {
+            throw new Exception("The Maven daemon client exited with code " + process.exitValue());
+        }
+    }
+
+    /**
+     * Returns the key of the build daemon the input project would use, or null if the project cannot use a warm daemon.
+     *
+     * @param project The project.
+     * @param javaHome The Java installation.
+     *
+     * @return The key of the build daemon the input project would use, or null if the project cannot use a warm daemon.
+     */
+    private DaemonKey getDaemonKey(Project project, String javaHome) {
+        String projectPath = project.getPath();
+        if (projectPath == null || javaHome == null) {
+            return null;
+        }
+
+        Project.BuildType buildType = project.getBuildType();
+        String command = null;
+        if (buildType == Project.BuildType.MAVEN) {
+            command = CommandBuilder.findMavenDaemonCommand(projectPath, pathEnv);
+        } else if (buildType == Project.BuildType.GRADLE) {
+            command = CommandBuilder.findCommand(projectPath, pathEnv, false);
+        }
+
+        return (command == null) ? null : new DaemonKey(buildType, command, javaHome);
+    }
+
+    /**
+     * Identifies the build daemons that are interchangeable for a launch.
+     */
+    private static class DaemonKey {
+
+        private final Project.BuildType buildType;
+
+        private final String command;
+
+        private final String javaHome;
+
+        private DaemonKey(Project.BuildType buildType, String command, String javaHome) {
+            this.buildType = buildType;
+            this.command = command;
+            this.javaHome = javaHome;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof DaemonKey)) {
+                return false;
+            }
+            DaemonKey other = (DaemonKey) obj;
+            return buildType == other.buildType && command.equals(other.command) && javaHome.equals(other.javaHome);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(buildType, command, javaHome);
+        }
+
+        @Override
+        public String toString() {
+            return buildType + ", " + command + ", " + javaHome;
+        }
+    }
+
+    /**
+     * A build daemon started or being started.
+     */
+    private static class WarmDaemon {
+
+        private volatile long readyTime;
+
+        private boolean isReady() {
+            return readyTime != 0;
+        }
+
+        private void setReady() {
+            readyTime = System.currentTimeMillis();
+        }
+
+        private boolean isStale() {
+            return isReady() && System.currentTimeMillis() - readyTime > DAEMON_REFRESH_MS;
+        }
+    }
+}
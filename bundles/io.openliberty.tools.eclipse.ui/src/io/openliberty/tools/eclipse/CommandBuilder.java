@@ -15,30 +15,69 @@ package io.openliberty.tools.eclipse;
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.eclipse.osgi.util.NLS;
 
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.messages.Messages;
+import io.openliberty.tools.eclipse.ui.preferences.LibertyToolsPreferencePage;
 import io.openliberty.tools.eclipse.utils.ErrorHandler;
 import io.openliberty.tools.eclipse.utils.Utils;
 
 public class CommandBuilder {
 
+    /** The project relative paths of the Maven and Gradle wrapper files and directories. */
+    public static final List<String> WRAPPER_PATHS = List.of("mvnw", "mvnw.cmd", ".mvn/wrapper", "gradlew", "gradlew.bat",
+            "gradle/wrapper");
+
+    /**
+     * Resolved executables. Resolving an executable probes the file system for the wrapper, the preference install location and every
+     * PATH entry. The entries are discarded when the install location preferences change or when wrapper files are added or removed.
+     */
+    private static final Map<ResolutionKey, String> resolvedCommands = new ConcurrentHashMap<ResolutionKey, String>();
+
+    /** The cached result of a wrapper lookup that found no wrapper. */
+    private static final String NO_COMMAND = "";
+
+    /** The executable name under which the Maven wrapper lookups are cached. */
+    private static final String WRAPPER_KEY_MAVEN = "maven wrapper";
+
+    /** The executable name under which the Gradle wrapper lookups are cached. */
+    private static final String WRAPPER_KEY_GRADLE = "gradle wrapper";
+
     private String projectPath;
 
     private String pathEnv;
 
     private boolean isMaven;
 
+    private boolean isMavenDaemon;
+
     /**
      * @param pathEnv
      * @param isMaven true for Maven, false for Gradle
      */
     private CommandBuilder(String projectPath, String pathEnv, boolean isMaven) {
+        this(projectPath, pathEnv, isMaven, false);
+    }
+
+    /**
+     * @param pathEnv
+     * @param isMaven true for Maven, false for Gradle
+     * @param isMavenDaemon true to look for the Maven daemon (mvnd) client
+     */
+    private CommandBuilder(String projectPath, String pathEnv, boolean isMaven, boolean isMavenDaemon) {
         super();
         this.projectPath = projectPath;
         this.pathEnv = pathEnv;
         this.isMaven = isMaven;
+        this.isMavenDaemon = isMavenDaemon;
     }
 
     /**
@@ -66,6 +105,32 @@ public class CommandBuilder {
         return cmdLine;
     }
 
+    /**
+     * Returns the Maven command and its arguments as a list that can be passed to a process builder without being parsed by a shell.
+     *
+     * @param projectPath The project's path.
+     * @param pathEnv The PATH env var
+     * @param cmdArgs The mvn command args
+     *
+     * @return The Maven executable followed by the input arguments.
+     * 
+     * @throws CommandNotFoundException
+     */
+    public static List<String> getMavenCommand(String projectPath, String pathEnv, String... cmdArgs)
+            throws CommandBuilder.CommandNotFoundException {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { projectPath, cmdArgs });
+        }
+        CommandBuilder builder = new CommandBuilder(projectPath, pathEnv, true);
+        List<String> cmd = new ArrayList<String>(cmdArgs.length + 1);
+        cmd.add(builder.getCommand());
+        cmd.addAll(Arrays.asList(cmdArgs));
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, cmd);
+        }
+        return cmd;
+    }
+
     public static String getGradleCommandLine(String projectPath, String cmdArgs, String pathEnv, boolean printCmd)
             throws CommandBuilder.CommandNotFoundException {
         if (Trace.isEnabled()) {
@@ -80,18 +145,84 @@ public class CommandBuilder {
         return cmdLine;
     }
 
-    private String getCommand() throws CommandBuilder.CommandNotFoundException {
-        String cmd = getCommandFromWrapper();
-        if (cmd == null) {
-            cmd = getCommandFromPreferences();
+    /**
+     * Returns the full Maven daemon (mvnd) command to run on the terminal. The Maven daemon is only used for projects without a
+     * Maven wrapper, so that the Maven version selected by the wrapper is honored.
+     *
+     * @param projectPath The project's path.
+     * @param cmdArgs The mvnd command args
+     * @param pathEnv The PATH env var
+     * @param printCmd True if the command is echoed on the terminal.
+     *
+     * @return The full Maven daemon command to run on the terminal, or null if the project has a Maven wrapper or if the Maven
+     *         daemon client was not found in the PATH.
+     */
+    public static String getMavenDaemonCommandLine(String projectPath, String cmdArgs, String pathEnv, boolean printCmd) {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { projectPath, cmdArgs });
         }
-        if (cmd == null) {
-            cmd = getCommandFromPathEnvVar();
+        CommandBuilder builder = new CommandBuilder(projectPath, pathEnv, true, true);
+        String cmd = builder.resolveCommand();
+        String cmdLine = (cmd == null) ? null : builder.getCommandLineFromArgs(cmd, cmdArgs, printCmd);
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, cmdLine);
         }
+        return cmdLine;
+    }
+
+    /**
+     * Returns the Maven or Gradle executable used for the input project without reporting an error if none is found.
+     *
+     * @param projectPath The project's path.
+     * @param pathEnv The PATH env var
+     * @param isMaven true for Maven, false for Gradle
+     *
+     * @return The Maven or Gradle executable used for the input project, or null if none was found.
+     */
+    public static String findCommand(String projectPath, String pathEnv, boolean isMaven) {
+        return new CommandBuilder(projectPath, pathEnv, isMaven).resolveCommand();
+    }
+
+    /**
+     * Returns the Maven daemon (mvnd) client used for the input project without reporting an error if none is found.
+     *
+     * @param projectPath The project's path.
+     * @param pathEnv The PATH env var
+     *
+     * @return The Maven daemon client used for the input project, or null if the project has a Maven wrapper or if the client was not
+     *         found in the PATH.
+     */
+    public static String findMavenDaemonCommand(String projectPath, String pathEnv) {
+        return new CommandBuilder(projectPath, pathEnv, true, true).resolveCommand();
+    }
 
+    /**
+     * Removes the resolved executables of the input project from the cache.
+     *
+     * @param projectPath The project's path.
+     */
+    public static void invalidate(String projectPath) {
+        if (projectPath == null) {
+            return;
+        }
         if (Trace.isEnabled()) {
-            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Command = " + cmd);
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Discarding the resolved executables of projectPath: " + projectPath);
         }
+        resolvedCommands.keySet().removeIf(key -> key.projectPath.equals(projectPath));
+    }
+
+    /**
+     * Removes all resolved executables from the cache.
+     */
+    public static void clearCache() {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Discarding all resolved executables");
+        }
+        resolvedCommands.clear();
+    }
+
+    private String getCommand() throws CommandBuilder.CommandNotFoundException {
+        String cmd = resolveCommand();
 
         if (cmd == null) {
 
@@ -113,6 +244,90 @@ public class CommandBuilder {
         return cmd;
     }
 
+    private String resolveCommand() {
+        // The wrapper is checked first. Its result does not depend on the install location preferences, so it is cached without them,
+        // and the preferences are only read for projects without a wrapper.
+        String cmd = null;
+        String wrapper = getWrapperCommand();
+        if (isMavenDaemon) {
+            // The Maven daemon is only used when the project does not select its own Maven version through a wrapper.
+            if (wrapper == null) {
+                cmd = resolveInstalledCommand(null);
+            }
+        } else {
+            cmd = (wrapper != null) ? wrapper : resolveInstalledCommand(getInstallLocationPreferenceString());
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Command = " + cmd);
+        }
+
+        return cmd;
+    }
+
+    /**
+     * Returns the Maven or Gradle wrapper of the project. The result, including the absence of a wrapper, is cached until the cache
+     * entries of the project are discarded.
+     *
+     * @return The Maven or Gradle wrapper of the project, or null if the project has no wrapper.
+     */
+    private String getWrapperCommand() {
+        ResolutionKey key = new ResolutionKey(projectPath, isMaven ? WRAPPER_KEY_MAVEN : WRAPPER_KEY_GRADLE, null, null);
+        String cmd = getResolvedCommand(key);
+        if (cmd == null) {
+            cmd = getCommandFromWrapper();
+            resolvedCommands.put(key, (cmd == null) ? NO_COMMAND : cmd);
+        }
+
+        return NO_COMMAND.equals(cmd) ? null : cmd;
+    }
+
+    /**
+     * Returns the executable found in the input install location or in the PATH.
+     *
+     * @param installLocation The install location set in the preferences, or null if the preferences are not used.
+     *
+     * @return The executable found in the input install location or in the PATH, or null if none was found.
+     */
+    private String resolveInstalledCommand(String installLocation) {
+        ResolutionKey key = new ResolutionKey(projectPath, getExecBaseName(), installLocation, pathEnv);
+        String cmd = getResolvedCommand(key);
+        if (cmd == null) {
+            if (installLocation != null) {
+                cmd = getCommandFromPreferences(installLocation);
+            }
+            if (cmd == null) {
+                cmd = getCommandFromPathEnvVar();
+            }
+            if (cmd != null) {
+                resolvedCommands.put(key, cmd);
+            }
+        }
+
+        return cmd;
+    }
+
+    /**
+     * Returns the cached executable for the input key. A cached executable is only checked for existence, in case it was removed
+     * outside of the workspace.
+     *
+     * @param key The resolution key.
+     *
+     * @return The cached executable, {@link #NO_COMMAND} if no wrapper was found, or null if nothing is cached.
+     */
+    private String getResolvedCommand(ResolutionKey key) {
+        String cmd = resolvedCommands.get(key);
+        if (cmd != null && !NO_COMMAND.equals(cmd) && !new File(cmd).exists()) {
+            resolvedCommands.remove(key);
+            cmd = null;
+        }
+        if (cmd != null && Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Using previously resolved command for projectPath: " + projectPath);
+        }
+
+        return cmd;
+    }
+
     private String getCommandFromWrapper() {
 
         String cmd = null;
@@ -146,9 +361,9 @@ public class CommandBuilder {
         return cmd;
     }
 
-    private String getCommandFromPreferences() throws IllegalStateException {
+    private String getCommandFromPreferences(String installLocation) throws IllegalStateException {
 
-        File tempCmdFile = new File(getInstallLocationPreferenceString() + File.separator + "bin" + File.separator + getExecBaseName());
+        File tempCmdFile = new File(installLocation + File.separator + "bin" + File.separator + getExecBaseName());
         String cmdPathStr = tempCmdFile.getPath();
 
         if (tempCmdFile.exists()) {
@@ -178,6 +393,10 @@ public class CommandBuilder {
 
         String foundCmd = null;
 
+        if (pathEnv == null) {
+            return null;
+        }
+
         String[] pathMembers = pathEnv.split(File.pathSeparator);
         for (String member : pathMembers) {
             File tempFile = new File(member + File.separator + executableBaseName);
@@ -213,6 +432,9 @@ public class CommandBuilder {
     }
 
     private String getExecBaseName() {
+        if (isMavenDaemon) {
+            return Utils.isWindows() ? "mvnd.cmd" : "mvnd";
+        }
         if (Utils.isWindows()) {
             return isMaven ? "mvn.cmd" : "gradle.bat";
         } else {
@@ -221,10 +443,54 @@ public class CommandBuilder {
     }
 
     private String getInstallLocationPreferenceString() {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        if (plugin == null) {
+            // Not running in the workbench. Only wrappers and the PATH can be used.
+            return "";
+        }
         if (isMaven) {
-            return LibertyDevPlugin.getDefault().getPreferenceStore().getString("MVNPATH");
+            return plugin.getPreferenceStore().getString(LibertyToolsPreferencePage.MVN_PATH);
         } else {
-            return LibertyDevPlugin.getDefault().getPreferenceStore().getString("GRADLEPATH");
+            return plugin.getPreferenceStore().getString(LibertyToolsPreferencePage.GRADLE_PATH);
+        }
+    }
+
+    /**
+     * The inputs that determine the executable resolved for a project.
+     */
+    private static class ResolutionKey {
+
+        private final String projectPath;
+
+        private final String execBaseName;
+
+        private final String installLocation;
+
+        private final String pathEnv;
+
+        private ResolutionKey(String projectPath, String execBaseName, String installLocation, String pathEnv) {
+            this.projectPath = projectPath;
+            this.execBaseName = execBaseName;
+            this.installLocation = installLocation;
+            this.pathEnv = pathEnv;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ResolutionKey)) {
+                return false;
+            }
+            ResolutionKey other = (ResolutionKey) obj;
+            return execBaseName.equals(other.execBaseName) && projectPath.equals(other.projectPath)
+                    && Objects.equals(installLocation, other.installLocation) && Objects.equals(pathEnv, other.pathEnv);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(projectPath, execBaseName, installLocation, pathEnv);
         }
     }
 
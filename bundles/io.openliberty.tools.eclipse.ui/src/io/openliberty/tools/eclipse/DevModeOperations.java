@@ -12,26 +12,29 @@
 *******************************************************************************/
 package io.openliberty.tools.eclipse;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.InputStreamReader;
+import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ProjectScope;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.QualifiedName;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchManager;
 import org.eclipse.jdt.launching.JavaRuntime;
@@ -40,10 +43,12 @@ import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.ISelectionService;
+import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.browser.IWebBrowser;
 import org.eclipse.ui.browser.IWorkbenchBrowserSupport;
+import org.gradle.tooling.CancellationTokenSource;
 
 import io.openliberty.tools.eclipse.CommandBuilder.CommandNotFoundException;
 import io.openliberty.tools.eclipse.Project.BuildType;
@@ -52,6 +57,8 @@ import io.openliberty.tools.eclipse.logging.Logger;
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.messages.Messages;
 import io.openliberty.tools.eclipse.ui.dashboard.DashboardView;
+import io.openliberty.tools.eclipse.ui.dashboard.TestResultsView;
+import io.openliberty.tools.eclipse.ui.preferences.LibertyToolsPreferencePage;
 import io.openliberty.tools.eclipse.ui.terminal.ProjectTab;
 import io.openliberty.tools.eclipse.ui.terminal.ProjectTab.State;
 import io.openliberty.tools.eclipse.ui.terminal.ProjectTabController;
@@ -76,7 +83,20 @@ public class DevModeOperations {
     public static final String BROWSER_MVN_UT_REPORT_NAME_SUFFIX = "surefire report";
     public static final String BROWSER_GRADLE_TEST_REPORT_NAME_SUFFIX = "test report";
 
-    private static final int STOP_TIMEOUT_SECONDS = 60;
+    public static final int STOP_TIMEOUT_SECONDS = 60;
+
+    /** The name of the directory, in the plugin state location, holding the test history. */
+    public static final String TEST_HISTORY_DIR_NAME = "test-history";
+
+    /** The maximum time (ms) to wait for the background classification of the workspace projects before failing a request. */
+    public static final long CLASSIFICATION_WAIT_TIMEOUT_MS = 30000;
+
+    /** The Maven flags that select the project to build. They are not passed from a parent project's launch to its modules. */
+    private static final List<String> AGGREGATOR_BUILD_FLAGS = Arrays.asList("-am", "--also-make");
+
+    /** The Maven options, followed by a value, that select the project to build. They are not passed to the modules either. */
+    private static final List<String> AGGREGATOR_BUILD_OPTIONS = Arrays.asList("-f", "--file", "-pl", "--projects");
+
     protected static final QualifiedName STOP_JOB_COMPLETION_TIMEOUT = new QualifiedName("io.openliberty.tools.eclipse.ui",
             "stopJobCompletionTimeout");
     protected static final QualifiedName STOP_JOB_COMPLETION_EXIT_CODE = new QualifiedName("io.openliberty.tools.eclipse.ui",
@@ -115,6 +135,41 @@ public class DevModeOperations {
      */
     private DashboardView dashboardView;
 
+    /**
+     * The job that updates the project model and classifies the workspace projects in the background.
+     */
+    private ProjectClassificationJob classificationJob;
+
+    /**
+     * The pre-started Maven and Gradle build daemons used for warm dev mode launches.
+     */
+    private BuildDaemonPool daemonPool;
+
+    /**
+     * Processes dev mode requests on several projects.
+     */
+    private MultiProjectOperations multiProjectOps;
+
+    /**
+     * The timings of the last dev mode starts of each project.
+     */
+    private StartLatencyHistory startLatencyHistory = new StartLatencyHistory();
+
+    /**
+     * The hot reload cycles of the projects running in dev mode.
+     */
+    private HotReloadStatistics hotReloadStatistics = new HotReloadStatistics();
+
+    /**
+     * The test results of the projects, read from the result files written by the builds.
+     */
+    private TestResultsIndex testResultsIndex = new TestResultsIndex();
+
+    /**
+     * The duration and outcome history of the tests of the projects, across test runs.
+     */
+    private TestHistory testHistory;
+
     /**
      * Constructor.
      */
@@ -123,6 +178,14 @@ public class DevModeOperations {
         projectModel = new WorkspaceProjectsModel();
         pathEnv = System.getenv("PATH");
         debugModeHandler = new DebugModeHandler(this);
+        daemonPool = new BuildDaemonPool(pathEnv);
+        multiProjectOps = new MultiProjectOperations(this, pathEnv);
+
+        // The test history is kept in the plugin state location. It is only kept in memory if the plugin is not running.
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        Path historyDir = (plugin == null) ? null : plugin.getStateLocation().append(TEST_HISTORY_DIR_NAME).toFile().toPath();
+        testHistory = new TestHistory(historyDir);
+        testResultsIndex.addListener(testHistory);
     }
 
     /**
@@ -173,7 +236,7 @@ public class DevModeOperations {
 
         // Check if the start action has already been issued.
         State terminalState = projectTabController.getTerminalState(projectName);
-        if (terminalState != null && terminalState == ProjectTab.State.STARTED) {
+        if (terminalState != null && terminalState.isActive()) {
             // Check if the terminal tab associated with this call was marked as closed. This scenario may occur if a previous
             // attempt to start the server in dev mode was issued successfully, but there was a failure in the process or
             // there was an unexpected case that caused the terminal process to end. If that is the case, cleanup the objects
@@ -210,36 +273,37 @@ public class DevModeOperations {
                 throw new Exception("Unable to find the path to selected project " + projectName);
             }
 
-            // If in debug mode, adjust the start parameters.
+            // One dev mode process runs one server. A parent of several Liberty server modules is debugged by running dev mode on
+            // each server module, and by adding a debug target for each server JVM to this launch.
             String userParms = (parms == null) ? "" : parms.trim();
-            String startParms = null;
-            String debugPort = null;
-            if (ILaunchManager.DEBUG_MODE.equals(mode)) {
-                debugPort = debugModeHandler.calculateDebugPort(project, userParms);
-                startParms = debugModeHandler.addDebugDataToStartParms(project, debugPort, userParms);
+            boolean debug = ILaunchManager.DEBUG_MODE.equals(mode);
+            List<Project> serverProjects = debug ? debugModeHandler.getLibertyServerProjects(project) : null;
+            if (serverProjects != null && serverProjects.size() > 1) {
+                startServerModulesInDebugMode(project, serverProjects, userParms, javaHomePath, launch);
             } else {
-                startParms = userParms;
-            }
+                // If in debug mode, adjust the start parameters.
+                String startParms = null;
+                String debugPort = null;
+                if (debug) {
+                    debugPort = debugModeHandler.calculateDebugPort(project, userParms);
+                    startParms = debugModeHandler.addDebugDataToStartParms(project, debugPort, userParms);
+                } else {
+                    startParms = userParms;
+                }
 
-            // Prepare the Liberty plugin container dev mode command.
-            String cmd = "";
-            BuildType buildType = project.getBuildType();
-            if (buildType == Project.BuildType.MAVEN) {
-                cmd = CommandBuilder.getMavenCommandLine(projectPath, "io.openliberty.tools:liberty-maven-plugin:dev " + startParms,
-                        pathEnv, true);
-            } else if (buildType == Project.BuildType.GRADLE) {
-                cmd = CommandBuilder.getGradleCommandLine(projectPath, "libertyDev " + startParms, pathEnv, true);
-            } else {
-                throw new Exception("Unexpected project build type: " + buildType + ". Project " + projectName
-                        + "does not appear to be a Maven or Gradle built project.");
-            }
+                // Start a terminal to run the application in dev mode.
+                boolean warmLaunch = BuildDaemonPool.isEnabled();
+                launchDevMode(project, startParms, warmLaunch, false, javaHomePath);
 
-            // Start a terminal and run the application in dev mode.
-            startDevMode(cmd, projectName, projectPath, javaHomePath);
+                // The build daemon used by this launch stays busy while dev mode runs. Start a replacement.
+                if (warmLaunch) {
+                    daemonPool.launched(project, javaHomePath);
+                }
 
-            // If there is a debugPort, start the job to attach the debugger to the Liberty server JVM.
-            if (debugPort != null) {
-                debugModeHandler.startDebugAttacher(project, launch, debugPort);
+                // If there is a debugPort, start the job to attach the debugger to the Liberty server JVM.
+                if (debugPort != null) {
+                    debugModeHandler.startDebugAttacher(project, launch, debugPort);
+                }
             }
         } catch (CommandNotFoundException e) {
             String msg = "Maven or Gradle command not found for project " + projectName;
@@ -260,6 +324,208 @@ public class DevModeOperations {
         }
     }
 
+    /**
+     * Starts each input Liberty server module in dev mode, on its own terminal and with its own debug port, and attaches the debugger
+     * to all server JVMs at the same time. The debug targets are added to the input launch. Server modules already running in dev
+     * mode are skipped.
+     * 
+     * @param parent The parent project the launch was issued on.
+     * @param serverProjects The Liberty server modules.
+     * @param userParms The configuration parameters of the parent project's launch.
+     * @param javaHomePath The configuration java installation home to be set in the terminals running dev mode.
+     * @param launch The launch to which the debug targets are added.
+     * 
+     * @throws Exception
+     */
+    private void startServerModulesInDebugMode(Project parent, List<Project> serverProjects, String userParms, String javaHomePath,
+            ILaunch launch) throws Exception {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { parent, serverProjects, userParms, javaHomePath });
+        }
+
+        boolean warmLaunch = BuildDaemonPool.isEnabled();
+
+        for (Project serverProject : serverProjects) {
+            String serverProjectName = serverProject.getName();
+            State terminalState = projectTabController.getTerminalState(serverProjectName);
+            if (terminalState != null && terminalState.isActive()) {
+                if (!projectTabController.isProjectTabMarkedClosed(serverProjectName)) {
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                                "Dev mode is already running on server module " + serverProjectName + ". Skipped.");
+                    }
+                    continue;
+                }
+                projectTabController.processTerminalTabCleanup(serverProjectName);
+            }
+
+            // Each server gets its own debug port.
+            String debugPort = debugModeHandler.calculateDebugPort(serverProject, "");
+            launchDevMode(serverProject, getServerModuleStartParms(serverProject, userParms, debugPort), warmLaunch, false, javaHomePath);
+
+            if (warmLaunch) {
+                daemonPool.launched(serverProject, javaHomePath);
+            }
+
+            // The attach jobs run concurrently. Each one adds the debug target of its server JVM to the launch.
+            debugModeHandler.startDebugAttacher(serverProject, launch, debugPort);
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS);
+        }
+    }
+
+    /**
+     * Returns the dev mode command used to start a Liberty server module on behalf of its parent project.
+     * 
+     * @param serverProject The Liberty server module.
+     * @param userParms The configuration parameters of the parent project's launch.
+     * @param debugPort The debug port of the server module.
+     * 
+     * @return The dev mode command used to start the server module.
+     * 
+     * @throws Exception
+     */
+    public String getServerModuleDevModeCommand(Project serverProject, String userParms, String debugPort) throws Exception {
+        return getDevModeCommand(serverProject, getServerModuleStartParms(serverProject, userParms, debugPort),
+                BuildDaemonPool.isEnabled(), false);
+    }
+
+    /**
+     * Returns the dev mode start parameters of a Liberty server module started on behalf of its parent project: the module's default
+     * start parameters, which build it through its aggregator project, followed by the user parameters of the parent's launch and the
+     * module's debug port. The parameters of the parent's launch that select the project to build, such as the parent's own default
+     * start parameters, and the debug port of the parent's launch are not applied to the module.
+     * 
+     * @param serverProject The Liberty server module.
+     * @param userParms The configuration parameters of the parent project's launch.
+     * @param debugPort The debug port of the server module.
+     * 
+     * @return The dev mode start parameters of the server module.
+     * 
+     * @throws Exception
+     */
+    private String getServerModuleStartParms(Project serverProject, String userParms, String debugPort) throws Exception {
+        StringBuilder parms = new StringBuilder(projectModel.getDefaultStartParameters(serverProject.getIProject()));
+        String[] parts = DebugModeHandler.removeDebugPortParm(userParms).split("\\s+");
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            if (part.isEmpty() || AGGREGATOR_BUILD_FLAGS.contains(part)) {
+                continue;
+            }
+            if (AGGREGATOR_BUILD_OPTIONS.contains(part)) {
+                // Skip the option value too.
+                i++;
+                continue;
+            }
+            if (part.startsWith("--") && AGGREGATOR_BUILD_OPTIONS.contains(part.split("=", 2)[0])) {
+                continue;
+            }
+            parms.append((parms.length() == 0) ? "" : " ").append(part);
+        }
+
+        return debugModeHandler.addDebugDataToStartParms(serverProject, debugPort, parms.toString());
+    }
+
+    /**
+     * Starts dev mode for the input project on a terminal. Gradle projects run the dev mode task through the Gradle Tooling API, in
+     * the warm Gradle daemon: the terminal shows the build output and sends the user input to the build. Maven projects run the Liberty
+     * plugin dev mode command on the terminal.
+     * 
+     * @param project The project.
+     * @param startParms The dev mode parameters.
+     * @param warmLaunch True if warm launches are enabled.
+     * @param container True to run dev mode in a container.
+     * @param javaHomePath The java installation home used to run dev mode.
+     * 
+     * @throws Exception
+     */
+    private void launchDevMode(Project project, String startParms, boolean warmLaunch, boolean container, String javaHomePath)
+            throws Exception {
+        if (project.getBuildType() == Project.BuildType.GRADLE) {
+            projectTabController.runGradleBuildOnTerminal(project.getName(), project.getPath(), pathEnv,
+                    List.of(container ? "libertyDevc" : "libertyDev"), getGradleArguments(startParms), javaHomePath,
+                    getStopTimeoutSeconds(project.getIProject()));
+        } else {
+            startDevMode(getDevModeCommand(project, startParms, warmLaunch, container), project.getName(), project.getPath(),
+                    javaHomePath);
+        }
+    }
+
+    /**
+     * Splits the input dev mode parameters into build arguments. Arguments are separated by white space. Double quotes group the
+     * white space they enclose into an argument, and are removed.
+     * 
+     * @param parms The dev mode parameters.
+     * 
+     * @return The build arguments.
+     */
+    public static List<String> getGradleArguments(String parms) {
+        List<String> args = new ArrayList<String>();
+        StringBuilder arg = null;
+        boolean quoted = false;
+        for (char c : parms.toCharArray()) {
+            if (c == '"') {
+                quoted = !quoted;
+                if (arg == null) {
+                    arg = new StringBuilder();
+                }
+            } else if (Character.isWhitespace(c) && !quoted) {
+                if (arg != null) {
+                    args.add(arg.toString());
+                    arg = null;
+                }
+            } else {
+                if (arg == null) {
+                    arg = new StringBuilder();
+                }
+                arg.append(c);
+            }
+        }
+        if (arg != null) {
+            args.add(arg.toString());
+        }
+
+        return args;
+    }
+
+    /**
+     * Returns the Liberty plugin dev mode command for the input project. If warm launches are enabled, Maven projects use the Maven
+     * daemon when it is available.
+     * 
+     * @param project The project.
+     * @param startParms The dev mode parameters.
+     * @param warmLaunch True if warm launches are enabled.
+     * @param container True to run dev mode in a container.
+     * 
+     * @return The Liberty plugin dev mode command for the input project.
+     * 
+     * @throws Exception
+     */
+    private String getDevModeCommand(Project project, String startParms, boolean warmLaunch, boolean container) throws Exception {
+        String cmd = null;
+        String projectPath = project.getPath();
+        BuildType buildType = project.getBuildType();
+        if (buildType == Project.BuildType.MAVEN) {
+            String mavenArgs = "io.openliberty.tools:liberty-maven-plugin:" + (container ? "devc " : "dev ") + startParms;
+            if (warmLaunch) {
+                cmd = daemonPool.getMavenDaemonCommandLine(project, mavenArgs);
+            }
+            if (cmd == null) {
+                cmd = CommandBuilder.getMavenCommandLine(projectPath, mavenArgs, pathEnv, true);
+            }
+        } else if (buildType == Project.BuildType.GRADLE) {
+            cmd = CommandBuilder.getGradleCommandLine(projectPath, (container ? "libertyDevc " : "libertyDev ") + startParms, pathEnv,
+                    true);
+        } else {
+            throw new Exception("Unexpected project build type: " + buildType + ". Project " + project.getName()
+                    + "does not appear to be a Maven or Gradle built project.");
+        }
+
+        return cmd;
+    }
+
     /**
      * Starts the Liberty server in dev mode in a container.
      * 
@@ -288,7 +554,7 @@ public class DevModeOperations {
 
         // Check if the start action has already been issued.
         State terminalState = projectTabController.getTerminalState(projectName);
-        if (terminalState != null && terminalState == ProjectTab.State.STARTED) {
+        if (terminalState != null && terminalState.isActive()) {
             // Check if the terminal tab associated with this call was marked as closed. This scenario may occur if a previous
             // attempt to start the server in dev mode was issued successfully, but there was a failure in the process or
             // there was an unexpected case that caused the terminal process to end. If that is the case, cleanup the objects
@@ -336,21 +602,14 @@ public class DevModeOperations {
                 startParms = userParms;
             }
 
-            // Prepare the Liberty plugin container dev mode command.
-            String cmd = "";
-            BuildType buildType = project.getBuildType();
-            if (buildType == Project.BuildType.MAVEN) {
-                cmd = CommandBuilder.getMavenCommandLine(projectPath, "io.openliberty.tools:liberty-maven-plugin:devc " + startParms,
-                        pathEnv, true);
-            } else if (buildType == Project.BuildType.GRADLE) {
-                cmd = CommandBuilder.getGradleCommandLine(projectPath, "libertyDevc " + startParms, pathEnv, true);
-            } else {
-                throw new Exception("Unexpected project build type: " + buildType + ". Project " + projectName
-                        + "does not appear to be a Maven or Gradle built project.");
-            }
+            // Start a terminal to run the application in container dev mode.
+            boolean warmLaunch = BuildDaemonPool.isEnabled();
+            launchDevMode(project, startParms, warmLaunch, true, javaHomePath);
 
-            // Start a terminal and run the application in dev mode.
-            startDevMode(cmd, projectName, projectPath, javaHomePath);
+            // The build daemon used by this launch stays busy while dev mode runs. Start a replacement.
+            if (warmLaunch) {
+                daemonPool.launched(project, javaHomePath);
+            }
 
             // If there is a debugPort, start the job to attach the debugger to the Liberty server JVM.
             if (debugPort != null) {
@@ -739,6 +998,55 @@ public class DevModeOperations {
         }
     }
 
+    /**
+     * Shows the test results of the input project in the test results view. The results are read from the JUnit XML result files
+     * written by the surefire and failsafe plugins, or by the Gradle test tasks.
+     * 
+     * @param inputProject The project instance to associate with this action.
+     */
+    public void openTestResults(IProject inputProject) {
+        IProject iProject = inputProject;
+        if (iProject == null) {
+            iProject = getSelectedDashboardProject();
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, iProject);
+        }
+
+        if (iProject == null) {
+            String msg = "An error was detected when the view test results request was processed. The object representing the selected project could not be found.";
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, msg + " No-op.");
+            }
+            ErrorHandler.processErrorMessage(NLS.bind(Messages.test_results_no_project_found, null), true);
+            return;
+        }
+
+        String projectName = iProject.getName();
+
+        try {
+            IWorkbenchPage activePage = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+            if (activePage == null) {
+                throw new Exception("Unable to find the active workbench page.");
+            }
+
+            TestResultsView view = (TestResultsView) activePage.showView(TestResultsView.ID);
+            view.showResults(projectName);
+        } catch (Exception e) {
+            String msg = "An error was detected when the view test results request was processed on project " + projectName + ".";
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, msg, e);
+            }
+            ErrorHandler.processErrorMessage(NLS.bind(Messages.test_results_general_error, projectName), e, true);
+            return;
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, projectName);
+        }
+    }
+
     /**
      * Opens the specified report in a browser.
      *
@@ -800,6 +1108,27 @@ public class DevModeOperations {
         }
     }
 
+    /**
+     * Returns the Liberty plugin stop command timeout for the input project. The project preference, stored in the project settings,
+     * overrides the workspace preference. If neither is set, the default timeout is used.
+     * 
+     * @param iProject The project.
+     * 
+     * @return The Liberty plugin stop command timeout in seconds.
+     */
+    public int getStopTimeoutSeconds(IProject iProject) {
+        int timeout = 0;
+        if (iProject != null) {
+            IEclipsePreferences projectPrefs = new ProjectScope(iProject).getNode(LibertyDevPlugin.PLUGIN_ID);
+            timeout = projectPrefs.getInt(LibertyToolsPreferencePage.STOP_TIMEOUT, 0);
+        }
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        if (timeout <= 0 && plugin != null) {
+            timeout = plugin.getPreferenceStore().getInt(LibertyToolsPreferencePage.STOP_TIMEOUT);
+        }
+        return (timeout > 0) ? timeout : STOP_TIMEOUT_SECONDS;
+    }
+
     /**
      * Issues the Liberty plugin stop command to stop the Liberty server associated with the specified project.
      * 
@@ -826,76 +1155,46 @@ public class DevModeOperations {
             // TODO - for multi-module case, consider additional warning if this is an aggregate module with multiple sub-modules.
             // Of course we'd have to be smart enough to know this were the case in order to issue such a warning
 
-            // Build the command.
-            String cmd = "";
+            // Build the command. Gradle projects are stopped through the Gradle Tooling API. Maven projects are stopped through a
+            // process whose arguments are passed as a list, so that paths containing spaces are preserved.
             String buildTypeName;
+            StopCommandJob.CommandLauncher launcher;
             BuildType buildType = project.getBuildType();
+            String javaHome = JavaRuntime.getDefaultVMInstall().getInstallLocation().getAbsolutePath();
             if (buildType == Project.BuildType.MAVEN) {
-                cmd = CommandBuilder.getMavenCommandLine(projectPath, "io.openliberty.tools:liberty-maven-plugin:stop", pathEnv, false);
+                List<String> cmd = CommandBuilder.getMavenCommand(projectPath, pathEnv, "io.openliberty.tools:liberty-maven-plugin:stop");
+                ProcessBuilder pb = new ProcessBuilder(cmd);
+                pb.directory(new File(projectPath));
+                pb.redirectErrorStream(true);
+                pb.environment().put("JAVA_HOME", javaHome);
+                launcher = output -> StopCommandJob.launchProcess(pb, output);
                 buildTypeName = "Maven";
             } else if (buildType == Project.BuildType.GRADLE) {
-                cmd = CommandBuilder.getGradleCommandLine(projectPath, "libertyStop", pathEnv, false);
+                launcher = output -> {
+                    GradleLaunchEngine engine = GradleLaunchEngine.getInstance();
+                    CancellationTokenSource tokenSource = engine.newCancellationTokenSource();
+                    CompletableFuture<Integer> exitCode = engine
+                            .run(projectPath, pathEnv, List.of("libertyStop"), List.of(), javaHome, output, tokenSource.token())
+                            .handle((result, failure) -> (failure == null) ? 0 : 1);
+                    exitCode.whenComplete((rc, e) -> {
+                        if (exitCode.isCancelled()) {
+                            tokenSource.cancel();
+                        }
+                    });
+                    return exitCode;
+                };
                 buildTypeName = "Gradle";
             } else {
                 throw new Exception("Unexpected project build type: " + buildType + ". Project " + projectName
                         + "does not appear to be a Maven or Gradle built project.");
             }
 
-            // Issue the command.
-            String[] cmdParts = cmd.split(" ");
-            ProcessBuilder pb = new ProcessBuilder(cmdParts);
-            pb.directory(new File(projectPath));
-            pb.redirectErrorStream(true);
-            pb.environment().put("JAVA_HOME", JavaRuntime.getDefaultVMInstall().getInstallLocation().getAbsolutePath());
-
             /*
              * Per: https://stackoverflow.com/questions/29793071/rcp-no-progress-dialog-when-starting-a-job it seems that job.setUser(true)
              * is no longer enough to result in the creation of a progress dialog.
              */
-            Job job = new Job("Stopping server via " + buildTypeName + " plugin") {
-
-                @Override
-                protected IStatus run(IProgressMonitor monitor) {
-
-                    if (monitor.isCanceled()) {
-                        return Status.CANCEL_STATUS;
-                    }
-
-                    try {
-                        Process p = pb.start();
-
-                        boolean completed = false;
-
-                        for (int elapsed = 0; completed == false && elapsed < STOP_TIMEOUT_SECONDS; elapsed++) {
-                            if (monitor.isCanceled()) {
-                                p.destroy();
-                                return Status.CANCEL_STATUS;
-                            }
-                            completed = p.waitFor(1, TimeUnit.SECONDS);
-                        }
-
-                        if (!completed) {
-                            setProperty(STOP_JOB_COMPLETION_TIMEOUT, Boolean.TRUE);
-                        } else {
-                            setProperty(STOP_JOB_COMPLETION_EXIT_CODE, p.exitValue());
-                            if (p.exitValue() != 0) {
-                                BufferedReader reader = new BufferedReader(new InputStreamReader(p.getInputStream()));
-                                StringBuilder builder = new StringBuilder();
-                                String line = null;
-                                while ((line = reader.readLine()) != null) {
-                                    builder.append(line);
-                                    builder.append(System.getProperty("line.separator"));
-                                }
-                                setProperty(STOP_JOB_COMPLETION_OUTPUT, builder.toString());
-                            }
-                        }
-                    } catch (Exception e) {
-                        ErrorHandler.processErrorMessage(NLS.bind(Messages.plugin_stop_issue_error, null), e, false);
-                    }
-                    return Status.OK_STATUS;
-                }
-
-            };
+            int timeoutSeconds = getStopTimeoutSeconds(project.getIProject());
+            Job job = new StopCommandJob("Stopping server via " + buildTypeName + " plugin", timeoutSeconds, launcher);
 
             job.addJobChangeListener(new JobChangeAdapter() {
                 @Override
@@ -917,13 +1216,13 @@ public class DevModeOperations {
                             public void run() {
 
                                 String msg = "The Liberty Maven or Gradle stop command issued for project " + projectName
-                                        + " timed out after " + STOP_TIMEOUT_SECONDS + " seconds.";
+                                        + " timed out after " + timeoutSeconds + " seconds.";
                                 if (Trace.isEnabled()) {
                                     Trace.getTracer().trace(Trace.TRACE_TOOLS, msg);
                                 }
                                 ErrorHandler.rawErrorMessageDialog(
                                         NLS.bind(Messages.plugin_stop_timeout,
-                                                new String[] { projectName, Integer.toString(STOP_TIMEOUT_SECONDS) }));
+                                                new String[] { projectName, Integer.toString(timeoutSeconds) }));
                             }
                         });
                         return;
@@ -1046,6 +1345,43 @@ public class DevModeOperations {
         return iProject;
     }
 
+    /**
+     * Returns the project instances associated with the currently selected view objects in the workspace.
+     *
+     * @return The projects currently selected. The list is empty if none was found.
+     */
+    public List<IProject> getSelectedDashboardProjects() {
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS);
+        }
+
+        List<IProject> iProjects = new ArrayList<IProject>();
+        IWorkbenchWindow w = PlatformUI.getWorkbench().getActiveWorkbenchWindow();
+
+        if (w != null) {
+            ISelectionService selectionService = w.getSelectionService();
+            ISelection selection = selectionService.getSelection();
+
+            if (selection instanceof IStructuredSelection) {
+                for (Object element : ((IStructuredSelection) selection).toList()) {
+                    if (element instanceof String) {
+                        Project project = projectModel.getProject((String) element);
+                        if (project != null) {
+                            iProjects.add(project.getIProject());
+                        }
+                    }
+                }
+            }
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, iProjects);
+        }
+
+        return iProjects;
+    }
+
     /**
      * Verifies that the input project is known to the plugin and that it is a supported project.
      * 
@@ -1054,15 +1390,66 @@ public class DevModeOperations {
      * @throws Exception If the input project is not supported.
      */
     public void verifyProjectSupport(IProject iProject) throws Exception {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        if (plugin != null) {
+            plugin.ensureInitialized();
+        }
+
         if (iProject != null) {
             String projectName = iProject.getName();
             Project project = projectModel.getProject(projectName);
+            if (project == null && getClassificationJob().getState() != Job.NONE) {
+                // The project may not have been classified yet. Wait for the background classification to complete.
+                boolean classified = waitForClassification();
+                project = projectModel.getProject(projectName);
+                if (project == null && !classified) {
+                    throw new Exception("The workspace projects are still being analyzed. Try again once the analysis completes.");
+                }
+            }
             if (project == null) {
                 throw new Exception("Project " + projectName + " is not a supported project. Make sure the project is a Liberty project.");
             }
         }
     }
 
+    /**
+     * Waits for the background classification of the workspace projects to complete, for up to
+     * {@link #CLASSIFICATION_WAIT_TIMEOUT_MS}. On the UI thread, the wait shows a busy cursor and, if it lasts, a progress dialog from
+     * which it can be cancelled. The UI thread keeps processing events while it waits.
+     * 
+     * @return True if the classification completed. False if the wait timed out or was cancelled.
+     * 
+     * @throws InterruptedException If the current thread was interrupted.
+     */
+    private boolean waitForClassification() throws InterruptedException {
+        ProjectClassificationJob job = getClassificationJob();
+        try {
+            if (Display.getCurrent() != null) {
+                try {
+                    PlatformUI.getWorkbench().getProgressService().busyCursorWhile(monitor -> {
+                        monitor.beginTask(job.getName(), IProgressMonitor.UNKNOWN);
+                        try {
+                            job.join(CLASSIFICATION_WAIT_TIMEOUT_MS, monitor);
+                        } finally {
+                            monitor.done();
+                        }
+                    });
+                } catch (InterruptedException e) {
+                    // The progress dialog was cancelled.
+                    return false;
+                }
+            } else {
+                job.join(CLASSIFICATION_WAIT_TIMEOUT_MS, null);
+            }
+        } catch (InvocationTargetException | OperationCanceledException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "The wait for the project classification ended early.", e);
+            }
+        }
+
+        return job.getState() == Job.NONE;
+    }
+
     public DashboardView getDashboardView() {
         return dashboardView;
     }
@@ -1071,17 +1458,6 @@ public class DevModeOperations {
         this.dashboardView = dashboardView;
     }
 
-    /**
-     * Returns true if the terminal tab associated with the input project was marked closed. False, otherwise.
-     * 
-     * @param projectName The name of the project.
-     * 
-     * @return true if the terminal tab associated with the input project was marked closed. False, otherwise.
-     */
-    public boolean isProjectTerminalTabMarkedClosed(String projectName) {
-        return projectTabController.isProjectTabMarkedClosed(projectName);
-    }
-
     /**
      * Registers the input terminal listener.
      * 
@@ -1103,11 +1479,119 @@ public class DevModeOperations {
     }
 
     /**
-     * Refreshes the dashboard view.
+     * Rebuilds the project model and refreshes the dashboard view. The model is rebuilt by the background classification job, so
+     * that it is never rebuilt by two threads at the same time, and so that project descriptions are not written on the UI thread.
+     * 
+     * @param reportError True if an error dialog is to be displayed if the model could not be rebuilt.
      */
     public void refreshDashboardView(boolean reportError) {
+        getClassificationJob().rebuild(reportError);
+    }
+
+    /**
+     * Updates the dashboard view content using the current project model. The model is not rebuilt.
+     */
+    public void updateDashboardView(boolean reportError) {
+        if (dashboardView != null) {
+            dashboardView.updateDashboardView(projectModel, reportError);
+        }
+    }
+
+    /**
+     * Returns the job that updates the project model and classifies the workspace projects in the background.
+     * 
+     * @return The job that updates the project model and classifies the workspace projects in the background.
+     */
+    public synchronized ProjectClassificationJob getClassificationJob() {
+        if (classificationJob == null) {
+            classificationJob = new ProjectClassificationJob();
+        }
+        return classificationJob;
+    }
+
+    /**
+     * Returns the pre-started Maven and Gradle build daemons used for warm dev mode launches.
+     * 
+     * @return The pre-started Maven and Gradle build daemons used for warm dev mode launches.
+     */
+    public BuildDaemonPool getDaemonPool() {
+        return daemonPool;
+    }
+
+    /**
+     * Returns the timings of the last dev mode starts of each project.
+     * 
+     * @return The timings of the last dev mode starts of each project.
+     */
+    public StartLatencyHistory getStartLatencyHistory() {
+        return startLatencyHistory;
+    }
+
+    /**
+     * Returns the hot reload cycles of the projects running in dev mode.
+     * 
+     * @return The hot reload cycles of the projects running in dev mode.
+     */
+    public HotReloadStatistics getHotReloadStatistics() {
+        return hotReloadStatistics;
+    }
+
+    /**
+     * Returns the test results of the projects, read from the result files written by the builds.
+     * 
+     * @return The test results of the projects.
+     */
+    public TestResultsIndex getTestResultsIndex() {
+        return testResultsIndex;
+    }
+
+    /**
+     * Returns the duration and outcome history of the tests of the projects.
+     * 
+     * @return The duration and outcome history of the tests of the projects.
+     */
+    public TestHistory getTestHistory() {
+        return testHistory;
+    }
+
+    /**
+     * Reads the result files of the input project that changed since they were last read, in the background. Called when a dev mode
+     * test run ends, so that the test history is updated even if the results are not shown.
+     * 
+     * @param projectName The project name.
+     */
+    public void refreshTestResults(String projectName) {
+        Job job = new Job("Reading test results of project " + projectName) {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                Project project = projectModel.getProject(projectName);
+                if (project != null && project.getPath() != null) {
+                    testResultsIndex.refresh(projectName, project.getPath(), project.getBuildType());
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.schedule();
+    }
+
+    /**
+     * Returns the object that processes dev mode requests on several projects.
+     * 
+     * @return The object that processes dev mode requests on several projects.
+     */
+    public MultiProjectOperations getMultiProjectOperations() {
+        return multiProjectOps;
+    }
+
+    /**
+     * Sets the dashboard view content. Must be called on the UI thread.
+     * 
+     * @param sortedDashboardProjectList The sorted list of project names to display.
+     */
+    public void setDashboardViewInput(List<String> sortedDashboardProjectList) {
         if (dashboardView != null) {
-            dashboardView.refreshDashboardView(projectModel, reportError);
+            dashboardView.setInput(sortedDashboardProjectList);
         }
     }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 IBM Corporation and others.
+ * Copyright (c) 2022, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -19,6 +19,8 @@ public class EarlyStartupRegistration implements org.eclipse.ui.IStartup {
         // Causes AbstractUIPlugin to start() early
 
         // Don't need to do anything, just registering as an IStartup so
-        // the bundle will eagerly start.
+        // the bundle will eagerly start. If lazy activation is enabled in the
+        // Liberty preferences, the start is cheap and project classification
+        // and resource listening are deferred until first use.
     }
 }
@@ -0,0 +1,277 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.gradle.tooling.BuildLauncher;
+import org.gradle.tooling.CancellationToken;
+import org.gradle.tooling.CancellationTokenSource;
+import org.gradle.tooling.GradleConnectionException;
+import org.gradle.tooling.GradleConnector;
+import org.gradle.tooling.ProjectConnection;
+import org.gradle.tooling.ResultHandler;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Runs Gradle tasks through the Gradle Tooling API instead of a shell command line. Task arguments are passed as a list, so paths
+ * containing spaces need no quoting, and the builds run in the Gradle daemon, which stays warm between runs. Connections are reused
+ * per project. The Gradle distribution is the one the terminal would use: the project's wrapper distribution or the Gradle
+ * installation that contains the resolved gradle executable. If that installation cannot be found, the build's own distribution is
+ * used.
+ */
+public class GradleLaunchEngine {
+
+    /** The instance of this class. */
+    private static GradleLaunchEngine instance;
+
+    /** The open connections by project path. */
+    private final Map<String, ProjectConnection> connections = new ConcurrentHashMap<String, ProjectConnection>();
+
+    /**
+     * Returns the instance of this class.
+     *
+     * @return The instance of this class.
+     */
+    public static synchronized GradleLaunchEngine getInstance() {
+        if (instance == null) {
+            instance = new GradleLaunchEngine();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns a new cancellation token source for the builds run by this engine.
+     *
+     * @return A new cancellation token source.
+     */
+    public CancellationTokenSource newCancellationTokenSource() {
+        return GradleConnector.newCancellationTokenSource();
+    }
+
+    /**
+     * Runs the input tasks on the input project in the background.
+     *
+     * @param projectPath The project's path.
+     * @param pathEnv The PATH environment variable used to find a Gradle installation if the project has no wrapper.
+     * @param tasks The tasks to run.
+     * @param args The build arguments.
+     * @param javaHome The Java installation used by the build, or null to use the Tooling API default.
+     * @param output The stream that receives the build standard output and error, or null to discard it.
+     * @param token The token used to cancel the build, or null if the build cannot be cancelled.
+     *
+     * @return A future completed when the build completes. The future completes exceptionally if the build fails or is cancelled.
+     */
+    public CompletableFuture<Void> run(String projectPath, String pathEnv, List<String> tasks, List<String> args, String javaHome,
+            OutputStream output, CancellationToken token) {
+        return run(projectPath, pathEnv, tasks, args, javaHome, output, null, token);
+    }
+
+    /**
+     * Runs the input tasks on the input project in the background. The build reads its standard input from the input stream, which
+     * lets interactive tasks such as libertyDev take commands.
+     *
+     * @param projectPath The project's path.
+     * @param pathEnv The PATH environment variable used to find a Gradle installation if the project has no wrapper.
+     * @param tasks The tasks to run.
+     * @param args The build arguments.
+     * @param javaHome The Java installation used by the build, or null to use the Tooling API default.
+     * @param output The stream that receives the build standard output and error, or null to discard it.
+     * @param input The stream from which the build reads its standard input, or null if the build reads no input.
+     * @param token The token used to cancel the build, or null if the build cannot be cancelled.
+     *
+     * @return A future completed when the build completes. The future completes exceptionally if the build fails or is cancelled.
+     */
+    public CompletableFuture<Void> run(String projectPath, String pathEnv, List<String> tasks, List<String> args, String javaHome,
+            OutputStream output, InputStream input, CancellationToken token) {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { projectPath, tasks, args, javaHome });
+        }
+
+        CompletableFuture<Void> result = new CompletableFuture<Void>();
+        try {
+            BuildLauncher launcher = getConnection(projectPath, pathEnv).newBuild();
+            launcher.forTasks(tasks.toArray(new String[tasks.size()]));
+            launcher.withArguments(args);
+            if (javaHome != null) {
+                launcher.setJavaHome(new File(javaHome));
+            }
+            if (output != null) {
+                launcher.setStandardOutput(output);
+                launcher.setStandardError(output);
+            }
+            if (input != null) {
+                launcher.setStandardInput(input);
+            }
+            if (token != null) {
+                launcher.withCancellationToken(token);
+            }
+            launcher.run(new ResultHandler<Void>() {
+                @Override
+                public void onComplete(Void value) {
+                    result.complete(null);
+                }
+
+                @Override
+                public void onFailure(GradleConnectionException failure) {
+                    result.completeExceptionally(failure);
+                }
+            });
+        } catch (Exception e) {
+            // The connection could not be used. Do not keep it around.
+            close(projectPath);
+            result.completeExceptionally(e);
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, projectPath);
+        }
+        return result;
+    }
+
+    /**
+     * Closes the connection to the input project, if any. The next build opens a new connection, which picks up changes to the
+     * project's wrapper or to the Gradle installation preference.
+     *
+     * @param projectPath The project's path.
+     */
+    public void close(String projectPath) {
+        if (projectPath == null) {
+            return;
+        }
+        ProjectConnection connection = connections.remove(projectPath);
+        if (connection != null) {
+            closeQuietly(connection);
+        }
+    }
+
+    /**
+     * Closes all connections.
+     */
+    public void closeAll() {
+        for (String projectPath : connections.keySet()) {
+            close(projectPath);
+        }
+    }
+
+    /**
+     * Returns the connection to the input project, connecting first if needed.
+     *
+     * @param projectPath The project's path.
+     * @param pathEnv The PATH environment variable.
+     *
+     * @return The connection to the input project.
+     */
+    private ProjectConnection getConnection(String projectPath, String pathEnv) {
+        return connections.computeIfAbsent(projectPath, path -> {
+            GradleConnector connector = GradleConnector.newConnector().forProjectDirectory(new File(path));
+
+            // Without a wrapper, use the Gradle installation the terminal would use. With a wrapper, or if the installation cannot be
+            // found from the gradle command, the Tooling API uses the build's distribution: the wrapper's, or its default version.
+            String cmd = CommandBuilder.findCommand(path, pathEnv, false);
+            File gradleHome = null;
+            if (cmd != null && !Paths.get(cmd).getFileName().toString().startsWith("gradlew")) {
+                gradleHome = getGradleHome(Paths.get(cmd));
+            }
+            if (gradleHome != null) {
+                connector.useInstallation(gradleHome);
+            } else {
+                connector.useBuildDistribution();
+            }
+
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                        "Connecting to Gradle project " + path + ". Command: " + cmd + ". Gradle installation: " + gradleHome);
+            }
+            return connector.connect();
+        });
+    }
+
+    /**
+     * Returns the Gradle installation that contains the input gradle command. Links are resolved first: a command such as
+     * /usr/bin/gradle usually links to the bin directory of the installation. Some packages, such as Homebrew's, install a launcher
+     * script next to a libexec directory that holds the installation.
+     *
+     * @param gradleCmd The path of the gradle command.
+     *
+     * @return The Gradle installation directory, or null if the command is not part of a Gradle installation.
+     */
+    public static File getGradleHome(Path gradleCmd) {
+        Path binDir = null;
+        try {
+            binDir = gradleCmd.toRealPath().getParent();
+        } catch (IOException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to resolve the gradle command " + gradleCmd, e);
+            }
+        }
+        if (binDir == null || binDir.getParent() == null) {
+            return null;
+        }
+
+        Path home = binDir.getParent();
+        for (Path candidate : new Path[] { home, home.resolve("libexec") }) {
+            if (isGradleHome(candidate)) {
+                return candidate.toFile();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns true if the input directory holds a Gradle distribution: its lib directory contains the Gradle launcher jar.
+     *
+     * @param dir The directory.
+     *
+     * @return True if the input directory holds a Gradle distribution. False, otherwise.
+     */
+    private static boolean isGradleHome(Path dir) {
+        Path libDir = dir.resolve("lib");
+        if (!Files.isDirectory(libDir)) {
+            return false;
+        }
+        try (DirectoryStream<Path> jars = Files.newDirectoryStream(libDir, "gradle-launcher-*.jar")) {
+            return jars.iterator().hasNext();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes the input connection.
+     *
+     * @param connection The connection.
+     */
+    private void closeQuietly(ProjectConnection connection) {
+        try {
+            connection.close();
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to close the Gradle connection " + connection, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,360 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps the hot reload cycles of the projects running in dev mode. A cycle goes from the time a project file is saved in the
+ * workspace to the time dev mode reports the updated application, or configuration, as available. The latencies of each project are
+ * summarized as a histogram.
+ */
+public class HotReloadStatistics {
+
+    /** The maximum number of samples kept per project. */
+    public static final int MAX_SAMPLES_PER_PROJECT = 500;
+
+    /** The value of a timing that was not observed. */
+    public static final long NOT_OBSERVED = -1;
+
+    /** The upper bounds, exclusive, of the histogram buckets, in milliseconds. The last bucket has no upper bound. */
+    public static final long[] BUCKET_BOUNDS_MS = { 250, 500, 1000, 2000, 5000, 10000, 30000 };
+
+    /**
+     * The outcome of a hot reload cycle.
+     */
+    public static enum Outcome {
+        /** Dev mode reported the application or configuration as updated. */
+        AVAILABLE,
+        /** Dev mode reported compilation errors. */
+        FAILED
+    };
+
+    /** The samples by project name, oldest first. */
+    private final Map<String, Deque<Sample>> samples = new TreeMap<String, Deque<Sample>>();
+
+    /**
+     * Records a hot reload cycle.
+     *
+     * @param sample The cycle.
+     */
+    public synchronized void record(Sample sample) {
+        Deque<Sample> projectSamples = samples.computeIfAbsent(sample.getProjectName(), k -> new ArrayDeque<Sample>());
+        if (projectSamples.size() >= MAX_SAMPLES_PER_PROJECT) {
+            projectSamples.removeFirst();
+        }
+        projectSamples.addLast(sample);
+    }
+
+    /**
+     * Returns the names of the projects with recorded cycles.
+     *
+     * @return The names of the projects with recorded cycles, sorted.
+     */
+    public synchronized List<String> getProjectNames() {
+        return new ArrayList<String>(samples.keySet());
+    }
+
+    /**
+     * Returns the recorded cycles of the input project, oldest first.
+     *
+     * @param projectName The project name.
+     *
+     * @return The recorded cycles of the input project.
+     */
+    public synchronized List<Sample> getSamples(String projectName) {
+        Deque<Sample> projectSamples = samples.get(projectName);
+        return (projectSamples == null) ? new ArrayList<Sample>() : new ArrayList<Sample>(projectSamples);
+    }
+
+    /**
+     * Returns the latency histogram of the successful cycles of the input project. Entry i counts the latencies lower than
+     * {@link #BUCKET_BOUNDS_MS}[i] and not counted by a previous entry. The last entry counts the remaining latencies.
+     *
+     * @param projectName The project name.
+     *
+     * @return The latency histogram of the successful cycles of the input project.
+     */
+    public int[] getHistogram(String projectName) {
+        int[] histogram = new int[BUCKET_BOUNDS_MS.length + 1];
+        for (Sample sample : getSamples(projectName)) {
+            if (sample.getOutcome() == Outcome.AVAILABLE) {
+                histogram[getBucket(sample.getLatencyMs())]++;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Returns the input percentile of the latencies of the successful cycles of the input project.
+     *
+     * @param projectName The project name.
+     * @param percentile The percentile, between 0 and 100.
+     *
+     * @return The input percentile of the latencies, or {@link #NOT_OBSERVED} if no successful cycle was recorded.
+     */
+    public long getPercentile(String projectName, double percentile) {
+        return getPercentile(getSortedLatencies(getSamples(projectName)), percentile);
+    }
+
+    /**
+     * Removes all recorded cycles.
+     */
+    public synchronized void clear() {
+        samples.clear();
+    }
+
+    /**
+     * Returns a readable summary of the recorded cycles: the latency percentiles and the histogram of each project.
+     *
+     * @return A readable summary of the recorded cycles.
+     */
+    public String getReport() {
+        StringBuilder sb = new StringBuilder();
+        for (String projectName : getProjectNames()) {
+            List<Sample> projectSamples = getSamples(projectName);
+            long[] latencies = getSortedLatencies(projectSamples);
+            sb.append(projectName).append(": ").append(latencies.length).append(" updates, ");
+            sb.append(projectSamples.size() - latencies.length).append(" failed");
+            if (latencies.length > 0) {
+                sb.append(", p50=").append(getPercentile(latencies, 50)).append("ms");
+                sb.append(", p90=").append(getPercentile(latencies, 90)).append("ms");
+                sb.append(", max=").append(latencies[latencies.length - 1]).append("ms");
+            }
+            sb.append(System.lineSeparator());
+
+            int[] histogram = getHistogram(projectName);
+            for (int i = 0; i < histogram.length; i++) {
+                if (histogram[i] > 0) {
+                    sb.append("    ").append(getBucketLabel(i)).append(": ").append(histogram[i]).append(System.lineSeparator());
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes all recorded cycles as comma separated values, with a header line. Timings that were not observed are left empty.
+     *
+     * @param writer The writer.
+     *
+     * @throws IOException
+     */
+    public void exportCsv(Writer writer) throws IOException {
+        writer.write("project,save_time,latency_ms,compile_ms,outcome");
+        writer.write(System.lineSeparator());
+        for (String projectName : getProjectNames()) {
+            for (Sample sample : getSamples(projectName)) {
+                writer.write(projectName);
+                writer.write(',');
+                writer.write(Instant.ofEpochMilli(sample.getSaveTime()).toString());
+                writer.write(',');
+                writer.write(String.valueOf(sample.getLatencyMs()));
+                writer.write(',');
+                writer.write((sample.getCompileMs() == NOT_OBSERVED) ? "" : String.valueOf(sample.getCompileMs()));
+                writer.write(',');
+                writer.write(sample.getOutcome().name());
+                writer.write(System.lineSeparator());
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes all recorded cycles as a JSON document. Each project holds its latency percentiles, its histogram and its cycles.
+     *
+     * @param writer The writer.
+     *
+     * @throws IOException
+     */
+    public void exportJson(Writer writer) throws IOException {
+        writer.write("{\"projects\":[");
+        boolean firstProject = true;
+        for (String projectName : getProjectNames()) {
+            List<Sample> projectSamples = getSamples(projectName);
+            long[] latencies = getSortedLatencies(projectSamples);
+            if (!firstProject) {
+                writer.write(',');
+            }
+            firstProject = false;
+
+            writer.write("{\"name\":" + toJsonString(projectName));
+            writer.write(",\"updates\":" + latencies.length);
+            writer.write(",\"failed\":" + (projectSamples.size() - latencies.length));
+            writer.write(",\"p50_ms\":" + toJsonNumber(getPercentile(latencies, 50)));
+            writer.write(",\"p90_ms\":" + toJsonNumber(getPercentile(latencies, 90)));
+            writer.write(",\"max_ms\":" + toJsonNumber(latencies.length == 0 ? NOT_OBSERVED : latencies[latencies.length - 1]));
+
+            writer.write(",\"histogram\":[");
+            int[] histogram = getHistogram(projectName);
+            for (int i = 0; i < histogram.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                String bound = (i < BUCKET_BOUNDS_MS.length) ? String.valueOf(BUCKET_BOUNDS_MS[i]) : "null";
+                writer.write("{\"lt_ms\":" + bound + ",\"count\":" + histogram[i] + "}");
+            }
+
+            writer.write("],\"samples\":[");
+            for (int i = 0; i < projectSamples.size(); i++) {
+                Sample sample = projectSamples.get(i);
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write("{\"save_time\":" + toJsonString(Instant.ofEpochMilli(sample.getSaveTime()).toString()));
+                writer.write(",\"latency_ms\":" + sample.getLatencyMs());
+                writer.write(",\"compile_ms\":" + toJsonNumber(sample.getCompileMs()));
+                writer.write(",\"outcome\":" + toJsonString(sample.getOutcome().name()) + "}");
+            }
+            writer.write("]}");
+        }
+        writer.write("]}");
+        writer.flush();
+    }
+
+    /**
+     * Returns the histogram bucket of the input latency.
+     *
+     * @param latencyMs The latency in milliseconds.
+     *
+     * @return The histogram bucket of the input latency.
+     */
+    private static int getBucket(long latencyMs) {
+        for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+            if (latencyMs < BUCKET_BOUNDS_MS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_MS.length;
+    }
+
+    /**
+     * Returns the label of the input histogram bucket. For example: "500-1000ms".
+     *
+     * @param bucket The histogram bucket.
+     *
+     * @return The label of the input histogram bucket.
+     */
+    private static String getBucketLabel(int bucket) {
+        if (bucket == 0) {
+            return "<" + BUCKET_BOUNDS_MS[0] + "ms";
+        }
+        if (bucket == BUCKET_BOUNDS_MS.length) {
+            return ">=" + BUCKET_BOUNDS_MS[bucket - 1] + "ms";
+        }
+        return BUCKET_BOUNDS_MS[bucket - 1] + "-" + BUCKET_BOUNDS_MS[bucket] + "ms";
+    }
+
+    private static long[] getSortedLatencies(List<Sample> projectSamples) {
+        long[] latencies = projectSamples.stream().filter(s -> s.getOutcome() == Outcome.AVAILABLE).mapToLong(Sample::getLatencyMs)
+                .toArray();
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    /**
+     * Returns the input percentile of the input sorted latencies, using the nearest rank method.
+     */
+    private static long getPercentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return NOT_OBSERVED;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sortedLatencies.length);
+        return sortedLatencies[Math.min(Math.max(rank, 1), sortedLatencies.length) - 1];
+    }
+
+    private static String toJsonNumber(long value) {
+        return (value == NOT_OBSERVED) ? "null" : String.valueOf(value);
+    }
+
+    private static String toJsonString(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * A hot reload cycle.
+     */
+    public static class Sample {
+
+        private final String projectName;
+
+        private final long saveTime;
+
+        private final long latencyMs;
+
+        private final long compileMs;
+
+        private final Outcome outcome;
+
+        /**
+         * Constructor.
+         *
+         * @param projectName The project name.
+         * @param saveTime The time the file was saved, in milliseconds since the epoch.
+         * @param latencyMs The time from the save to dev mode reporting the outcome.
+         * @param compileMs The time from the save to the end of the source compilation, or {@link HotReloadStatistics#NOT_OBSERVED}.
+         * @param outcome The outcome of the cycle.
+         */
+        public Sample(String projectName, long saveTime, long latencyMs, long compileMs, Outcome outcome) {
+            this.projectName = projectName;
+            this.saveTime = saveTime;
+            this.latencyMs = latencyMs;
+            this.compileMs = compileMs;
+            this.outcome = outcome;
+        }
+
+        public String getProjectName() {
+            return projectName;
+        }
+
+        public long getSaveTime() {
+            return saveTime;
+        }
+
+        public long getLatencyMs() {
+            return latencyMs;
+        }
+
+        public long getCompileMs() {
+            return compileMs;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        @Override
+        public String toString() {
+            return projectName + ": latency=" + latencyMs + "ms, compile=" + compileMs + "ms, outcome=" + outcome;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+import org.eclipse.m2e.core.project.IMavenProjectRegistry;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Plans the start of several projects. Aggregated Maven server modules are started with "-am -pl <module>", so each dev mode
+ * reactor builds the module's upstream workspace modules. When several modules of the same aggregator are started together, the
+ * upstream modules they share are built first, once, in a single reactor. The dev mode reactors, started concurrently afterwards,
+ * then find these modules up to date instead of all building them at the same time.
+ */
+public class LaunchPlanner {
+
+    /**
+     * Resolves the workspace projects a project depends on.
+     */
+    @FunctionalInterface
+    public interface DependencyResolver {
+
+        /**
+         * Returns the workspace projects the input project depends on, directly or not.
+         *
+         * @param project The project.
+         *
+         * @return The workspace projects the input project depends on.
+         *
+         * @throws Exception If the dependencies could not be resolved.
+         */
+        Collection<Project> getWorkspaceDependencies(Project project) throws Exception;
+    }
+
+    /** Resolves the workspace projects a project depends on. */
+    private final DependencyResolver resolver;
+
+    /**
+     * Constructor. The dependencies are resolved with the Maven model kept by m2e.
+     *
+     * @param projectModel The workspace projects model.
+     */
+    public LaunchPlanner(WorkspaceProjectsModel projectModel) {
+        this(project -> getMavenWorkspaceDependencies(projectModel, project));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param resolver Resolves the workspace projects a project depends on.
+     */
+    public LaunchPlanner(DependencyResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    /**
+     * Returns the plan to start the input projects.
+     *
+     * @param projects The projects to start.
+     *
+     * @return The plan to start the input projects.
+     */
+    public LaunchPlan plan(List<Project> projects) {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, projects);
+        }
+
+        // Group the aggregated Maven modules by aggregator.
+        Map<Project, List<Project>> modulesByAggregator = new LinkedHashMap<Project, List<Project>>();
+        for (Project project : projects) {
+            if (project.isAggregated() && project.getBuildType() == Project.BuildType.MAVEN) {
+                modulesByAggregator.computeIfAbsent(project.getParentDirProject(), k -> new ArrayList<Project>()).add(project);
+            }
+        }
+
+        List<PrebuildStep> steps = new ArrayList<PrebuildStep>();
+        for (Map.Entry<Project, List<Project>> entry : modulesByAggregator.entrySet()) {
+            List<Project> modules = entry.getValue();
+            if (modules.size() < 2) {
+                continue;
+            }
+
+            List<Project> sharedModules = getSharedUpstreamModules(entry.getKey(), modules);
+            if (!sharedModules.isEmpty()) {
+                steps.add(new PrebuildStep(entry.getKey(), sharedModules));
+            }
+        }
+
+        LaunchPlan plan = new LaunchPlan(steps, projects);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, plan);
+        }
+
+        return plan;
+    }
+
+    /**
+     * Returns the modules of the input aggregator that at least two of the input modules depend on. The returned list includes the
+     * modules those modules depend on, so it can be built by itself.
+     *
+     * @param aggregator The aggregator project.
+     * @param modules The modules to start.
+     *
+     * @return The shared upstream modules, ordered by path.
+     */
+    private List<Project> getSharedUpstreamModules(Project aggregator, List<Project> modules) {
+        IPath aggregatorLocation = aggregator.getIProject().getLocation();
+        Map<Project, Integer> useCount = new HashMap<Project, Integer>();
+
+        for (Project module : modules) {
+            for (Project upstream : getUpstreamClosure(module)) {
+                IPath location = upstream.getIProject().getLocation();
+                if (location != null && aggregatorLocation != null && aggregatorLocation.isPrefixOf(location)) {
+                    useCount.merge(upstream, 1, Integer::sum);
+                }
+            }
+        }
+
+        List<Project> shared = new ArrayList<Project>();
+        for (Map.Entry<Project, Integer> entry : useCount.entrySet()) {
+            if (entry.getValue() > 1) {
+                shared.add(entry.getKey());
+            }
+        }
+        Collections.sort(shared, (p1, p2) -> getModulePath(aggregator, p1).compareTo(getModulePath(aggregator, p2)));
+
+        return shared;
+    }
+
+    /**
+     * Returns the workspace projects the input module depends on, directly or not. A module whose dependencies cannot be resolved
+     * is considered to have none: dev mode builds it as usual.
+     *
+     * @param module The module.
+     *
+     * @return The workspace projects the input module depends on.
+     */
+    private Set<Project> getUpstreamClosure(Project module) {
+        Set<Project> closure = new LinkedHashSet<Project>();
+        Deque<Project> pending = new ArrayDeque<Project>();
+        pending.add(module);
+
+        while (!pending.isEmpty()) {
+            Project current = pending.poll();
+            try {
+                for (Project dependency : resolver.getWorkspaceDependencies(current)) {
+                    if (dependency != module && closure.add(dependency)) {
+                        pending.add(dependency);
+                    }
+                }
+            } catch (Exception e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to resolve the workspace dependencies of project " + current, e);
+                }
+            }
+        }
+
+        return closure;
+    }
+
+    /**
+     * Returns the path of the input module relative to the input aggregator. For example: "services/server1".
+     *
+     * @param aggregator The aggregator project.
+     * @param module The module.
+     *
+     * @return The path of the input module relative to the input aggregator.
+     */
+    public static String getModulePath(Project aggregator, Project module) {
+        IPath aggregatorLocation = aggregator.getIProject().getLocation();
+        return module.getIProject().getLocation().makeRelativeTo(aggregatorLocation).toPortableString();
+    }
+
+    /**
+     * Returns the workspace projects the input Maven project depends on, as resolved by m2e.
+     *
+     * @param projectModel The workspace projects model.
+     * @param project The project.
+     *
+     * @return The workspace projects the input Maven project depends on.
+     *
+     * @throws Exception If the Maven project could not be read.
+     */
+    private static Collection<Project> getMavenWorkspaceDependencies(WorkspaceProjectsModel projectModel, Project project)
+            throws Exception {
+        List<Project> dependencies = new ArrayList<Project>();
+        if (project.getBuildType() != Project.BuildType.MAVEN) {
+            return dependencies;
+        }
+
+        IMavenProjectRegistry registry = MavenPlugin.getMavenProjectRegistry();
+        IMavenProjectFacade facade = registry.getProject(project.getIProject());
+        if (facade == null) {
+            return dependencies;
+        }
+
+        MavenProject mavenProject = facade.getMavenProject(new NullProgressMonitor());
+        for (Artifact artifact : mavenProject.getArtifacts()) {
+            IMavenProjectFacade dependencyFacade = registry.getMavenProject(artifact.getGroupId(), artifact.getArtifactId(),
+                    artifact.getBaseVersion());
+            if (dependencyFacade != null) {
+                Project dependency = projectModel.getProject(dependencyFacade.getProject().getName());
+                if (dependency != null) {
+                    dependencies.add(dependency);
+                }
+            }
+        }
+
+        return dependencies;
+    }
+
+    /**
+     * The plan to start a set of projects.
+     */
+    public static class LaunchPlan {
+
+        private final List<PrebuildStep> prebuildSteps;
+
+        private final List<Project> projects;
+
+        private LaunchPlan(List<PrebuildStep> prebuildSteps, List<Project> projects) {
+            this.prebuildSteps = prebuildSteps;
+            this.projects = projects;
+        }
+
+        /**
+         * Returns the builds to run, concurrently, before the projects are started.
+         *
+         * @return The builds to run before the projects are started.
+         */
+        public List<PrebuildStep> getPrebuildSteps() {
+            return prebuildSteps;
+        }
+
+        /**
+         * Returns the projects to start. They can be started concurrently once the prebuild steps completed.
+         *
+         * @return The projects to start.
+         */
+        public List<Project> getProjects() {
+            return projects;
+        }
+
+        @Override
+        public String toString() {
+            return "Prebuild steps: " + prebuildSteps + ". Projects: " + projects.size();
+        }
+    }
+
+    /**
+     * A build of the upstream modules shared by several modules of an aggregator.
+     */
+    public static class PrebuildStep {
+
+        private final Project aggregator;
+
+        private final List<Project> modules;
+
+        private PrebuildStep(Project aggregator, List<Project> modules) {
+            this.aggregator = aggregator;
+            this.modules = modules;
+        }
+
+        /**
+         * Returns the aggregator project the build runs on.
+         *
+         * @return The aggregator project.
+         */
+        public Project getAggregator() {
+            return aggregator;
+        }
+
+        /**
+         * Returns the modules to build.
+         *
+         * @return The modules to build.
+         */
+        public List<Project> getModules() {
+            return modules;
+        }
+
+        /**
+         * Returns the build arguments. For example: "-q -am -pl shared/model,shared/util compile".
+         *
+         * @return The build arguments.
+         */
+        public String[] getBuildArgs() {
+            StringBuilder modulePaths = new StringBuilder();
+            for (Project module : modules) {
+                if (modulePaths.length() > 0) {
+                    modulePaths.append(',');
+                }
+                modulePaths.append(getModulePath(aggregator, module));
+            }
+            return new String[] { "-q", "-am", "-pl", modulePaths.toString(), "compile" };
+        }
+
+        @Override
+        public String toString() {
+            return aggregator.getName() + ": " + String.join(" ", getBuildArgs());
+        }
+    }
+}
@@ -12,12 +12,20 @@
 *******************************************************************************/
 package io.openliberty.tools.eclipse;
 
+import java.io.File;
+import java.nio.file.Files;
 import java.util.Hashtable;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.osgi.service.debug.DebugOptions;
 import org.eclipse.osgi.service.debug.DebugOptionsListener;
 import org.eclipse.swt.custom.CTabFolder;
@@ -39,6 +47,7 @@ import org.osgi.framework.BundleContext;
 
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.ui.launch.StartTab;
+import io.openliberty.tools.eclipse.ui.preferences.LibertyToolsPreferencePage;
 import io.openliberty.tools.eclipse.ui.terminal.ProjectTab;
 import io.openliberty.tools.eclipse.ui.terminal.ProjectTabController;
 import io.openliberty.tools.eclipse.utils.Utils;
@@ -66,9 +75,15 @@ public class LibertyDevPlugin extends AbstractUIPlugin {
     /** Terminal tab folder listener instance. */
     private CTabFolder2Listener tabFolderListener;
 
+    /** Preference listener that discards the resolved Maven and Gradle executables and the warm build daemons. */
+    private IPropertyChangeListener preferenceListener;
+
     /** Workbench page instance used to register the terminal part listener. */
     IWorkbenchPage iWorkbenchPage;
 
+    /** True once the project model was restored and the listeners were registered. */
+    private final AtomicBoolean initialized = new AtomicBoolean();
+
     /**
      * Constructor.
      */
@@ -77,6 +92,7 @@ public class LibertyDevPlugin extends AbstractUIPlugin {
 
     @Override
     public void start(BundleContext context) throws Exception {
+        long startTime = System.nanoTime();
         super.start(context);
         plugin = this;
 
@@ -85,22 +101,90 @@ public class LibertyDevPlugin extends AbstractUIPlugin {
         props.put(DebugOptions.LISTENER_SYMBOLICNAME, LibertyDevPlugin.DEBUG_OPTIONS_ID);
         context.registerService(DebugOptionsListener.class.getName(), new Trace(), props);
 
-        // Classify all projects in the workspace.
-        DevModeOperations.getInstance().getProjectModel().createNewCompleteWorkspaceModelWithClassify();
+        // Discard the resolved Maven and Gradle executables and the warm build daemons when the install location preferences
+        // change, or when warm launches are disabled.
+        preferenceListener = event -> {
+            String property = event.getProperty();
+            if (LibertyToolsPreferencePage.MVN_PATH.equals(property) || LibertyToolsPreferencePage.GRADLE_PATH.equals(property)) {
+                CommandBuilder.clearCache();
+                GradleLaunchEngine.getInstance().closeAll();
+                DevModeOperations.getInstance().getDaemonPool().clear();
+            } else if (LibertyToolsPreferencePage.WARM_LAUNCH.equals(property) && !BuildDaemonPool.isEnabled()) {
+                DevModeOperations.getInstance().getDaemonPool().clear();
+            }
+        };
+        getPreferenceStore().addPropertyChangeListener(preferenceListener);
 
-        // Register a workspace listener for cleanup.
-        registerListeners();
+        // If lazy activation is enabled, project classification and resource listening are deferred until the dashboard view, a
+        // Liberty launch shortcut, or a project with the Liberty nature is first used.
+        boolean lazyActivation = getPreferenceStore().getBoolean(LibertyToolsPreferencePage.LAZY_ACTIVATION);
+        if (!lazyActivation) {
+            ensureInitialized();
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Plugin start completed in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms. Lazy activation: " + lazyActivation);
+        }
     }
 
     @Override
     public void stop(BundleContext context) throws Exception {
-        DevModeOperations.getInstance().cancelRunningJobs();
-        unregisterListeners();
+        // Nothing was set up if the plugin was never used while lazy activation was enabled. Keep the previously saved snapshot.
+        if (initialized.get()) {
+            DevModeOperations.getInstance().cancelRunningJobs();
+            unregisterListeners();
+            DevModeOperations.getInstance().getClassificationJob().shutdown();
+            Job.getJobManager().cancel(BuildDaemonPool.FAMILY);
+            GradleLaunchEngine.getInstance().closeAll();
+            saveProjectModel();
+        }
+        if (preferenceListener != null) {
+            getPreferenceStore().removePropertyChangeListener(preferenceListener);
+        }
         plugin = null;
         super.stop(context);
 
     }
 
+    /**
+     * Restores the workspace project model and registers the workspace and terminal listeners. Only the first call does any work.
+     * This is called on plugin start, unless lazy activation is enabled. In that case, it is called when the dashboard view, a
+     * Liberty launch shortcut, or a project with the Liberty nature is first used.
+     */
+    public void ensureInitialized() {
+        if (!initialized.compareAndSet(false, true)) {
+            return;
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS);
+        }
+
+        long startTime = System.nanoTime();
+
+        // Restore the project model saved on the previous shutdown. The projects that changed since then are classified in the
+        // background. If there is no usable snapshot, all projects in the workspace are classified in the background.
+        restoreProjectModel();
+
+        // Register a workspace listener for cleanup.
+        registerListeners();
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS,
+                    "Initialization completed in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms.");
+        }
+    }
+
+    /**
+     * Returns true if the project model was restored and the listeners were registered.
+     *
+     * @return True if the project model was restored and the listeners were registered. False, otherwise.
+     */
+    public boolean isInitialized() {
+        return initialized.get();
+    }
+
     /**
      * Returns the shared instance
      *
@@ -110,6 +194,47 @@ public class LibertyDevPlugin extends AbstractUIPlugin {
         return plugin;
     }
 
+    /**
+     * Restores the workspace project model from the snapshot saved in the plugin state location and schedules the classification of
+     * the projects that changed since the snapshot was saved.
+     */
+    private void restoreProjectModel() {
+        DevModeOperations devModeOps = DevModeOperations.getInstance();
+        ProjectClassificationJob classificationJob = devModeOps.getClassificationJob();
+        WorkspaceProjectsModel model = devModeOps.getProjectModel();
+
+        File snapshotFile = getStateLocation().append(WorkspaceModelSnapshot.SNAPSHOT_FILE_NAME).toFile();
+        List<WorkspaceModelSnapshot.ProjectEntry> entries = WorkspaceModelSnapshot.load(snapshotFile);
+        if (entries == null) {
+            classificationJob.rebuild();
+            return;
+        }
+
+        List<IProject> projectsToUpdate = model.restoreWorkspaceModel(entries, model.getOpenWorkspaceProjects());
+        classificationJob.enqueue(projectsToUpdate);
+        classificationJob.revalidate();
+    }
+
+    /**
+     * Saves a snapshot of the workspace project model in the plugin state location. If the model is still being updated, the
+     * previous snapshot is deleted instead so that the model is rebuilt on the next startup.
+     */
+    private void saveProjectModel() {
+        File snapshotFile = getStateLocation().append(WorkspaceModelSnapshot.SNAPSHOT_FILE_NAME).toFile();
+        try {
+            DevModeOperations devModeOps = DevModeOperations.getInstance();
+            if (devModeOps.getClassificationJob().getState() != Job.NONE) {
+                Files.deleteIfExists(snapshotFile.toPath());
+                return;
+            }
+            WorkspaceModelSnapshot.save(devModeOps.getProjectModel().getProjects(), snapshotFile);
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to save the project model snapshot to " + snapshotFile, e);
+            }
+        }
+    }
+
     /**
      * Register listeners.
      */
@@ -144,7 +269,8 @@ public class LibertyDevPlugin extends AbstractUIPlugin {
 
         IWorkspace iWorkspace = ResourcesPlugin.getWorkspace();
         resourceChangeListener = new LibertyResourceChangeListener();
-        iWorkspace.addResourceChangeListener(resourceChangeListener, IResourceChangeEvent.PRE_BUILD);
+        // Project changes are processed before builds. File saves are noted after every change, even if auto build is disabled.
+        iWorkspace.addResourceChangeListener(resourceChangeListener, IResourceChangeEvent.PRE_BUILD | IResourceChangeEvent.POST_CHANGE);
 
         if (Trace.isEnabled()) {
             Trace.getTracer().traceExit(Trace.TRACE_TOOLS, resourceChangeListener);
@@ -286,7 +412,9 @@ public class LibertyDevPlugin extends AbstractUIPlugin {
         }
 
         IWorkspace iWorkspace = ResourcesPlugin.getWorkspace();
-        iWorkspace.removeResourceChangeListener(resourceChangeListener);
+        if (resourceChangeListener != null) {
+            iWorkspace.removeResourceChangeListener(resourceChangeListener);
+        }
 
         if (Trace.isEnabled()) {
             Trace.getTracer().traceExit(Trace.TRACE_TOOLS, iWorkspace);
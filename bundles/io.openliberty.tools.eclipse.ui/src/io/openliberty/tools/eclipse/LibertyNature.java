@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2022 IBM Corporation and others.
+* Copyright (c) 2022, 2023 IBM Corporation and others.
 *
 * This program and the accompanying materials are made available under the
 * terms of the Eclipse Public License v. 2.0 which is available at
@@ -27,20 +27,21 @@ public class LibertyNature implements IProjectNature {
 
     @Override
     public void configure() throws CoreException {
-        Display.getDefault().syncExec(new Runnable() {
+        // The nature may be configured by a job holding a workspace scheduling rule. Do not wait for the UI thread.
+        Display.getDefault().asyncExec(new Runnable() {
             @Override
             public void run() {
-                DevModeOperations.getInstance().refreshDashboardView(false);
+                DevModeOperations.getInstance().updateDashboardView(false);
             }
         });
     }
 
     @Override
     public void deconfigure() throws CoreException {
-        Display.getDefault().syncExec(new Runnable() {
+        Display.getDefault().asyncExec(new Runnable() {
             @Override
             public void run() {
-                DevModeOperations.getInstance().refreshDashboardView(false);
+                DevModeOperations.getInstance().updateDashboardView(false);
             }
         });
     }
@@ -53,5 +54,11 @@ public class LibertyNature implements IProjectNature {
     @Override
     public void setProject(IProject project) {
         this.project = project;
+
+        // Start tracking the workspace projects if lazy activation deferred it.
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        if (plugin != null) {
+            plugin.ensureInitialized();
+        }
     }
 }
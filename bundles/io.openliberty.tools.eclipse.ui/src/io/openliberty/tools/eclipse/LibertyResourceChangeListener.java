@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 IBM Corporation and others.
+ * Copyright (c) 2022, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -20,86 +20,286 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
-import org.eclipse.swt.widgets.Display;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.ui.terminal.HotReloadTracker;
+import io.openliberty.tools.eclipse.ui.terminal.ProjectTab;
+import io.openliberty.tools.eclipse.ui.terminal.ProjectTabController;
 
 public class LibertyResourceChangeListener implements IResourceChangeListener {
 
+    /** The project relative paths of the directories the test result files are written to. */
+    private static final String[] RESULT_DIR_PATHS = { "target/surefire-reports", "target/failsafe-reports", "build/test-results" };
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void resourceChanged(IResourceChangeEvent event) {
-        Display.getDefault().syncExec(new Runnable() {
-
-            @Override
-            public void run() {
-                DevModeOperations devModeOps = DevModeOperations.getInstance();
-                WorkspaceProjectsModel db = devModeOps.getProjectModel();
-                IResourceDelta delta = event.getDelta();
-                if (delta == null) {
-                    return;
+        DevModeOperations devModeOps = DevModeOperations.getInstance();
+        WorkspaceProjectsModel db = devModeOps.getProjectModel();
+        IResourceDelta delta = event.getDelta();
+        if (delta == null) {
+            return;
+        }
+
+        // Saves are reported after each change. They are noted for the hot reload cycles of the projects running in dev mode, and
+        // the test result files written to the workspace update the indexed test results.
+        if (event.getType() == IResourceChangeEvent.POST_CHANGE) {
+            processFileSaves(delta);
+            processTestResultChanges(delta);
+            return;
+        }
+
+        // On entry the resource type is the root workspace. Find the child resources affected.
+        IResourceDelta[] resourcesChanged = delta.getAffectedChildren();
+
+        List<IProject> projectsChanged = new ArrayList<IProject>();
+        boolean descriptionChanged = false;
+        boolean buildConfigChanged = false;
+
+        // Iterate over the affected resources.
+        for (IResourceDelta resourceChanged : resourcesChanged) {
+            IResource iResource = resourceChanged.getResource();
+            if (iResource.getType() != IResource.PROJECT) {
+                continue;
+            }
+            IProject iProject = (IProject) iResource;
+            boolean refreshNeeded = false;
+            Project project = db.getProject(iProject.getName());
+
+            int updateFlag = resourceChanged.getFlags();
+
+            // Maven or Gradle wrapper files changed. Discard the executables resolved for the project and its Gradle connection.
+            if (resourceChanged.getKind() == IResourceDelta.CHANGED && isWrapperChanged(resourceChanged)) {
+                String projectPath = (iProject.getLocation() == null) ? null : iProject.getLocation().toOSString();
+                CommandBuilder.invalidate(projectPath);
+                GradleLaunchEngine.getInstance().close(projectPath);
+            }
+
+            // Project description (.project) changed. Discard the cached natures and build type.
+            if (project != null && resourceChanged.getKind() == IResourceDelta.CHANGED
+                    && (updateFlag & IResourceDelta.DESCRIPTION) != 0) {
+                project.invalidateMetadataCache();
+                descriptionChanged = true;
+            }
+
+            switch (resourceChanged.getKind()) {
+            // Project opened/closed.
+            // Flag OPEN (16384): "Change constant (bit mask) indicating that the resource was opened or closed"
+            // Flag 147456: Although IResourceDelta does not have a predefined constant, this flag value is used to
+            // denote open/close actions.
+            case IResourceDelta.CHANGED:
+                if (updateFlag == IResourceDelta.OPEN || updateFlag == 147456) {
+                    refreshNeeded = true;
+                } else if (project != null && isReclassificationNeeded(project, resourceChanged)) {
+                    // A build file changed or Liberty server configuration was added or removed. The build type, aggregation and
+                    // server module status of the project are recomputed after the debounce window.
+                    buildConfigChanged = true;
+                    refreshNeeded = true;
+                }
+                break;
+            // Project created/imported.
+            // Flag OPEN (16384): "This flag is ... set when the project did not exist in the "before" state."
+            // Flag 147456: Although IResourceDelta does not have a predefined constant, this flag
+            // value is set when a project, that previously did not exist, is created.
+            case IResourceDelta.ADDED:
+                if (project == null && (updateFlag == IResourceDelta.OPEN || updateFlag == 147456)) {
+                    refreshNeeded = true;
                 }
+                break;
+            // Project deleted.
+            // Flag NO_CHANGE (0).
+            // Flag MARKERS (130172).
+            case IResourceDelta.REMOVED:
+                if (project != null && (updateFlag == IResourceDelta.NO_CHANGE || updateFlag == IResourceDelta.MARKERS)) {
+                    refreshNeeded = true;
+                }
+                break;
+            default:
+                break;
+            }
 
-                // On entry the resource type is the root workspace. Find the child resources affected.
-                IResourceDelta[] resourcesChanged = delta.getAffectedChildren();
+            if (refreshNeeded) {
+                ServerConfigDetector.getInstance().invalidate(iProject);
+                projectsChanged.add(iProject);
+            }
+        }
 
-                List<IProject> projectsChanged = new ArrayList<IProject>();
+        if (!projectsChanged.isEmpty() || descriptionChanged) {
+            // Only update the "delta" model instead of the whole workspace model. The update is done in the background. A description
+            // change only requires the dashboard content to be recomputed. Build files are often saved several times in a row, or
+            // updated together across modules, so their changes are batched over a longer window.
+            long delay = buildConfigChanged ? ProjectClassificationJob.BUILD_CONFIG_DEBOUNCE_MS
+                    : ProjectClassificationJob.COALESCE_DELAY_MS;
+            devModeOps.getClassificationJob().enqueue(projectsChanged, delay);
+        }
+    }
 
-                boolean refreshNeeded = false;
+    /**
+     * Notes the saves of the files of the projects whose dev mode is running, for the hot reload cycle measurements.
+     * 
+     * @param delta The workspace resource delta.
+     */
+    private void processFileSaves(IResourceDelta delta) {
+        long saveNanos = System.nanoTime();
+        ProjectTabController tabController = ProjectTabController.getInstance();
 
-                // Iterate over the affected resources.
-                for (IResourceDelta resourceChanged : resourcesChanged) {
-                    IResource iResource = resourceChanged.getResource();
-                    if (iResource.getType() != IResource.PROJECT) {
-                        continue;
-                    }
-                    IProject iProject = (IProject) iResource;
-                    projectsChanged.add(iProject);
-                    Project project = db.getProject(iProject.getName());
-
-                    int updateFlag = resourceChanged.getFlags();
-
-                    switch (resourceChanged.getKind()) {
-                    // Project opened/closed.
-                    // Flag OPEN (16384): "Change constant (bit mask) indicating that the resource was opened or closed"
-                    // Flag 147456: Although IResourceDelta does not have a predefined constant, this flag value is used to
-                    // denote open/close actions.
-                    case IResourceDelta.CHANGED:
-                        if (updateFlag == IResourceDelta.OPEN || updateFlag == 147456) {
-                            refreshNeeded = true;
-                        }
-                        break;
-                    // Project created/imported.
-                    // Flag OPEN (16384): "This flag is ... set when the project did not exist in the "before" state."
-                    // Flag 147456: Although IResourceDelta does not have a predefined constant, this flag
-                    // value is set when a project, that previously did not exist, is created.
-                    case IResourceDelta.ADDED:
-                        if (project == null && (updateFlag == IResourceDelta.OPEN || updateFlag == 147456)) {
-                            refreshNeeded = true;
-                        }
-                        break;
-                    // Project deleted.
-                    // Flag NO_CHANGE (0).
-                    // Flag MARKERS (130172).
-                    case IResourceDelta.REMOVED:
-                        if (project != null && (updateFlag == IResourceDelta.NO_CHANGE || updateFlag == IResourceDelta.MARKERS)) {
-                            refreshNeeded = true;
+        for (IResourceDelta projectDelta : delta.getAffectedChildren(IResourceDelta.CHANGED)) {
+            ProjectTab projectTab = tabController.getProjectTab(projectDelta.getResource().getName());
+            if (projectTab == null || projectTab.getState() != ProjectTab.State.READY) {
+                continue;
+            }
+
+            HotReloadTracker tracker = projectTab.getHotReloadTracker();
+            if (tracker != null && isSourceFileSaved(projectDelta)) {
+                tracker.fileSaved(saveNanos);
+            }
+        }
+    }
+
+    /**
+     * Updates the indexed test results of the projects whose result files changed. Only the projects whose results were already
+     * indexed are updated. The result files are read in the background.
+     * 
+     * @param delta The workspace resource delta.
+     */
+    private void processTestResultChanges(IResourceDelta delta) {
+        TestResultsIndex index = DevModeOperations.getInstance().getTestResultsIndex();
+
+        for (IResourceDelta projectDelta : delta.getAffectedChildren(IResourceDelta.CHANGED)) {
+            String projectName = projectDelta.getResource().getName();
+            if (!index.isIndexed(projectName)) {
+                continue;
+            }
+
+            List<java.nio.file.Path> resultFiles = new ArrayList<java.nio.file.Path>();
+            for (String resultDir : RESULT_DIR_PATHS) {
+                IResourceDelta dirDelta = projectDelta.findMember(new Path(resultDir));
+                if (dirDelta == null) {
+                    continue;
+                }
+                try {
+                    dirDelta.accept(resourceDelta -> {
+                        IResource resource = resourceDelta.getResource();
+                        if (resource.getType() == IResource.FILE && TestResultsIndex.isResultFile(resource.getName())
+                                && resource.getLocation() != null) {
+                            resultFiles.add(resource.getLocation().toFile().toPath());
                         }
-                        break;
-                    default:
-                        break;
+                        return true;
+                    });
+                } catch (CoreException e) {
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to process the test result delta of project " + projectName, e);
                     }
                 }
+            }
 
-                if (refreshNeeded) {
-                    // We leave this commented out as a marker of the idea that maybe one day we'll only
-                    // build the "delta" model instead of the whole workspace model
-                    // workspaceProjectsModel.buildMultiProjectModel(projectsChanged, true);
-                    db.createNewCompleteWorkspaceModelWithClassify();
-                    devModeOps.refreshDashboardView(false);
+            if (!resultFiles.isEmpty()) {
+                Job job = new Job("Reading test results of project " + projectName) {
+                    @Override
+                    protected IStatus run(IProgressMonitor monitor) {
+                        index.update(projectName, resultFiles);
+                        return Status.OK_STATUS;
+                    }
+                };
+                job.setSystem(true);
+                job.schedule();
+            }
+        }
+    }
+
+    /**
+     * Returns true if the input project delta contains files that were saved, added or removed. Derived resources, hidden
+     * resources, and the Maven and Gradle build output directories are ignored: dev mode writes to them itself.
+     * 
+     * @param projectDelta The resource delta of the project.
+     * 
+     * @return True if the input project delta contains files that were saved, added or removed. False, otherwise.
+     */
+    private boolean isSourceFileSaved(IResourceDelta projectDelta) {
+        boolean[] saved = new boolean[1];
+        try {
+            projectDelta.accept(resourceDelta -> {
+                IResource resource = resourceDelta.getResource();
+                if (saved[0] || resource.isDerived() || resource.isTeamPrivateMember() || resource.getName().startsWith(".")) {
+                    return false;
                 }
+
+                switch (resource.getType()) {
+                case IResource.FOLDER:
+                    return resource.getParent().getType() != IResource.PROJECT
+                            || !("target".equals(resource.getName()) || "build".equals(resource.getName()));
+                case IResource.FILE:
+                    saved[0] = resourceDelta.getKind() != IResourceDelta.CHANGED
+                            || (resourceDelta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0;
+                    return false;
+                default:
+                    return true;
+                }
+            });
+        } catch (CoreException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                        "Unable to process the resource delta of project " + projectDelta.getResource().getName(), e);
+            }
+        }
+        return saved[0];
+    }
+
+    /**
+     * Returns true if the input project delta contains Maven or Gradle wrapper files or directories.
+     * 
+     * @param projectDelta The resource delta of the project.
+     * 
+     * @return True if the input project delta contains Maven or Gradle wrapper files or directories. False, otherwise.
+     */
+    private boolean isWrapperChanged(IResourceDelta projectDelta) {
+        for (String wrapperPath : CommandBuilder.WRAPPER_PATHS) {
+            if (projectDelta.findMember(new Path(wrapperPath)) != null) {
+                return true;
             }
-        });
+        }
+        return false;
     }
 
-}
\ No newline at end of file
+    /**
+     * Returns true if the input project delta contains changes to the project's build files, or Liberty server configuration files
+     * added to or removed from the project's configuration locations. If so, the project's cached metadata and Liberty server
+     * configuration detection results are discarded.
+     * 
+     * @param project The project.
+     * @param projectDelta The resource delta of the project.
+     * 
+     * @return True if the project must be classified again. False, otherwise.
+     */
+    private boolean isReclassificationNeeded(Project project, IResourceDelta projectDelta) {
+        IProject iProject = project.getIProject();
+        ServerConfigDetector detector = ServerConfigDetector.getInstance();
+        BuildConfigDeltaVisitor visitor = new BuildConfigDeltaVisitor(iProject.getLocation(), detector.getConfigLocations(iProject));
+        try {
+            projectDelta.accept(visitor);
+        } catch (CoreException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to process the resource delta of project " + iProject.getName(), e);
+            }
+            return false;
+        }
+
+        if (!visitor.isReclassificationNeeded()) {
+            return false;
+        }
+
+        if (visitor.isBuildFileChanged()) {
+            project.invalidateMetadataCache();
+        }
+        detector.invalidate(iProject);
+        return true;
+    }
+}
@@ -0,0 +1,445 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.jdt.launching.IVMInstall;
+import org.eclipse.jdt.launching.JavaRuntime;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.PlatformUI;
+
+import io.openliberty.tools.eclipse.LaunchPlanner.LaunchPlan;
+import io.openliberty.tools.eclipse.LaunchPlanner.PrebuildStep;
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.messages.Messages;
+import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationDelegateLauncher.RuntimeEnv;
+import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationHelper;
+import io.openliberty.tools.eclipse.ui.preferences.LibertyToolsPreferencePage;
+import io.openliberty.tools.eclipse.utils.RingBufferOutputStream;
+
+/**
+ * Processes dev mode requests on a set of projects. One job is scheduled per project in a job group that runs at most the
+ * configured number of jobs at a time. A parent job reports the aggregate progress and the failures of the whole batch.
+ *
+ * Before start requests are processed, the upstream modules shared by the aggregated Maven modules to start are built once, as
+ * planned by the {@link LaunchPlanner}. Start requests hand their slot in the batch to the next project {@link #START_STAGGER_MS}
+ * after dev mode was launched, so that the build and server JVMs of the batch do not all start at once, and so that debug ports are
+ * allocated one launch at a time. The next project's job is scheduled with that delay: no thread waits in the meantime.
+ */
+public class MultiProjectOperations {
+
+    /** The family of the jobs that process batch requests. */
+    public static final Object FAMILY = MultiProjectOperations.class;
+
+    /** The default maximum number of projects processed at the same time. */
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    /** The time after dev mode was launched by a start request before the next project of the batch is started in its slot. */
+    public static final long START_STAGGER_MS = TimeUnit.SECONDS.toMillis(2);
+
+    /** Batch requests. */
+    public static enum Operation {
+        START("Start"), DEBUG("Debug"), STOP("Stop"), RUN_TESTS("Run tests");
+
+        private final String label;
+
+        private Operation(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Returns the request label.
+         *
+         * @return The request label.
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /** The names of the projects being launched by a batch request. */
+    private static final Set<String> batchLaunches = ConcurrentHashMap.newKeySet();
+
+    /** DevModeOperations instance. */
+    private final DevModeOperations devModeOps;
+
+    /** PATH environment variable. */
+    private final String pathEnv;
+
+    /**
+     * Constructor.
+     *
+     * @param devModeOps The DevModeOperations instance.
+     * @param pathEnv The PATH environment variable.
+     */
+    public MultiProjectOperations(DevModeOperations devModeOps, String pathEnv) {
+        this.devModeOps = devModeOps;
+        this.pathEnv = pathEnv;
+    }
+
+    /**
+     * Returns the maximum number of projects processed at the same time, as set in the preferences.
+     *
+     * @return The maximum number of projects processed at the same time.
+     */
+    public static int getConcurrency() {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        int concurrency = (plugin == null) ? 0 : plugin.getPreferenceStore().getInt(LibertyToolsPreferencePage.BATCH_CONCURRENCY);
+        return (concurrency > 0) ? concurrency : DEFAULT_CONCURRENCY;
+    }
+
+    /**
+     * Returns true if the input project is being launched by a batch request. Batch launches are not tied to the workbench
+     * selection, which may change while the batch runs.
+     *
+     * @param projectName The project name.
+     *
+     * @return True if the input project is being launched by a batch request. False, otherwise.
+     */
+    public static boolean isBatchLaunch(String projectName) {
+        return projectName != null && batchLaunches.contains(projectName);
+    }
+
+    /**
+     * Processes the input request on the input projects in the background.
+     *
+     * @param operation The request.
+     * @param iProjects The projects to process.
+     *
+     * @return The job that reports the progress of the whole batch. The job is already scheduled.
+     */
+    public Job run(Operation operation, List<IProject> iProjects) {
+        return run(operation, iProjects, getConcurrency());
+    }
+
+    /**
+     * Processes the input request on the input projects in the background, processing at most the input number of projects at
+     * the same time.
+     *
+     * @param operation The request.
+     * @param iProjects The projects to process.
+     * @param concurrency The maximum number of projects processed at the same time.
+     *
+     * @return The job that reports the progress of the whole batch. The job is already scheduled.
+     */
+    public Job run(Operation operation, List<IProject> iProjects, int concurrency) {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { operation, iProjects, concurrency });
+        }
+
+        List<IProject> projects = new ArrayList<IProject>(iProjects);
+        String batchName = operation.getLabel() + " " + projects.size() + " Liberty projects";
+        JobGroup group = new JobGroup(batchName, Math.max(1, concurrency), projects.size());
+        List<Job> projectJobs = new ArrayList<Job>(projects.size());
+        AtomicBoolean batchCancelled = new AtomicBoolean();
+
+        for (IProject iProject : projects) {
+            Job job = new Job(operation.getLabel() + " " + iProject.getName()) {
+                @Override
+                protected IStatus run(IProgressMonitor monitor) {
+                    if (batchCancelled.get()) {
+                        return Status.CANCEL_STATUS;
+                    }
+                    return process(operation, iProject, monitor);
+                }
+
+                @Override
+                public boolean belongsTo(Object family) {
+                    return FAMILY == family;
+                }
+            };
+            job.setJobGroup(group);
+            job.setSystem(true);
+            projectJobs.add(job);
+        }
+
+        List<CompletableFuture<Integer>> prebuilds = new CopyOnWriteArrayList<CompletableFuture<Integer>>();
+        Job batchJob = new Job(batchName) {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                monitor.beginTask(batchName, projectJobs.size());
+
+                // Build the upstream modules shared by the projects to start before starting them.
+                if (operation == Operation.START || operation == Operation.DEBUG) {
+                    prebuild(projects, prebuilds, monitor);
+                    if (monitor.isCanceled()) {
+                        monitor.done();
+                        return Status.CANCEL_STATUS;
+                    }
+                }
+
+                JobChangeAdapter progressListener = new JobChangeAdapter() {
+                    @Override
+                    public void done(IJobChangeEvent event) {
+                        synchronized (monitor) {
+                            monitor.worked(1);
+                        }
+                    }
+                };
+                for (Job job : projectJobs) {
+                    job.addJobChangeListener(progressListener);
+                }
+
+                if (operation == Operation.START || operation == Operation.DEBUG) {
+                    // Start as many projects as there are slots. Each completed start schedules the next project in its slot.
+                    Queue<Job> pendingJobs = new ConcurrentLinkedQueue<Job>(projectJobs);
+                    JobChangeAdapter staggerListener = new JobChangeAdapter() {
+                        @Override
+                        public void done(IJobChangeEvent event) {
+                            Job next = pendingJobs.poll();
+                            if (next != null) {
+                                next.schedule(batchCancelled.get() ? 0 : START_STAGGER_MS);
+                            }
+                        }
+                    };
+                    for (Job job : projectJobs) {
+                        job.addJobChangeListener(staggerListener);
+                    }
+                    for (int i = 0; i < Math.max(1, concurrency); i++) {
+                        Job job = pendingJobs.poll();
+                        if (job != null) {
+                            job.schedule();
+                        }
+                    }
+                } else {
+                    for (Job job : projectJobs) {
+                        job.schedule();
+                    }
+                }
+
+                try {
+                    group.join(0, monitor);
+                } catch (OperationCanceledException e) {
+                    group.cancel();
+                    return Status.CANCEL_STATUS;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    group.cancel();
+                    return Status.CANCEL_STATUS;
+                } finally {
+                    monitor.done();
+                }
+
+                return getBatchResult(operation, projectJobs);
+            }
+
+            @Override
+            public boolean belongsTo(Object family) {
+                return FAMILY == family;
+            }
+
+            @Override
+            protected void canceling() {
+                batchCancelled.set(true);
+                for (CompletableFuture<Integer> prebuild : prebuilds) {
+                    prebuild.cancel(true);
+                }
+                group.cancel();
+            }
+        };
+        batchJob.setUser(true);
+        batchJob.schedule();
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, batchName);
+        }
+
+        return batchJob;
+    }
+
+    /**
+     * Runs the prebuild steps of the launch plan of the input projects, concurrently, and waits for them to complete. A failed
+     * prebuild step is only traced: dev mode builds the modules again and reports the errors on the project's terminal.
+     *
+     * @param iProjects The projects to start.
+     * @param prebuilds The list that receives the running prebuild steps, so that they can be cancelled.
+     * @param monitor The progress monitor.
+     */
+    private void prebuild(List<IProject> iProjects, List<CompletableFuture<Integer>> prebuilds, IProgressMonitor monitor) {
+        WorkspaceProjectsModel projectModel = devModeOps.getProjectModel();
+        List<Project> projects = new ArrayList<Project>();
+        for (IProject iProject : iProjects) {
+            Project project = projectModel.getProject(iProject.getName());
+            if (project != null) {
+                projects.add(project);
+            }
+        }
+
+        LaunchPlan plan = new LaunchPlanner(projectModel).plan(projects);
+        if (plan.getPrebuildSteps().isEmpty()) {
+            return;
+        }
+
+        IVMInstall vmInstall = JavaRuntime.getDefaultVMInstall();
+        String javaHome = (vmInstall == null || vmInstall.getInstallLocation() == null) ? null
+                : vmInstall.getInstallLocation().getAbsolutePath();
+
+        monitor.subTask("Building shared modules");
+        for (PrebuildStep step : plan.getPrebuildSteps()) {
+            String aggregatorPath = step.getAggregator().getPath();
+            RingBufferOutputStream output = new RingBufferOutputStream(StopCommandJob.OUTPUT_BUFFER_SIZE);
+            try {
+                ProcessBuilder pb = new ProcessBuilder(CommandBuilder.getMavenCommand(aggregatorPath, pathEnv, step.getBuildArgs()))
+                        .directory(new File(aggregatorPath)).redirectErrorStream(true);
+                if (javaHome != null) {
+                    pb.environment().put("JAVA_HOME", javaHome);
+                }
+                CompletableFuture<Integer> prebuild = StopCommandJob.launchProcess(pb, output);
+                prebuild.whenComplete((rc, e) -> {
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_TOOLS, "Prebuild step " + step + " completed with exit code " + rc
+                                + ((rc == null || rc != 0) ? ". Output: " + output : ""), e);
+                    }
+                });
+                prebuilds.add(prebuild);
+            } catch (Exception e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to run prebuild step " + step, e);
+                }
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(prebuilds.toArray(new CompletableFuture<?>[prebuilds.size()])).get();
+        } catch (Exception e) {
+            // Failures were traced. Cancellation is checked by the caller.
+        }
+    }
+
+    /**
+     * Processes the input request on the input project.
+     *
+     * @param operation The request.
+     * @param iProject The project to process.
+     * @param monitor The progress monitor.
+     *
+     * @return The result of the request.
+     */
+    private IStatus process(Operation operation, IProject iProject, IProgressMonitor monitor) {
+        if (monitor.isCanceled()) {
+            return Status.CANCEL_STATUS;
+        }
+
+        String projectName = iProject.getName();
+        try {
+            switch (operation) {
+                case START:
+                    launch(iProject, ILaunchManager.RUN_MODE, monitor);
+                    break;
+                case DEBUG:
+                    launch(iProject, ILaunchManager.DEBUG_MODE, monitor);
+                    break;
+                case STOP:
+                    syncExec(() -> devModeOps.stop(iProject));
+                    break;
+                case RUN_TESTS:
+                    syncExec(() -> devModeOps.runTests(iProject));
+                    break;
+            }
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                        "An error was detected during the batch " + operation + " request on project " + projectName, e);
+            }
+            return new Status(IStatus.ERROR, LibertyDevPlugin.PLUGIN_ID,
+                    NLS.bind(Messages.batch_operation_error, operation.getLabel(), projectName), e);
+        }
+
+        return Status.OK_STATUS;
+    }
+
+    /**
+     * Launches dev mode on the input project with the project's launch configuration.
+     *
+     * @param iProject The project to launch.
+     * @param mode The launch mode. Run or debug.
+     * @param monitor The progress monitor.
+     *
+     * @throws Exception
+     */
+    private void launch(IProject iProject, String mode, IProgressMonitor monitor) throws Exception {
+        devModeOps.verifyProjectSupport(iProject);
+
+        LaunchConfigurationHelper launchConfigHelper = LaunchConfigurationHelper.getInstance();
+        ILaunchConfiguration configuration = launchConfigHelper.getLaunchConfiguration(iProject, mode, RuntimeEnv.LOCAL);
+
+        String projectName = iProject.getName();
+        batchLaunches.add(projectName);
+        try {
+            configuration.launch(mode, monitor);
+        } finally {
+            batchLaunches.remove(projectName);
+        }
+    }
+
+    /**
+     * Runs the input action on the UI thread. The dev mode requests open terminals and report errors in dialogs.
+     *
+     * @param action The action to run.
+     */
+    private void syncExec(Runnable action) {
+        Display display = PlatformUI.getWorkbench().getDisplay();
+        display.syncExec(action);
+    }
+
+    /**
+     * Returns the aggregate result of the input project jobs.
+     *
+     * @param operation The request.
+     * @param projectJobs The project jobs.
+     *
+     * @return The aggregate result of the input project jobs.
+     */
+    private IStatus getBatchResult(Operation operation, List<Job> projectJobs) {
+        List<IStatus> failures = new ArrayList<IStatus>();
+        for (Job job : projectJobs) {
+            IStatus result = job.getResult();
+            if (result != null && result.getSeverity() == IStatus.ERROR) {
+                failures.add(result);
+            }
+        }
+
+        if (failures.isEmpty()) {
+            return Status.OK_STATUS;
+        }
+
+        return new MultiStatus(LibertyDevPlugin.PLUGIN_ID, IStatus.ERROR, failures.toArray(new IStatus[failures.size()]),
+                NLS.bind(Messages.batch_operation_failed,
+                        new Object[] { operation.getLabel(), failures.size(), projectJobs.size() }),
+                null);
+    }
+}
@@ -13,6 +13,9 @@
 package io.openliberty.tools.eclipse;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -24,7 +27,6 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.NullProgressMonitor;
-import org.eclipse.core.runtime.Path;
 import org.eclipse.osgi.util.NLS;
 
 import io.openliberty.tools.eclipse.logging.Trace;
@@ -45,6 +47,9 @@ public class Project {
     /** Java project nature. */
     public static final String JAVA_NATURE_ID = "org.eclipse.jdt.core.javanature";
 
+    /** The default location of the Liberty server configuration, relative to the project. */
+    public static final String LIBERTY_CONFIG_DIR = "src/main/liberty/config";
+
     /** Project build types. */
     public static enum BuildType {
         UNKNOWN, GRADLE, MAVEN
@@ -59,8 +64,11 @@ public class Project {
     /** The Eclipse project reference. */
     private IProject iProject;
 
-    /** Build type associated with this project. */
-    private BuildType type;
+    /** Build type associated with this project. Null if not yet determined or invalidated. */
+    private volatile BuildType type;
+
+    /** The cached nature IDs from this project's description. Null if not yet read or invalidated. */
+    private volatile Set<String> natureIds;
 
     /** The parent of this project. */
     private Project parentDirProject;
@@ -69,6 +77,12 @@ public class Project {
 
     private boolean isParentOfServerModule;
 
+    /** The modification stamp of the project's description (.project) when this entry was created. */
+    private long descriptionStamp;
+
+    /** The last modified time of the build files and Liberty configuration directories when this entry was created. */
+    private long configStamp;
+
     /**
      * Constructor.
      * 
@@ -76,12 +90,116 @@ public class Project {
      */
     public Project(IProject project) {
         this.iProject = project;
+        this.descriptionStamp = computeDescriptionStamp(project);
+        this.configStamp = computeConfigStamp(project);
         this.type = findBuildType();
     }
 
+    /**
+     * Constructor used to restore a project entry from a saved model snapshot. The classification data is not recomputed.
+     * 
+     * @param project The Eclipse project reference.
+     * @param type The saved build type.
+     * @param libertyServerModule The saved server module classification.
+     * @param isParentOfServerModule The saved parent of server module classification.
+     * @param descriptionStamp The saved modification stamp of the project's description.
+     * @param configStamp The saved last modified time of the build files and Liberty configuration directories.
+     */
+    Project(IProject project, BuildType type, boolean libertyServerModule, boolean isParentOfServerModule, long descriptionStamp,
+            long configStamp) {
+        this.iProject = project;
+        this.type = type;
+        this.libertyServerModule = libertyServerModule;
+        this.isParentOfServerModule = isParentOfServerModule;
+        this.descriptionStamp = descriptionStamp;
+        this.configStamp = configStamp;
+    }
+
+    /**
+     * Returns the modification stamp of the project's description when this entry was created.
+     * 
+     * @return The modification stamp of the project's description when this entry was created.
+     */
+    public long getDescriptionStamp() {
+        return descriptionStamp;
+    }
+
+    /**
+     * Returns the last modified time of the build files and Liberty configuration directories when this entry was created.
+     * 
+     * @return The last modified time of the build files and Liberty configuration directories when this entry was created. Zero if
+     *         none existed.
+     */
+    public long getConfigStamp() {
+        return configStamp;
+    }
+
+    /**
+     * Returns true if the project's description, build files or Liberty configuration directories changed since this entry was
+     * created. False; otherwise.
+     * 
+     * @return True if the project's description, build files or Liberty configuration directories changed since this entry was
+     *         created. False; otherwise.
+     */
+    public boolean isStale() {
+        return descriptionStamp != computeDescriptionStamp(iProject) || configStamp != computeConfigStamp(iProject);
+    }
+
+    /**
+     * Returns the modification stamp of the input project's description (.project).
+     * 
+     * @param project The Eclipse project reference.
+     * 
+     * @return The modification stamp of the input project's description. IResource.NULL_STAMP if it is not available.
+     */
+    private static long computeDescriptionStamp(IProject project) {
+        IFile dotProject = project.getFile(IProjectDescription.DESCRIPTION_FILE_NAME);
+        return dotProject.getModificationStamp();
+    }
+
+    /**
+     * Returns a stamp that changes when the input project's build files change or when files are added to or removed from its
+     * Liberty configuration directories.
+     * 
+     * @param project The Eclipse project reference.
+     * 
+     * @return The most recent last modified time of the project's build files and Liberty configuration directories. Zero if none
+     *         exist.
+     */
+    private static long computeConfigStamp(IProject project) {
+        return ServerConfigDetector.getInstance().computeConfigStamp(project);
+    }
+
+    /**
+     * Discards the cached project metadata (nature set, build type). The metadata is read again from the project's description the
+     * next time it is needed. It should be called when the project's description changes.
+     */
+    public void invalidateMetadataCache() {
+        natureIds = null;
+        type = null;
+    }
+
+    /**
+     * Returns the nature IDs in this project's description. The IDs are read from the project's description once and cached until
+     * {@link #invalidateMetadataCache()} is called.
+     * 
+     * @return The nature IDs in this project's description.
+     * 
+     * @throws CoreException If the project's description could not be read.
+     */
+    private Set<String> getNatureIds() throws CoreException {
+        Set<String> ids = natureIds;
+        if (ids == null) {
+            String[] idArray = iProject.getDescription().getNatureIds();
+            ids = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(idArray)));
+            natureIds = ids;
+        }
+        return ids;
+    }
+
     public boolean hasLibertyNature() {
         try {
-            if (iProject.getDescription().hasNature(LibertyNature.NATURE_ID)) {
+            if (getNatureIds().contains(LibertyNature.NATURE_ID)) {
                 return true;
             } else {
                 return false;
@@ -101,7 +219,12 @@ public class Project {
      * @return The build type associated with this project.
      */
     public BuildType getBuildType() {
-        return type;
+        BuildType buildType = type;
+        if (buildType == null) {
+            buildType = findBuildType();
+            type = buildType;
+        }
+        return buildType;
     }
 
     /**
@@ -112,9 +235,10 @@ public class Project {
 
         // Check the installed project's nature.
         try {
-            if (iProject.getDescription().hasNature(MAVEN_NATURE)) {
+            Set<String> ids = getNatureIds();
+            if (ids.contains(MAVEN_NATURE)) {
                 return BuildType.MAVEN;
-            } else if (iProject.getDescription().hasNature(GRADLE_NATURE)) {
+            } else if (ids.contains(GRADLE_NATURE)) {
                 return BuildType.GRADLE;
             }
         } catch (Exception e) {
@@ -208,7 +332,7 @@ public class Project {
         ArrayList<Project> javaProjecs = new ArrayList<Project>();
         for (Project child : projects) {
             try {
-                if (child.getIProject().hasNature(JAVA_NATURE_ID)) {
+                if (child.isJavaProject()) {
                     javaProjecs.add(child);
                 }
             } catch (CoreException e) {
@@ -256,18 +380,23 @@ public class Project {
     }
 
     /**
-     * Classifies this project as a project able to run on a Liberty server.
+     * Returns true if this project has the Java nature. False; otherwise.
+     * 
+     * @return True if this project has the Java nature. False; otherwise.
+     * 
+     * @throws CoreException If the project's description could not be read.
+     */
+    public boolean isJavaProject() throws CoreException {
+        return hasNature(JAVA_NATURE_ID);
+    }
+
+    /**
+     * Classifies this project as a project able to run on a Liberty server. The Liberty server configuration locations are read from
+     * the Liberty Maven or Gradle plugin settings.
      */
     public void classifyAsServerModule() {
         try {
-            IFile serverxml = iProject.getFile(new Path("src/main/liberty/config/server.xml"));
-            IFile bootstrapProps = iProject.getFile(new Path("src/main/liberty/config/bootstrap.properties"));
-            IFile serverenv = iProject.getFile(new Path("src/main/liberty/config/server.env"));
-            if (serverxml.exists() || bootstrapProps.exists() || serverenv.exists()) {
-                libertyServerModule = true;
-            } else {
-                libertyServerModule = false;
-            }
+            libertyServerModule = ServerConfigDetector.getInstance().isServerModule(iProject);
         } catch (Exception e) {
             ErrorHandler.processWarningMessage(NLS.bind(Messages.liberty_nature_add_error, null), e, false);
         }
@@ -278,14 +407,19 @@ public class Project {
      */
     public void classifyAsLibertyNature() {
         try {
-            if (libertyServerModule) {
+            isParentOfServerModule = false;
+            if (libertyServerModule && !hasLibertyNature()) {
                 Project.addNature(iProject, LibertyNature.NATURE_ID);
+                invalidateMetadataCache();
             }
             // If this is looks like a Maven multi-module project. It may not be however but we take the risk of exposing it
-            if (type.equals(BuildType.MAVEN)) {
+            if (getBuildType().equals(BuildType.MAVEN)) {
                 for (Project child : childDirProjects) {
                     if (child.isLibertyServerModule()) {
-                        Project.addNature(iProject, LibertyNature.NATURE_ID);
+                        if (!hasLibertyNature()) {
+                            Project.addNature(iProject, LibertyNature.NATURE_ID);
+                            invalidateMetadataCache();
+                        }
                         isParentOfServerModule = true;
                         break;
                     }
@@ -361,7 +495,8 @@ public class Project {
     }
 
     /**
-     * Returns true if the project has the specified nature. False; otherwise.
+     * Returns true if the project has the specified nature. False; otherwise. The project's nature set is cached until
+     * {@link #invalidateMetadataCache()} is called.
      * 
      * @param nature The nature to check for.
      * 
@@ -370,7 +505,7 @@ public class Project {
      * @throws CoreException
      */
     public boolean hasNature(String nature) throws CoreException {
-        return iProject.hasNature(nature);
+        return getNatureIds().contains(nature);
     }
 
     /**
@@ -386,6 +521,22 @@ public class Project {
         }
     }
 
+    /**
+     * Removes all peer projects associated with this project.
+     */
+    public void clearPeerDirProjects() {
+        this.peerDirProjects.clear();
+    }
+
+    /**
+     * Returns the set of peer projects associated with this project.
+     * 
+     * @return The set of peer projects associated with this project.
+     */
+    public Set<Project> getPeerDirProjects() {
+        return Collections.unmodifiableSet(peerDirProjects);
+    }
+
     private String formatChildProjectToString() {
         if (childDirProjects.isEmpty()) {
             return "<empty>";
@@ -402,7 +553,7 @@ public class Project {
 
     @Override
     public String toString() {
-        return "IProject: " + iProject.toString() + ". BuildType: " + type + ". Liberty Server Module: " + libertyServerModule
+        return "IProject: " + iProject.toString() + ". BuildType: " + getBuildType() + ". Liberty Server Module: " + libertyServerModule
                 + ". isParentOfServerModule:" + isParentOfServerModule + ". parentDirProj: "
                 + (parentDirProject != null ? parentDirProject.getName() : "<null> ") + ". childDirProjects: "
                 + formatChildProjectToString() + ";";
@@ -416,10 +567,22 @@ public class Project {
         this.parentDirProject = parent;
     }
 
+    public Project getParentDirProject() {
+        return parentDirProject;
+    }
+
     public void addChildDirProject(Project child) {
         this.childDirProjects.add(child);
     }
 
+    public void clearChildDirProjects() {
+        this.childDirProjects.clear();
+    }
+
+    public Set<Project> getChildDirProjects() {
+        return Collections.unmodifiableSet(childDirProjects);
+    }
+
     public String getName() {
         return iProject.getName();
     }
@@ -0,0 +1,235 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.resources.WorkspaceJob;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.widgets.Display;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.messages.Messages;
+import io.openliberty.tools.eclipse.utils.ErrorHandler;
+
+/**
+ * Background job that updates the workspace project model and classifies the projects that were changed. Bursts of project
+ * changes are coalesced into a single run. The dashboard view is updated on the UI thread once the model update completes.
+ */
+public class ProjectClassificationJob extends WorkspaceJob {
+
+    /** The family of jobs that classify workspace projects. */
+    public static final Object FAMILY = ProjectClassificationJob.class;
+
+    /** The time (ms) to wait for additional project changes before the job runs. */
+    public static final long COALESCE_DELAY_MS = 250;
+
+    /** The time (ms) to wait for additional build file or Liberty configuration changes before the job runs. */
+    public static final long BUILD_CONFIG_DEBOUNCE_MS = 1000;
+
+    /** The projects waiting to be processed. */
+    private final Set<IProject> pendingProjects = new LinkedHashSet<IProject>();
+
+    /** True if the complete workspace model must be rebuilt when the job runs. */
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+
+    /** True if an error dialog is to be displayed if the requested rebuild fails. */
+    private final AtomicBoolean reportRebuildError = new AtomicBoolean();
+
+    /** True if the projects in the model must be checked for changes when the job runs. */
+    private final AtomicBoolean revalidationRequested = new AtomicBoolean();
+
+    /** True once the plugin is stopping. The job is not rescheduled after that. */
+    private volatile boolean shutdown;
+
+    /**
+     * Constructor.
+     */
+    public ProjectClassificationJob() {
+        super("Classifying Liberty projects");
+        setSystem(true);
+        setRule(ResourcesPlugin.getWorkspace().getRoot());
+    }
+
+    /**
+     * Queues the input projects for processing and schedules the job. Projects queued while the job is waiting to run are processed
+     * together. The dashboard content is recomputed when the job runs, even if no projects are queued.
+     *
+     * @param projects The projects that were added, removed, opened, closed or otherwise changed.
+     */
+    public void enqueue(Collection<IProject> projects) {
+        enqueue(projects, COALESCE_DELAY_MS);
+    }
+
+    /**
+     * Queues the input projects for processing and schedules the job to run after the input delay. If the job is already waiting to
+     * run, it is rescheduled so that it runs once the changes stop arriving for the duration of the delay.
+     *
+     * @param projects The projects that were added, removed, opened, closed or otherwise changed.
+     * @param delay The time (ms) to wait for additional project changes before the job runs.
+     */
+    public void enqueue(Collection<IProject> projects, long delay) {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { projects, delay });
+        }
+
+        synchronized (pendingProjects) {
+            pendingProjects.addAll(projects);
+        }
+
+        schedule(delay);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS);
+        }
+    }
+
+    /**
+     * Requests that the complete workspace model be rebuilt and schedules the job.
+     */
+    public void rebuild() {
+        rebuild(false);
+    }
+
+    /**
+     * Requests that the complete workspace model be rebuilt and schedules the job.
+     *
+     * @param reportError True if an error dialog is to be displayed if the rebuild fails.
+     */
+    public void rebuild(boolean reportError) {
+        if (reportError) {
+            reportRebuildError.set(true);
+        }
+        rebuildRequested.set(true);
+        schedule();
+    }
+
+    /**
+     * Requests that the projects in the model be checked for changes and schedules the job. Only the projects that changed are
+     * processed.
+     */
+    public void revalidate() {
+        revalidationRequested.set(true);
+        schedule();
+    }
+
+    /**
+     * Cancels the job because the plugin is stopping. Projects left unprocessed by the cancelled run are not processed again.
+     */
+    public void shutdown() {
+        shutdown = true;
+        cancel();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStatus runInWorkspace(IProgressMonitor monitor) {
+        List<IProject> projects;
+        synchronized (pendingProjects) {
+            projects = new ArrayList<IProject>(pendingProjects);
+            pendingProjects.clear();
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, projects);
+        }
+
+        DevModeOperations devModeOps = DevModeOperations.getInstance();
+        WorkspaceProjectsModel model = devModeOps.getProjectModel();
+        List<IProject> unprocessed;
+        if (rebuildRequested.getAndSet(false)) {
+            // The rebuild covers the queued projects.
+            revalidationRequested.set(false);
+            boolean reportError = reportRebuildError.getAndSet(false);
+            unprocessed = new ArrayList<IProject>();
+            try {
+                // The projects left out of the model by a cancellation are added to it by an update, like the changed projects.
+                unprocessed = model.createNewCompleteWorkspaceModelWithClassify(monitor);
+            } catch (Exception e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "An error was detected when the workspace project model was rebuilt.", e);
+                }
+                Display display = Display.getDefault();
+                if (!display.isDisposed()) {
+                    display.asyncExec(
+                            () -> ErrorHandler.processErrorMessage(NLS.bind(Messages.dashboard_refresh_error, null), e, reportError));
+                }
+            }
+        } else {
+            if (revalidationRequested.getAndSet(false)) {
+                for (IProject staleProject : model.getStaleProjects()) {
+                    if (!projects.contains(staleProject)) {
+                        projects.add(staleProject);
+                    }
+                }
+            }
+            unprocessed = model.updateWorkspaceModel(projects, true, monitor);
+        }
+
+        // The model update can be applied again to the same projects. Keep the ones that were not processed around, and run again
+        // to process them unless the plugin is stopping.
+        if (!unprocessed.isEmpty()) {
+            synchronized (pendingProjects) {
+                pendingProjects.addAll(unprocessed);
+            }
+            if (!shutdown) {
+                schedule(COALESCE_DELAY_MS);
+            }
+        }
+
+        // Compute the dashboard content here and only use the UI thread to set it.
+        List<String> dashboardProjects = model.getSortedDashboardProjectList();
+        Display display = Display.getDefault();
+        if (!display.isDisposed()) {
+            display.asyncExec(() -> devModeOps.setDashboardViewInput(dashboardProjects));
+        }
+
+        // Keep build daemons ready for the first dashboard projects.
+        if (BuildDaemonPool.isEnabled()) {
+            List<Project> warmProjects = new ArrayList<Project>();
+            for (String projectName : dashboardProjects) {
+                Project project = model.getProject(projectName);
+                if (project != null) {
+                    warmProjects.add(project);
+                }
+            }
+            devModeOps.getDaemonPool().prestart(warmProjects);
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, "Unprocessed projects: " + unprocessed);
+        }
+
+        return unprocessed.isEmpty() ? Status.OK_STATUS : Status.CANCEL_STATUS;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean belongsTo(Object family) {
+        return FAMILY == family;
+    }
+}
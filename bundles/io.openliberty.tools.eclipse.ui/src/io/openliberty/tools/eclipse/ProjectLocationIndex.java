@@ -0,0 +1,192 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Path trie over the locations of the projects in the workspace project model. Each node represents a path segment. A node holds
+ * the project located at the path it represents, if any.
+ *
+ * The parent of a project is the project located at the closest ancestor directory, at any depth. The children of a project are the
+ * projects whose parent is that project. The peers of a project are the other children of its parent.
+ */
+public class ProjectLocationIndex {
+
+    /** The root node. Its children represent the devices (if any) or the first segment of the locations. */
+    private final Node root = new Node(null, null);
+
+    /** The node of each indexed project. The location of a deleted project is no longer available. */
+    private final Map<Project, Node> nodesByProject = new IdentityHashMap<Project, Node>();
+
+    /**
+     * Adds the input project to the index. The project replaces any project previously indexed at the same location.
+     *
+     * @param project The project to add.
+     */
+    public synchronized void add(Project project) {
+        IPath location = project.getIProject().getLocation();
+        if (location == null) {
+            return;
+        }
+
+        Node node = root;
+        for (String key : getKeys(location)) {
+            Node parent = node;
+            node = node.children.computeIfAbsent(key, k -> new Node(k, parent));
+        }
+
+        if (node.project != null) {
+            nodesByProject.remove(node.project);
+        }
+        node.project = project;
+        nodesByProject.put(project, node);
+    }
+
+    /**
+     * Removes the input project from the index.
+     *
+     * @param project The project to remove.
+     *
+     * @return True if the project was found and removed. False; otherwise.
+     */
+    public synchronized boolean remove(Project project) {
+        Node node = nodesByProject.remove(project);
+        if (node == null) {
+            return false;
+        }
+
+        node.project = null;
+
+        // Prune the nodes that no longer lead to a project.
+        while (node.parent != null && node.project == null && node.children.isEmpty()) {
+            node.parent.children.remove(node.key);
+            node = node.parent;
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the project located at the closest ancestor directory of the input project's location.
+     *
+     * @param project The project whose parent is returned.
+     *
+     * @return The project located at the closest ancestor directory of the input project's location. Null if there is none.
+     */
+    public synchronized Project getParent(Project project) {
+        Node node = nodesByProject.get(project);
+        if (node == null) {
+            return null;
+        }
+
+        for (Node ancestor = node.parent; ancestor != null; ancestor = ancestor.parent) {
+            if (ancestor.project != null) {
+                return ancestor.project;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the projects whose closest ancestor project is the input project. The projects are sorted by location.
+     *
+     * @param project The project whose children are returned.
+     *
+     * @return The projects whose closest ancestor project is the input project. An empty list if the project is not indexed.
+     */
+    public synchronized List<Project> getChildren(Project project) {
+        List<Project> children = new ArrayList<Project>();
+        Node node = nodesByProject.get(project);
+        if (node == null) {
+            return children;
+        }
+
+        // Depth first traversal that does not go below the nodes holding a project.
+        Deque<Node> stack = new ArrayDeque<Node>();
+        pushChildren(stack, node);
+        while (!stack.isEmpty()) {
+            Node current = stack.pop();
+            if (current.project != null) {
+                children.add(current.project);
+            } else {
+                pushChildren(stack, current);
+            }
+        }
+
+        return children;
+    }
+
+    /**
+     * Removes all projects from the index.
+     */
+    public synchronized void clear() {
+        root.children.clear();
+        nodesByProject.clear();
+    }
+
+    /**
+     * Pushes the children of the input node onto the stack so that they are popped in key order.
+     *
+     * @param stack The stack.
+     * @param node The node whose children are pushed.
+     */
+    private void pushChildren(Deque<Node> stack, Node node) {
+        List<Node> nodeChildren = new ArrayList<Node>(node.children.values());
+        for (int i = nodeChildren.size() - 1; i >= 0; i--) {
+            stack.push(nodeChildren.get(i));
+        }
+    }
+
+    /**
+     * Returns the trie keys for the input location: the device (if any) followed by the path segments.
+     *
+     * @param location The location.
+     *
+     * @return The trie keys for the input location.
+     */
+    private List<String> getKeys(IPath location) {
+        String[] segments = location.segments();
+        List<String> keys = new ArrayList<String>(segments.length + 1);
+        String device = location.getDevice();
+        keys.add(device == null ? "" : device);
+        for (String segment : segments) {
+            keys.add(segment);
+        }
+        return keys;
+    }
+
+    /**
+     * Trie node.
+     */
+    private static class Node {
+        private final String key;
+        private final Node parent;
+        private final Map<String, Node> children = new TreeMap<String, Node>();
+        private Project project;
+
+        private Node(String key, Node parent) {
+            this.key = key;
+            this.parent = parent;
+        }
+    }
+}
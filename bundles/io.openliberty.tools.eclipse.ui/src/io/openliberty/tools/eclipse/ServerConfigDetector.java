@@ -0,0 +1,583 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Detects whether a project contains Liberty server configuration. The configuration locations are read from the Liberty Maven and
+ * Gradle plugin settings (configDirectory, serverXmlFile, bootstrapPropertiesFile, serverEnvFile) by pluggable readers. The candidate
+ * configuration files are then indexed in a single walk of the project's resource tree. The results are cached per project and
+ * invalidated only by changes to the build files or under the configuration locations.
+ */
+public class ServerConfigDetector {
+
+    /** The names of the files that identify a Liberty server configuration directory. */
+    public static final List<String> CONFIG_FILE_NAMES = Collections
+            .unmodifiableList(Arrays.asList("server.xml", "bootstrap.properties", "server.env"));
+
+    /** Single instance. */
+    private static final ServerConfigDetector instance = new ServerConfigDetector();
+
+    /** The readers used to find the configuration locations of a project. */
+    private final List<ConfigLocationReader> readers = new CopyOnWriteArrayList<ConfigLocationReader>();
+
+    /** The detection results by project. */
+    private final Map<IProject, Detection> cache = new ConcurrentHashMap<IProject, Detection>();
+
+    /** The configuration locations by project. Locations are cached separately because they are also needed to process deltas. */
+    private final Map<IProject, ConfigLocations> locationsCache = new ConcurrentHashMap<IProject, ConfigLocations>();
+
+    /**
+     * Reads the Liberty server configuration locations of a project.
+     */
+    public interface ConfigLocationReader {
+
+        /**
+         * Returns the name of the build file read by this reader. The name is relative to the project location.
+         *
+         * @return The name of the build file read by this reader.
+         */
+        public String getBuildFileName();
+
+        /**
+         * Reads the configuration locations from the input build file and adds them to the input locations.
+         *
+         * @param projectLocation The project location.
+         * @param buildFile The build file. It exists.
+         * @param locations The configuration locations to update.
+         *
+         * @throws Exception If the build file could not be read.
+         */
+        public void read(IPath projectLocation, File buildFile, ConfigLocations locations) throws Exception;
+    }
+
+    /**
+     * Liberty server configuration locations of a project. All locations are absolute.
+     */
+    public static class ConfigLocations {
+
+        /** The configuration directories. */
+        private final Set<IPath> configDirs = new LinkedHashSet<IPath>();
+
+        /** The individually configured server.xml, bootstrap.properties and server.env files. */
+        private final Set<IPath> configFiles = new LinkedHashSet<IPath>();
+
+        /** The build files that were read. */
+        private final Set<IPath> buildFiles = new LinkedHashSet<IPath>();
+
+        public void addConfigDir(IPath configDir) {
+            configDirs.add(configDir);
+        }
+
+        public void addConfigFile(IPath configFile) {
+            configFiles.add(configFile);
+        }
+
+        public Set<IPath> getConfigDirs() {
+            return Collections.unmodifiableSet(configDirs);
+        }
+
+        public Set<IPath> getConfigFiles() {
+            return Collections.unmodifiableSet(configFiles);
+        }
+
+        public Set<IPath> getBuildFiles() {
+            return Collections.unmodifiableSet(buildFiles);
+        }
+
+        @Override
+        public String toString() {
+            return "configDirs: " + configDirs + ". configFiles: " + configFiles + ". buildFiles: " + buildFiles;
+        }
+    }
+
+    /**
+     * Cached detection result.
+     */
+    private static class Detection {
+        private final ConfigLocations locations;
+        private final boolean serverModule;
+
+        private Detection(ConfigLocations locations, boolean serverModule) {
+            this.locations = locations;
+            this.serverModule = serverModule;
+        }
+    }
+
+    /**
+     * Constructor.
+     */
+    public ServerConfigDetector() {
+        readers.add(new MavenConfigLocationReader());
+        readers.add(new GradleConfigLocationReader());
+    }
+
+    /**
+     * Returns a singleton instance of this class.
+     *
+     * @return A singleton instance of this class.
+     */
+    public static ServerConfigDetector getInstance() {
+        return instance;
+    }
+
+    /**
+     * Adds a reader used to find the configuration locations of a project.
+     *
+     * @param reader The reader to add.
+     */
+    public void addReader(ConfigLocationReader reader) {
+        readers.add(reader);
+    }
+
+    /**
+     * Returns true if the input project contains Liberty server configuration. False, otherwise. The result is cached.
+     *
+     * @param iProject The project to check.
+     *
+     * @return True if the input project contains Liberty server configuration. False, otherwise.
+     *
+     * @throws CoreException If the project's resources could not be visited.
+     */
+    public boolean isServerModule(IProject iProject) throws CoreException {
+        return getDetection(iProject).serverModule;
+    }
+
+    /**
+     * Returns the Liberty server configuration locations of the input project. The locations are cached.
+     *
+     * @param iProject The project to process.
+     *
+     * @return The Liberty server configuration locations of the input project. Null if the project location is not available.
+     */
+    public ConfigLocations getConfigLocations(IProject iProject) {
+        Detection detection = cache.get(iProject);
+        if (detection != null) {
+            return detection.locations;
+        }
+
+        IPath projectLocation = iProject.getLocation();
+        if (projectLocation == null) {
+            return null;
+        }
+
+        return locationsCache.computeIfAbsent(iProject, key -> readConfigLocations(projectLocation));
+    }
+
+    /**
+     * Returns a stamp that changes when the input project's build files change or when files are added to or removed from its
+     * configuration directories.
+     *
+     * @param iProject The project to process.
+     *
+     * @return The most recent last modified time of the project's build files and configuration directories. Zero if none exist.
+     */
+    public long computeConfigStamp(IProject iProject) {
+        ConfigLocations locations = getConfigLocations(iProject);
+        if (locations == null) {
+            return 0;
+        }
+
+        long stamp = 0;
+        for (IPath buildFile : locations.buildFiles) {
+            stamp = Math.max(stamp, buildFile.toFile().lastModified());
+        }
+        for (IPath configDir : locations.configDirs) {
+            stamp = Math.max(stamp, configDir.toFile().lastModified());
+        }
+        return stamp;
+    }
+
+    /**
+     * Discards the cached detection result and configuration locations of the input project. It should be called when the project's
+     * build files change or when Liberty server configuration is added to or removed from its configuration locations.
+     *
+     * @param iProject The project to process.
+     */
+    public void invalidate(IProject iProject) {
+        cache.remove(iProject);
+        locationsCache.remove(iProject);
+    }
+
+    /**
+     * Discards all cached detection results.
+     */
+    public void clear() {
+        cache.clear();
+        locationsCache.clear();
+    }
+
+    /**
+     * Returns the cached detection result for the input project. The result is computed if it is not cached.
+     *
+     * @param iProject The project to process.
+     *
+     * @return The detection result for the input project.
+     *
+     * @throws CoreException If the project's resources could not be visited.
+     */
+    private Detection getDetection(IProject iProject) throws CoreException {
+        Detection detection = cache.get(iProject);
+        if (detection == null) {
+            detection = detect(iProject);
+            cache.put(iProject, detection);
+        }
+        return detection;
+    }
+
+    /**
+     * Finds the configuration locations of the input project and indexes the candidate configuration files in a single walk of the
+     * project's resource tree. Only the folders leading to a configuration location are visited.
+     *
+     * @param iProject The project to process.
+     *
+     * @return The detection result.
+     *
+     * @throws CoreException If the project's resources could not be visited.
+     */
+    private Detection detect(IProject iProject) throws CoreException {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, iProject.getName());
+        }
+
+        IPath projectLocation = iProject.getLocation();
+        if (projectLocation == null) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().traceExit(Trace.TRACE_TOOLS, "The project location is not available.");
+            }
+            return new Detection(new ConfigLocations(), false);
+        }
+
+        ConfigLocations locations = getConfigLocations(iProject);
+
+        // Split the locations into the ones inside the project, which are indexed by the walk, and the ones outside the project,
+        // which are checked directly.
+        Set<IPath> projectConfigDirs = new HashSet<IPath>();
+        Set<IPath> projectConfigFiles = new HashSet<IPath>();
+        Set<IPath> externalFiles = new HashSet<IPath>();
+        Set<String> candidateNames = new HashSet<String>(CONFIG_FILE_NAMES);
+        for (IPath configDir : locations.configDirs) {
+            if (projectLocation.isPrefixOf(configDir)) {
+                projectConfigDirs.add(configDir.makeRelativeTo(projectLocation));
+            } else {
+                for (String name : CONFIG_FILE_NAMES) {
+                    externalFiles.add(configDir.append(name));
+                }
+            }
+        }
+        for (IPath configFile : locations.configFiles) {
+            if (projectLocation.isPrefixOf(configFile)) {
+                projectConfigFiles.add(configFile.makeRelativeTo(projectLocation));
+                candidateNames.add(configFile.lastSegment());
+            } else {
+                externalFiles.add(configFile);
+            }
+        }
+
+        // Index the candidate files found in the configuration locations.
+        Set<IPath> index = new HashSet<IPath>();
+        iProject.accept(proxy -> {
+            int type = proxy.getType();
+            if (type == IResource.PROJECT) {
+                return true;
+            }
+
+            IPath relativePath = proxy.requestFullPath().removeFirstSegments(1);
+            if (type == IResource.FILE) {
+                if (candidateNames.contains(proxy.getName())) {
+                    index.add(relativePath);
+                }
+                return false;
+            }
+
+            return leadsToConfigLocation(relativePath, projectConfigDirs, projectConfigFiles);
+        }, IResource.NONE);
+
+        boolean serverModule = false;
+        for (IPath indexedFile : index) {
+            if (projectConfigFiles.contains(indexedFile) || (projectConfigDirs.contains(indexedFile.removeLastSegments(1))
+                    && CONFIG_FILE_NAMES.contains(indexedFile.lastSegment()))) {
+                serverModule = true;
+                break;
+            }
+        }
+        if (!serverModule) {
+            for (IPath externalFile : externalFiles) {
+                if (externalFile.toFile().exists()) {
+                    serverModule = true;
+                    break;
+                }
+            }
+        }
+
+        Detection detection = new Detection(locations, serverModule);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, locations + ". Indexed files: " + index + ". Server module: " + serverModule);
+        }
+
+        return detection;
+    }
+
+    /**
+     * Returns true if the input folder is a configuration directory or one of its ancestors, or an ancestor of a configuration file.
+     *
+     * @param folderPath The project relative folder path.
+     * @param configDirs The project relative configuration directories.
+     * @param configFiles The project relative configuration files.
+     *
+     * @return True if the input folder needs to be visited. False, otherwise.
+     */
+    static boolean leadsToConfigLocation(IPath folderPath, Set<IPath> configDirs, Set<IPath> configFiles) {
+        for (IPath configDir : configDirs) {
+            if (folderPath.isPrefixOf(configDir)) {
+                return true;
+            }
+        }
+        for (IPath configFile : configFiles) {
+            if (folderPath.isPrefixOf(configFile.removeLastSegments(1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the configuration locations of the project at the input location. If no configuration directory is configured, the
+     * default configuration directory is used.
+     *
+     * @param projectLocation The project location.
+     *
+     * @return The configuration locations of the project.
+     */
+    private ConfigLocations readConfigLocations(IPath projectLocation) {
+        ConfigLocations locations = new ConfigLocations();
+        for (ConfigLocationReader reader : readers) {
+            File buildFile = projectLocation.append(reader.getBuildFileName()).toFile();
+            if (!buildFile.exists()) {
+                continue;
+            }
+
+            locations.buildFiles.add(projectLocation.append(reader.getBuildFileName()));
+            try {
+                reader.read(projectLocation, buildFile, locations);
+            } catch (Exception e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read the Liberty configuration locations from " + buildFile, e);
+                }
+            }
+        }
+
+        if (locations.configDirs.isEmpty()) {
+            locations.configDirs.add(projectLocation.append(Project.LIBERTY_CONFIG_DIR));
+        }
+
+        return locations;
+    }
+
+    /**
+     * Resolves a configured location against the project location. Locations that reference properties other than the project
+     * directory cannot be resolved.
+     *
+     * @param projectLocation The project location.
+     * @param value The configured location.
+     * @param projectDirVariables The variables that reference the project directory.
+     *
+     * @return The absolute location. Null if the location could not be resolved.
+     */
+    static IPath resolveLocation(IPath projectLocation, String value, String... projectDirVariables) {
+        String location = value.trim();
+        for (String variable : projectDirVariables) {
+            if (location.startsWith(variable)) {
+                location = location.substring(variable.length());
+                while (location.startsWith("/") || location.startsWith("\\")) {
+                    location = location.substring(1);
+                }
+                break;
+            }
+        }
+
+        if (location.isEmpty() || location.contains("$")) {
+            return null;
+        }
+
+        IPath path = new Path(location);
+        return path.isAbsolute() ? path : projectLocation.append(path);
+    }
+
+    /**
+     * Reads the configuration locations from the liberty-maven-plugin configuration in the project's pom.xml.
+     */
+    public static class MavenConfigLocationReader implements ConfigLocationReader {
+
+        /** The liberty-maven-plugin artifact ID. */
+        private static final String PLUGIN_ARTIFACT_ID = "liberty-maven-plugin";
+
+        @Override
+        public String getBuildFileName() {
+            return "pom.xml";
+        }
+
+        @Override
+        public void read(IPath projectLocation, File buildFile, ConfigLocations locations) throws Exception {
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+            try (InputStream in = Files.newInputStream(buildFile.toPath())) {
+                XMLStreamReader reader = factory.createXMLStreamReader(in);
+                try {
+                    Deque<String> elements = new ArrayDeque<String>();
+                    String artifactId = null;
+                    Map<String, String> settings = new HashMap<String, String>();
+                    StringBuilder text = new StringBuilder();
+
+                    while (reader.hasNext()) {
+                        int event = reader.next();
+                        if (event == XMLStreamConstants.START_ELEMENT) {
+                            String name = reader.getLocalName();
+                            if ("plugin".equals(name)) {
+                                artifactId = null;
+                                settings.clear();
+                            }
+                            elements.push(name);
+                            text.setLength(0);
+                        } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                            text.append(reader.getText());
+                        } else if (event == XMLStreamConstants.END_ELEMENT) {
+                            String name = elements.pop();
+                            String parent = elements.peek();
+                            if ("plugin".equals(parent) && "artifactId".equals(name)) {
+                                artifactId = text.toString().trim();
+                            } else if ("configuration".equals(parent) && isPluginConfiguration(elements)) {
+                                settings.put(name, text.toString());
+                            } else if ("plugin".equals(name) && PLUGIN_ARTIFACT_ID.equals(artifactId)) {
+                                addLocations(projectLocation, settings, locations);
+                            }
+                            text.setLength(0);
+                        }
+                    }
+                } finally {
+                    reader.close();
+                }
+            }
+        }
+
+        /**
+         * Returns true if the element at the top of the input stack is the configuration element of a plugin.
+         *
+         * @param elements The open elements. The top element is the configuration element.
+         *
+         * @return True if the configuration element is the configuration of a plugin. False, otherwise.
+         */
+        private boolean isPluginConfiguration(Deque<String> elements) {
+            if (elements.size() < 2) {
+                return false;
+            }
+            String configuration = elements.pop();
+            boolean pluginConfiguration = "plugin".equals(elements.peek());
+            elements.push(configuration);
+            return pluginConfiguration;
+        }
+
+        /**
+         * Adds the locations found in the input plugin settings.
+         *
+         * @param projectLocation The project location.
+         * @param settings The liberty-maven-plugin configuration settings.
+         * @param locations The configuration locations to update.
+         */
+        private void addLocations(IPath projectLocation, Map<String, String> settings, ConfigLocations locations) {
+            String configDirectory = settings.get("configDirectory");
+            if (configDirectory != null) {
+                IPath configDir = resolveLocation(projectLocation, configDirectory, "${project.basedir}", "${basedir}");
+                if (configDir != null) {
+                    locations.addConfigDir(configDir);
+                }
+            }
+
+            for (String key : new String[] { "serverXmlFile", "bootstrapPropertiesFile", "serverEnvFile" }) {
+                String value = settings.get(key);
+                if (value != null) {
+                    IPath configFile = resolveLocation(projectLocation, value, "${project.basedir}", "${basedir}");
+                    if (configFile != null) {
+                        locations.addConfigFile(configFile);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the configuration locations from the liberty server settings in the project's build.gradle.
+     */
+    public static class GradleConfigLocationReader implements ConfigLocationReader {
+
+        /** Matches assignments such as: configDirectory = file('src/main/liberty/myConfig'). */
+        private static final Pattern SETTING_PATTERN = Pattern
+                .compile("\\b(configDirectory|serverXmlFile|bootstrapPropertiesFile|serverEnvFile)\\s*=\\s*"
+                        + "(?:file\\s*\\(|new\\s+File\\s*\\()?\\s*(?:projectDir\\s*,\\s*)?[\"']([^\"']+)[\"']");
+
+        @Override
+        public String getBuildFileName() {
+            return "build.gradle";
+        }
+
+        @Override
+        public void read(IPath projectLocation, File buildFile, ConfigLocations locations) throws Exception {
+            String content = new String(Files.readAllBytes(buildFile.toPath()), StandardCharsets.UTF_8);
+            Matcher matcher = SETTING_PATTERN.matcher(content);
+            while (matcher.find()) {
+                IPath location = resolveLocation(projectLocation, matcher.group(2), "${projectDir}", "$projectDir");
+                if (location == null) {
+                    continue;
+                }
+                if ("configDirectory".equals(matcher.group(1))) {
+                    locations.addConfigDir(location);
+                } else {
+                    locations.addConfigFile(location);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps the timings of the last dev mode starts of each project. Each entry records, in milliseconds from the time the start was
+ * requested, when the server was launched (the end of the build), when the server was ready, when the first application was
+ * started, and when dev mode reported that it was running.
+ */
+public class StartLatencyHistory {
+
+    /** The maximum number of entries kept per project. */
+    public static final int MAX_ENTRIES_PER_PROJECT = 50;
+
+    /** The value of a timing that was not observed. */
+    public static final long NOT_OBSERVED = -1;
+
+    /** The entries by project name, oldest first. */
+    private final Map<String, Deque<Entry>> entries = new TreeMap<String, Deque<Entry>>();
+
+    /**
+     * Records the timings of a dev mode start.
+     *
+     * @param entry The timings.
+     */
+    public synchronized void record(Entry entry) {
+        Deque<Entry> projectEntries = entries.computeIfAbsent(entry.getProjectName(), k -> new ArrayDeque<Entry>());
+        if (projectEntries.size() >= MAX_ENTRIES_PER_PROJECT) {
+            projectEntries.removeFirst();
+        }
+        projectEntries.addLast(entry);
+    }
+
+    /**
+     * Returns the recorded starts of the input project, oldest first.
+     *
+     * @param projectName The project name.
+     *
+     * @return The recorded starts of the input project.
+     */
+    public synchronized List<Entry> getEntries(String projectName) {
+        Deque<Entry> projectEntries = entries.get(projectName);
+        return (projectEntries == null) ? new ArrayList<Entry>() : new ArrayList<Entry>(projectEntries);
+    }
+
+    /**
+     * Returns the last recorded start of the input project.
+     *
+     * @param projectName The project name.
+     *
+     * @return The last recorded start of the input project, or null if none was recorded.
+     */
+    public synchronized Entry getLastEntry(String projectName) {
+        Deque<Entry> projectEntries = entries.get(projectName);
+        return (projectEntries == null) ? null : projectEntries.peekLast();
+    }
+
+    /**
+     * Writes all recorded starts as comma separated values, with a header line. Timings that were not observed are left empty.
+     *
+     * @param writer The writer.
+     *
+     * @throws IOException
+     */
+    public void exportCsv(Writer writer) throws IOException {
+        List<Entry> all = new ArrayList<Entry>();
+        synchronized (this) {
+            for (Deque<Entry> projectEntries : entries.values()) {
+                all.addAll(projectEntries);
+            }
+        }
+
+        writer.write("project,start_time,build_ms,server_start_ms,app_deployed_ms,ready_ms");
+        writer.write(System.lineSeparator());
+        for (Entry entry : all) {
+            writer.write(entry.getProjectName());
+            writer.write(',');
+            writer.write(Instant.ofEpochMilli(entry.getStartTime()).toString());
+            writer.write(',');
+            writer.write(toCsv(entry.getServerLaunchedMs()));
+            writer.write(',');
+            writer.write(toCsv(entry.getServerStartMs()));
+            writer.write(',');
+            writer.write(toCsv(entry.getAppStartedMs()));
+            writer.write(',');
+            writer.write(toCsv(entry.getReadyMs()));
+            writer.write(System.lineSeparator());
+        }
+        writer.flush();
+    }
+
+    /**
+     * Removes all recorded starts.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private static String toCsv(long value) {
+        return (value == NOT_OBSERVED) ? "" : String.valueOf(value);
+    }
+
+    /**
+     * The timings of a dev mode start.
+     */
+    public static class Entry {
+
+        private final String projectName;
+
+        private final long startTime;
+
+        private final long serverLaunchedMs;
+
+        private final long serverReadyMs;
+
+        private final long appStartedMs;
+
+        private final long readyMs;
+
+        /**
+         * Constructor.
+         *
+         * @param projectName The project name.
+         * @param startTime The time the start was requested, in milliseconds since the epoch.
+         * @param serverLaunchedMs The time from the start request to the server launch.
+         * @param serverReadyMs The time from the start request to the server being ready.
+         * @param appStartedMs The time from the start request to the first application start.
+         * @param readyMs The time from the start request to dev mode reporting that it is running.
+         */
+        public Entry(String projectName, long startTime, long serverLaunchedMs, long serverReadyMs, long appStartedMs, long readyMs) {
+            this.projectName = projectName;
+            this.startTime = startTime;
+            this.serverLaunchedMs = serverLaunchedMs;
+            this.serverReadyMs = serverReadyMs;
+            this.appStartedMs = appStartedMs;
+            this.readyMs = readyMs;
+        }
+
+        public String getProjectName() {
+            return projectName;
+        }
+
+        public long getStartTime() {
+            return startTime;
+        }
+
+        /**
+         * Returns the build phase duration: the time from the start request to the server launch.
+         *
+         * @return The build phase duration, or {@link StartLatencyHistory#NOT_OBSERVED}.
+         */
+        public long getServerLaunchedMs() {
+            return serverLaunchedMs;
+        }
+
+        /**
+         * Returns the server start phase duration: the time from the server launch to the server being ready.
+         *
+         * @return The server start phase duration, or {@link StartLatencyHistory#NOT_OBSERVED}.
+         */
+        public long getServerStartMs() {
+            return (serverLaunchedMs == NOT_OBSERVED || serverReadyMs == NOT_OBSERVED) ? NOT_OBSERVED : serverReadyMs - serverLaunchedMs;
+        }
+
+        public long getServerReadyMs() {
+            return serverReadyMs;
+        }
+
+        public long getAppStartedMs() {
+            return appStartedMs;
+        }
+
+        public long getReadyMs() {
+            return readyMs;
+        }
+
+        @Override
+        public String toString() {
+            return projectName + ": build=" + serverLaunchedMs + "ms, serverStart=" + getServerStartMs() + "ms, appDeployed="
+                    + appStartedMs + "ms, ready=" + readyMs + "ms";
+        }
+    }
+}
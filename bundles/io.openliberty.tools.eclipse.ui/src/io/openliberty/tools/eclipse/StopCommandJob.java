@@ -0,0 +1,172 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.osgi.util.NLS;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.messages.Messages;
+import io.openliberty.tools.eclipse.utils.ErrorHandler;
+import io.openliberty.tools.eclipse.utils.RingBufferOutputStream;
+
+/**
+ * Runs the Liberty Maven or Gradle stop command. The job waits on the completion of the command instead of polling it: a timeout or
+ * a cancel request ends the command immediately. The command output is drained while the command runs, into a bounded buffer, so that
+ * a command producing a lot of output never blocks on a full pipe.
+ *
+ * The results are set as job properties: {@link DevModeOperations#STOP_JOB_COMPLETION_TIMEOUT} if the command timed out, or
+ * {@link DevModeOperations#STOP_JOB_COMPLETION_EXIT_CODE} and, for a non-zero exit code,
+ * {@link DevModeOperations#STOP_JOB_COMPLETION_OUTPUT}.
+ */
+public class StopCommandJob extends Job {
+
+    /** The maximum number of bytes of command output kept. */
+    public static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Starts a stop command.
+     */
+    @FunctionalInterface
+    public interface CommandLauncher {
+
+        /**
+         * Starts the command.
+         *
+         * @param output The stream that receives the command output.
+         *
+         * @return A future completed with the command exit code. Cancelling the future must end the command.
+         *
+         * @throws Exception If the command could not be started.
+         */
+        CompletableFuture<Integer> launch(OutputStream output) throws Exception;
+    }
+
+    /** Starts the command. */
+    private final CommandLauncher launcher;
+
+    /** The command timeout in seconds. */
+    private final int timeoutSeconds;
+
+    /** The completion of the running command. */
+    private volatile CompletableFuture<Integer> completion;
+
+    /**
+     * Constructor.
+     *
+     * @param name The job name.
+     * @param timeoutSeconds The command timeout in seconds.
+     * @param launcher Starts the command.
+     */
+    public StopCommandJob(String name, int timeoutSeconds, CommandLauncher launcher) {
+        super(name);
+        this.timeoutSeconds = timeoutSeconds;
+        this.launcher = launcher;
+    }
+
+    /**
+     * Starts the input process builder and returns a future completed with the process exit code once the process exited and its
+     * output was drained. Cancelling the future destroys the process.
+     *
+     * @param pb The process builder. The error stream should be redirected to the output stream.
+     * @param output The stream that receives the process output.
+     *
+     * @return A future completed with the process exit code.
+     *
+     * @throws Exception If the process could not be started.
+     */
+    public static CompletableFuture<Integer> launchProcess(ProcessBuilder pb, OutputStream output) throws Exception {
+        Process process = pb.start();
+
+        CompletableFuture<Void> drained = new CompletableFuture<Void>();
+        Thread reader = new Thread(() -> {
+            try (InputStream input = process.getInputStream()) {
+                input.transferTo(output);
+            } catch (Exception e) {
+                // The stream is closed when the process is destroyed.
+            }
+            drained.complete(null);
+        }, "Liberty stop command output reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        CompletableFuture<Integer> exitCode = process.onExit().thenCombine(drained, (p, v) -> p.exitValue());
+        exitCode.whenComplete((rc, e) -> {
+            if (exitCode.isCancelled()) {
+                process.destroy();
+            }
+        });
+        return exitCode;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        if (monitor.isCanceled()) {
+            return Status.CANCEL_STATUS;
+        }
+
+        RingBufferOutputStream output = new RingBufferOutputStream(OUTPUT_BUFFER_SIZE);
+        try {
+            completion = launcher.launch(output);
+
+            // The job may have been cancelled while the command was being started.
+            if (monitor.isCanceled()) {
+                completion.cancel(true);
+                return Status.CANCEL_STATUS;
+            }
+
+            int exitCode = completion.get(timeoutSeconds, TimeUnit.SECONDS);
+            setProperty(DevModeOperations.STOP_JOB_COMPLETION_EXIT_CODE, exitCode);
+            if (exitCode != 0) {
+                setProperty(DevModeOperations.STOP_JOB_COMPLETION_OUTPUT, output.toString());
+            }
+        } catch (TimeoutException e) {
+            completion.cancel(true);
+            setProperty(DevModeOperations.STOP_JOB_COMPLETION_TIMEOUT, Boolean.TRUE);
+        } catch (CancellationException e) {
+            return Status.CANCEL_STATUS;
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "The stop command failed. Output: " + output, e);
+            }
+            ErrorHandler.processErrorMessage(NLS.bind(Messages.plugin_stop_issue_error, null), e, false);
+        }
+
+        return Status.OK_STATUS;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void canceling() {
+        // End the command right away rather than waiting for the job to notice.
+        CompletableFuture<Integer> current = completion;
+        if (current != null) {
+            current.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,503 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.openliberty.tools.eclipse.TestResultsIndex.ChangedFile;
+import io.openliberty.tools.eclipse.TestResultsIndex.Outcome;
+import io.openliberty.tools.eclipse.TestResultsIndex.TestResult;
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Keeps the duration and outcome of the last runs of each test, across dev mode sessions. The history of each project is stored in a
+ * small tab separated file, one line per test run, and is read the first time the project is accessed. The history is used to find
+ * the slowest tests, the tests whose duration regressed, and the flaky tests.
+ */
+public class TestHistory implements TestResultsIndex.Listener {
+
+    /** The maximum number of runs kept per test. */
+    public static final int MAX_RUNS_PER_TEST = 20;
+
+    /** The number of previous runs needed to detect a duration regression. */
+    public static final int MIN_BASELINE_RUNS = 3;
+
+    /** A run is a regression if it takes this many times the median duration of the previous runs, or more. */
+    public static final double REGRESSION_FACTOR = 1.5;
+
+    /** A run is a regression only if it takes at least this many milliseconds more than the median of the previous runs. */
+    public static final long REGRESSION_MIN_DELTA_MS = 100;
+
+    /** The first line of the history files. */
+    private static final String FILE_HEADER = "# Liberty Tools test history v1";
+
+    /** The history file suffix. */
+    private static final String FILE_SUFFIX = ".tsv";
+
+    /** The directory the history files are stored in, or null if the history is not stored. */
+    private final Path storeDir;
+
+    /** The runs of each test by test ID, oldest first, by project name. */
+    private final Map<String, Map<String, Deque<Run>>> projects = new HashMap<String, Map<String, Deque<Run>>>();
+
+    /**
+     * Constructor.
+     *
+     * @param storeDir The directory the history files are stored in, or null if the history is only kept in memory.
+     */
+    public TestHistory(Path storeDir) {
+        this.storeDir = storeDir;
+    }
+
+    /**
+     * Records the results read from new or modified result files as a run of each test, at the time the file holding the result was
+     * modified. Tests that were skipped are not recorded. Results already recorded for the same or a later run are ignored: all the
+     * result files of a project are read again when the workspace is reopened, including those of runs that were already recorded.
+     */
+    @Override
+    public void resultsChanged(String projectName, List<ChangedFile> changedFiles) {
+        if (changedFiles.isEmpty()) {
+            return;
+        }
+
+        synchronized (this) {
+            Map<String, Deque<Run>> tests = getTests(projectName);
+            boolean recorded = false;
+            for (ChangedFile file : changedFiles) {
+                long runTime = file.getLastModified();
+                for (TestResult result : file.getResults()) {
+                    if (result.getOutcome() == Outcome.SKIPPED) {
+                        continue;
+                    }
+                    Deque<Run> runs = tests.computeIfAbsent(result.getId(), k -> new ArrayDeque<Run>());
+                    if (!runs.isEmpty() && runs.peekLast().getTime() >= runTime) {
+                        continue;
+                    }
+                    if (runs.size() >= MAX_RUNS_PER_TEST) {
+                        runs.removeFirst();
+                    }
+                    runs.addLast(new Run(runTime, result.getDurationMs(), result.getOutcome().isFailure()));
+                    recorded = true;
+                }
+            }
+
+            if (recorded) {
+                save(projectName, tests);
+            }
+        }
+    }
+
+    /**
+     * Returns the recorded runs of the input test, oldest first.
+     *
+     * @param projectName The project name.
+     * @param testId The test ID.
+     *
+     * @return The recorded runs of the input test.
+     */
+    public synchronized List<Run> getRuns(String projectName, String testId) {
+        Deque<Run> runs = getTests(projectName).get(testId);
+        return (runs == null) ? new ArrayList<Run>() : new ArrayList<Run>(runs);
+    }
+
+    /**
+     * Returns the statistics of each recorded test of the input project.
+     *
+     * @param projectName The project name.
+     *
+     * @return The statistics of each recorded test of the input project, by test ID.
+     */
+    public synchronized Map<String, TestStats> getStats(String projectName) {
+        Map<String, TestStats> stats = new LinkedHashMap<String, TestStats>();
+        for (Map.Entry<String, Deque<Run>> entry : getTests(projectName).entrySet()) {
+            stats.put(entry.getKey(), new TestStats(entry.getKey(), new ArrayList<Run>(entry.getValue())));
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the tests of the input project with the highest average duration.
+     *
+     * @param projectName The project name.
+     * @param limit The maximum number of tests returned.
+     *
+     * @return The slowest tests, slowest first.
+     */
+    public List<TestStats> getSlowestTests(String projectName, int limit) {
+        List<TestStats> stats = new ArrayList<TestStats>(getStats(projectName).values());
+        stats.sort(Comparator.comparingLong(TestStats::getAverageMs).reversed());
+        return stats.subList(0, Math.min(limit, stats.size()));
+    }
+
+    /**
+     * Returns the tests of the input project whose last run took significantly longer than the median of their previous runs.
+     *
+     * @param projectName The project name.
+     *
+     * @return The tests whose duration regressed, largest regression first.
+     */
+    public List<TestStats> getDurationRegressions(String projectName) {
+        List<TestStats> regressions = new ArrayList<TestStats>();
+        for (TestStats stats : getStats(projectName).values()) {
+            if (stats.isRegressed()) {
+                regressions.add(stats);
+            }
+        }
+        regressions.sort(Comparator.comparingDouble(TestStats::getRegressionRatio).reversed());
+        return regressions;
+    }
+
+    /**
+     * Returns the tests of the input project that are flaky: their outcome changed at least twice over the recorded runs, for example
+     * a pass, then a failure, then a pass again. A test that started failing, or that was fixed, is not flaky.
+     *
+     * @param projectName The project name.
+     *
+     * @return The flaky tests, most outcome changes first.
+     */
+    public List<TestStats> getFlakyTests(String projectName) {
+        List<TestStats> flaky = new ArrayList<TestStats>();
+        for (TestStats stats : getStats(projectName).values()) {
+            if (stats.isFlaky()) {
+                flaky.add(stats);
+            }
+        }
+        flaky.sort(Comparator.comparingInt(TestStats::getOutcomeChanges).reversed());
+        return flaky;
+    }
+
+    /**
+     * Returns a readable summary of the slowest tests, the duration regressions and the flaky tests of the input project.
+     *
+     * @param projectName The project name.
+     *
+     * @return A readable summary, or an empty string if no test run was recorded.
+     */
+    public String getReport(String projectName) {
+        if (getStats(projectName).isEmpty()) {
+            return "";
+        }
+
+        String nl = System.lineSeparator();
+        StringBuilder sb = new StringBuilder();
+        sb.append("Slowest tests (average duration):").append(nl);
+        for (TestStats stats : getSlowestTests(projectName, 10)) {
+            sb.append("    ").append(stats.getTestId()).append(": ").append(stats.getAverageMs()).append("ms over ")
+                    .append(stats.getRunCount()).append(" runs").append(nl);
+        }
+
+        List<TestStats> regressions = getDurationRegressions(projectName);
+        sb.append(nl).append("Duration regressions (last run against the median of the previous runs): ");
+        sb.append(regressions.isEmpty() ? "none" : "").append(nl);
+        for (TestStats stats : regressions) {
+            sb.append("    ").append(stats.getTestId()).append(": ").append(stats.getLastDurationMs()).append("ms, was ")
+                    .append(stats.getBaselineMs()).append("ms").append(nl);
+        }
+
+        List<TestStats> flaky = getFlakyTests(projectName);
+        sb.append(nl).append("Flaky tests: ").append(flaky.isEmpty() ? "none" : "").append(nl);
+        for (TestStats stats : flaky) {
+            sb.append("    ").append(stats.getTestId()).append(": failed ").append(stats.getFailureCount()).append(" of ")
+                    .append(stats.getRunCount()).append(" runs").append(nl);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Removes the history of the input project, in memory and on disk.
+     *
+     * @param projectName The project name.
+     */
+    public synchronized void clear(String projectName) {
+        projects.put(projectName, new LinkedHashMap<String, Deque<Run>>());
+        Path file = getFile(projectName);
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to delete test history file " + file, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the runs of each test of the input project. The history is read from disk the first time the project is accessed.
+     */
+    private Map<String, Deque<Run>> getTests(String projectName) {
+        Map<String, Deque<Run>> tests = projects.get(projectName);
+        if (tests == null) {
+            tests = load(projectName);
+            projects.put(projectName, tests);
+        }
+        return tests;
+    }
+
+    /**
+     * Reads the history of the input project. A history that cannot be read is discarded.
+     */
+    private Map<String, Deque<Run>> load(String projectName) {
+        Map<String, Deque<Run>> tests = new LinkedHashMap<String, Deque<Run>>();
+        Path file = getFile(projectName);
+        if (file == null || !Files.exists(file)) {
+            return tests;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!FILE_HEADER.equals(reader.readLine())) {
+                return tests;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                if (fields.length != 4) {
+                    continue;
+                }
+                Deque<Run> runs = tests.computeIfAbsent(fields[0], k -> new ArrayDeque<Run>());
+                if (runs.size() >= MAX_RUNS_PER_TEST) {
+                    runs.removeFirst();
+                }
+                runs.addLast(new Run(Long.parseLong(fields[1]), Long.parseLong(fields[2]), "F".equals(fields[3])));
+            }
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read test history file " + file + ". The history is discarded.", e);
+            }
+            tests.clear();
+        }
+        return tests;
+    }
+
+    /**
+     * Writes the history of the input project. The file is replaced atomically, so a failed write leaves the previous history.
+     */
+    private void save(String projectName, Map<String, Deque<Run>> tests) {
+        Path file = getFile(projectName);
+        if (file == null) {
+            return;
+        }
+
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(storeDir);
+            try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                writer.write(FILE_HEADER);
+                writer.write('\n');
+                for (Map.Entry<String, Deque<Run>> entry : tests.entrySet()) {
+                    for (Run run : entry.getValue()) {
+                        writer.write(entry.getKey() + "\t" + run.getTime() + "\t" + run.getDurationMs() + "\t"
+                                + (run.isFailed() ? "F" : "P"));
+                        writer.write('\n');
+                    }
+                }
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to write test history file " + file, e);
+            }
+        }
+    }
+
+    private Path getFile(String projectName) {
+        if (storeDir == null) {
+            return null;
+        }
+        try {
+            return storeDir.resolve(URLEncoder.encode(projectName, StandardCharsets.UTF_8.name()) + FILE_SUFFIX);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A recorded test run.
+     */
+    public static class Run {
+
+        private final long time;
+
+        private final long durationMs;
+
+        private final boolean failed;
+
+        /**
+         * Constructor.
+         *
+         * @param time The time of the run, in milliseconds since the epoch.
+         * @param durationMs The duration of the test.
+         * @param failed True if the test failed or ended in error.
+         */
+        public Run(long time, long durationMs, boolean failed) {
+            this.time = time;
+            this.durationMs = durationMs;
+            this.failed = failed;
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+
+        @Override
+        public String toString() {
+            return (failed ? "failed in " : "passed in ") + durationMs + "ms";
+        }
+    }
+
+    /**
+     * Statistics of the recorded runs of a test.
+     */
+    public static class TestStats {
+
+        private final String testId;
+
+        private final int runCount;
+
+        private final int failureCount;
+
+        private final int outcomeChanges;
+
+        private final long averageMs;
+
+        private final long lastDurationMs;
+
+        private final long baselineMs;
+
+        private TestStats(String testId, List<Run> runs) {
+            this.testId = testId;
+            this.runCount = runs.size();
+
+            int failures = 0;
+            int changes = 0;
+            long total = 0;
+            for (int i = 0; i < runs.size(); i++) {
+                Run run = runs.get(i);
+                failures += run.isFailed() ? 1 : 0;
+                total += run.getDurationMs();
+                if (i > 0 && run.isFailed() != runs.get(i - 1).isFailed()) {
+                    changes++;
+                }
+            }
+            this.failureCount = failures;
+            this.outcomeChanges = changes;
+            this.averageMs = runs.isEmpty() ? 0 : total / runs.size();
+            this.lastDurationMs = runs.isEmpty() ? 0 : runs.get(runs.size() - 1).getDurationMs();
+
+            // The baseline is the median duration of the previous runs.
+            if (runs.size() > MIN_BASELINE_RUNS) {
+                long[] previous = runs.subList(0, runs.size() - 1).stream().mapToLong(Run::getDurationMs).toArray();
+                Arrays.sort(previous);
+                this.baselineMs = previous[previous.length / 2];
+            } else {
+                this.baselineMs = -1;
+            }
+        }
+
+        public String getTestId() {
+            return testId;
+        }
+
+        public int getRunCount() {
+            return runCount;
+        }
+
+        public int getFailureCount() {
+            return failureCount;
+        }
+
+        /**
+         * Returns the number of times the outcome changed from one run to the next.
+         *
+         * @return The number of times the outcome changed from one run to the next.
+         */
+        public int getOutcomeChanges() {
+            return outcomeChanges;
+        }
+
+        public long getAverageMs() {
+            return averageMs;
+        }
+
+        public long getLastDurationMs() {
+            return lastDurationMs;
+        }
+
+        /**
+         * Returns the median duration of the runs before the last one.
+         *
+         * @return The median duration of the runs before the last one, or -1 if there are not enough runs.
+         */
+        public long getBaselineMs() {
+            return baselineMs;
+        }
+
+        /**
+         * Returns the duration of the last run divided by the baseline duration.
+         *
+         * @return The duration of the last run divided by the baseline duration, or 0 if there is no baseline.
+         */
+        public double getRegressionRatio() {
+            return (baselineMs < 0) ? 0 : (double) lastDurationMs / Math.max(1, baselineMs);
+        }
+
+        /**
+         * Returns true if the last run took significantly longer than the baseline.
+         *
+         * @return True if the last run took significantly longer than the baseline. False, otherwise.
+         */
+        public boolean isRegressed() {
+            return baselineMs >= 0 && lastDurationMs - baselineMs >= REGRESSION_MIN_DELTA_MS
+                    && getRegressionRatio() >= REGRESSION_FACTOR;
+        }
+
+        /**
+         * Returns true if the outcome of the test changed at least twice over the recorded runs.
+         *
+         * @return True if the outcome of the test changed at least twice over the recorded runs. False, otherwise.
+         */
+        public boolean isFlaky() {
+            return outcomeChanges >= 2;
+        }
+
+        @Override
+        public String toString() {
+            return testId + ": runs=" + runCount + ", failures=" + failureCount + ", average=" + averageMs + "ms, last="
+                    + lastDurationMs + "ms, baseline=" + baselineMs + "ms";
+        }
+    }
+}
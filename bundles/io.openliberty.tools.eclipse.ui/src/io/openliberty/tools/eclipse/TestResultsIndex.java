@@ -0,0 +1,497 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import io.openliberty.tools.eclipse.Project.BuildType;
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Keeps the test results of each project, indexed by result file. The index is updated incrementally: only the result files added
+ * or modified since they were last read are parsed again, and the results of deleted files are dropped. Listeners are notified of
+ * the results read from new or modified files.
+ */
+public class TestResultsIndex {
+
+    /** The prefix of the JUnit XML result file names. */
+    public static final String RESULT_FILE_PREFIX = "TEST-";
+
+    /** The suffix of the JUnit XML result file names. */
+    public static final String RESULT_FILE_SUFFIX = ".xml";
+
+    /**
+     * The outcome of a test case.
+     */
+    public static enum Outcome {
+        PASSED, FAILED, ERROR, SKIPPED;
+
+        /**
+         * Returns true if the test failed or ended in error.
+         *
+         * @return True if the test failed or ended in error. False, otherwise.
+         */
+        public boolean isFailure() {
+            return this == FAILED || this == ERROR;
+        }
+    };
+
+    /**
+     * Notified of the results read from new or modified result files.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Called after the results of a project were updated.
+         *
+         * @param projectName The project name.
+         * @param changedFiles The new or modified result files and the results read from them. Empty if result files were only
+         *        deleted.
+         */
+        void resultsChanged(String projectName, List<ChangedFile> changedFiles);
+    }
+
+    /** Parses the result files. */
+    private final TestResultsParser parser = new TestResultsParser();
+
+    /** The indexed result files of each project, by project name. */
+    private final Map<String, Map<Path, ResultFile>> projectFiles = new ConcurrentHashMap<String, Map<Path, ResultFile>>();
+
+    /** The listeners. */
+    private final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+
+    /**
+     * Returns the directories the test result files of the input project are written to. For Maven projects: target/surefire-reports
+     * and target/failsafe-reports. For Gradle projects: the directory of each test task under build/test-results.
+     *
+     * @param projectPath The project path.
+     * @param buildType The project build type.
+     *
+     * @return The directories the test result files of the input project are written to. Some of them may not exist.
+     */
+    public static List<Path> getResultDirs(String projectPath, BuildType buildType) {
+        List<Path> dirs = new ArrayList<Path>();
+        if (buildType == BuildType.MAVEN) {
+            dirs.add(Paths.get(projectPath, "target", "surefire-reports"));
+            dirs.add(Paths.get(projectPath, "target", "failsafe-reports"));
+        } else if (buildType == BuildType.GRADLE) {
+            Path resultsDir = Paths.get(projectPath, "build", "test-results");
+            if (Files.isDirectory(resultsDir)) {
+                try (Stream<Path> taskDirs = Files.list(resultsDir)) {
+                    taskDirs.filter(Files::isDirectory).sorted().forEach(dirs::add);
+                } catch (IOException e) {
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to list the test result directories in " + resultsDir, e);
+                    }
+                }
+            }
+        }
+        return dirs;
+    }
+
+    /**
+     * Returns true if the input file name is the name of a JUnit XML result file.
+     *
+     * @param fileName The file name.
+     *
+     * @return True if the input file name is the name of a JUnit XML result file. False, otherwise.
+     */
+    public static boolean isResultFile(String fileName) {
+        return fileName.startsWith(RESULT_FILE_PREFIX) && fileName.endsWith(RESULT_FILE_SUFFIX);
+    }
+
+    /**
+     * Adds a listener.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener The listener.
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns true if the results of the input project were indexed.
+     *
+     * @param projectName The project name.
+     *
+     * @return True if the results of the input project were indexed. False, otherwise.
+     */
+    public boolean isIndexed(String projectName) {
+        return projectFiles.containsKey(projectName);
+    }
+
+    /**
+     * Brings the results of the input project up to date with the result files on disk.
+     *
+     * @param projectName The project name.
+     * @param projectPath The project path.
+     * @param buildType The project build type.
+     *
+     * @return The results of the input project.
+     */
+    public ProjectResults refresh(String projectName, String projectPath, BuildType buildType) {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { projectName, projectPath, buildType });
+        }
+
+        Set<Path> files = new HashSet<Path>();
+        for (Path dir : getResultDirs(projectPath, buildType)) {
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            try (Stream<Path> dirFiles = Files.list(dir)) {
+                dirFiles.filter(p -> isResultFile(p.getFileName().toString())).forEach(files::add);
+            } catch (IOException e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to list the test result files in " + dir, e);
+                }
+            }
+        }
+
+        // Files no longer on disk are dropped.
+        Map<Path, ResultFile> indexed = projectFiles.computeIfAbsent(projectName, k -> new ConcurrentHashMap<Path, ResultFile>());
+        Set<Path> changed = new HashSet<Path>(files);
+        for (Path path : indexed.keySet()) {
+            if (!files.contains(path)) {
+                changed.add(path);
+            }
+        }
+
+        update(projectName, changed);
+        ProjectResults results = getResults(projectName);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, results);
+        }
+
+        return results;
+    }
+
+    /**
+     * Updates the results of the input project from the input result files. Files that were not modified since they were last read
+     * are skipped. Files that no longer exist are dropped.
+     *
+     * @param projectName The project name.
+     * @param files The result files.
+     */
+    public void update(String projectName, Collection<Path> files) {
+        Map<Path, ResultFile> indexed = projectFiles.computeIfAbsent(projectName, k -> new ConcurrentHashMap<Path, ResultFile>());
+        List<ChangedFile> changedFiles = new ArrayList<ChangedFile>();
+        boolean changed = false;
+
+        synchronized (indexed) {
+            for (Path file : files) {
+                BasicFileAttributes attributes = null;
+                try {
+                    attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                } catch (IOException e) {
+                    // The file was deleted.
+                }
+
+                if (attributes == null) {
+                    changed |= indexed.remove(file) != null;
+                    continue;
+                }
+
+                long lastModified = attributes.lastModifiedTime().toMillis();
+                ResultFile current = indexed.get(file);
+                if (current != null && current.lastModified == lastModified && current.size == attributes.size()) {
+                    continue;
+                }
+
+                List<TestResult> results = parse(file);
+                indexed.put(file, new ResultFile(lastModified, attributes.size(), results));
+                changedFiles.add(new ChangedFile(file, lastModified, results));
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            for (Listener listener : listeners) {
+                listener.resultsChanged(projectName, changedFiles);
+            }
+        }
+    }
+
+    /**
+     * Returns the indexed results of the input project.
+     *
+     * @param projectName The project name.
+     *
+     * @return The indexed results of the input project.
+     */
+    public ProjectResults getResults(String projectName) {
+        List<TestResult> results = new ArrayList<TestResult>();
+        long lastModified = 0;
+        Map<Path, ResultFile> indexed = projectFiles.get(projectName);
+        if (indexed != null) {
+            synchronized (indexed) {
+                for (ResultFile file : indexed.values()) {
+                    results.addAll(file.results);
+                    lastModified = Math.max(lastModified, file.lastModified);
+                }
+            }
+        }
+        return new ProjectResults(projectName, results, lastModified);
+    }
+
+    /**
+     * Removes the results of the input project.
+     *
+     * @param projectName The project name.
+     */
+    public void remove(String projectName) {
+        projectFiles.remove(projectName);
+    }
+
+    /**
+     * Parses the input result file. A file that cannot be read, for example because it is being written, has no results until it
+     * is modified again.
+     *
+     * @param file The result file.
+     *
+     * @return The results in the input file.
+     */
+    private List<TestResult> parse(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return parser.parse(in);
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read test result file " + file, e);
+            }
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * An indexed result file.
+     */
+    private static class ResultFile {
+
+        private final long lastModified;
+
+        private final long size;
+
+        private final List<TestResult> results;
+
+        private ResultFile(long lastModified, long size, List<TestResult> results) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.results = results;
+        }
+    }
+
+    /**
+     * The result of a test case.
+     */
+    public static class TestResult {
+
+        private final String className;
+
+        private final String name;
+
+        private final Outcome outcome;
+
+        private final long durationMs;
+
+        private final String message;
+
+        /**
+         * Constructor.
+         *
+         * @param className The test class name.
+         * @param name The test method name.
+         * @param outcome The outcome.
+         * @param durationMs The duration in milliseconds.
+         * @param message The failure or skip message, or null.
+         */
+        public TestResult(String className, String name, Outcome outcome, long durationMs, String message) {
+            this.className = className;
+            this.name = name;
+            this.outcome = outcome;
+            this.durationMs = durationMs;
+            this.message = message;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the test identifier: the class name and the method name. For example: "com.demo.HealthIT#testReadiness".
+         *
+         * @return The test identifier.
+         */
+        public String getId() {
+            return className + "#" + name;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return getId() + ": " + outcome + " in " + durationMs + "ms";
+        }
+    }
+
+    /**
+     * A new or modified result file and the results read from it.
+     */
+    public static class ChangedFile {
+
+        private final Path path;
+
+        private final long lastModified;
+
+        private final List<TestResult> results;
+
+        /**
+         * Constructor.
+         *
+         * @param path The result file.
+         * @param lastModified The time the file was modified, in milliseconds since the epoch.
+         * @param results The results read from the file.
+         */
+        public ChangedFile(Path path, long lastModified, List<TestResult> results) {
+            this.path = path;
+            this.lastModified = lastModified;
+            this.results = results;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        /**
+         * Returns the time the file was modified, which is the time the tests in the file were run.
+         *
+         * @return The time the file was modified, in milliseconds since the epoch.
+         */
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public List<TestResult> getResults() {
+            return results;
+        }
+    }
+
+    /**
+     * The test results of a project.
+     */
+    public static class ProjectResults {
+
+        private final String projectName;
+
+        private final List<TestResult> results;
+
+        private final long lastModified;
+
+        private final Map<Outcome, Integer> counts = new HashMap<Outcome, Integer>();
+
+        private long totalDurationMs;
+
+        private ProjectResults(String projectName, List<TestResult> results, long lastModified) {
+            this.projectName = projectName;
+            this.results = results;
+            this.lastModified = lastModified;
+            for (TestResult result : results) {
+                counts.merge(result.getOutcome(), 1, Integer::sum);
+                totalDurationMs += result.getDurationMs();
+            }
+        }
+
+        public String getProjectName() {
+            return projectName;
+        }
+
+        /**
+         * Returns the test case results.
+         *
+         * @return The test case results.
+         */
+        public List<TestResult> getResults() {
+            return results;
+        }
+
+        /**
+         * Returns the number of test cases with the input outcome.
+         *
+         * @param outcome The outcome.
+         *
+         * @return The number of test cases with the input outcome.
+         */
+        public int getCount(Outcome outcome) {
+            return counts.getOrDefault(outcome, 0);
+        }
+
+        public long getTotalDurationMs() {
+            return totalDurationMs;
+        }
+
+        /**
+         * Returns the time the most recent result file was modified, in milliseconds since the epoch.
+         *
+         * @return The time the most recent result file was modified, or 0 if there are no results.
+         */
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        @Override
+        public String toString() {
+            return projectName + ": " + results.size() + " tests, " + getCount(Outcome.FAILED) + " failed, " + getCount(Outcome.ERROR)
+                    + " errors, " + getCount(Outcome.SKIPPED) + " skipped";
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+
+import io.openliberty.tools.eclipse.TestResultsIndex.Outcome;
+import io.openliberty.tools.eclipse.TestResultsIndex.TestResult;
+
+/**
+ * Reads the JUnit XML test results written by the Maven surefire and failsafe plugins (target/surefire-reports/TEST-*.xml and
+ * target/failsafe-reports/TEST-*.xml) and by Gradle test tasks (build/test-results/&lt;task&gt;/TEST-*.xml). The results are
+ * streamed: the standard output and error of the tests, which make up most of large result files, are skipped without being kept.
+ */
+public class TestResultsParser {
+
+    /** The maximum length of a failure message kept. */
+    private static final int MAX_MESSAGE_LENGTH = 1024;
+
+    /** The XML input factory. External entities and DTDs are not processed. */
+    private final XMLInputFactory factory;
+
+    /**
+     * Constructor.
+     */
+    public TestResultsParser() {
+        factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * Returns the test case results contained in the input JUnit XML document.
+     *
+     * @param in The JUnit XML document.
+     *
+     * @return The test case results, in document order.
+     *
+     * @throws Exception If the document could not be read.
+     */
+    public List<TestResult> parse(InputStream in) throws Exception {
+        List<TestResult> results = new ArrayList<TestResult>();
+        XMLStreamReader reader = factory.createXMLStreamReader(in);
+        try {
+            String className = null;
+            String name = null;
+            long durationMs = 0;
+            Outcome outcome = null;
+            String message = null;
+            boolean inFailure = false;
+            StringBuilder failureText = new StringBuilder();
+
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String element = reader.getLocalName();
+                    if ("testcase".equals(element)) {
+                        className = reader.getAttributeValue(null, "classname");
+                        name = reader.getAttributeValue(null, "name");
+                        durationMs = parseDuration(reader.getAttributeValue(null, "time"));
+                        outcome = Outcome.PASSED;
+                        message = null;
+                    } else if (outcome != null && isFailureElement(element)) {
+                        // Surefire follows the first failure with the failures of the reruns. The first one is kept.
+                        if (outcome == Outcome.PASSED) {
+                            outcome = "error".equals(element) || "rerunError".equals(element) ? Outcome.ERROR : Outcome.FAILED;
+                            message = reader.getAttributeValue(null, "message");
+                            inFailure = message == null;
+                            failureText.setLength(0);
+                        }
+                    } else if (outcome != null && "skipped".equals(element)) {
+                        outcome = Outcome.SKIPPED;
+                        message = reader.getAttributeValue(null, "message");
+                    }
+                } else if (inFailure && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                    if (failureText.length() < MAX_MESSAGE_LENGTH) {
+                        failureText.append(reader.getText());
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String element = reader.getLocalName();
+                    if (inFailure && isFailureElement(element)) {
+                        message = getFirstLine(failureText);
+                        inFailure = false;
+                    } else if ("testcase".equals(element) && outcome != null) {
+                        results.add(new TestResult(className, name, outcome, durationMs, truncate(message)));
+                        outcome = null;
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        return results;
+    }
+
+    /**
+     * Returns true if the input element reports a test failure or error. The flaky failures and errors surefire reports for tests
+     * that passed on a rerun are not failures.
+     *
+     * @param element The element name.
+     *
+     * @return True if the input element reports a test failure or error. False, otherwise.
+     */
+    private static boolean isFailureElement(String element) {
+        return "failure".equals(element) || "error".equals(element) || "rerunFailure".equals(element) || "rerunError".equals(element);
+    }
+
+    /**
+     * Returns the input duration in seconds, as written in the time attribute, in milliseconds.
+     *
+     * @param time The duration in seconds. For example: "1.25" or "1,250.5".
+     *
+     * @return The duration in milliseconds, or 0 if the duration could not be read.
+     */
+    private static long parseDuration(String time) {
+        if (time == null || time.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Math.round(Double.parseDouble(time.replace(",", "")) * 1000);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String getFirstLine(StringBuilder text) {
+        String value = text.toString().trim();
+        int end = value.indexOf('\n');
+        return (end < 0) ? value : value.substring(0, end).trim();
+    }
+
+    private static String truncate(String message) {
+        return (message == null || message.length() <= MAX_MESSAGE_LENGTH) ? message : message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import io.openliberty.tools.eclipse.Project.BuildType;
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Saves and loads a compact snapshot of the workspace project model. The snapshot allows the model to be restored on startup without
+ * classifying every project in the workspace again. Each entry holds the data needed to restore a project along with the stamps used
+ * to detect whether the project changed since the snapshot was taken.
+ */
+public class WorkspaceModelSnapshot {
+
+    /** The snapshot file name in the plugin state location. */
+    public static final String SNAPSHOT_FILE_NAME = "projectModel.properties";
+
+    /** The snapshot format version. Snapshots with a different version are ignored. */
+    private static final String FORMAT_VERSION = "1";
+
+    private static final String VERSION_KEY = "version";
+    private static final String COUNT_KEY = "count";
+    private static final String NAME = ".name";
+    private static final String LOCATION = ".location";
+    private static final String BUILD_TYPE = ".buildType";
+    private static final String SERVER_MODULE = ".serverModule";
+    private static final String PARENT_OF_SERVER_MODULE = ".parentOfServerModule";
+    private static final String PARENT = ".parent";
+    private static final String DESCRIPTION_STAMP = ".descriptionStamp";
+    private static final String CONFIG_STAMP = ".configStamp";
+
+    /**
+     * Saved project entry.
+     */
+    public static class ProjectEntry {
+        String name;
+        String location;
+        BuildType buildType;
+        boolean serverModule;
+        boolean parentOfServerModule;
+        String parentName;
+        long descriptionStamp;
+        long configStamp;
+    }
+
+    /**
+     * Saves a snapshot of the input projects to the input file. The file is replaced atomically, if possible.
+     *
+     * @param projects The projects to save.
+     * @param file The snapshot file.
+     *
+     * @throws Exception If the snapshot could not be written.
+     */
+    public static void save(List<Project> projects, File file) throws Exception {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { projects.size(), file });
+        }
+
+        Properties props = new Properties();
+        props.setProperty(VERSION_KEY, FORMAT_VERSION);
+        int count = 0;
+        for (Project project : projects) {
+            String location = project.getPath();
+            if (location == null) {
+                continue;
+            }
+            String prefix = "p" + count;
+            props.setProperty(prefix + NAME, project.getName());
+            props.setProperty(prefix + LOCATION, location);
+            props.setProperty(prefix + BUILD_TYPE, project.getBuildType().name());
+            props.setProperty(prefix + SERVER_MODULE, Boolean.toString(project.isLibertyServerModule()));
+            props.setProperty(prefix + PARENT_OF_SERVER_MODULE, Boolean.toString(project.isParentOfServerModule()));
+            Project parent = project.getParentDirProject();
+            if (parent != null) {
+                props.setProperty(prefix + PARENT, parent.getName());
+            }
+            props.setProperty(prefix + DESCRIPTION_STAMP, Long.toString(project.getDescriptionStamp()));
+            props.setProperty(prefix + CONFIG_STAMP, Long.toString(project.getConfigStamp()));
+            count++;
+        }
+        props.setProperty(COUNT_KEY, Integer.toString(count));
+
+        File tempFile = new File(file.getPath() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tempFile.toPath())) {
+            props.store(out, "Liberty Tools project model");
+        }
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, count);
+        }
+    }
+
+    /**
+     * Loads the snapshot saved in the input file.
+     *
+     * @param file The snapshot file.
+     *
+     * @return The saved project entries. Null if the file does not exist, or if it could not be read.
+     */
+    public static List<ProjectEntry> load(File file) {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, file);
+        }
+
+        if (!file.exists()) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().traceExit(Trace.TRACE_TOOLS, "No snapshot found.");
+            }
+            return null;
+        }
+
+        List<ProjectEntry> entries = new ArrayList<ProjectEntry>();
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            Properties props = new Properties();
+            props.load(in);
+            if (!FORMAT_VERSION.equals(props.getProperty(VERSION_KEY))) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().traceExit(Trace.TRACE_TOOLS, "Unsupported snapshot version: " + props.getProperty(VERSION_KEY));
+                }
+                return null;
+            }
+
+            int count = Integer.parseInt(props.getProperty(COUNT_KEY));
+            for (int i = 0; i < count; i++) {
+                String prefix = "p" + i;
+                ProjectEntry entry = new ProjectEntry();
+                entry.name = props.getProperty(prefix + NAME);
+                entry.location = props.getProperty(prefix + LOCATION);
+                entry.buildType = BuildType.valueOf(props.getProperty(prefix + BUILD_TYPE));
+                entry.serverModule = Boolean.parseBoolean(props.getProperty(prefix + SERVER_MODULE));
+                entry.parentOfServerModule = Boolean.parseBoolean(props.getProperty(prefix + PARENT_OF_SERVER_MODULE));
+                entry.parentName = props.getProperty(prefix + PARENT);
+                entry.descriptionStamp = Long.parseLong(props.getProperty(prefix + DESCRIPTION_STAMP));
+                entry.configStamp = Long.parseLong(props.getProperty(prefix + CONFIG_STAMP));
+                if (entry.name == null || entry.location == null) {
+                    throw new IllegalStateException("Incomplete snapshot entry " + i);
+                }
+                entries.add(entry);
+            }
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Unable to read the project model snapshot " + file, e);
+            }
+            return null;
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, entries.size());
+        }
+
+        return entries;
+    }
+}
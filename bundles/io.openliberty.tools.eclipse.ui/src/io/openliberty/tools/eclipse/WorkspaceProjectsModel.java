@@ -14,16 +14,23 @@ package io.openliberty.tools.eclipse;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.osgi.util.NLS;
 
 import io.openliberty.tools.eclipse.logging.Trace;
@@ -35,110 +42,477 @@ import io.openliberty.tools.eclipse.utils.ErrorHandler;
  */
 public class WorkspaceProjectsModel {
 
+    /** The minimum number of projects for which the model is built using parallel streams. */
+    public static final int PARALLEL_THRESHOLD = 32;
+
     private Map<String, Project> projectsByLocation;
     private Map<String, Project> projectsByName;
 
+    /** Path trie over the locations of the projects in the model. Used to find parent, child and peer projects. */
+    private ProjectLocationIndex locationIndex;
+
+    /** True if the independent steps of the model build are processed in parallel. */
+    private final boolean parallelBuild;
+
     /**
      * Constructor.
      */
     public WorkspaceProjectsModel() {
+        this(true);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param parallelBuild True if the independent steps of the model build are to be processed in parallel when the number of
+     *        projects is at least {@link #PARALLEL_THRESHOLD}. False to always process them sequentially.
+     */
+    public WorkspaceProjectsModel(boolean parallelBuild) {
+        this.parallelBuild = parallelBuild;
         initProjectModels();
     }
 
     /**
-     * Build complete workspace project model. Do classify projects (add Liberty nature if conditions warrant) Should only be called
-     * on UI thread
+     * Build complete workspace project model. Do classify projects (add Liberty nature if conditions warrant). Classification may
+     * write project descriptions, so this must not be called on the UI thread. The model is replaced without locking: use
+     * {@link ProjectClassificationJob#rebuild()} rather than calling this directly, so that rebuilds never overlap.
      */
     public void createNewCompleteWorkspaceModelWithClassify() {
-        createNewCompleteWorkspaceModel(true);
+        createNewCompleteWorkspaceModelWithClassify(null);
     }
 
     /**
-     * Discard previous model and build new model from open projects
+     * Build complete workspace project model. See {@link #createNewCompleteWorkspaceModelWithClassify()}. Cancellation is honored
+     * between projects. The projects whose processing did not complete are returned so that the model can be updated with them at a
+     * later time.
+     * 
+     * @param monitor The progress monitor. It may be null.
      * 
-     * @param whether to classify or not
+     * @return The projects whose processing did not complete because the monitor was cancelled. An empty list if the build
+     *         completed.
      */
-    private void createNewCompleteWorkspaceModel(boolean classify) {
+    public List<IProject> createNewCompleteWorkspaceModelWithClassify(IProgressMonitor monitor) {
+        return createNewCompleteWorkspaceModel(getOpenWorkspaceProjects(), true, monitor);
+    }
+
+    /**
+     * Discard previous model and build new model from the input projects.
+     * 
+     * @param projects The projects to include in the model.
+     * @param classify Whether to classify or not.
+     */
+    public void createNewCompleteWorkspaceModel(List<IProject> projects, boolean classify) {
+        createNewCompleteWorkspaceModel(projects, classify, null);
+    }
+
+    /**
+     * Discard previous model and build new model from the input projects. See {@link #createNewCompleteWorkspaceModel(List, boolean)}.
+     * Cancellation is honored between projects. The projects whose processing did not complete are returned so that the model can
+     * be updated with them at a later time, through {@link #updateWorkspaceModel(Collection, boolean, IProgressMonitor)}.
+     * 
+     * @param projects The projects to include in the model.
+     * @param classify Whether to classify or not.
+     * @param monitor The progress monitor. It may be null.
+     * 
+     * @return The projects whose processing did not complete because the monitor was cancelled. An empty list if the build
+     *         completed.
+     */
+    public List<IProject> createNewCompleteWorkspaceModel(List<IProject> projects, boolean classify, IProgressMonitor monitor) {
 
         if (Trace.isEnabled()) {
-            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { classify });
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { projects.size(), classify });
         }
 
-        IWorkspaceRoot workspaceRoot = ResourcesPlugin.getWorkspace().getRoot();
-        IProject[] iProjects = workspaceRoot.getProjects();
-
-        List<IProject> openProjects = Arrays.stream(iProjects).filter(project -> project.isOpen()).collect(Collectors.toList());
+        List<IProject> openProjects = projects.stream().filter(project -> project.isOpen()).collect(Collectors.toList());
 
         initProjectModels();
-        buildMultiProjectModel(openProjects, classify);
+        if (classify) {
+            // A complete rebuild detects the Liberty server configuration of every project again.
+            ServerConfigDetector.getInstance().clear();
+        }
+        List<IProject> unprocessed = buildMultiProjectModel(openProjects, classify, monitor);
 
         if (Trace.isEnabled()) {
-            Trace.getTracer().traceExit(Trace.TRACE_TOOLS);
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, "Unprocessed projects: " + unprocessed);
         }
+
+        return unprocessed;
     }
 
-    private void initProjectModels() {
-        // Start over. Throw away existing model
-        projectsByLocation = new ConcurrentHashMap<String, Project>();
-        projectsByName = new ConcurrentHashMap<String, Project>();
+    /**
+     * Updates the existing model with the input projects. Do classify projects (add Liberty nature if conditions warrant).
+     * 
+     * @param projectsChanged The projects that were added, removed, opened, closed or otherwise changed.
+     */
+    public void updateWorkspaceModelWithClassify(Collection<IProject> projectsChanged) {
+        updateWorkspaceModel(projectsChanged, true);
     }
 
     /**
-     * @param projectsToScan Projects to include in model update
-     * @param classify Whether to classify
+     * Updates the existing model with the input projects rather than rebuilding the model for the whole workspace. Projects that no
+     * longer exist or are closed are removed. Projects that are open are re-created and re-classified. The parent/child/peer links of
+     * the affected projects and of their parents are re-established. The resulting model is the same as the one produced by a
+     * complete rebuild.
+     * 
+     * @param projectsChanged The projects that were added, removed, opened, closed or otherwise changed.
+     * @param classify Whether to classify or not.
+     */
+    public void updateWorkspaceModel(Collection<IProject> projectsChanged, boolean classify) {
+        updateWorkspaceModel(projectsChanged, classify, null);
+    }
+
+    /**
+     * Updates the existing model with the input projects. See {@link #updateWorkspaceModel(Collection, boolean)}. Cancellation is
+     * honored before the model is modified and between project classifications. The projects whose processing did not complete are
+     * returned so that the update can be applied to them again at a later time.
+     * 
+     * @param projectsChanged The projects that were added, removed, opened, closed or otherwise changed.
+     * @param classify Whether to classify or not.
+     * @param monitor The progress monitor. It may be null.
+     * 
+     * @return The projects whose processing did not complete because the monitor was cancelled. An empty list if the update
+     *         completed.
      */
-    private void buildMultiProjectModel(List<IProject> projectsToScan, boolean classify) {
+    public List<IProject> updateWorkspaceModel(Collection<IProject> projectsChanged, boolean classify, IProgressMonitor monitor) {
 
-        // First pass classify as server module
-        for (IProject iProject : new ArrayList<IProject>(projectsToScan)) {
-            if (iProject.isOpen()) {
-                Project projModel = projectsByLocation.get(iProject.getLocation().toOSString());
-                if (projModel == null) {
-                    projModel = new Project(iProject);
-                    projectsByLocation.put(iProject.getLocation().toOSString(), projModel);
-                    projectsByName.put(iProject.getName(), projModel);
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { projectsChanged, classify });
+        }
+
+        SubMonitor subMonitor = SubMonitor.convert(monitor, projectsChanged.size() * 3);
+        List<IProject> unprocessed = new ArrayList<IProject>();
+
+        if (subMonitor.isCanceled()) {
+            unprocessed.addAll(projectsChanged);
+            if (Trace.isEnabled()) {
+                Trace.getTracer().traceExit(Trace.TRACE_TOOLS, "Cancelled. Unprocessed projects: " + unprocessed);
+            }
+            return unprocessed;
+        }
+
+        // Projects (by name) whose children must be re-linked.
+        Set<String> parentsToRelink = new LinkedHashSet<String>();
+
+        // Projects (by name) that must go through Liberty nature classification again.
+        Set<String> projectsToClassify = new LinkedHashSet<String>();
+
+        // First pass. Remove stale entries and create new entries for the open projects.
+        for (IProject iProject : projectsChanged) {
+            subMonitor.worked(1);
+            String name = iProject.getName();
+            Project oldProject = projectsByName.remove(name);
+            if (oldProject != null) {
+                projectsByLocation.values().remove(oldProject);
+                locationIndex.remove(oldProject);
+
+                // The children of the old entry are re-linked below, either to the new entry if the project is still open, or to the
+                // closest ancestor project. The old parent is re-linked in both cases.
+                Project oldParent = oldProject.getParentDirProject();
+                if (oldParent != null) {
+                    parentsToRelink.add(oldParent.getName());
                 }
+
+                for (Project child : oldProject.getChildDirProjects()) {
+                    if (child.getParentDirProject() == oldProject) {
+                        child.setParentDirProject(null);
+                        child.clearPeerDirProjects();
+                    }
+                }
+            }
+
+            if (iProject.exists() && iProject.isOpen() && iProject.getLocation() != null) {
+                Project projModel = new Project(iProject);
+                projectsByLocation.put(iProject.getLocation().toOSString(), projModel);
+                projectsByName.put(name, projModel);
+                locationIndex.add(projModel);
                 if (classify) {
                     projModel.classifyAsServerModule();
                 }
+
+                parentsToRelink.add(name);
+                projectsToClassify.add(name);
+            }
+        }
+
+        // The closest ancestors of the new entries may now have different children. The ancestors are looked up once all the new
+        // entries are indexed.
+        for (IProject iProject : projectsChanged) {
+            Project projModel = projectsByName.get(iProject.getName());
+            if (projModel != null) {
+                Project newParent = locationIndex.getParent(projModel);
+                if (newParent != null) {
+                    parentsToRelink.add(newParent.getName());
+                }
             }
         }
 
         try {
-            // Second pass - establish parent/child relationships (i.e. containing dir / contained subdir relationship)
-            for (IProject iProject : projectsToScan) {
-                ArrayList<Project> childPeers = new ArrayList<Project>();
-                for (IResource res : iProject.members()) {
-                    if (res.getType() == IResource.FOLDER) {
-                        String resLocation = res.getLocation().toOSString();
-                        Project child = projectsByLocation.get(resLocation);
-                        if (child != null) {
-                            Project parent = projectsByLocation.get(iProject.getLocation().toOSString());
-                            child.setParentDirProject(parent);
-                            childPeers.add(child);
-                            parent.addChildDirProject(child);
+            // Second pass - re-establish parent/child relationships for the affected projects. The existing links of all affected
+            // projects are removed before any new link is created because a child may move from one affected project to another.
+            subMonitor.setWorkRemaining(parentsToRelink.size() * 2 + projectsToClassify.size());
+            List<Project> parents = new ArrayList<Project>();
+            for (String parentName : parentsToRelink) {
+                Project parent = projectsByName.get(parentName);
+                if (parent != null) {
+                    for (Project child : parent.getChildDirProjects()) {
+                        if (child.getParentDirProject() == parent) {
+                            child.setParentDirProject(null);
+                            child.clearPeerDirProjects();
                         }
                     }
+                    parent.clearChildDirProjects();
+                    parents.add(parent);
                 }
+            }
 
-                // Set the list of peer projects for each child.
-                for (IResource res : iProject.members()) {
-                    if (res.getType() == IResource.FOLDER) {
-                        String resLocation = res.getLocation().toOSString();
-                        Project child = projectsByLocation.get(resLocation);
-                        if (child != null) {
-                            child.setPeerDirProjects(childPeers);
-                        }
+            for (Project parent : parents) {
+                subMonitor.worked(1);
+                linkChildProjects(parent);
+                projectsToClassify.add(parent.getName());
+            }
+
+            // Third pass classify with Liberty nature. The projects that are not classified because of a cancellation are returned.
+            if (classify) {
+                for (String projectName : projectsToClassify) {
+                    Project project = projectsByName.get(projectName);
+                    if (project == null) {
+                        continue;
+                    }
+                    if (subMonitor.isCanceled()) {
+                        unprocessed.add(project.getIProject());
+                    } else {
+                        project.classifyAsLibertyNature();
+                        subMonitor.worked(1);
                     }
                 }
             }
+        } catch (Exception e) {
+            String msg = "An error occurred when the projects in the workspace were analyzed.";
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, msg + " Workspace projects: " + projectsByLocation.values(), e);
+            }
+            ErrorHandler.processWarningMessage(NLS.bind(Messages.project_analyze_error, null), e, false);
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, "Projects: " + projectsByLocation.values() + ". Unprocessed: " + unprocessed);
+        }
+
+        return unprocessed;
+    }
+
+    /**
+     * Discards the previous model and restores the model from the input snapshot entries. The classification data and the
+     * parent/child links are taken from the snapshot. Entries whose project is no longer open at the saved location are dropped.
+     * 
+     * @param entries The snapshot entries.
+     * @param workspaceProjects The projects in the workspace.
+     * 
+     * @return The projects that must be processed by {@link #updateWorkspaceModel(Collection, boolean)} for the model to reflect
+     *         the workspace: projects not found in the snapshot, and projects affected by dropped entries.
+     */
+    public List<IProject> restoreWorkspaceModel(List<WorkspaceModelSnapshot.ProjectEntry> entries, List<IProject> workspaceProjects) {
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { entries.size(), workspaceProjects.size() });
+        }
+
+        initProjectModels();
+
+        Map<String, IProject> openProjects = new LinkedHashMap<String, IProject>();
+        for (IProject iProject : workspaceProjects) {
+            if (iProject.isOpen()) {
+                openProjects.put(iProject.getName(), iProject);
+            }
+        }
+
+        Set<IProject> projectsToUpdate = new LinkedHashSet<IProject>();
+        List<WorkspaceModelSnapshot.ProjectEntry> restoredEntries = new ArrayList<WorkspaceModelSnapshot.ProjectEntry>();
+        for (WorkspaceModelSnapshot.ProjectEntry entry : entries) {
+            IProject iProject = openProjects.get(entry.name);
+            IPath location = (iProject == null) ? null : iProject.getLocation();
+            if (location == null || !location.toOSString().equals(entry.location)) {
+                // The project was closed, deleted or moved. Its parent must be classified again.
+                if (iProject != null) {
+                    projectsToUpdate.add(iProject);
+                }
+                IProject parent = (entry.parentName == null) ? null : openProjects.get(entry.parentName);
+                if (parent != null) {
+                    projectsToUpdate.add(parent);
+                }
+                continue;
+            }
 
-            // Third pass classify with Liberty nature.
+            Project projModel = new Project(iProject, entry.buildType, entry.serverModule, entry.parentOfServerModule,
+                    entry.descriptionStamp, entry.configStamp);
+            projectsByLocation.put(entry.location, projModel);
+            projectsByName.put(entry.name, projModel);
+            locationIndex.add(projModel);
+            restoredEntries.add(entry);
+        }
+
+        // Restore the parent/child links. Projects whose saved parent was dropped are processed again.
+        for (WorkspaceModelSnapshot.ProjectEntry entry : restoredEntries) {
+            if (entry.parentName != null) {
+                Project child = projectsByName.get(entry.name);
+                Project parent = projectsByName.get(entry.parentName);
+                if (parent != null) {
+                    child.setParentDirProject(parent);
+                    parent.addChildDirProject(child);
+                } else {
+                    projectsToUpdate.add(child.getIProject());
+                }
+            }
+        }
+
+        for (Project parent : projectsByName.values()) {
+            List<Project> children = new ArrayList<Project>(parent.getChildDirProjects());
+            for (Project child : children) {
+                child.setPeerDirProjects(children);
+            }
+        }
+
+        // Projects that were not in the snapshot.
+        for (IProject iProject : openProjects.values()) {
+            if (!projectsByName.containsKey(iProject.getName())) {
+                projectsToUpdate.add(iProject);
+            }
+        }
+
+        List<IProject> retVal = new ArrayList<IProject>(projectsToUpdate);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, "Projects to update: " + retVal);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Returns the projects in the model whose description or Liberty configuration directory changed since their entries were
+     * created. This method reads the file system.
+     * 
+     * @return The projects in the model whose description or Liberty configuration directory changed since their entries were
+     *         created.
+     */
+    public List<IProject> getStaleProjects() {
+        List<IProject> staleProjects = new ArrayList<IProject>();
+        for (Project project : projectsByName.values()) {
+            if (project.isStale()) {
+                staleProjects.add(project.getIProject());
+            }
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Stale projects: " + staleProjects);
+        }
+
+        return staleProjects;
+    }
+
+    /**
+     * Returns the projects in the model.
+     * 
+     * @return The projects in the model.
+     */
+    public List<Project> getProjects() {
+        return new ArrayList<Project>(projectsByName.values());
+    }
+
+    /**
+     * Returns the list of open projects in the workspace.
+     * 
+     * @return The list of open projects in the workspace.
+     */
+    public List<IProject> getOpenWorkspaceProjects() {
+        IWorkspaceRoot workspaceRoot = ResourcesPlugin.getWorkspace().getRoot();
+        IProject[] iProjects = workspaceRoot.getProjects();
+
+        return Arrays.stream(iProjects).filter(project -> project.isOpen()).collect(Collectors.toList());
+    }
+
+    private void initProjectModels() {
+        // Start over. Throw away existing model
+        projectsByLocation = new ConcurrentHashMap<String, Project>();
+        projectsByName = new ConcurrentHashMap<String, Project>();
+        locationIndex = new ProjectLocationIndex();
+    }
+
+    /**
+     * Builds the model for the input projects. The creation of the project entries, the server module classification and the
+     * discovery of child projects do not depend on each other across projects. When there are enough projects, they are processed
+     * in parallel. The results are then applied to the model sequentially, in input order, so that the resulting model does not
+     * depend on the number of threads used. The Liberty nature classification updates the project descriptions and is always
+     * processed sequentially. Cancellation is checked before each project is processed. The projects that are not processed are
+     * left out of the model and returned.
+     * 
+     * @param projectsToScan Projects to include in model update
+     * @param classify Whether to classify
+     * @param monitor The progress monitor. It may be null.
+     * 
+     * @return The projects whose processing did not complete because the monitor was cancelled.
+     */
+    private List<IProject> buildMultiProjectModel(List<IProject> projectsToScan, boolean classify, IProgressMonitor monitor) {
+        boolean parallel = parallelBuild && projectsToScan.size() >= PARALLEL_THRESHOLD;
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_TOOLS, new Object[] { projectsToScan.size(), classify, parallel });
+        }
+
+        SubMonitor subMonitor = SubMonitor.convert(monitor, projectsToScan.size() * 2);
+        List<IProject> unprocessed = new ArrayList<IProject>();
+
+        // First pass classify as server module. The monitor is only checked for cancellation by the worker threads: progress is
+        // reported once they are done.
+        List<IProject> openProjects = projectsToScan.stream().filter(iProject -> iProject.isOpen()).collect(Collectors.toList());
+        List<Project> projModels = stream(openProjects, parallel).map(iProject -> {
+            if (subMonitor.isCanceled()) {
+                return null;
+            }
+            Project projModel = projectsByLocation.get(iProject.getLocation().toOSString());
+            if (projModel == null) {
+                projModel = new Project(iProject);
+            }
+            if (classify) {
+                projModel.classifyAsServerModule();
+            }
+            return projModel;
+        }).collect(Collectors.toList());
+        subMonitor.worked(projectsToScan.size());
+
+        for (int i = 0; i < openProjects.size(); i++) {
+            if (projModels.get(i) == null) {
+                unprocessed.add(openProjects.get(i));
+            }
+        }
+        projModels.removeIf(projModel -> projModel == null);
+
+        for (Project projModel : projModels) {
+            if (projectsByLocation.putIfAbsent(projModel.getPath(), projModel) == null) {
+                projectsByName.put(projModel.getName(), projModel);
+                locationIndex.add(projModel);
+            }
+        }
+
+        try {
+            // Second pass - establish parent/child relationships (i.e. containing dir / contained subdir relationship). The location
+            // index is in memory. No need to process the projects in parallel.
+            for (Project projModel : projModels) {
+                Project parent = projectsByLocation.get(projModel.getPath());
+                if (parent != null) {
+                    linkChildProjects(parent);
+                }
+            }
+
+            // Third pass classify with Liberty nature. The projects that are not classified because of a cancellation are returned.
             if (classify) {
-                for (IProject iProject : projectsToScan) {
-                    if (iProject.isOpen()) {
-                        Project project = projectsByName.get(iProject.getName());
+                for (Project projModel : projModels) {
+                    Project project = projectsByName.get(projModel.getName());
+                    if (subMonitor.isCanceled()) {
+                        unprocessed.add(projModel.getIProject());
+                    } else {
                         project.classifyAsLibertyNature();
+                        subMonitor.worked(1);
                     }
                 }
             }
@@ -152,7 +526,41 @@ public class WorkspaceProjectsModel {
         }
 
         if (Trace.isEnabled()) {
-            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Projects: " + projectsByLocation.values());
+            Trace.getTracer().traceExit(Trace.TRACE_TOOLS, "Projects: " + projectsByLocation.values() + ". Unprocessed: " + unprocessed);
+        }
+
+        return unprocessed;
+    }
+
+    /**
+     * Returns a sequential or parallel stream of the input projects.
+     * 
+     * @param projects The projects to stream.
+     * @param parallel True for a parallel stream. False for a sequential stream.
+     * 
+     * @return A sequential or parallel stream of the input projects.
+     */
+    private Stream<IProject> stream(List<IProject> projects, boolean parallel) {
+        return parallel ? projects.parallelStream() : projects.stream();
+    }
+
+    /**
+     * Establishes the parent/child relationships (i.e. containing dir / contained subdir relationship) between the input project and
+     * the projects located under it, at any depth, for which it is the closest ancestor project. It also sets the list of peer
+     * projects for each child.
+     * 
+     * @param parent The project whose child projects are linked.
+     */
+    private void linkChildProjects(Project parent) {
+        List<Project> children = locationIndex.getChildren(parent);
+        for (Project child : children) {
+            child.setParentDirProject(parent);
+            parent.addChildDirProject(child);
+        }
+
+        // Set the list of peer projects for each child.
+        for (Project child : children) {
+            child.setPeerDirProjects(children);
         }
     }
 
@@ -240,7 +648,7 @@ public class WorkspaceProjectsModel {
 
         Project proj = projectsByName.get(iProject.getName());
         if (proj.isAggregated()) {
-            retVal = "-f ../pom.xml -am -pl " + getModuleNameSegment(iProject);
+            retVal = getAggregatorStartParameters(proj);
         } else {
             retVal = "";
         }
@@ -252,8 +660,27 @@ public class WorkspaceProjectsModel {
         return retVal;
     }
 
-    private String getModuleNameSegment(IProject iProject) {
-        return iProject.getRawLocation().lastSegment();
+    /**
+     * Returns the parameters to build the input project through its parent (aggregator) project. The module may be nested at any
+     * depth under the parent project.
+     * 
+     * @param proj The aggregated project.
+     * 
+     * @return The parameters to build the input project through its parent project. For example: "-f ../../pom.xml -am -pl
+     *         services/server1".
+     */
+    private String getAggregatorStartParameters(Project proj) {
+        IPath projectLocation = proj.getIProject().getLocation();
+        IPath parentLocation = proj.getParentDirProject().getIProject().getLocation();
+        IPath modulePath = projectLocation.makeRelativeTo(parentLocation);
+
+        StringBuilder pomPath = new StringBuilder();
+        for (int i = 0; i < modulePath.segmentCount(); i++) {
+            pomPath.append("../");
+        }
+        pomPath.append("pom.xml");
+
+        return "-f " + pomPath + " -am -pl " + modulePath.toPortableString();
     }
 
 }
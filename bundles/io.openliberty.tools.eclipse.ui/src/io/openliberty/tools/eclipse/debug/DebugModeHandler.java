@@ -12,22 +12,18 @@
 *******************************************************************************/
 package io.openliberty.tools.eclipse.debug;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.net.ConnectException;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.BooleanSupplier;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -37,14 +33,16 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.ILaunchesListener2;
 import org.eclipse.debug.core.model.IDebugTarget;
 import org.eclipse.jdi.Bootstrap;
 import org.eclipse.jdi.TimeoutException;
 import org.eclipse.jdt.debug.core.JDIDebugModel;
 import org.eclipse.jdt.launching.IJavaLaunchConfigurationConstants;
 import org.eclipse.jdt.launching.JavaRuntime;
-import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IViewPart;
 import org.eclipse.ui.IWorkbench;
@@ -63,10 +61,10 @@ import io.openliberty.tools.eclipse.LibertyDevPlugin;
 import io.openliberty.tools.eclipse.Project;
 import io.openliberty.tools.eclipse.Project.BuildType;
 import io.openliberty.tools.eclipse.logging.Trace;
-import io.openliberty.tools.eclipse.messages.Messages;
 import io.openliberty.tools.eclipse.ui.dashboard.DashboardView;
+import io.openliberty.tools.eclipse.ui.preferences.LibertyToolsPreferencePage;
+import io.openliberty.tools.eclipse.ui.terminal.ProjectTab;
 import io.openliberty.tools.eclipse.ui.terminal.ProjectTabController;
-import io.openliberty.tools.eclipse.ui.terminal.TerminalListener;
 import io.openliberty.tools.eclipse.utils.ErrorHandler;
 
 public class DebugModeHandler {
@@ -95,9 +93,27 @@ public class DebugModeHandler {
     /** Job status return code indicating that an error took place while attempting to attach the debugger to the JVM. */
     public static int JOB_STATUS_DEBUGGER_CONN_ERROR = 1;
 
+    /** The time to wait for dev mode to print the debug port, once the server JVM listens for debugger connections. */
+    public static final long DEBUG_PORT_WAIT_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(3);
+
+    /** The time during which the attach is retried, once dev mode printed the debug port. */
+    public static final long ATTACH_TIMEOUT_MS = 10000;
+
+    /** The first delay between attach attempts. The delay doubles after each failed attempt, up to the maximum delay. */
+    public static final long ATTACH_INITIAL_BACKOFF_MS = 10;
+
+    /** The maximum delay between attach attempts. */
+    public static final long ATTACH_MAX_BACKOFF_MS = 500;
+
     /** DevModeOperations instance. */
     private DevModeOperations devModeOps;
 
+    /** Hands out the debug ports of the projects started in debug mode. */
+    private final DebugPortAllocator portAllocator = new DebugPortAllocator();
+
+    /** The server.env files of the deployed Liberty servers, and the entries read from them. */
+    private final ServerEnvCache serverEnvCache = new ServerEnvCache();
+
     /**
      * Constructor.
      */
@@ -181,23 +197,30 @@ public class DebugModeHandler {
                     + "does not appear to be a Maven or Gradle built project.");
         }
 
+        String projectName = project.getIProject().getName();
         if (inputParms.contains(searchKey)) {
             String[] parts = inputParms.split("\\s+");
             for (String part : parts) {
                 if (part.contains(searchKey)) {
                     String[] debugParts = part.split("=");
                     debugPort = debugParts[1].trim();
+                    try {
+                        portAllocator.reserve(projectName, Integer.parseInt(debugPort));
+                    } catch (NumberFormatException e) {
+                        // Not a port number. Dev mode reports the error.
+                    }
                     break;
                 }
             }
         }
 
-        // 2. Get a random port.
+        // 2. Get a port from the configured debug port range. The port the project's server was last debugged on, which dev mode
+        // records in server.env, is preferred so that the project keeps its port when the workbench is restarted.
         if (debugPort == null) {
-            try (ServerSocket socket = new ServerSocket(0)) {
-                int randomPort = socket.getLocalPort();
-                debugPort = String.valueOf(randomPort);
-            }
+            int firstPort = getFirstDebugPort();
+            int lastPort = getLastDebugPort();
+            Integer previousPort = getPreviousDebugPort(project, firstPort, lastPort);
+            debugPort = String.valueOf(portAllocator.allocate(projectName, firstPort, lastPort, previousPort));
         }
 
         if (Trace.isEnabled()) {
@@ -209,7 +232,50 @@ public class DebugModeHandler {
     }
 
     /**
-     * Starts the job that will attempt to connect the debugger with the server's JVM.
+     * Returns the object that hands out the debug ports of the projects started in debug mode.
+     * 
+     * @return The object that hands out the debug ports of the projects started in debug mode.
+     */
+    public DebugPortAllocator getPortAllocator() {
+        return portAllocator;
+    }
+
+    /**
+     * Returns the first port of the range debug ports are taken from. The default range is used if the configured range is not valid.
+     * 
+     * @return The first port of the range debug ports are taken from.
+     */
+    public static int getFirstDebugPort() {
+        int firstPort = getDebugPortPreference(LibertyToolsPreferencePage.DEBUG_PORT_FIRST, DebugPortAllocator.DEFAULT_FIRST_PORT);
+        int lastPort = getDebugPortPreference(LibertyToolsPreferencePage.DEBUG_PORT_LAST, DebugPortAllocator.DEFAULT_LAST_PORT);
+        return (firstPort <= lastPort) ? firstPort : DebugPortAllocator.DEFAULT_FIRST_PORT;
+    }
+
+    /**
+     * Returns the last port of the range debug ports are taken from. The default range is used if the configured range is not valid.
+     * 
+     * @return The last port of the range debug ports are taken from.
+     */
+    public static int getLastDebugPort() {
+        int firstPort = getDebugPortPreference(LibertyToolsPreferencePage.DEBUG_PORT_FIRST, DebugPortAllocator.DEFAULT_FIRST_PORT);
+        int lastPort = getDebugPortPreference(LibertyToolsPreferencePage.DEBUG_PORT_LAST, DebugPortAllocator.DEFAULT_LAST_PORT);
+        return (firstPort <= lastPort) ? lastPort : DebugPortAllocator.DEFAULT_LAST_PORT;
+    }
+
+    /**
+     * Returns the debug port set by the input preference, or the input default port if the preference is not set or is not a port
+     * the debug ports can be taken from.
+     */
+    private static int getDebugPortPreference(String key, int defaultPort) {
+        LibertyDevPlugin plugin = LibertyDevPlugin.getDefault();
+        int port = (plugin == null) ? 0 : plugin.getPreferenceStore().getInt(key);
+        return LibertyToolsPreferencePage.isValidDebugPort(port) ? port : defaultPort;
+    }
+
+    /**
+     * Starts the job that will attempt to connect the debugger with the server's JVM. The job waits for dev mode to print the debug
+     * port in the project's terminal, which it does once the server JVM listens for debugger connections, and attaches right away.
+     * The job ends as soon as the process running in the terminal ends or the terminal is closed.
      * 
      * @param project The project for which the debugger needs to be attached.
      * @param launch The launch to which the debug target will be added.
@@ -220,6 +286,14 @@ public class DebugModeHandler {
     public void startDebugAttacher(Project project, ILaunch launch, String debugPort) {
         String projectName = project.getIProject().getName();
 
+        // Watch the terminal output for the debug port message. If the terminal of the project is not known, the attach is attempted
+        // right away, and retried until the attach timeout expires.
+        DebugPortSignal signal = new DebugPortSignal();
+        ProjectTab projectTab = ProjectTabController.getInstance().getProjectTab(projectName);
+        if (projectTab != null) {
+            projectTab.getOutputTap().addObserver(signal);
+        }
+
         Job job = new Job("Attaching Debugger to JVM...") {
             @Override
             protected IStatus run(IProgressMonitor monitor) {
@@ -228,46 +302,73 @@ public class DebugModeHandler {
                         return Status.CANCEL_STATUS;
                     }
 
-                    String portToConnect = waitForSocketActivation(project, DEFAULT_ATTACH_HOST, debugPort, monitor);
-                    if (portToConnect == null) {
-                        return Status.CANCEL_STATUS;
+                    int portToConnect = Integer.parseInt(debugPort);
+                    if (projectTab != null) {
+                        Integer printedPort = waitForDebugPort(signal, debugPort);
+                        if (printedPort == null) {
+                            return Status.CANCEL_STATUS;
+                        }
+                        portToConnect = printedPort;
                     }
 
                     AttachingConnector connector = getAttachingConnector();
                     Map<String, Argument> map = connector.defaultArguments();
-                    configureConnector(map, DEFAULT_ATTACH_HOST, Integer.parseInt(portToConnect));
-                    IDebugTarget debugTarget = createRemoteJDTDebugTarget(launch, Integer.parseInt(portToConnect), DEFAULT_ATTACH_HOST,
-                            connector, map);
+                    configureConnector(map, DEFAULT_ATTACH_HOST, portToConnect);
+                    IDebugTarget debugTarget = createRemoteJDTDebugTarget(launch, portToConnect, DEFAULT_ATTACH_HOST, connector, map,
+                            () -> monitor.isCanceled() || signal.isCancelled());
+                    if (debugTarget == null) {
+                        return Status.CANCEL_STATUS;
+                    }
 
                     launch.addDebugTarget(debugTarget);
 
                 } catch (Exception e) {
                     return new Status(IStatus.ERROR, LibertyDevPlugin.PLUGIN_ID, JOB_STATUS_DEBUGGER_CONN_ERROR,
                             "An error was detected while attaching the debugger to the JVM.", e);
+                } finally {
+                    if (projectTab != null) {
+                        projectTab.getOutputTap().removeObserver(signal);
+                    }
                 }
 
                 return Status.OK_STATUS;
             }
-        };
 
-        // Register a listener with the terminal tab controller. This listener handles cleanup when the terminal or terminal tab is
-        // terminated while actively processing work.
-        TerminalListener terminalListener = new TerminalListener() {
-            /**
-             * {@inheritDoc}
-             */
             @Override
-            public void cleanup() {
-                job.cancel();
+            protected void canceling() {
+                signal.cancel();
             }
         };
-        devModeOps.registerTerminalListener(project.getIProject().getName(), terminalListener);
+
+        // Stop waiting when the process running in the terminal ends or when the terminal tab is closed while actively processing
+        // work.
+        CompletableFuture<Void> terminated = (projectTab == null) ? CompletableFuture.completedFuture(null)
+                : projectTab.getLifecycle().whenTerminated();
+        if (projectTab != null) {
+            terminated.thenRun(() -> {
+                signal.cancel();
+                job.cancel();
+            });
+        }
+
+        // The debug port stays held while dev mode may use it: until the process running in the terminal ends or, if the terminal of
+        // the project is not known, until the launch ends.
+        try {
+            int heldPort = Integer.parseInt(debugPort);
+            if (projectTab != null) {
+                projectTab.getLifecycle().whenTerminated().thenRun(() -> portAllocator.release(projectName, heldPort));
+            } else {
+                releasePortWhenLaunchEnds(launch, projectName, heldPort);
+            }
+        } catch (NumberFormatException e) {
+            // Not a port number. No port is held.
+        }
 
         // Register a job change listener. This listener performs job completion processing.
         job.addJobChangeListener(new JobChangeAdapter() {
             @Override
             public void done(IJobChangeEvent event) {
-                devModeOps.unregisterTerminalListener(projectName, terminalListener);
+                terminated.cancel(false);
                 IStatus result = event.getResult();
                 IWorkbench workbench = PlatformUI.getWorkbench();
                 Display display = workbench.getDisplay();
@@ -335,7 +436,7 @@ public class DebugModeHandler {
     }
 
     private IDebugTarget createRemoteJDTDebugTarget(ILaunch launch, int remoteDebugPortNum, String hostName,
-            AttachingConnector connector, Map<String, Argument> map) throws CoreException {
+            AttachingConnector connector, Map<String, Argument> map, BooleanSupplier cancelled) throws CoreException {
         if (launch == null || hostName == null || hostName.length() == 0) {
             return null;
         }
@@ -343,10 +444,13 @@ public class DebugModeHandler {
         Exception ex = null;
         IDebugTarget debugTarget = null;
         try {
-            remoteVM = attachJVM(hostName, remoteDebugPortNum, connector, map);
+            remoteVM = attachJVM(hostName, remoteDebugPortNum, connector, map, cancelled);
         } catch (Exception e) {
             ex = e;
         }
+        if (remoteVM == null && ex == null && cancelled.getAsBoolean()) {
+            return null;
+        }
         if (remoteVM == null) {
             throw new CoreException(
                     new Status(IStatus.ERROR, this.getClass(), IJavaLaunchConfigurationConstants.ERR_CONNECTION_FAILED, "", ex));
@@ -356,57 +460,61 @@ public class DebugModeHandler {
     }
 
     /**
-     * Connect the debugger to the debug port of the target VM
+     * Connect the debugger to the debug port of the target VM. Connection failures are retried with an increasing delay, starting at
+     * {@link #ATTACH_INITIAL_BACKOFF_MS}, for up to {@link #ATTACH_TIMEOUT_MS}.
      * 
      * @param hostName
      * @param port
      * @param connector
      * @param map
+     * @param cancelled Returns true if the attach is no longer needed.
+     * 
+     * @return The attached VM, or null if the attach failed or was cancelled.
      * 
-     * @return
+     * @throws InterruptedException
      */
-    private VirtualMachine attachJVM(String hostName, int port, AttachingConnector connector, Map<String, Argument> map) {
-
-        // At this point, the "waitForSocketActivation" method has already been called so we know that we are able
-        // to connect to the Liberty server's debug port. However, there is still a gap here where we can get a
-        // connection refused exception when we attempt to attach the debugger. This could potentially be due to a difference in
-        // how we are writing to the socket, but whatever the reason, we have a timeout mechanism here as well to attempt the
-        // connection every 100ms for 10 seconds. Any IOExceptions like a "connection refused" will trigger a retry. Any timeout
-        // exceptions within the connector itself will not trigger a retry. We will catch that in the calling method and
-        // expose the timeout there. If we exhaust out retries we will return null and the calling method will throw a connection
-        // error.
-
-        VirtualMachine vm = null;
-        int timeOut = 10000;
-        try {
+    private VirtualMachine attachJVM(String hostName, int port, AttachingConnector connector, Map<String, Argument> map,
+            BooleanSupplier cancelled) throws InterruptedException {
+
+        // Dev mode printed the debug port, so the JVM is listening or about to. A "connection refused" can still happen while the JVM
+        // finishes opening its JDWP socket, so IOExceptions trigger a retry. Timeout exceptions within the connector itself do not
+        // trigger a retry; the connector timeout is the "Launch timeout" of the Eclipse debug preferences.
+
+        long deadline = System.currentTimeMillis() + ATTACH_TIMEOUT_MS;
+        long backoff = ATTACH_INITIAL_BACKOFF_MS;
+        while (!cancelled.getAsBoolean()) {
             try {
-                vm = connector.attach(map);
+                return connector.attach(map);
             } catch (IOException e) {
                 if (Trace.isEnabled()) {
                     Trace.getTracer().trace(Trace.TRACE_UI,
                             "Error occured while trying to connect to the remote virtual machine " + e.getMessage(), e);
                 }
-            } catch (TimeoutException e2) {
-                // do nothing
+            } catch (TimeoutException | IllegalConnectorArgumentsException e) {
+                // Return vm as null if it fails.
+                return null;
             }
 
-            while (vm == null && timeOut > 0) {
-                try {
-                    Thread.sleep(100);
-                } catch (Exception e) {
-                    // do nothing
-                }
-                timeOut = timeOut - 100;
-                try {
-                    vm = connector.attach(map);
-                } catch (IOException e) {
-                    // do nothing
-                }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
             }
-        } catch (IllegalConnectorArgumentsException e) {
-            // Do nothing, return vm as null if it fails
+            Thread.sleep(Math.min(backoff, remaining));
+            backoff = getNextAttachBackoff(backoff);
         }
-        return vm;
+
+        return null;
+    }
+
+    /**
+     * Returns the delay before the next attach attempt.
+     * 
+     * @param backoff The delay before the current attempt.
+     * 
+     * @return The delay before the next attach attempt: twice the input delay, up to {@link #ATTACH_MAX_BACKOFF_MS}.
+     */
+    public static long getNextAttachBackoff(long backoff) {
+        return Math.min(backoff * 2, ATTACH_MAX_BACKOFF_MS);
     }
 
     /**
@@ -461,64 +569,146 @@ public class DebugModeHandler {
     }
 
     /**
-     * Returns the default path of the server.env file after Liberty server deployment.
+     * Returns the paths of the server.env files of the Liberty servers deployed by the input project. A parent of several Liberty
+     * server modules, or a project that defines several servers, has one server.env file per server.
      * 
      * @param project The project for which this operations is being performed.
      * 
-     * @return The default path of the server.env file after Liberty server deployment.
+     * @return The paths of the server.env files of the deployed Liberty servers. The list is empty if no server was deployed yet.
+     * 
+     * @throws Exception
+     */
+    public List<Path> getServerEnvPaths(Project project) throws Exception {
+        List<Path> serverEnvPaths = new ArrayList<Path>();
+        for (Project serverProj : getLibertyServerProjects(project)) {
+            // Servers that were not deployed yet have no server.env file.
+            List<Path> matchedPaths = serverEnvCache.getServerEnvPaths(getServersPath(serverProj));
+            if (matchedPaths.isEmpty() && Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, "Unable to find the server.env file for project " + serverProj.getName() + ".");
+            }
+            serverEnvPaths.addAll(matchedPaths);
+        }
+
+        return serverEnvPaths;
+    }
+
+    /**
+     * Returns the debug port recorded in the server.env file of the Liberty server deployed by the input project, if it is inside
+     * the input range. The server.env files and their entries are cached, so the servers directory is not walked on every launch.
+     * 
+     * @param project The project.
+     * @param firstPort The first port of the range.
+     * @param lastPort The last port of the range.
+     * 
+     * @return The debug port recorded in server.env, or null if there is no single deployed server, if no valid port is recorded, or
+     *         if the port is outside the input range.
+     */
+    private Integer getPreviousDebugPort(Project project, int firstPort, int lastPort) {
+        try {
+            List<Path> serverEnvPaths = getServerEnvPaths(project);
+            if (serverEnvPaths.size() != 1) {
+                return null;
+            }
+
+            // The address may be a port or a host:port pair.
+            String address = readDebugPortFromServerEnv(serverEnvPaths.get(0).toFile());
+            if (address == null) {
+                return null;
+            }
+            int port = Integer.parseInt(address.substring(address.lastIndexOf(':') + 1).trim());
+            return (port >= firstPort && port <= lastPort) ? port : null;
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS,
+                        "Unable to read the previous debug port of project " + project.getIProject().getName() + ".", e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Returns the path of the directory containing the Liberty servers deployed by the input project: wlp/usr/servers.
+     * 
+     * @param serverProj A Liberty server project.
+     * 
+     * @return The path of the directory containing the Liberty servers deployed by the input project.
      * 
      * @throws Exception
      */
-    private Path getServerEnvPath(Project project) throws Exception {
-        Path basePath = null;
-        Project serverProj = getLibertyServerProject(project);
+    public static Path getServersPath(Project serverProj) throws Exception {
         String projectPath = serverProj.getPath();
-        String projectName = serverProj.getName();
         BuildType buildType = serverProj.getBuildType();
 
         if (buildType == Project.BuildType.MAVEN) {
-            basePath = Paths.get(projectPath, "target", "liberty", "wlp", "usr", "servers");
+            return Paths.get(projectPath, "target", "liberty", "wlp", "usr", "servers");
         } else if (buildType == Project.BuildType.GRADLE) {
-            basePath = Paths.get(projectPath, "build", "wlp", "usr", "servers");
+            return Paths.get(projectPath, "build", "wlp", "usr", "servers");
         } else {
-            throw new Exception("Unexpected project build type: " + buildType + ". Project" + projectName
+            throw new Exception("Unexpected project build type: " + buildType + ". Project" + serverProj.getName()
                     + "does not appear to be a Maven or Gradle built project.");
         }
+    }
 
-        // Make sure the base path exists. If not return null.
-        File basePathFile = new File(basePath.toString());
-        if (!basePathFile.exists()) {
-            return null;
-        }
+    /**
+     * Releases the debug port held by the input project once the input launch terminates or is removed.
+     * 
+     * @param launch The launch using the port.
+     * @param projectName The name of the project holding the port.
+     * @param port The port.
+     */
+    private void releasePortWhenLaunchEnds(ILaunch launch, String projectName, int port) {
+        ILaunchManager launchManager = DebugPlugin.getDefault().getLaunchManager();
+        ILaunchesListener2 listener = new ILaunchesListener2() {
+            @Override
+            public void launchesTerminated(ILaunch[] launches) {
+                launchesEnded(launches);
+            }
 
-        try (Stream<Path> matchedStream = Files.find(basePath, 2, (path, basicFileAttribute) -> {
-            if (basicFileAttribute.isRegularFile()) {
-                return path.getFileName().toString().equalsIgnoreCase(WLP_SERVER_ENV_FILE_NAME);
+            @Override
+            public void launchesRemoved(ILaunch[] launches) {
+                launchesEnded(launches);
             }
-            return false;
-        });) {
-            List<Path> matchedPaths = matchedStream.collect(Collectors.toList());
-            int numberOfFilesFound = matchedPaths.size();
-
-            if (numberOfFilesFound != 1) {
-                if (numberOfFilesFound == 0) {
-                    String msg = "Unable to find the server.env file for project " + projectName + ".";
-                    if (Trace.isEnabled()) {
-                        Trace.getTracer().trace(Trace.TRACE_UI, msg);
-                    }
-                    return null;
-                } else {
-                    String msg = "More than one server.env file was found for project " + projectName
-                            + ". Unable to determine which server.env file to use.";
-                    if (Trace.isEnabled()) {
-                        Trace.getTracer().trace(Trace.TRACE_UI, msg);
-                    }
-                    ErrorHandler.processErrorMessage(NLS.bind(Messages.multiple_server_env, projectName), false);
-                    throw new Exception(msg);
+
+            @Override
+            public void launchesAdded(ILaunch[] launches) {
+            }
+
+            @Override
+            public void launchesChanged(ILaunch[] launches) {
+            }
+
+            private void launchesEnded(ILaunch[] launches) {
+                if (Arrays.asList(launches).contains(launch)) {
+                    launchManager.removeLaunchListener(this);
+                    portAllocator.release(projectName, port);
                 }
             }
-            return matchedPaths.get(0);
+        };
+        launchManager.addLaunchListener(listener);
+
+        // The launch may have ended before the listener was registered.
+        if (launch.isTerminated()) {
+            listener.launchesTerminated(new ILaunch[] { launch });
+        }
+    }
+
+    /**
+     * Returns the input start parameters without the debug port parameter. The debug port parameter cannot be used when several
+     * servers are debugged together: each server needs its own port.
+     * 
+     * @param parms The start parameters.
+     * 
+     * @return The input start parameters without the debug port parameter.
+     */
+    public static String removeDebugPortParm(String parms) {
+        StringBuilder sb = new StringBuilder();
+        for (String part : parms.trim().split("\\s+")) {
+            if (part.isEmpty() || part.startsWith(MAVEN_DEVMODE_DEBUG_PORT_PARM) || part.startsWith(GRADLE_DEVMODE_DEBUG_PORT_PARM)) {
+                continue;
+            }
+            sb.append((sb.length() == 0) ? "" : " ").append(part);
         }
+        return sb.toString();
     }
 
     /**
@@ -533,116 +723,57 @@ public class DebugModeHandler {
      * @throws Exception
      */
     public String readDebugPortFromServerEnv(File serverEnv) throws Exception {
-        String port = null;
-
-        if (serverEnv.exists()) {
-            try (BufferedReader reader = new BufferedReader(new FileReader(serverEnv))) {
-                String line = null;
-                String lastEntry = null;
-                while ((line = reader.readLine()) != null) {
-                    if (line.contains(WLP_ENV_DEBUG_ADDRESS)) {
-                        lastEntry = line;
-                    }
-                }
-                if (lastEntry != null) {
-                    String[] parts = lastEntry.split("=");
-                    port = parts[1].trim();
-                }
-            }
-        }
+        return serverEnvCache.getValue(serverEnv.toPath(), WLP_ENV_DEBUG_ADDRESS);
+    }
 
-        return port;
+    /**
+     * Returns the object that caches the server.env files of the deployed Liberty servers, and the entries read from them.
+     * 
+     * @return The object that caches the server.env files of the deployed Liberty servers, and the entries read from them.
+     */
+    public ServerEnvCache getServerEnvCache() {
+        return serverEnvCache;
     }
 
     /**
-     * Waits for the JDWP socket on the JVM to start listening for connections.
+     * Waits for dev mode to print the debug port, which it does once the server JVM listens for debugger connections.
      * 
-     * @param host The host to connect to.
-     * @param port The port to connect to.
-     * @param monitor The progress monitor instance.
+     * @param signal The debug port signal of the project's terminal.
+     * @param port The debug port dev mode was started with.
      * 
-     * @returns The port that the debugger actually connected to.
+     * @return The debug port printed by dev mode, or null if the wait was cancelled because the terminal was closed or the job was
+     *         cancelled.
      * 
-     * @throws Exception
+     * @throws Exception If dev mode did not print the debug port in time.
      */
-    private String waitForSocketActivation(Project project, String host, String port, IProgressMonitor monitor) throws Exception {
-
-        // This is the first of several timeout mechanisms during the debugger connection. This method
-        // will attempt a write to the debug port of the target VM (Liberty server) once every second for
-        // 3 minutes. This seems like a reasonable amount of time for the debug port to become available
-        // so for now we are not making this timeout configurable. If in the future, we need to expose
-        // this timeout value, we could potentially tie it to the "Launch timeout" setting of in the
-        // Eclipse "Debug" preferences.
-
-        byte[] handshakeString = "JDWP-Handshake".getBytes(StandardCharsets.US_ASCII);
-        int retryLimit = 180;
-        int envReadInterval = 2;
-
-        for (int retryCount = 0; retryCount < retryLimit; retryCount++) {
-
-            // Check if the job was cancelled.
-            if (monitor.isCanceled()) {
-                return null;
-            }
-
-            // Check if the terminal was marked as closed, but to reduce contention on the UI thread,
-            // not every time through the loop. We don't have a clean callback/notification that the
-            // terminal session has been marked closed; we're actually going to read the UI element text
-            if (retryCount % envReadInterval == 0) {
-                IWorkbench workbench = PlatformUI.getWorkbench();
-                Display display = workbench.getDisplay();
-                DataHolder data = new DataHolder();
-
-                display.syncExec(new Runnable() {
-                    public void run() {
-                        boolean isClosed = devModeOps.isProjectTerminalTabMarkedClosed(project.getIProject().getName());
-                        data.closed = isClosed;
-                    }
-                });
-
-                if (data.closed == true) {
-                    return null;
-                }
-            }
-
-            try (Socket socket = new Socket(host, Integer.valueOf(port))) {
-                socket.getOutputStream().write(handshakeString);
-                return port;
-            } catch (ConnectException ce) {
-                TimeUnit.SECONDS.sleep(1);
-            }
+    private Integer waitForDebugPort(DebugPortSignal signal, String port) throws Exception {
+        try {
+            return signal.await(DEBUG_PORT_WAIT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (java.util.concurrent.TimeoutException e) {
+            throw new Exception("Timed out trying to attach the debugger to JVM on host: " + DEFAULT_ATTACH_HOST + " and port: " + port
+                    + ".  If the server starts later you might try to manually create a Remote Java Application debug configuration and attach to the server.  You can confirm the debug port used in the terminal output looking for a message like  'Liberty debug port: [ 63624 ]'.");
         }
-
-        throw new Exception("Timed out trying to attach the debugger to JVM on host: " + host + " and port: " + port
-                + ".  If the server starts later you might try to manually create a Remote Java Application debug configuration and attach to the server.  You can confirm the debug port used in the terminal output looking for a message like  'Liberty debug port: [ 63624 ]'.");
     }
 
     /**
-     * Returns the liberty server module project associated with the input project.
+     * Returns the liberty server module projects associated with the input project: the child server modules of a parent project,
+     * or the project itself.
      * 
      * @param project The project to process.
      * 
-     * @return The liberty server module project associated with the input project.
+     * @return The liberty server module projects associated with the input project.
      * 
      * @throws Exception
      */
-    private Project getLibertyServerProject(Project project) throws Exception {
+    public List<Project> getLibertyServerProjects(Project project) throws Exception {
         if (project.isParentOfServerModule()) {
             List<Project> mmps = project.getChildLibertyServerProjects();
-            switch (mmps.size()) {
-                case 0:
-                    throw new Exception("Unable to find a child project that contains the Liberty server configuration.");
-                case 1:
-                    return mmps.get(0);
-                default:
-                    throw new Exception("Multiple child projects containing Liberty server configuration were found.");
+            if (mmps.isEmpty()) {
+                throw new Exception("Unable to find a child project that contains the Liberty server configuration.");
             }
+            return mmps;
         }
 
-        return project;
-    }
-
-    private class DataHolder {
-        boolean closed;
+        return Collections.singletonList(project);
     }
 }
@@ -0,0 +1,254 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.debug;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Hands out the debug ports of the projects started in debug mode, from a range of ports. A port is held by a project from the time
+ * it is handed out until the project's terminal ends, so projects started together are never handed the same port, even though dev
+ * mode binds the port long after it is picked. A project started again is handed the port it held last, if it is still free.
+ */
+public class DebugPortAllocator {
+
+    /** The first port of the default range. 7777 is the default debug port of dev mode. */
+    public static final int DEFAULT_FIRST_PORT = 7777;
+
+    /** The last port of the default range. */
+    public static final int DEFAULT_LAST_PORT = 7876;
+
+    /** The port held by each project. */
+    private final Map<String, Integer> heldPorts = new HashMap<String, Integer>();
+
+    /** The project holding each port. */
+    private final Map<Integer, String> holders = new HashMap<Integer, String>();
+
+    /** The last port held by each project, kept after the port is released so that a restarted project gets it back. */
+    private final Map<String, Integer> lastPorts = new HashMap<String, Integer>();
+
+    /** The port the next search of a range starts from. */
+    private int nextPort = -1;
+
+    /**
+     * Hands out a free port of the input range to the input project. The port the project holds, or the last port it held, is handed
+     * out again if it is free. Otherwise, ports last held by other projects are only handed out if no other port of the range is free.
+     * If the whole range is in use, a free port chosen by the system is handed out.
+     *
+     * @param projectName The name of the project.
+     * @param firstPort The first port of the range.
+     * @param lastPort The last port of the range.
+     *
+     * @return The debug port handed out to the project.
+     *
+     * @throws IOException If no free port could be found.
+     */
+    public synchronized int allocate(String projectName, int firstPort, int lastPort) throws IOException {
+        return allocate(projectName, firstPort, lastPort, null);
+    }
+
+    /**
+     * Hands out a free port of the input range to the input project. See {@link #allocate(String, int, int)}. If the project held no
+     * port yet, the input preferred port is handed out if it is free and not held.
+     *
+     * @param projectName The name of the project.
+     * @param firstPort The first port of the range.
+     * @param lastPort The last port of the range.
+     * @param preferredPort The port to hand out if the project held no port yet. It may be null.
+     *
+     * @return The debug port handed out to the project.
+     *
+     * @throws IOException If no free port could be found.
+     */
+    public synchronized int allocate(String projectName, int firstPort, int lastPort, Integer preferredPort) throws IOException {
+        Integer preferred = lastPorts.getOrDefault(projectName, preferredPort);
+        release(projectName);
+
+        int port = -1;
+        if (preferred != null && !holders.containsKey(preferred) && isFree(preferred)) {
+            port = preferred;
+        } else {
+            port = findFreePort(firstPort, lastPort, false);
+            if (port < 0) {
+                port = findFreePort(firstPort, lastPort, true);
+            }
+        }
+
+        if (port < 0) {
+            port = getSystemPort();
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "No free debug port was found between " + firstPort + " and " + lastPort
+                        + ". Using port " + port + " for project " + projectName + ".");
+            }
+        }
+
+        hold(projectName, port);
+        return port;
+    }
+
+    /**
+     * Notes that the input project uses the input port, for example because it was specified in the start parameters. The port is
+     * not handed out to other projects until it is released.
+     *
+     * @param projectName The name of the project.
+     * @param port The port.
+     *
+     * @return The name of the other project holding the port, or null if the port was not held by another project.
+     */
+    public synchronized String reserve(String projectName, int port) {
+        release(projectName);
+        String holder = holders.get(port);
+        if (holder != null) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_TOOLS, "Debug port " + port + " requested by project " + projectName
+                        + " is already held by project " + holder + ".");
+            }
+            heldPorts.remove(holder);
+        }
+
+        hold(projectName, port);
+        return holder;
+    }
+
+    /**
+     * Releases the port held by the input project.
+     *
+     * @param projectName The name of the project.
+     */
+    public synchronized void release(String projectName) {
+        Integer port = heldPorts.remove(projectName);
+        if (port != null) {
+            holders.remove(port);
+        }
+    }
+
+    /**
+     * Releases the input port if it is still held by the input project. A project started again may hold another port by the time
+     * the terminal of its previous run ends.
+     *
+     * @param projectName The name of the project.
+     * @param port The port.
+     */
+    public synchronized void release(String projectName, int port) {
+        if (projectName.equals(holders.get(port))) {
+            release(projectName);
+        }
+    }
+
+    /**
+     * Returns the port held by the input project.
+     *
+     * @param projectName The name of the project.
+     *
+     * @return The port held by the input project, or null if the project holds no port.
+     */
+    public synchronized Integer getPort(String projectName) {
+        return heldPorts.get(projectName);
+    }
+
+    /**
+     * Returns the project holding the input port.
+     *
+     * @param port The port.
+     *
+     * @return The name of the project holding the input port, or null if the port is not held.
+     */
+    public synchronized String getHolder(int port) {
+        return holders.get(port);
+    }
+
+    /**
+     * Returns true if the input port can be bound.
+     *
+     * @param port The port.
+     *
+     * @return True if the input port can be bound. False, otherwise.
+     */
+    protected boolean isFree(int port) {
+        try (ServerSocket socket = new ServerSocket(port)) {
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns a free port chosen by the system.
+     *
+     * @return A free port chosen by the system.
+     *
+     * @throws IOException If no free port could be found.
+     */
+    protected int getSystemPort() throws IOException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                int port = socket.getLocalPort();
+                if (!holders.containsKey(port)) {
+                    return port;
+                }
+            }
+        }
+
+        throw new IOException("Unable to find a free debug port.");
+    }
+
+    /**
+     * Returns a free port of the input range that is not held. The search starts after the port last handed out, so that ports just
+     * released by a stopping server are not handed out again right away.
+     *
+     * @param includeLastPorts True if ports last held by other projects can be returned.
+     *
+     * @return A free port, or -1 if none was found.
+     */
+    private int findFreePort(int firstPort, int lastPort, boolean includeLastPorts) {
+        int size = lastPort - firstPort + 1;
+        if (size <= 0) {
+            return -1;
+        }
+
+        int start = (nextPort < firstPort || nextPort > lastPort) ? firstPort : nextPort;
+        for (int i = 0; i < size; i++) {
+            int port = firstPort + (start - firstPort + i) % size;
+            if (holders.containsKey(port) || (!includeLastPorts && lastPorts.containsValue(port))) {
+                continue;
+            }
+            if (isFree(port)) {
+                nextPort = (port == lastPort) ? firstPort : port + 1;
+                return port;
+            }
+        }
+
+        return -1;
+    }
+
+    private void hold(String projectName, int port) {
+        heldPorts.put(projectName, port);
+        holders.put(port, projectName);
+
+        // Forget ports previously remembered for other projects: the port now belongs to this one.
+        lastPorts.values().remove(port);
+        lastPorts.put(projectName, port);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String toString() {
+        return "Held ports: " + heldPorts + ", last ports: " + lastPorts;
+    }
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.debug;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.openliberty.tools.eclipse.ui.terminal.TerminalLineObserver;
+
+/**
+ * Signals that the server JVM of a project running in dev mode listens for debugger connections. Dev mode prints the debug port,
+ * for example "Liberty debug port: [ 63624 ]", once the server started. The signal is cancelled if the terminal closes first.
+ */
+public class DebugPortSignal extends TerminalLineObserver {
+
+    /** The debug port message printed by dev mode. */
+    public static final Pattern DEBUG_PORT_MSG = Pattern.compile("Liberty debug port: \\[\\s*(\\d+)\\s*\\]");
+
+    /** Completed with the debug port printed by dev mode. */
+    private final CompletableFuture<Integer> port = new CompletableFuture<Integer>();
+
+    /**
+     * Matches the input line against the debug port message.
+     */
+    @Override
+    protected void processLine(String text) {
+        Matcher matcher = DEBUG_PORT_MSG.matcher(text);
+        if (matcher.find()) {
+            try {
+                port.complete(Integer.valueOf(matcher.group(1)));
+            } catch (NumberFormatException e) {
+                // Not a port number. Keep waiting.
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDone() {
+        return port.isDone();
+    }
+
+    /**
+     * Cancels the signal. Threads waiting for the debug port return immediately.
+     */
+    public void cancel() {
+        port.cancel(false);
+    }
+
+    /**
+     * Returns true if the signal was cancelled.
+     *
+     * @return True if the signal was cancelled. False, otherwise.
+     */
+    public boolean isCancelled() {
+        return port.isCancelled();
+    }
+
+    /**
+     * Waits for dev mode to print the debug port.
+     *
+     * @param timeout The maximum time to wait.
+     * @param unit The unit of the timeout.
+     *
+     * @return The debug port, or null if the signal was cancelled.
+     *
+     * @throws TimeoutException If the debug port was not printed within the input time.
+     * @throws InterruptedException If the current thread was interrupted.
+     */
+    public Integer await(long timeout, TimeUnit unit) throws TimeoutException, InterruptedException {
+        try {
+            return port.get(timeout, unit);
+        } catch (CancellationException e) {
+            return null;
+        } catch (ExecutionException e) {
+            // The future is never completed exceptionally.
+            return null;
+        }
+    }
+}
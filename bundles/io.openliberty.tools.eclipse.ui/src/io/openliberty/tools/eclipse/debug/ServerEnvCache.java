@@ -0,0 +1,239 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.debug;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Caches the server.env files found under the servers directories of deployed Liberty servers, and the entries read from them.
+ * Entries are checked against last modified times before they are used: the servers directory and each server directory change
+ * when a server or a server.env file is added or removed, and a server.env file changes when it is written. Checking these times
+ * avoids walking the servers tree and reading the server.env files again on every debug port lookup.
+ */
+public class ServerEnvCache {
+
+    /** The server.env files found under each servers directory. */
+    private final Map<Path, ServersEntry> servers = new ConcurrentHashMap<Path, ServersEntry>();
+
+    /** The entries read from each server.env file. */
+    private final Map<Path, EnvEntry> envs = new ConcurrentHashMap<Path, EnvEntry>();
+
+    /**
+     * Returns the paths of the server.env files found in the server directories of the input servers directory, sorted.
+     *
+     * @param serversPath The servers directory (wlp/usr/servers).
+     *
+     * @return The paths of the server.env files found in the server directories of the input servers directory. The list is empty if
+     *         the servers directory does not exist.
+     *
+     * @throws IOException If the servers directory could not be read.
+     */
+    public List<Path> getServerEnvPaths(Path serversPath) throws IOException {
+        ServersEntry entry = servers.get(serversPath);
+        if (entry != null && entry.isCurrent()) {
+            return entry.serverEnvPaths;
+        }
+
+        if (!Files.isDirectory(serversPath)) {
+            servers.remove(serversPath);
+            return Collections.emptyList();
+        }
+
+        entry = new ServersEntry(serversPath);
+        servers.put(serversPath, entry);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_TOOLS, "Found server.env files " + entry.serverEnvPaths + " in " + serversPath);
+        }
+
+        return entry.serverEnvPaths;
+    }
+
+    /**
+     * Returns the value of the input key in the input server.env file. If the key is set more than once, the last value is returned.
+     *
+     * @param serverEnv The server.env file.
+     * @param key The key.
+     *
+     * @return The value of the input key in the input server.env file, or null if the key or the file do not exist.
+     *
+     * @throws IOException If the file could not be read.
+     */
+    public String getValue(Path serverEnv, String key) throws IOException {
+        return getValues(serverEnv).get(key);
+    }
+
+    /**
+     * Returns the entries of the input server.env file. If a key is set more than once, the last value is kept.
+     *
+     * @param serverEnv The server.env file.
+     *
+     * @return The entries of the input server.env file. The map is empty if the file does not exist.
+     *
+     * @throws IOException If the file could not be read.
+     */
+    public Map<String, String> getValues(Path serverEnv) throws IOException {
+        BasicFileAttributes attrs = readAttributes(serverEnv);
+        if (attrs == null || !attrs.isRegularFile()) {
+            envs.remove(serverEnv);
+            return Collections.emptyMap();
+        }
+
+        EnvEntry entry = envs.get(serverEnv);
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        if (entry != null && entry.lastModified == lastModified && entry.size == attrs.size()) {
+            return entry.values;
+        }
+
+        entry = new EnvEntry(lastModified, attrs.size(), parse(serverEnv));
+        envs.put(serverEnv, entry);
+        return entry.values;
+    }
+
+    /**
+     * Discards the cached data of the input servers directory and of the server.env files under it.
+     *
+     * @param serversPath The servers directory (wlp/usr/servers).
+     */
+    public void invalidate(Path serversPath) {
+        servers.remove(serversPath);
+        envs.keySet().removeIf(path -> path.startsWith(serversPath));
+    }
+
+    /**
+     * Discards all cached data.
+     */
+    public void clear() {
+        servers.clear();
+        envs.clear();
+    }
+
+    /**
+     * Reads the key=value entries of the input server.env file. Blank lines and comments are skipped.
+     */
+    private static Map<String, String> parse(Path serverEnv) throws IOException {
+        Map<String, String> values = new LinkedHashMap<String, String>();
+        try (BufferedReader reader = Files.newBufferedReader(serverEnv, StandardCharsets.UTF_8)) {
+            String line = null;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                int index = line.indexOf('=');
+                if (line.isEmpty() || line.startsWith("#") || index <= 0) {
+                    continue;
+                }
+                values.put(line.substring(0, index).trim(), line.substring(index + 1).trim());
+            }
+        }
+
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Returns the attributes of the input file, or null if the file does not exist.
+     */
+    private static BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the last modified time of the input directory, or -1 if it does not exist.
+     */
+    private static long getLastModified(Path path) {
+        BasicFileAttributes attrs = readAttributes(path);
+        return (attrs == null) ? -1 : attrs.lastModifiedTime().toMillis();
+    }
+
+    /**
+     * The server.env files found under a servers directory, and the last modified times of the directories they were found in.
+     */
+    private static class ServersEntry {
+
+        /** The last modified time of the servers directory and of each server directory. */
+        private final Map<Path, Long> stamps = new LinkedHashMap<Path, Long>();
+
+        /** The server.env files found. */
+        private final List<Path> serverEnvPaths;
+
+        /**
+         * Constructor. Lists the server directories of the input servers directory and the server.env files they contain.
+         */
+        private ServersEntry(Path serversPath) throws IOException {
+            stamps.put(serversPath, getLastModified(serversPath));
+
+            List<Path> found = new ArrayList<Path>();
+            try (DirectoryStream<Path> serverDirs = Files.newDirectoryStream(serversPath, Files::isDirectory)) {
+                for (Path serverDir : serverDirs) {
+                    stamps.put(serverDir, getLastModified(serverDir));
+                    try (DirectoryStream<Path> files = Files.newDirectoryStream(serverDir, Files::isRegularFile)) {
+                        for (Path file : files) {
+                            if (file.getFileName().toString().equalsIgnoreCase(DebugModeHandler.WLP_SERVER_ENV_FILE_NAME)) {
+                                found.add(file);
+                            }
+                        }
+                    }
+                }
+            }
+
+            Collections.sort(found);
+            serverEnvPaths = Collections.unmodifiableList(found);
+        }
+
+        /**
+         * Returns true if no server or server.env file was added or removed since this entry was created.
+         */
+        private boolean isCurrent() {
+            for (Map.Entry<Path, Long> stamp : stamps.entrySet()) {
+                if (getLastModified(stamp.getKey()) != stamp.getValue()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The entries read from a server.env file, and the last modified time and size of the file when it was read.
+     */
+    private static class EnvEntry {
+
+        private final long lastModified;
+
+        private final long size;
+
+        private final Map<String, String> values;
+
+        private EnvEntry(long lastModified, long size, Map<String, String> values) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.values = values;
+        }
+    }
+}
@@ -17,9 +17,6 @@ import org.eclipse.osgi.util.NLS;
  */
 public class Messages extends NLS {
 
-    /** DebugModeHandler */
-    public static String multiple_server_env;
-
     /** DevModeOperations */
     public static String start_no_project_found;
     public static String start_already_issued;
@@ -51,6 +48,9 @@ public class Messages extends NLS {
     public static String gradle_test_report_none_found;
     public static String gradle_test_report_general_error;
 
+    public static String test_results_no_project_found;
+    public static String test_results_general_error;
+
     public static String issue_stop_prompt;
     public static String plugin_stop_issue_error;
     public static String plugin_stop_timeout;
@@ -65,6 +65,7 @@ public class Messages extends NLS {
     public static String image_descriptions_error;
     public static String action_general_error;
     public static String dashboard_refresh_error;
+    public static String hot_reload_no_cycles;
 
     /** JRETab */
     public static String java_default_set_error;
@@ -94,6 +95,10 @@ public class Messages extends NLS {
     public static String determine_java_project_error;
     public static String liberty_nature_add_error;
 
+    /** MultiProjectOperations */
+    public static String batch_operation_error;
+    public static String batch_operation_failed;
+
     static {
         NLS.initializeMessages("io.openliberty.tools.eclipse.messages.Messages", Messages.class);
     }
@@ -12,7 +12,11 @@
  *******************************************************************************/
 package io.openliberty.tools.eclipse.ui.dashboard;
 
+import java.io.Writer;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.List;
 
 import org.eclipse.core.resources.IProject;
@@ -23,12 +27,14 @@ import org.eclipse.jface.action.IMenuManager;
 import org.eclipse.jface.action.IToolBarManager;
 import org.eclipse.jface.action.MenuManager;
 import org.eclipse.jface.commands.ActionHandler;
+import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.viewers.ArrayContentProvider;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.FileDialog;
 import org.eclipse.swt.widgets.Menu;
 import org.eclipse.swt.widgets.Table;
 import org.eclipse.ui.contexts.IContextService;
@@ -36,6 +42,8 @@ import org.eclipse.ui.handlers.IHandlerService;
 import org.eclipse.ui.part.ViewPart;
 
 import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.LibertyDevPlugin;
+import io.openliberty.tools.eclipse.MultiProjectOperations.Operation;
 import io.openliberty.tools.eclipse.Project;
 import io.openliberty.tools.eclipse.WorkspaceProjectsModel;
 import io.openliberty.tools.eclipse.logging.Trace;
@@ -82,7 +90,11 @@ public class DashboardView extends ViewPart {
     public static final String APP_MENU_ACTION_VIEW_MVN_IT_REPORT = "View integration test report";
     public static final String APP_MENU_ACTION_VIEW_MVN_UT_REPORT = "View unit test report";
     public static final String APP_MENU_ACTION_VIEW_GRADLE_TEST_REPORT = "View test report";
+    public static final String APP_MENU_ACTION_VIEW_TEST_RESULTS = "View test results";
     public static final String DASHBORD_TOOLBAR_ACTION_REFRESH = "refresh";
+    public static final String DASHBORD_MENU_ACTION_EXPORT_START_TIMES = "Export dev mode start times...";
+    public static final String DASHBORD_MENU_ACTION_SHOW_HOT_RELOAD_TIMES = "Show hot reload times";
+    public static final String DASHBORD_MENU_ACTION_EXPORT_HOT_RELOAD_TIMES = "Export hot reload times...";
 
     /**
      * view actions.
@@ -98,7 +110,11 @@ public class DashboardView extends ViewPart {
     private Action viewMavenITestReportsAction;
     private Action viewMavenUTestReportsAction;
     private Action viewGradleTestReportsAction;
+    private Action viewTestResultsAction;
     private Action refreshAction;
+    private Action exportStartTimesAction;
+    private Action showHotReloadTimesAction;
+    private Action exportHotReloadTimesAction;
 
     /**
      * Table viewer that holds the entries in the dashboard.
@@ -123,11 +139,15 @@ public class DashboardView extends ViewPart {
      */
     @Override
     public void createPartControl(Composite parent) {
-        viewer = new TableViewer(parent, SWT.SINGLE | SWT.H_SCROLL | SWT.V_SCROLL | SWT.FULL_SELECTION);
+        viewer = new TableViewer(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | SWT.FULL_SELECTION);
         viewer.setContentProvider(ArrayContentProvider.getInstance());
         viewer.setLabelProvider(new DashboardEntryLabelProvider(devModeOps));
 
-        devModeOps.refreshDashboardView(true);
+        // Start tracking the workspace projects if lazy activation deferred it.
+        LibertyDevPlugin.getDefault().ensureInitialized();
+
+        // Show the current model content. The model is kept up to date in the background.
+        devModeOps.updateDashboardView(true);
 
         createActions();
         createContextMenu();
@@ -179,6 +199,11 @@ public class DashboardView extends ViewPart {
     private void addToolbarActions() {
         IToolBarManager tbMgr = getViewSite().getActionBars().getToolBarManager();
         tbMgr.add(refreshAction);
+
+        IMenuManager viewMenuMgr = getViewSite().getActionBars().getMenuManager();
+        viewMenuMgr.add(exportStartTimesAction);
+        viewMenuMgr.add(showHotReloadTimesAction);
+        viewMenuMgr.add(exportHotReloadTimesAction);
     }
 
     /**
@@ -187,6 +212,15 @@ public class DashboardView extends ViewPart {
      * @param mgr The menu manager.
      */
     private void addActionsToContextMenu(IMenuManager mgr) {
+        // Only the actions that can be processed as a batch apply to several projects.
+        if (devModeOps.getSelectedDashboardProjects().size() > 1) {
+            mgr.add(startAction);
+            mgr.add(debugAction);
+            mgr.add(stopAction);
+            mgr.add(runTestAction);
+            return;
+        }
+
         IProject iProject = Utils.getActiveProject();
         String projectName = iProject.getName();
         Project project = devModeOps.getProjectModel().getProject(projectName);
@@ -204,8 +238,10 @@ public class DashboardView extends ViewPart {
             if (project.getBuildType() == Project.BuildType.MAVEN) {
                 mgr.add(viewMavenITestReportsAction);
                 mgr.add(viewMavenUTestReportsAction);
+                mgr.add(viewTestResultsAction);
             } else if (project.getBuildType() == Project.BuildType.GRADLE) {
                 mgr.add(viewGradleTestReportsAction);
+                mgr.add(viewTestResultsAction);
             } else {
                 String msg = "Project" + projectName + "is not a Gradle or Maven project.";
                 if (Trace.isEnabled()) {
@@ -246,6 +282,9 @@ public class DashboardView extends ViewPart {
         startAction = new Action(APP_MENU_ACTION_START) {
             @Override
             public void run() {
+                if (runOnSelectedProjects(Operation.START)) {
+                    return;
+                }
                 IProject iProject = devModeOps.getSelectedDashboardProject();
                 try {
                     StartAction.run(iProject, ILaunchManager.RUN_MODE);
@@ -335,6 +374,9 @@ public class DashboardView extends ViewPart {
         debugAction = new Action(APP_MENU_ACTION_DEBUG) {
             @Override
             public void run() {
+                if (runOnSelectedProjects(Operation.DEBUG)) {
+                    return;
+                }
                 IProject iProject = devModeOps.getSelectedDashboardProject();
                 try {
                     StartAction.run(iProject, ILaunchManager.DEBUG_MODE);
@@ -378,6 +420,9 @@ public class DashboardView extends ViewPart {
         stopAction = new Action(APP_MENU_ACTION_STOP) {
             @Override
             public void run() {
+                if (runOnSelectedProjects(Operation.STOP)) {
+                    return;
+                }
                 IProject iProject = devModeOps.getSelectedDashboardProject();
                 try {
                     StopAction.run(iProject);
@@ -399,6 +444,9 @@ public class DashboardView extends ViewPart {
         runTestAction = new Action(APP_MENU_ACTION_RUN_TESTS) {
             @Override
             public void run() {
+                if (runOnSelectedProjects(Operation.RUN_TESTS)) {
+                    return;
+                }
                 IProject iProject = devModeOps.getSelectedDashboardProject();
                 try {
                     RunTestsAction.run(iProject);
@@ -483,6 +531,24 @@ public class DashboardView extends ViewPart {
         ActionHandler gradleTestReportsHandler = new ActionHandler(viewGradleTestReportsAction);
         handlerService.activateHandler(viewGradleTestReportsAction.getActionDefinitionId(), gradleTestReportsHandler);
 
+        // Menu: View the test results in the test results view.
+        viewTestResultsAction = new Action(APP_MENU_ACTION_VIEW_TEST_RESULTS) {
+            @Override
+            public void run() {
+                IProject iProject = devModeOps.getSelectedDashboardProject();
+                try {
+                    devModeOps.openTestResults(iProject);
+                } catch (Exception e) {
+                    String msg = "An error was detected during the " + APP_MENU_ACTION_VIEW_TEST_RESULTS + " action.";
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_UI, msg, e);
+                    }
+                    ErrorHandler.processErrorMessage(NLS.bind(Messages.action_general_error, APP_MENU_ACTION_VIEW_TEST_RESULTS), e, true);
+                }
+            }
+        };
+        viewTestResultsAction.setImageDescriptor(ActionImg);
+
         // Toolbar: Refresh the project list.
         refreshAction = new Action(DASHBORD_TOOLBAR_ACTION_REFRESH) {
             @Override
@@ -491,23 +557,105 @@ public class DashboardView extends ViewPart {
             }
         };
         refreshAction.setImageDescriptor(refreshImg);
+
+        // View menu: Export the dev mode start timings.
+        exportStartTimesAction = new Action(DASHBORD_MENU_ACTION_EXPORT_START_TIMES) {
+            @Override
+            public void run() {
+                FileDialog dialog = new FileDialog(getSite().getShell(), SWT.SAVE);
+                dialog.setFilterExtensions(new String[] { "*.csv" });
+                dialog.setFileName("liberty-dev-start-times.csv");
+                dialog.setOverwrite(true);
+                String path = dialog.open();
+                if (path == null) {
+                    return;
+                }
+
+                try (Writer writer = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8)) {
+                    devModeOps.getStartLatencyHistory().exportCsv(writer);
+                } catch (Exception e) {
+                    String msg = "An error was detected during the " + DASHBORD_MENU_ACTION_EXPORT_START_TIMES + " action.";
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_UI, msg, e);
+                    }
+                    ErrorHandler.processErrorMessage(NLS.bind(Messages.action_general_error, DASHBORD_MENU_ACTION_EXPORT_START_TIMES),
+                            e, true);
+                }
+            }
+        };
+
+        // View menu: Show the hot reload latency summary of the projects running in dev mode.
+        showHotReloadTimesAction = new Action(DASHBORD_MENU_ACTION_SHOW_HOT_RELOAD_TIMES) {
+            @Override
+            public void run() {
+                String report = devModeOps.getHotReloadStatistics().getReport();
+                MessageDialog.openInformation(getSite().getShell(), ErrorHandler.TITLE,
+                        report.isEmpty() ? Messages.hot_reload_no_cycles : report);
+            }
+        };
+
+        // View menu: Export the hot reload cycles as CSV or JSON, depending on the file extension.
+        exportHotReloadTimesAction = new Action(DASHBORD_MENU_ACTION_EXPORT_HOT_RELOAD_TIMES) {
+            @Override
+            public void run() {
+                FileDialog dialog = new FileDialog(getSite().getShell(), SWT.SAVE);
+                dialog.setFilterExtensions(new String[] { "*.csv", "*.json" });
+                dialog.setFileName("liberty-dev-hot-reload-times.csv");
+                dialog.setOverwrite(true);
+                String path = dialog.open();
+                if (path == null) {
+                    return;
+                }
+
+                try (Writer writer = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8)) {
+                    if (path.toLowerCase().endsWith(".json")) {
+                        devModeOps.getHotReloadStatistics().exportJson(writer);
+                    } else {
+                        devModeOps.getHotReloadStatistics().exportCsv(writer);
+                    }
+                } catch (Exception e) {
+                    String msg = "An error was detected during the " + DASHBORD_MENU_ACTION_EXPORT_HOT_RELOAD_TIMES + " action.";
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_UI, msg, e);
+                    }
+                    ErrorHandler.processErrorMessage(
+                            NLS.bind(Messages.action_general_error, DASHBORD_MENU_ACTION_EXPORT_HOT_RELOAD_TIMES), e, true);
+                }
+            }
+        };
+    }
+
+    /**
+     * Processes the input request on the selected projects in the background if more than one project is selected.
+     *
+     * @param operation The request.
+     *
+     * @return True if the request was issued on the selected projects. False if less than two projects are selected.
+     */
+    private boolean runOnSelectedProjects(Operation operation) {
+        List<IProject> iProjects = devModeOps.getSelectedDashboardProjects();
+        if (iProjects.size() < 2) {
+            return false;
+        }
+
+        devModeOps.getMultiProjectOperations().run(operation, iProjects);
+        return true;
     }
 
     public void setInput(List<String> sortedDashboardProjectList) {
-        if (viewer != null) {
+        if (viewer != null && !viewer.getControl().isDisposed()) {
             viewer.setInput(sortedDashboardProjectList);
         }
     }
 
     /**
-     * Refreshes the dashboard view.
+     * Updates the dashboard view content using the current state of the input model. The model is not rebuilt.
      */
-    public void refreshDashboardView(WorkspaceProjectsModel projectModel, boolean reportError) {
+    public void updateDashboardView(WorkspaceProjectsModel projectModel, boolean reportError) {
         try {
-            projectModel.createNewCompleteWorkspaceModelWithClassify();
             setInput(projectModel.getSortedDashboardProjectList());
         } catch (Exception e) {
-            String msg = "An error was detected when the Liberty dashboard content was refreshed.";
+            String msg = "An error was detected when the Liberty dashboard content was updated.";
             if (Trace.isEnabled()) {
                 Trace.getTracer().trace(Trace.TRACE_UI, msg, e);
             }
@@ -0,0 +1,319 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.ui.dashboard;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ITableLabelProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.part.ViewPart;
+
+import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.Project;
+import io.openliberty.tools.eclipse.TestHistory.TestStats;
+import io.openliberty.tools.eclipse.TestResultsIndex;
+import io.openliberty.tools.eclipse.TestResultsIndex.ChangedFile;
+import io.openliberty.tools.eclipse.TestResultsIndex.Outcome;
+import io.openliberty.tools.eclipse.TestResultsIndex.ProjectResults;
+import io.openliberty.tools.eclipse.TestResultsIndex.TestResult;
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Shows the test results of a project, read from the JUnit XML result files written by the build. Failed tests are listed first,
+ * then the slowest tests. The average duration and the trend of each test are taken from the test history. The view is updated when
+ * the result files change.
+ */
+public class TestResultsView extends ViewPart implements TestResultsIndex.Listener {
+
+    /** The view ID. */
+    public static final String ID = "io.openliberty.tools.eclipse.views.liberty.test.results";
+
+    public static final String TOOLBAR_ACTION_REFRESH = "refresh";
+    public static final String TOOLBAR_ACTION_SHOW_ANALYTICS = "Show slowest and flaky tests";
+
+    /** The column names and widths. */
+    private static final String[] COLUMN_NAMES = { "Result", "Test", "Class", "Duration (ms)", "Average (ms)", "Trend", "Message" };
+    private static final int[] COLUMN_WIDTHS = { 70, 220, 260, 100, 100, 110, 400 };
+
+    /** Failures and errors first, then the slowest tests. */
+    private static final Comparator<TestResult> RESULT_ORDER = Comparator.comparing((TestResult r) -> !r.getOutcome().isFailure())
+            .thenComparing(TestResult::getDurationMs, Comparator.reverseOrder()).thenComparing(TestResult::getId);
+
+    /** Summary of the results shown. */
+    private Label summary;
+
+    /** Table viewer that holds the test results. */
+    private TableViewer viewer;
+
+    /** The name of the project whose results are shown. */
+    private volatile String projectName;
+
+    /** The history statistics of the tests shown, by test ID. Only accessed on the UI thread. */
+    private Map<String, TestStats> stats = new HashMap<String, TestStats>();
+
+    /** DevModeOperations reference. */
+    private DevModeOperations devModeOps;
+
+    /**
+     * Constructor.
+     */
+    public TestResultsView() {
+        devModeOps = DevModeOperations.getInstance();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createPartControl(Composite parent) {
+        parent.setLayout(new GridLayout(1, false));
+        summary = new Label(parent, SWT.NONE);
+        summary.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+
+        viewer = new TableViewer(parent, SWT.SINGLE | SWT.H_SCROLL | SWT.V_SCROLL | SWT.FULL_SELECTION);
+        viewer.setContentProvider(ArrayContentProvider.getInstance());
+        viewer.setLabelProvider(new TestResultLabelProvider());
+        Table table = viewer.getTable();
+        table.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true));
+        table.setHeaderVisible(true);
+        table.setLinesVisible(true);
+        for (int i = 0; i < COLUMN_NAMES.length; i++) {
+            TableColumn column = new TableColumn(table, SWT.NONE);
+            column.setText(COLUMN_NAMES[i]);
+            column.setWidth(COLUMN_WIDTHS[i]);
+        }
+
+        Action refreshAction = new Action(TOOLBAR_ACTION_REFRESH) {
+            @Override
+            public void run() {
+                refresh();
+            }
+        };
+        try {
+            refreshAction.setImageDescriptor(
+                    ImageDescriptor.createFromURL(new URL("platform:/plugin/org.eclipse.ui.browser/icons/clcl16/nav_refresh.png")));
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, "An error was detected while retrieving image descriptions.", e);
+            }
+        }
+        getViewSite().getActionBars().getToolBarManager().add(refreshAction);
+
+        Action analyticsAction = new Action(TOOLBAR_ACTION_SHOW_ANALYTICS) {
+            @Override
+            public void run() {
+                showAnalytics();
+            }
+        };
+        try {
+            analyticsAction.setImageDescriptor(
+                    ImageDescriptor.createFromURL(new URL("platform:/plugin/org.eclipse.ui/icons/full/obj16/info_tsk.png")));
+        } catch (Exception e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, "An error was detected while retrieving image descriptions.", e);
+            }
+        }
+        getViewSite().getActionBars().getToolBarManager().add(analyticsAction);
+
+        devModeOps.getTestResultsIndex().addListener(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setFocus() {
+        viewer.getControl().setFocus();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void dispose() {
+        devModeOps.getTestResultsIndex().removeListener(this);
+        super.dispose();
+        viewer = null;
+    }
+
+    /**
+     * Shows the test results of the input project.
+     *
+     * @param projectName The project name.
+     */
+    public void showResults(String projectName) {
+        this.projectName = projectName;
+        setContentDescription(projectName);
+        refresh();
+    }
+
+    /**
+     * Reads the result files of the project shown that changed since they were last read, in the background, and updates the view.
+     */
+    public void refresh() {
+        String name = projectName;
+        if (name == null) {
+            return;
+        }
+
+        Job job = new Job("Reading test results of project " + name) {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                Project project = devModeOps.getProjectModel().getProject(name);
+                if (project != null && project.getPath() != null) {
+                    ProjectResults results = devModeOps.getTestResultsIndex().refresh(name, project.getPath(), project.getBuildType());
+                    showResults(results);
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.schedule();
+    }
+
+    /**
+     * Shows the slowest tests, the duration regressions and the flaky tests of the project shown, taken from the test history.
+     */
+    public void showAnalytics() {
+        String name = projectName;
+        if (name == null) {
+            return;
+        }
+
+        String report = devModeOps.getTestHistory().getReport(name);
+        if (report.isEmpty()) {
+            report = "No test runs were recorded for project " + name + ". Run the tests first.";
+        }
+        MessageDialog.openInformation(getSite().getShell(), "Test history of project " + name, report);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resultsChanged(String projectName, List<ChangedFile> changedFiles) {
+        if (projectName.equals(this.projectName)) {
+            showResults(devModeOps.getTestResultsIndex().getResults(projectName));
+        }
+    }
+
+    /**
+     * Shows the input results. Can be called from any thread.
+     *
+     * @param results The results.
+     */
+    private void showResults(ProjectResults results) {
+        List<TestResult> sorted = new ArrayList<TestResult>(results.getResults());
+        sorted.sort(RESULT_ORDER);
+
+        StringBuilder text = new StringBuilder();
+        if (sorted.isEmpty()) {
+            text.append("No test results were found. Run the tests first.");
+        } else {
+            text.append(sorted.size()).append(" tests: ");
+            text.append(results.getCount(Outcome.PASSED)).append(" passed, ");
+            text.append(results.getCount(Outcome.FAILED)).append(" failed, ");
+            text.append(results.getCount(Outcome.ERROR)).append(" errors, ");
+            text.append(results.getCount(Outcome.SKIPPED)).append(" skipped. Total time: ");
+            text.append(results.getTotalDurationMs()).append(" ms.");
+        }
+
+        Map<String, TestStats> history = devModeOps.getTestHistory().getStats(results.getProjectName());
+
+        PlatformUI.getWorkbench().getDisplay().asyncExec(() -> {
+            if (viewer != null && !viewer.getControl().isDisposed() && results.getProjectName().equals(projectName)) {
+                summary.setText(text.toString());
+                stats = history;
+                viewer.setInput(sorted);
+            }
+        });
+    }
+
+    /**
+     * Table label provider for the test results.
+     */
+    private class TestResultLabelProvider extends LabelProvider implements ITableLabelProvider {
+
+        @Override
+        public Image getColumnImage(Object element, int columnIndex) {
+            return null;
+        }
+
+        @Override
+        public String getColumnText(Object element, int columnIndex) {
+            if (!(element instanceof TestResult)) {
+                return null;
+            }
+
+            TestResult result = (TestResult) element;
+            switch (columnIndex) {
+            case 0:
+                return result.getOutcome().name();
+            case 1:
+                return result.getName();
+            case 2:
+                return result.getClassName();
+            case 3:
+                return String.valueOf(result.getDurationMs());
+            case 4:
+                TestStats testStats = stats.get(result.getId());
+                return (testStats == null) ? "" : String.valueOf(testStats.getAverageMs());
+            case 5:
+                return getTrend(stats.get(result.getId()));
+            case 6:
+                return (result.getMessage() == null) ? "" : result.getMessage();
+            default:
+                return null;
+            }
+        }
+
+        /**
+         * Returns the trend of the input test: flaky, or slower than usual.
+         */
+        private String getTrend(TestStats testStats) {
+            if (testStats == null) {
+                return "";
+            }
+            if (testStats.isFlaky()) {
+                return "flaky";
+            }
+            if (testStats.isRegressed()) {
+                return "+" + Math.round((testStats.getRegressionRatio() - 1) * 100) + "% slower";
+            }
+            return "";
+        }
+    }
+}
@@ -26,6 +26,7 @@ import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.PlatformUI;
 
 import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.MultiProjectOperations;
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.messages.Messages;
 import io.openliberty.tools.eclipse.utils.ErrorHandler;
@@ -74,9 +75,12 @@ public class LaunchConfigurationDelegateLauncher extends LaunchConfigurationDele
         display.syncExec(new Runnable() {
             public void run() {
                 try {
-                    validateProjectsMatch(configuration);
-
+                    // Batch launches are not tied to the current selection.
                     String configProjectName = configuration.getAttribute(StartTab.PROJECT_NAME, (String) null);
+                    if (!MultiProjectOperations.isBatchLaunch(configProjectName)) {
+                        validateProjectsMatch(configuration);
+                    }
+
                     IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
                     IProject configProject = root.getProject(configProjectName);
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2022 IBM Corporation and others.
+* Copyright (c) 2022, 2023 IBM Corporation and others.
 *
 * This program and the accompanying materials are made available under the
 * terms of the Eclipse Public License v. 2.0 which is available at
@@ -18,19 +18,70 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 
 import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.jface.preference.BooleanFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
+import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.jface.util.PropertyChangeEvent;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPreferencePage;
 import org.eclipse.ui.preferences.ScopedPreferenceStore;
 
+import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.MultiProjectOperations;
+import io.openliberty.tools.eclipse.debug.DebugPortAllocator;
 import io.openliberty.tools.eclipse.utils.LibertyPrefDirectoryFieldEditor;
 import io.openliberty.tools.eclipse.utils.Utils;
 
 public class LibertyToolsPreferencePage extends FieldEditorPreferencePage implements IWorkbenchPreferencePage {
 
+    /** Preference key. The Maven install location used when a project has no Maven wrapper. */
+    public static final String MVN_PATH = "MVNPATH";
+
+    /** Preference key. The Gradle install location used when a project has no Gradle wrapper. */
+    public static final String GRADLE_PATH = "GRADLEPATH";
+
+    /**
+     * Preference key. If true, project classification and resource listening are deferred until the Liberty tools are first used.
+     */
+    public static final String LAZY_ACTIVATION = "LAZYACTIVATION";
+
+    /**
+     * Preference key. If true, Maven and Gradle build daemons are started ahead of time and used by dev mode launches.
+     */
+    public static final String WARM_LAUNCH = "WARMLAUNCH";
+
+    /**
+     * Preference key. The timeout, in seconds, of the Liberty Maven or Gradle stop command. A project can override it with the same
+     * key in its io.openliberty.tools.eclipse.ui project settings.
+     */
+    public static final String STOP_TIMEOUT = "STOPTIMEOUT";
+
+    /** Preference key. The maximum number of projects processed at the same time when a request is issued on several projects. */
+    public static final String BATCH_CONCURRENCY = "BATCHCONCURRENCY";
+
+    /** Preference key. The first port of the range the debug ports of the projects started in debug mode are taken from. */
+    public static final String DEBUG_PORT_FIRST = "DEBUGPORTFIRST";
+
+    /** Preference key. The last port of the range the debug ports of the projects started in debug mode are taken from. */
+    public static final String DEBUG_PORT_LAST = "DEBUGPORTLAST";
+
+    /** The lowest port the debug ports can be taken from. Lower ports are reserved. */
+    public static final int MIN_DEBUG_PORT = 1024;
+
+    /** The highest port the debug ports can be taken from. */
+    public static final int MAX_DEBUG_PORT = 65535;
+
+    /** The error message shown when the debug port range is empty. */
+    private static final String DEBUG_PORT_RANGE_ERROR = "The first debug port must not be greater than the last debug port";
+
     LibertyPrefDirectoryFieldEditor mvnInstallFE;
     LibertyPrefDirectoryFieldEditor gradleInstallFE;
+    BooleanFieldEditor lazyActivationFE;
+    BooleanFieldEditor warmLaunchFE;
+    IntegerFieldEditor stopTimeoutFE;
+    IntegerFieldEditor batchConcurrencyFE;
+    IntegerFieldEditor debugPortFirstFE;
+    IntegerFieldEditor debugPortLastFE;
 
     public LibertyToolsPreferencePage() {
 
@@ -40,11 +91,35 @@ public class LibertyToolsPreferencePage extends FieldEditorPreferencePage implem
     @Override
     public void createFieldEditors() {
 
-        mvnInstallFE = new LibertyPrefDirectoryFieldEditor("MVNPATH", "&Maven Install Location:", getFieldEditorParent());
-        gradleInstallFE = new LibertyPrefDirectoryFieldEditor("GRADLEPATH", "&Gradle Install Location:", getFieldEditorParent());
+        mvnInstallFE = new LibertyPrefDirectoryFieldEditor(MVN_PATH, "&Maven Install Location:", getFieldEditorParent());
+        gradleInstallFE = new LibertyPrefDirectoryFieldEditor(GRADLE_PATH, "&Gradle Install Location:", getFieldEditorParent());
+
+        lazyActivationFE = new BooleanFieldEditor(LAZY_ACTIVATION,
+                "&Defer Liberty project detection until the Liberty tools are first used (applies on restart)", getFieldEditorParent());
+
+        warmLaunchFE = new BooleanFieldEditor(WARM_LAUNCH,
+                "&Keep Gradle and Maven daemons (mvnd) ready to reduce the dev mode start time", getFieldEditorParent());
+
+        stopTimeoutFE = new IntegerFieldEditor(STOP_TIMEOUT, "&Stop command timeout in seconds:", getFieldEditorParent());
+        stopTimeoutFE.setValidRange(1, 3600);
+
+        batchConcurrencyFE = new IntegerFieldEditor(BATCH_CONCURRENCY, "&Maximum number of projects started or stopped at the same time:",
+                getFieldEditorParent());
+        batchConcurrencyFE.setValidRange(1, 64);
+
+        debugPortFirstFE = new IntegerFieldEditor(DEBUG_PORT_FIRST, "&First debug port:", getFieldEditorParent());
+        debugPortFirstFE.setValidRange(MIN_DEBUG_PORT, MAX_DEBUG_PORT);
+        debugPortLastFE = new IntegerFieldEditor(DEBUG_PORT_LAST, "L&ast debug port:", getFieldEditorParent());
+        debugPortLastFE.setValidRange(MIN_DEBUG_PORT, MAX_DEBUG_PORT);
 
         addField(mvnInstallFE);
         addField(gradleInstallFE);
+        addField(lazyActivationFE);
+        addField(warmLaunchFE);
+        addField(stopTimeoutFE);
+        addField(batchConcurrencyFE);
+        addField(debugPortFirstFE);
+        addField(debugPortLastFE);
 
     }
 
@@ -52,6 +127,10 @@ public class LibertyToolsPreferencePage extends FieldEditorPreferencePage implem
     public void init(IWorkbench workbench) {
         // second parameter is typically the plug-in id
         setPreferenceStore(new ScopedPreferenceStore(InstanceScope.INSTANCE, "io.openliberty.tools.eclipse.ui"));
+        getPreferenceStore().setDefault(STOP_TIMEOUT, DevModeOperations.STOP_TIMEOUT_SECONDS);
+        getPreferenceStore().setDefault(BATCH_CONCURRENCY, MultiProjectOperations.DEFAULT_CONCURRENCY);
+        getPreferenceStore().setDefault(DEBUG_PORT_FIRST, DebugPortAllocator.DEFAULT_FIRST_PORT);
+        getPreferenceStore().setDefault(DEBUG_PORT_LAST, DebugPortAllocator.DEFAULT_LAST_PORT);
         setDescription(
                 "Use the Browse buttons to specify the Maven and Gradle installation locations to be used for starting the application in dev mode, which will be used if no mvnw/gradlew wrapper is found.");
     }
@@ -67,7 +146,17 @@ public class LibertyToolsPreferencePage extends FieldEditorPreferencePage implem
         boolean installGradleLocValid = false;
 
         String eventProp = event.getProperty();
-        if (event.getProperty().equals("field_editor_value")) {
+        if (event.getSource() == lazyActivationFE || event.getSource() == warmLaunchFE || event.getSource() == stopTimeoutFE
+                || event.getSource() == batchConcurrencyFE) {
+            // no validation required
+            super.propertyChange(event);
+        } else if (event.getSource() == debugPortFirstFE || event.getSource() == debugPortLastFE) {
+            // each port is validated by its field editor. The range is validated when either port changes.
+            super.propertyChange(event);
+            if (event.getProperty().equals("field_editor_value")) {
+                checkState();
+            }
+        } else if (event.getProperty().equals("field_editor_value")) {
             // field for which validation is required
             if (event.getSource() == mvnInstallFE) {
                 // validate mvn loc
@@ -101,6 +190,44 @@ public class LibertyToolsPreferencePage extends FieldEditorPreferencePage implem
         }
     }
 
+    @Override
+    protected void checkState() {
+        super.checkState();
+
+        // The field editors validate each debug port. Check that the range they delimit is not empty.
+        if (isValid() && debugPortFirstFE.getIntValue() > debugPortLastFE.getIntValue()) {
+            setErrorMessage(DEBUG_PORT_RANGE_ERROR);
+            setValid(false);
+        } else if (DEBUG_PORT_RANGE_ERROR.equals(getErrorMessage())) {
+            setErrorMessage(null);
+        }
+    }
+
+    @Override
+    public boolean performOk() {
+        if (!debugPortFirstFE.isValid() || !debugPortLastFE.isValid()) {
+            return false;
+        }
+        if (debugPortFirstFE.getIntValue() > debugPortLastFE.getIntValue()) {
+            setErrorMessage(DEBUG_PORT_RANGE_ERROR);
+            setValid(false);
+            return false;
+        }
+
+        return super.performOk();
+    }
+
+    /**
+     * Returns true if the input port is a port the debug ports can be taken from.
+     *
+     * @param port The port.
+     *
+     * @return True if the input port is a port the debug ports can be taken from. False, otherwise.
+     */
+    public static boolean isValidDebugPort(int port) {
+        return port >= MIN_DEBUG_PORT && port <= MAX_DEBUG_PORT;
+    }
+
     private boolean doValidation(boolean ismvn, String installLoc) {
         if (installLoc.equals("")) {
             // an empty field is ok
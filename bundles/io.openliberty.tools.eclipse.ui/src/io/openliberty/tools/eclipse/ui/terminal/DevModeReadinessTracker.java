@@ -0,0 +1,112 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.ui.terminal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import io.openliberty.tools.eclipse.StartLatencyHistory;
+import io.openliberty.tools.eclipse.ui.terminal.ProjectTab.State;
+
+/**
+ * Scans the output of a dev mode terminal, line by line, for the messages that mark the dev mode start phases: the server launch at
+ * the end of the build, the server being ready, the first application start, and dev mode reporting that it is running. Each phase
+ * moves the project tab to the matching state. Once dev mode is running, the phase timings are recorded and the rest of the output
+ * is ignored.
+ */
+public class DevModeReadinessTracker extends TerminalLineObserver {
+
+    /** Server launched message code. Printed once the build completed and the server JVM started. */
+    public static final String SERVER_LAUNCHED_CODE = "CWWKE0001I";
+
+    /** Server ready message code: "The server ... is ready to run a smarter planet." */
+    public static final String SERVER_READY_CODE = "CWWKF0011I";
+
+    /** Application started message code. */
+    public static final String APP_STARTED_CODE = "CWWKZ0001I";
+
+    /** Message printed by dev mode once the server and the application are up. */
+    public static final String DEV_MODE_READY_MSG = "Liberty is running in dev mode.";
+
+    /** The project name. */
+    private final String projectName;
+
+    /** The time the start was requested, in milliseconds since the epoch. */
+    private final long startTime;
+
+    /** The time the start was requested, as returned by System.nanoTime. */
+    private final long startNanos;
+
+    /** Called when the start moves to a new state. */
+    private final Consumer<State> stateListener;
+
+    /** Called with the phase timings once dev mode is running. */
+    private final Consumer<StartLatencyHistory.Entry> recorder;
+
+    private long serverLaunchedMs = StartLatencyHistory.NOT_OBSERVED;
+
+    private long serverReadyMs = StartLatencyHistory.NOT_OBSERVED;
+
+    private long appStartedMs = StartLatencyHistory.NOT_OBSERVED;
+
+    private volatile boolean done;
+
+    /**
+     * Constructor. The start is considered requested when this object is created.
+     *
+     * @param projectName The project name.
+     * @param stateListener Called when the start moves to a new state.
+     * @param recorder Called with the phase timings once dev mode is running.
+     */
+    public DevModeReadinessTracker(String projectName, Consumer<State> stateListener, Consumer<StartLatencyHistory.Entry> recorder) {
+        this.projectName = projectName;
+        this.startTime = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+        this.stateListener = stateListener;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Returns true once dev mode reported that it is running.
+     *
+     * @return True once dev mode reported that it is running. False, otherwise.
+     */
+    @Override
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Matches the input line against the start phase messages.
+     */
+    @Override
+    protected void processLine(String text) {
+        if (serverLaunchedMs == StartLatencyHistory.NOT_OBSERVED && text.contains(SERVER_LAUNCHED_CODE)) {
+            serverLaunchedMs = elapsedMs();
+            stateListener.accept(State.SERVER_STARTING);
+        } else if (appStartedMs == StartLatencyHistory.NOT_OBSERVED && text.contains(APP_STARTED_CODE)) {
+            appStartedMs = elapsedMs();
+        } else if (serverReadyMs == StartLatencyHistory.NOT_OBSERVED && text.contains(SERVER_READY_CODE)) {
+            serverReadyMs = elapsedMs();
+        } else if (text.contains(DEV_MODE_READY_MSG)) {
+            done = true;
+            recorder.accept(new StartLatencyHistory.Entry(projectName, startTime, serverLaunchedMs, serverReadyMs, appStartedMs,
+                    elapsedMs()));
+            stateListener.accept(State.READY);
+        }
+    }
+
+    private long elapsedMs() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
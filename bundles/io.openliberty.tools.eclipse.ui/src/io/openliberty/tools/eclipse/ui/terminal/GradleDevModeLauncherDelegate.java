@@ -0,0 +1,70 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.ui.terminal;
+
+import java.util.Map;
+
+import org.eclipse.tm.internal.terminal.provisional.api.ITerminalConnector;
+import org.eclipse.tm.terminal.view.core.interfaces.constants.ITerminalsConnectorConstants;
+import org.eclipse.tm.terminal.view.ui.streams.StreamsLauncherDelegate;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Streams launcher delegate extension. Connects a terminal to the standard streams of a Gradle dev mode build run through the Gradle
+ * Tooling API, instead of to a local process.
+ */
+public class GradleDevModeLauncherDelegate extends StreamsLauncherDelegate {
+
+    /**
+     * GradleDevModeLauncherDelegate extension id.
+     */
+    public static final String id = "io.openliberty.tools.eclipse.ui.terminal.gradle.devmode.launcher.delegate";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ITerminalConnector createTerminalConnector(Map<String, Object> properties) {
+        ITerminalConnector connector = null;
+        String projectName = (String) properties.get(ITerminalsConnectorConstants.PROP_DATA);
+
+        if (projectName != null) {
+            ProjectTabController ptc = ProjectTabController.getInstance();
+            connector = ptc.getProjectConnector(projectName);
+
+            if (connector == null) {
+                connector = super.createTerminalConnector(properties);
+
+                // Let the project's observers see the dev mode output as it is written to the terminal.
+                ProjectTab projectTab = ptc.getProjectTab(projectName);
+                if (projectTab != null && connector != null) {
+                    connector = projectTab.getOutputTap().wrap(connector);
+                }
+                ptc.setProjectConnector(projectName, connector);
+
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_UI,
+                            "New terminal streams connection created for project: " + projectName + ". Connector: " + connector);
+                }
+            }
+        } else {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI,
+                        "The project name was not found in the list of properties received from the caller. Properties: " + properties);
+            }
+        }
+
+        return connector;
+    }
+}
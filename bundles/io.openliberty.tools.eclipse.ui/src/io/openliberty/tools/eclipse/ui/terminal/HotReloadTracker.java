@@ -0,0 +1,154 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.ui.terminal;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import io.openliberty.tools.eclipse.HotReloadStatistics;
+import io.openliberty.tools.eclipse.HotReloadStatistics.Outcome;
+
+/**
+ * Measures the hot reload cycles of a project running in dev mode. The saves of the project's files are correlated with the
+ * messages dev mode writes to the terminal once it recompiled the sources and the server updated the application or its
+ * configuration. Every save pending when a cycle ends is recorded with the time from that save to the end of the cycle.
+ */
+public class HotReloadTracker extends TerminalLineObserver {
+
+    /** Application updated message code. */
+    public static final String APP_UPDATED_CODE = "CWWKZ0003I";
+
+    /** Application started message code. Printed when dev mode restarts the application. */
+    public static final String APP_STARTED_CODE = DevModeReadinessTracker.APP_STARTED_CODE;
+
+    /** Server configuration updated message code. */
+    public static final String CONFIG_UPDATED_CODE = "CWWKG0017I";
+
+    /** Server configuration not updated message code: "No functional changes were detected." */
+    public static final String CONFIG_UNCHANGED_CODE = "CWWKG0018I";
+
+    /** Message printed by dev mode once changed sources were compiled. */
+    public static final String COMPILATION_SUCCESS_MSG = "Source compilation was successful.";
+
+    /** Message printed by dev mode when changed sources did not compile. */
+    public static final String COMPILATION_ERRORS_MSG = "Source compilation had errors.";
+
+    /**
+     * The time after which a save that did not lead to an update is discarded. Dev mode does not react to the saves of files it does
+     * not watch.
+     */
+    public static final long PENDING_SAVE_TIMEOUT_MS = 60000;
+
+    /** The maximum number of saves waiting for an update. */
+    private static final int MAX_PENDING_SAVES = 100;
+
+    /** The project name. */
+    private final String projectName;
+
+    /** Called with each completed cycle. */
+    private final Consumer<HotReloadStatistics.Sample> recorder;
+
+    /** The saves waiting for an update, oldest first, as returned by System.nanoTime. */
+    private final Deque<Long> pendingSaves = new ArrayDeque<Long>();
+
+    /** The time the pending saves were compiled, as returned by System.nanoTime, or 0 if not compiled yet. */
+    private long compiledNanos;
+
+    /**
+     * Constructor.
+     *
+     * @param projectName The project name.
+     * @param recorder Called with each completed cycle.
+     */
+    public HotReloadTracker(String projectName, Consumer<HotReloadStatistics.Sample> recorder) {
+        this.projectName = projectName;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Notes that a file of the project was saved.
+     *
+     * @param saveNanos The time of the save, as returned by System.nanoTime.
+     */
+    public synchronized void fileSaved(long saveNanos) {
+        discardExpiredSaves(saveNanos);
+        if (pendingSaves.size() < MAX_PENDING_SAVES) {
+            pendingSaves.addLast(saveNanos);
+        }
+    }
+
+    /**
+     * Returns the number of saves waiting for an update.
+     *
+     * @return The number of saves waiting for an update.
+     */
+    public synchronized int getPendingSaveCount() {
+        return pendingSaves.size();
+    }
+
+    /**
+     * Matches the input line against the compilation and update messages.
+     */
+    @Override
+    protected void processLine(String text) {
+        if (pendingSaves.isEmpty()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (text.contains(COMPILATION_SUCCESS_MSG)) {
+            compiledNanos = now;
+        } else if (text.contains(COMPILATION_ERRORS_MSG)) {
+            endCycle(now, Outcome.FAILED);
+        } else if (text.contains(APP_UPDATED_CODE) || text.contains(APP_STARTED_CODE) || text.contains(CONFIG_UPDATED_CODE)
+                || text.contains(CONFIG_UNCHANGED_CODE)) {
+            endCycle(now, Outcome.AVAILABLE);
+        }
+    }
+
+    /**
+     * Records a cycle for each pending save.
+     *
+     * @param endNanos The end of the cycle, as returned by System.nanoTime.
+     * @param outcome The outcome of the cycle.
+     */
+    private void endCycle(long endNanos, Outcome outcome) {
+        discardExpiredSaves(endNanos);
+        long endTime = System.currentTimeMillis();
+        for (Long saveNanos : pendingSaves) {
+            long latencyMs = TimeUnit.NANOSECONDS.toMillis(endNanos - saveNanos);
+            long compileMs = (compiledNanos == 0 || compiledNanos < saveNanos) ? HotReloadStatistics.NOT_OBSERVED
+                    : TimeUnit.NANOSECONDS.toMillis(compiledNanos - saveNanos);
+            recorder.accept(new HotReloadStatistics.Sample(projectName, endTime - latencyMs, latencyMs, compileMs, outcome));
+        }
+        pendingSaves.clear();
+        compiledNanos = 0;
+    }
+
+    /**
+     * Discards the saves that are pending for longer than {@link #PENDING_SAVE_TIMEOUT_MS}.
+     *
+     * @param nowNanos The current time, as returned by System.nanoTime.
+     */
+    private void discardExpiredSaves(long nowNanos) {
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(PENDING_SAVE_TIMEOUT_MS);
+        while (!pendingSaves.isEmpty() && nowNanos - pendingSaves.peekFirst() > timeoutNanos) {
+            pendingSaves.removeFirst();
+        }
+        if (pendingSaves.isEmpty()) {
+            compiledNanos = 0;
+        }
+    }
+}
@@ -56,6 +56,12 @@ public class LocalDevModeLauncherDelegate extends LocalLauncherDelegate {
 
             if (connector == null) {
                 connector = super.createTerminalConnector(properties);
+
+                // Let the project's observers see the dev mode output as it is written to the terminal.
+                ProjectTab projectTab = ptc.getProjectTab(projectName);
+                if (projectTab != null && connector != null) {
+                    connector = projectTab.getOutputTap().wrap(connector);
+                }
                 ptc.setProjectConnector(projectName, connector);
 
                 if (Trace.isEnabled()) {
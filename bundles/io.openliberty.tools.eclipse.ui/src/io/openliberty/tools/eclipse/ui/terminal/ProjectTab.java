@@ -12,14 +12,23 @@
 *******************************************************************************/
 package io.openliberty.tools.eclipse.ui.terminal;
 
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.swt.custom.CTabItem;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.tm.internal.terminal.provisional.api.ITerminalConnector;
 import org.eclipse.tm.terminal.view.core.TerminalServiceFactory;
 import org.eclipse.tm.terminal.view.core.interfaces.ITerminalService;
@@ -30,7 +39,10 @@ import org.eclipse.tm.terminal.view.ui.tabs.TabFolderManager;
 import org.eclipse.ui.IViewPart;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.PlatformUI;
+import org.gradle.tooling.CancellationTokenSource;
 
+import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.GradleLaunchEngine;
 import io.openliberty.tools.eclipse.logging.Trace;
 import io.openliberty.tools.eclipse.ui.dashboard.DashboardView;
 import io.openliberty.tools.eclipse.ui.launch.StartTab;
@@ -58,15 +70,33 @@ public class ProjectTab {
     /** Terminal tab listener associated with this terminal tab. */
     private TerminalTabListenerImpl tabListener;
 
-    /** State of this object. */
-    private State state;
+    /** State of this object, and the listeners notified when it changes. */
+    private final ProjectTabLifecycle lifecycle;
+
+    /** Copies the terminal output to the observers of this terminal, such as the readiness tracker. */
+    private final TerminalOutputTap outputTap = new TerminalOutputTap();
+
+    /** Measures the hot reload cycles of the project once dev mode is running. */
+    private volatile HotReloadTracker hotReloadTracker;
 
     /** Tab image */
     private Image libertyImage;
 
-    /** States. */
+    /**
+     * States. STARTED: the terminal opened and dev mode is building the project. SERVER_STARTING: the server was launched.
+     * READY: dev mode reported that it is running.
+     */
     public static enum State {
-        INACTIVE, STARTED, STOPPED
+        INACTIVE, STARTED, SERVER_STARTING, READY, STOPPED;
+
+        /**
+         * Returns true if dev mode was started and was not stopped.
+         *
+         * @return True if dev mode was started and was not stopped. False, otherwise.
+         */
+        public boolean isActive() {
+            return this == STARTED || this == SERVER_STARTING || this == READY;
+        }
     };
 
     /** The NIX shell on which the terminal commands are processed. */
@@ -82,8 +112,10 @@ public class ProjectTab {
         this.terminalService = TerminalServiceFactory.getService();
         this.tabListener = new TerminalTabListenerImpl(projectName);
         this.libertyImage = Utils.getImage(PlatformUI.getWorkbench().getDisplay(), DashboardView.LIBERTY_LOGO_PATH);
+        this.lifecycle = new ProjectTabLifecycle(projectName);
 
-        state = State.INACTIVE;
+        // The terminal marks its tab closed when the process ends. Learn about it without reading the tab title on the UI thread.
+        outputTap.setClosedListener(lifecycle::terminate);
     }
 
     /**
@@ -104,6 +136,24 @@ public class ProjectTab {
         return connector;
     }
 
+    /**
+     * Returns the object that copies the terminal output to observers.
+     * 
+     * @return The object that copies the terminal output to observers.
+     */
+    public TerminalOutputTap getOutputTap() {
+        return outputTap;
+    }
+
+    /**
+     * Returns the object that measures the hot reload cycles of the project.
+     * 
+     * @return The object that measures the hot reload cycles of the project, or null if no command was run.
+     */
+    public HotReloadTracker getHotReloadTracker() {
+        return hotReloadTracker;
+    }
+
     /**
      * Launches a terminal and runs the input command.
      *
@@ -116,38 +166,180 @@ public class ProjectTab {
             Trace.getTracer().traceEntry(Trace.TRACE_UI, new Object[] { projectPath, command, envs });
         }
 
+        addOutputObservers();
+
         ITerminalService.Done done = new ITerminalService.Done() {
             @Override
             public void done(IStatus status) {
-                // The console tab for the associated project opened.
-                if (status.getCode() == IStatus.OK) {
+                consoleOpened(status);
+            }
+        };
+
+        terminalService.openConsole(getProperties(projectPath, envs, command), done);
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceExit(Trace.TRACE_UI);
+        }
+    }
+
+    /**
+     * Launches a terminal and runs the input Gradle tasks through the Gradle Tooling API. The terminal shows the build output and
+     * writes what the user types to the build's standard input. When the terminal ends, because dev mode was stopped or because the
+     * tab was closed, the build is told to exit. If it is still running after the input timeout, it is cancelled through its token.
+     *
+     * @param projectPath The application project path.
+     * @param pathEnv The PATH environment variable used to find a Gradle installation if the project has no wrapper.
+     * @param tasks The tasks to run.
+     * @param args The build arguments.
+     * @param javaHome The Java installation used by the build.
+     * @param exitTimeoutSeconds The time in seconds the build is given to exit after the terminal ends.
+     *
+     * @throws IOException If the streams connecting the build to the terminal cannot be created.
+     */
+    public void runGradleBuild(String projectPath, String pathEnv, List<String> tasks, List<String> args, String javaHome,
+            int exitTimeoutSeconds) throws IOException {
+        if (Trace.isEnabled()) {
+            Trace.getTracer().traceEntry(Trace.TRACE_UI, new Object[] { projectPath, tasks, args, javaHome, exitTimeoutSeconds });
+        }
 
-                    // Save the object representing the currently active console tab instance.
-                    projectTab = getActiveProjectTab();
+        addOutputObservers();
 
-                    // Update the tab image with the Liberty logo.
-                    updateImage();
+        // The terminal reads the build output from one pipe and writes the user input to another. Pipes do not depend on the threads
+        // that use them, unlike piped streams. The terminal does not close the input pipe when it disconnects: dev mode must still be
+        // told to exit after the tab is closed.
+        Pipe outputPipe = Pipe.open();
+        Pipe inputPipe = Pipe.open();
+        OutputStream buildOutput = Channels.newOutputStream(outputPipe.sink());
+        OutputStream buildInput = Channels.newOutputStream(inputPipe.sink());
+        OutputStream terminalInput = new FilterOutputStream(buildInput) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
 
-                    // Register a terminal tab disposed listener.
-                    terminalService.addTerminalTabListener(tabListener);
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+
+        GradleLaunchEngine engine = GradleLaunchEngine.getInstance();
+        CancellationTokenSource tokenSource = engine.newCancellationTokenSource();
+        CompletableFuture<Void> buildEnded = new CompletableFuture<Void>();
 
-                    // Update the state.
-                    setState(State.STARTED);
+        lifecycle.whenTerminated().thenRun(() -> {
+            if (buildEnded.isDone()) {
+                return;
+            }
 
-                    // Save the project name in the project tab item object. This is needed to be
-                    // able to reliably identify this project tab item during cleanup.
-                    projectTab.setData(StartTab.PROJECT_NAME, projectName);
+            // The stop action already wrote the exit command.
+            if (getState() != State.STOPPED) {
+                try {
+                    buildInput.write(DevModeOperations.DEVMODE_COMMAND_EXIT.getBytes());
+                    buildInput.flush();
+                } catch (IOException e) {
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_UI,
+                                "Unable to write the exit command to the build of project " + projectName, e);
+                    }
                 }
             }
+            CompletableFuture.delayedExecutor(exitTimeoutSeconds, TimeUnit.SECONDS).execute(() -> {
+                if (!buildEnded.isDone()) {
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_UI, "The build of project " + projectName + " did not exit. Cancelling it.");
+                    }
+                    tokenSource.cancel();
+                }
+            });
+        });
+
+        ITerminalService.Done done = new ITerminalService.Done() {
+            @Override
+            public void done(IStatus status) {
+                consoleOpened(status);
+                if (status.getCode() != IStatus.OK) {
+                    buildEnded.complete(null);
+                    closeQuietly(buildOutput);
+                    closeQuietly(buildInput);
+                    lifecycle.terminate();
+                    return;
+                }
+
+                engine.run(projectPath, pathEnv, tasks, args, javaHome, buildOutput, Channels.newInputStream(inputPipe.source()),
+                        tokenSource.token()).whenComplete((result, failure) -> {
+                            buildEnded.complete(null);
+                            if (failure != null) {
+                                if (Trace.isEnabled()) {
+                                    Trace.getTracer().trace(Trace.TRACE_UI, "The build of project " + projectName + " failed.", failure);
+                                }
+                                try {
+                                    buildOutput.write((failure.getMessage() + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+                                } catch (IOException e) {
+                                    // The terminal is gone.
+                                }
+                            }
+
+                            // The end of the output closes the terminal.
+                            closeQuietly(buildOutput);
+                            closeQuietly(buildInput);
+                            lifecycle.terminate();
+                        });
+            }
         };
 
-        terminalService.openConsole(getProperties(projectPath, envs, command), done);
+        terminalService.openConsole(getStreamsProperties(Channels.newInputStream(outputPipe.source()), terminalInput), done);
 
         if (Trace.isEnabled()) {
             Trace.getTracer().traceExit(Trace.TRACE_UI);
         }
     }
 
+    /**
+     * Adds the observers of the dev mode output to the output tap.
+     */
+    private void addOutputObservers() {
+        // Track the dev mode start phases from the terminal output.
+        DevModeReadinessTracker readinessTracker = new DevModeReadinessTracker(projectName, this::advanceState,
+                entry -> DevModeOperations.getInstance().getStartLatencyHistory().record(entry));
+        outputTap.addObserver(readinessTracker);
+
+        // Measure the hot reload cycles from the terminal output.
+        hotReloadTracker = new HotReloadTracker(projectName,
+                sample -> DevModeOperations.getInstance().getHotReloadStatistics().record(sample));
+        outputTap.addObserver(hotReloadTracker);
+
+        // Read the test results as soon as a test run ends, to keep the test history current.
+        outputTap.addObserver(new TestRunTracker(() -> DevModeOperations.getInstance().refreshTestResults(projectName)));
+    }
+
+    /**
+     * Called when the terminal service is done opening the console tab.
+     *
+     * @param status The result of opening the console tab.
+     */
+    private void consoleOpened(IStatus status) {
+        // The console tab for the associated project opened.
+        if (status.getCode() == IStatus.OK) {
+
+            // Save the object representing the currently active console tab instance.
+            projectTab = getActiveProjectTab();
+
+            // Update the tab image with the Liberty logo.
+            updateImage();
+
+            // Register a terminal tab disposed listener.
+            terminalService.addTerminalTabListener(tabListener);
+
+            // Update the state. The terminal output may already have moved it further.
+            advanceState(State.STARTED);
+
+            // Save the project name in the project tab item object. This is needed to be
+            // able to reliably identify this project tab item during cleanup.
+            projectTab.setData(StartTab.PROJECT_NAME, projectName);
+        }
+    }
+
     /**
      * Returns a map of properties needed to launch a terminal.
      *
@@ -179,6 +371,47 @@ public class ProjectTab {
         return properties;
     }
 
+    /**
+     * Returns a map of properties needed to launch a terminal connected to the standard streams of a build.
+     *
+     * @param stdout The stream from which the terminal reads the build output.
+     * @param stdin The stream to which the terminal writes the user input.
+     *
+     * @return A map of properties needed to launch a terminal connected to the standard streams of a build.
+     */
+    private Map<String, Object> getStreamsProperties(InputStream stdout, OutputStream stdin) {
+        HashMap<String, Object> properties = new HashMap<String, Object>();
+        properties.put(ITerminalsConnectorConstants.PROP_TITLE, projectName);
+        properties.put(ITerminalsConnectorConstants.PROP_ENCODING, "UTF-8");
+        properties.put(ITerminalsConnectorConstants.PROP_DELEGATE_ID, GradleDevModeLauncherDelegate.id);
+        properties.put(ITerminalsConnectorConstants.PROP_DATA, projectName);
+        properties.put(ITerminalsConnectorConstants.PROP_FORCE_NEW, Boolean.TRUE);
+        properties.put(ITerminalsConnectorConstants.PROP_DATA_NO_RECONNECT, Boolean.TRUE);
+        properties.put(ITerminalsConnectorConstants.PROP_STREAMS_STDOUT, stdout);
+        properties.put(ITerminalsConnectorConstants.PROP_STREAMS_STDIN, stdin);
+
+        // The build is not attached to a console that echoes the user input, and it reads lines ending with a line feed.
+        properties.put(ITerminalsConnectorConstants.PROP_LOCAL_ECHO, Boolean.TRUE);
+        properties.put(ITerminalsConnectorConstants.PROP_LINE_SEPARATOR, "\n");
+
+        return properties;
+    }
+
+    /**
+     * Closes the input stream, ignoring errors.
+     *
+     * @param stream The stream.
+     */
+    private void closeQuietly(OutputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, "Unable to close a build stream of project " + projectName, e);
+            }
+        }
+    }
+
     /**
      * Updates the tab image with the Liberty logo.
      */
@@ -286,7 +519,7 @@ public class ProjectTab {
      * @return the current state.
      */
     public State getState() {
-        return state;
+        return lifecycle.getState();
     }
 
     /**
@@ -294,14 +527,66 @@ public class ProjectTab {
      *
      * @param newState The new state.
      */
-    public synchronized void setState(State newState) {
-        this.state = newState;
+    public void setState(State newState) {
+        lifecycle.setState(newState);
+    }
+
+    /**
+     * Moves this object to the input start state if the start did not already go further, and if dev mode was not stopped.
+     *
+     * @param newState The new state.
+     */
+    public void advanceState(State newState) {
+        lifecycle.advanceState(newState);
+    }
+
+    /**
+     * Returns the lifecycle of this terminal tab: its state, its listeners, and the futures completed when dev mode is ready or when
+     * the terminal ends.
+     *
+     * @return The lifecycle of this terminal tab.
+     */
+    public ProjectTabLifecycle getLifecycle() {
+        return lifecycle;
+    }
+
+    /**
+     * Returns true if the process running in this terminal ended, or if the terminal tab was closed. Can be called from any thread. If
+     * the output tap did not wrap the terminal control, the end of the process is only detected on the UI thread, from the tab title.
+     *
+     * @return True if the process running in this terminal ended, or if the terminal tab was closed. False, otherwise.
+     */
+    public boolean isTerminated() {
+        if (lifecycle.isTerminated()) {
+            return true;
+        }
+
+        // The output tap reports that the terminal closed only if it wrapped the terminal control. If it did not, fall back to the
+        // "<Closed>" prefix the terminal adds to the tab title. The title can only be read on the UI thread.
+        if (projectTab != null && !outputTap.isControlWrapped()) {
+            if (Trace.isEnabled()) {
+                Trace.getTracer().trace(Trace.TRACE_UI, "WARNING: The terminal control of project " + projectName
+                        + " was not wrapped by the output tap. Its end is only detected from the tab title on the UI thread.");
+            }
+            if (Display.getCurrent() != null && !projectTab.isDisposed()) {
+                String tabTitle = getTitle();
+                if (tabTitle != null && tabTitle.startsWith("<Closed>")) {
+                    lifecycle.terminate();
+                    return true;
+                }
+            }
+        }
+
+        return false;
     }
 
     /**
      * Performs cleanup.
      */
     public void cleanup() {
+        // The terminal tab is gone. Release the work waiting on it.
+        lifecycle.terminate();
+
         // Remove the registered listener from the calling service.
         terminalService.removeTerminalTabListener(tabListener);
 
@@ -368,7 +653,7 @@ public class ProjectTab {
         StringBuffer sb = new StringBuffer();
         sb.append("Class: ").append(this.getClass().getName()).append(": ");
         sb.append("projectName: ").append(projectName).append(", ");
-        sb.append("State: ").append(state).append(", ");
+        sb.append("Lifecycle: ").append(lifecycle).append(", ");
         sb.append("Connector: ").append(connector).append(", ");
         sb.append("TabListener: ").append(tabListener);
         return sb.toString();
@@ -12,12 +12,15 @@
 *******************************************************************************/
 package io.openliberty.tools.eclipse.ui.terminal;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.swt.custom.CTabFolder;
@@ -51,6 +54,26 @@ public class ProjectTabController {
     /** The set of terminal listeners associated with the different application projects. */
     private static final ConcurrentHashMap<String, List<TerminalListener>> projectTerminalListenerMap = new ConcurrentHashMap<String, List<TerminalListener>>();
 
+    /** The lifecycle listeners notified of the events of all project terminal tabs. */
+    private static final List<ProjectTabListener> projectTabListeners = new CopyOnWriteArrayList<ProjectTabListener>();
+
+    /** Forwards the lifecycle events of each project terminal tab to the listeners registered with this controller. */
+    private static final ProjectTabListener lifecycleDispatcher = new ProjectTabListener() {
+        @Override
+        public void stateChanged(String projectName, State oldState, State newState) {
+            for (ProjectTabListener listener : projectTabListeners) {
+                listener.stateChanged(projectName, oldState, newState);
+            }
+        }
+
+        @Override
+        public void terminated(String projectName) {
+            for (ProjectTabListener listener : projectTabListeners) {
+                listener.terminated(projectName);
+            }
+        }
+    };
+
     /** TerminalManager instance. */
     private static ProjectTabController instance;
 
@@ -90,10 +113,37 @@ public class ProjectTabController {
      */
     public void runOnTerminal(String projectName, String projectPath, String command, List<String> envs) {
         ProjectTab projectTab = new ProjectTab(projectName);
+        projectTab.getLifecycle().addListener(lifecycleDispatcher);
         projectTabMap.put(projectName, projectTab);
         projectTab.runCommand(projectPath, command, envs);
     }
 
+    /**
+     * Runs the specified Gradle tasks through the Gradle Tooling API, connected to a terminal.
+     *
+     * @param projectName The application project name.
+     * @param projectPath The application project path.
+     * @param pathEnv The PATH environment variable used to find a Gradle installation if the project has no wrapper.
+     * @param tasks The tasks to run.
+     * @param args The build arguments.
+     * @param javaHome The Java installation used by the build.
+     * @param exitTimeoutSeconds The time in seconds the build is given to exit after the terminal ends, before it is cancelled.
+     *
+     * @throws IOException If the streams connecting the build to the terminal cannot be created.
+     */
+    public void runGradleBuildOnTerminal(String projectName, String projectPath, String pathEnv, List<String> tasks, List<String> args,
+            String javaHome, int exitTimeoutSeconds) throws IOException {
+        ProjectTab projectTab = new ProjectTab(projectName);
+        projectTab.getLifecycle().addListener(lifecycleDispatcher);
+        projectTabMap.put(projectName, projectTab);
+        try {
+            projectTab.runGradleBuild(projectPath, pathEnv, tasks, args, javaHome, exitTimeoutSeconds);
+        } catch (IOException e) {
+            projectTabMap.remove(projectName);
+            throw e;
+        }
+    }
+
     /**
      * Writes the input data to the terminal tab associated with the input project name.
      *
@@ -232,22 +282,47 @@ public class ProjectTabController {
     }
 
     /**
-     * Returns true if the tab title associated with the input project name was marked as closed. False, otherwise.
+     * Returns true if the terminal tab associated with the input project name was marked as closed: the process running in it ended.
+     * Can be called from any thread.
      *
      * @param projectName The application project name.
      *
-     * @return true if the tab title associated with the input project name was marked as closed. False, otherwise.
+     * @return true if the terminal tab associated with the input project name was marked as closed. False, otherwise.
      */
     public boolean isProjectTabMarkedClosed(String projectName) {
         ProjectTab projectTab = projectTabMap.get(projectName);
-        if (projectTab != null) {
-            String tabTitle = projectTab.getTitle();
-            if (tabTitle != null && tabTitle.startsWith("<Closed>")) {
-                return true;
-            }
-        }
+        return projectTab != null && projectTab.isTerminated();
+    }
 
-        return false;
+    /**
+     * Returns a future completed when the process running in the terminal tab associated with the input project name ends, or when
+     * the tab is closed. The future is already completed if there is no such terminal tab.
+     *
+     * @param projectName The application project name.
+     *
+     * @return A future completed when the terminal tab associated with the input project name ends.
+     */
+    public CompletableFuture<Void> whenTerminated(String projectName) {
+        ProjectTab projectTab = projectTabMap.get(projectName);
+        return (projectTab == null) ? CompletableFuture.completedFuture(null) : projectTab.getLifecycle().whenTerminated();
+    }
+
+    /**
+     * Adds a listener notified of the lifecycle events of all project terminal tabs.
+     *
+     * @param listener The listener.
+     */
+    public void addProjectTabListener(ProjectTabListener listener) {
+        projectTabListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener notified of the lifecycle events of all project terminal tabs.
+     *
+     * @param listener The listener.
+     */
+    public void removeProjectTabListener(ProjectTabListener listener) {
+        projectTabListeners.remove(listener);
     }
 
     /**
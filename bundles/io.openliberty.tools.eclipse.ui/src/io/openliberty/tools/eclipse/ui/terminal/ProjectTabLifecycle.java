@@ -0,0 +1,195 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.ui.terminal;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+import io.openliberty.tools.eclipse.ui.terminal.ProjectTab.State;
+
+/**
+ * Holds the state of a project terminal tab and notifies listeners when it changes. The state can be read and updated from any
+ * thread without going through the UI thread. Background work can wait for dev mode to be ready, or for the terminal to end, through
+ * the futures returned by {@link #whenReady()} and {@link #whenTerminated()}.
+ */
+public class ProjectTabLifecycle {
+
+    /** The name of the project. */
+    private final String projectName;
+
+    /** The current state. */
+    private final AtomicReference<State> state = new AtomicReference<State>(State.INACTIVE);
+
+    /** The lifecycle listeners. */
+    private final List<ProjectTabListener> listeners = new CopyOnWriteArrayList<ProjectTabListener>();
+
+    /** Completed when dev mode reports that it is running. Cancelled if the terminal ends first. */
+    private final CompletableFuture<State> ready = new CompletableFuture<State>();
+
+    /** Completed when the process running in the terminal ends, or when the terminal tab is closed. */
+    private final CompletableFuture<Void> terminated = new CompletableFuture<Void>();
+
+    /**
+     * Constructor.
+     *
+     * @param projectName The name of the project.
+     */
+    public ProjectTabLifecycle(String projectName) {
+        this.projectName = projectName;
+    }
+
+    /**
+     * Adds a lifecycle listener.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(ProjectTabListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a lifecycle listener.
+     *
+     * @param listener The listener.
+     */
+    public void removeListener(ProjectTabListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the current state.
+     *
+     * @return The current state.
+     */
+    public State getState() {
+        return state.get();
+    }
+
+    /**
+     * Sets the state.
+     *
+     * @param newState The new state.
+     */
+    public void setState(State newState) {
+        State oldState = state.getAndSet(newState);
+        stateChanged(oldState, newState);
+    }
+
+    /**
+     * Moves to the input start state if the start did not already go further, and if dev mode was not stopped.
+     *
+     * @param newState The new state.
+     *
+     * @return True if the state changed. False, otherwise.
+     */
+    public boolean advanceState(State newState) {
+        State oldState;
+        do {
+            oldState = state.get();
+            if (oldState == State.STOPPED || newState.ordinal() <= oldState.ordinal()) {
+                return false;
+            }
+        } while (!state.compareAndSet(oldState, newState));
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_UI, "Project " + projectName + " moved from state " + oldState + " to " + newState);
+        }
+        stateChanged(oldState, newState);
+        return true;
+    }
+
+    /**
+     * Notes that the process running in the terminal ended, or that the terminal tab was closed. Only the first call has an effect.
+     */
+    public void terminate() {
+        if (!terminated.complete(null)) {
+            return;
+        }
+
+        if (Trace.isEnabled()) {
+            Trace.getTracer().trace(Trace.TRACE_UI, "The terminal of project " + projectName + " ended in state " + state.get());
+        }
+
+        ready.cancel(false);
+        for (ProjectTabListener listener : listeners) {
+            try {
+                listener.terminated(projectName);
+            } catch (Exception e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_UI, "Project tab listener " + listener + " failed.", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns true if the process running in the terminal ended, or if the terminal tab was closed.
+     *
+     * @return True if the process running in the terminal ended, or if the terminal tab was closed. False, otherwise.
+     */
+    public boolean isTerminated() {
+        return terminated.isDone();
+    }
+
+    /**
+     * Returns a future completed when dev mode reports that it is running. The future is cancelled if the terminal ends first.
+     * Cancelling the returned future does not affect the lifecycle.
+     *
+     * @return A future completed when dev mode reports that it is running.
+     */
+    public CompletableFuture<State> whenReady() {
+        return ready.thenApply(s -> s);
+    }
+
+    /**
+     * Returns a future completed when the process running in the terminal ends, or when the terminal tab is closed. Cancelling the
+     * returned future does not affect the lifecycle.
+     *
+     * @return A future completed when the terminal ends.
+     */
+    public CompletableFuture<Void> whenTerminated() {
+        return terminated.thenApply(v -> v);
+    }
+
+    /**
+     * Completes the ready future and notifies the listeners of a state change.
+     */
+    private void stateChanged(State oldState, State newState) {
+        if (oldState == newState) {
+            return;
+        }
+        if (newState == State.READY) {
+            ready.complete(newState);
+        }
+        for (ProjectTabListener listener : listeners) {
+            try {
+                listener.stateChanged(projectName, oldState, newState);
+            } catch (Exception e) {
+                if (Trace.isEnabled()) {
+                    Trace.getTracer().trace(Trace.TRACE_UI, "Project tab listener " + listener + " failed.", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "State: " + state.get() + ", terminated: " + terminated.isDone();
+    }
+}
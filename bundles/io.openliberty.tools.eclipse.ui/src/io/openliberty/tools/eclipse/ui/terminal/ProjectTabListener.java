@@ -0,0 +1,40 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.ui.terminal;
+
+import io.openliberty.tools.eclipse.ui.terminal.ProjectTab.State;
+
+/**
+ * Listens for the lifecycle events of project terminal tabs. The events are delivered on the thread that caused them, which is
+ * usually not the UI thread. Implementations must not block.
+ */
+public interface ProjectTabListener {
+
+    /**
+     * Called when the state of a project terminal tab changed.
+     *
+     * @param projectName The name of the project.
+     * @param oldState The previous state.
+     * @param newState The new state.
+     */
+    public default void stateChanged(String projectName, State oldState, State newState) {
+    }
+
+    /**
+     * Called when the process running in a project terminal tab ended, or when the tab was closed.
+     *
+     * @param projectName The name of the project.
+     */
+    public default void terminated(String projectName) {
+    }
+}
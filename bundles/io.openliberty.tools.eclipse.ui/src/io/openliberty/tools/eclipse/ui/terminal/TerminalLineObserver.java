@@ -0,0 +1,101 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.ui.terminal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Observer of a terminal's output that processes the output one line at a time. Lines are split on carriage returns and line feeds,
+ * and empty lines are skipped.
+ */
+public abstract class TerminalLineObserver extends OutputStream {
+
+    /** The maximum length of a line kept for matching. Longer lines are truncated. */
+    private static final int MAX_LINE_LENGTH = 4096;
+
+    /** The bytes of the current line. */
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+
+    /**
+     * Processes a line of output. Called while holding the lock of this object.
+     *
+     * @param text The line, without line terminator.
+     */
+    protected abstract void processLine(String text);
+
+    /**
+     * Returns true if this observer is no longer interested in the output. The rest of the output is then ignored.
+     *
+     * @return True if this observer is no longer interested in the output. False, otherwise.
+     */
+    public boolean isDone() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(int b) {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        if (isDone()) {
+            return;
+        }
+
+        int lineStart = off;
+        int end = off + len;
+        for (int i = off; i < end && !isDone(); i++) {
+            if (b[i] == '\n' || b[i] == '\r') {
+                appendToLine(b, lineStart, i - lineStart);
+                endLine();
+                lineStart = i + 1;
+            }
+        }
+
+        if (!isDone() && lineStart < end) {
+            appendToLine(b, lineStart, end - lineStart);
+        }
+    }
+
+    /**
+     * Appends the input bytes to the current line, up to the maximum line length.
+     */
+    private void appendToLine(byte[] b, int off, int len) {
+        int room = MAX_LINE_LENGTH - line.size();
+        if (room > 0 && len > 0) {
+            line.write(b, off, Math.min(room, len));
+        }
+    }
+
+    /**
+     * Processes the current line, if not empty, and starts a new one.
+     */
+    private void endLine() {
+        if (line.size() == 0) {
+            return;
+        }
+
+        String text = new String(line.toByteArray(), StandardCharsets.UTF_8);
+        line.reset();
+        processLine(text);
+    }
+}
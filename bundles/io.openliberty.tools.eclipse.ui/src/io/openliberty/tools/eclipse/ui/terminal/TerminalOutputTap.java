@@ -0,0 +1,216 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.ui.terminal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.tm.internal.terminal.provisional.api.ITerminalConnector;
+import org.eclipse.tm.internal.terminal.provisional.api.ITerminalControl;
+import org.eclipse.tm.internal.terminal.provisional.api.TerminalState;
+
+import io.openliberty.tools.eclipse.logging.Trace;
+
+/**
+ * Copies the output a terminal connector writes to its terminal to a set of observers, as the output is written. The terminal
+ * connector and the terminal control it connects to are wrapped in dynamic proxies: only the terminal's output stream is replaced,
+ * every other call is passed through, whatever the version of the terminal API. The tap also reports when the connector closes the
+ * terminal, which happens when the process running in it ends.
+ */
+public class TerminalOutputTap {
+
+    /** The observers of the terminal output. */
+    private final List<OutputStream> observers = new CopyOnWriteArrayList<OutputStream>();
+
+    /** Called when the connector closes the terminal. */
+    private volatile Runnable closedListener;
+
+    /** True once the connector connected to a terminal control wrapped by this tap: only then can the tap report that it closed. */
+    private volatile boolean controlWrapped;
+
+    /**
+     * Sets the listener called when the connector closes the terminal. The listener is called on the connector's thread.
+     *
+     * @param closedListener The listener.
+     */
+    public void setClosedListener(Runnable closedListener) {
+        this.closedListener = closedListener;
+    }
+
+    /**
+     * Returns true if the connector connected to a terminal control wrapped by this tap. If not, the tap cannot copy the terminal
+     * output or report that the connector closed the terminal.
+     *
+     * @return True if the connector connected to a terminal control wrapped by this tap. False, otherwise.
+     */
+    public boolean isControlWrapped() {
+        return controlWrapped;
+    }
+
+    /**
+     * Adds an observer of the terminal output. The observer is called on the thread that reads the process output and must not block.
+     *
+     * @param observer The observer.
+     */
+    public void addObserver(OutputStream observer) {
+        observers.add(observer);
+    }
+
+    /**
+     * Removes an observer of the terminal output.
+     *
+     * @param observer The observer.
+     */
+    public void removeObserver(OutputStream observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * Returns a connector that behaves like the input connector, except that the output it writes to its terminal is also written to
+     * the observers of this tap.
+     *
+     * @param connector The connector.
+     *
+     * @return The wrapped connector.
+     */
+    public ITerminalConnector wrap(ITerminalConnector connector) {
+        return (ITerminalConnector) newProxy(connector, (proxy, method, args) -> {
+            if ("connect".equals(method.getName()) && args != null && args.length == 1 && args[0] instanceof ITerminalControl) {
+                args = new Object[] { wrap((ITerminalControl) args[0]) };
+            }
+            return invoke(connector, proxy, method, args);
+        });
+    }
+
+    /**
+     * Returns a terminal control that behaves like the input control, except that its output stream also writes to the observers of
+     * this tap.
+     *
+     * @param control The terminal control.
+     *
+     * @return The wrapped terminal control.
+     */
+    private ITerminalControl wrap(ITerminalControl control) {
+        controlWrapped = true;
+        TeeOutputStream[] tee = new TeeOutputStream[1];
+        return (ITerminalControl) newProxy(control, (proxy, method, args) -> {
+            Object result = invoke(control, proxy, method, args);
+            if ("setState".equals(method.getName()) && args != null && args.length == 1 && args[0] == TerminalState.CLOSED) {
+                Runnable listener = closedListener;
+                if (listener != null) {
+                    listener.run();
+                }
+            }
+            if ("getRemoteToTerminalOutputStream".equals(method.getName()) && result instanceof OutputStream) {
+                synchronized (tee) {
+                    if (tee[0] == null || tee[0].terminalStream != result) {
+                        tee[0] = new TeeOutputStream((OutputStream) result);
+                    }
+                    return tee[0];
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Creates a proxy that implements all interfaces of the input target.
+     *
+     * @param target The target object.
+     * @param handler The invocation handler.
+     *
+     * @return The proxy.
+     */
+    private static Object newProxy(Object target, InvocationHandler handler) {
+        Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+        for (Class<?> c = target.getClass(); c != null; c = c.getSuperclass()) {
+            for (Class<?> i : c.getInterfaces()) {
+                interfaces.add(i);
+            }
+        }
+        return Proxy.newProxyInstance(target.getClass().getClassLoader(), interfaces.toArray(new Class<?>[interfaces.size()]), handler);
+    }
+
+    /**
+     * Invokes the input method on the input target. A proxy is equal to itself and to the object it wraps.
+     *
+     * @param target The target object.
+     * @param proxy The proxy.
+     * @param method The method.
+     * @param args The method arguments.
+     *
+     * @return The method result.
+     *
+     * @throws Throwable The exception thrown by the method.
+     */
+    private static Object invoke(Object target, Object proxy, Method method, Object[] args) throws Throwable {
+        if ("equals".equals(method.getName()) && args != null && args.length == 1) {
+            return proxy == args[0] || target.equals(args[0]);
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes to the terminal and then to the observers. An observer failure never affects the terminal.
+     */
+    private class TeeOutputStream extends OutputStream {
+
+        private final OutputStream terminalStream;
+
+        private TeeOutputStream(OutputStream terminalStream) {
+            this.terminalStream = terminalStream;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            terminalStream.write(b, off, len);
+            for (OutputStream observer : observers) {
+                try {
+                    observer.write(b, off, len);
+                } catch (Exception e) {
+                    observers.remove(observer);
+                    if (Trace.isEnabled()) {
+                        Trace.getTracer().trace(Trace.TRACE_UI, "Terminal output observer " + observer + " failed. It was removed.", e);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            terminalStream.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            terminalStream.close();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.ui.terminal;
+
+/**
+ * Detects the end of the test runs of a project running in dev mode from the messages dev mode writes to the terminal, so that the
+ * result files written by the run can be read as soon as the run ends.
+ */
+public class TestRunTracker extends TerminalLineObserver {
+
+    /** Prefix of the messages dev mode prints when the unit tests end. */
+    public static final String UNIT_TESTS_MSG = "Unit tests ";
+
+    /** Prefix of the messages dev mode prints when the integration tests end. */
+    public static final String INTEGRATION_TESTS_MSG = "Integration tests ";
+
+    /** Called when a test run ends. */
+    private final Runnable runFinished;
+
+    /**
+     * Constructor.
+     *
+     * @param runFinished Called when a test run ends. Called on the thread that writes the terminal output; it must not block.
+     */
+    public TestRunTracker(Runnable runFinished) {
+        this.runFinished = runFinished;
+    }
+
+    /**
+     * Matches the input line against the test run end messages. For example: "Unit tests finished." or "Integration tests failed:
+     * There are test failures."
+     */
+    @Override
+    protected void processLine(String text) {
+        if ((text.contains(UNIT_TESTS_MSG) || text.contains(INTEGRATION_TESTS_MSG))
+                && (text.contains(" finished") || text.contains(" failed"))) {
+            runFinished.run();
+        }
+    }
+}
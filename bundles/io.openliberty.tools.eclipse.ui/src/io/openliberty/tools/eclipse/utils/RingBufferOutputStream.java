@@ -0,0 +1,122 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial implementation
+*******************************************************************************/
+package io.openliberty.tools.eclipse.utils;
+
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Output stream that keeps the last bytes written to it, up to a fixed capacity. Older bytes are overwritten. This allows the output
+ * of a process to be drained continuously, so that the process never blocks on a full pipe, while bounding the memory used to report
+ * the output on failure.
+ */
+public class RingBufferOutputStream extends OutputStream {
+
+    /** The buffer. */
+    private final byte[] buffer;
+
+    /** The index at which the next byte is written. */
+    private int next;
+
+    /** The total number of bytes written. */
+    private long count;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity The maximum number of bytes kept.
+     */
+    public RingBufferOutputStream(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        buffer = new byte[capacity];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void write(int b) {
+        buffer[next] = (byte) b;
+        next = (next + 1) % buffer.length;
+        count++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        // Only the last bytes that fit in the buffer are kept.
+        if (len > buffer.length) {
+            off += len - buffer.length;
+            count += len - buffer.length;
+            len = buffer.length;
+        }
+
+        int firstChunk = Math.min(len, buffer.length - next);
+        System.arraycopy(b, off, buffer, next, firstChunk);
+        System.arraycopy(b, off + firstChunk, buffer, 0, len - firstChunk);
+        next = (next + len) % buffer.length;
+        count += len;
+    }
+
+    /**
+     * Returns the total number of bytes written, including the ones that were overwritten.
+     *
+     * @return The total number of bytes written.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the bytes kept, oldest first.
+     *
+     * @return The bytes kept, oldest first.
+     */
+    public synchronized byte[] toByteArray() {
+        if (count < buffer.length) {
+            byte[] bytes = new byte[next];
+            System.arraycopy(buffer, 0, bytes, 0, next);
+            return bytes;
+        }
+
+        byte[] bytes = new byte[buffer.length];
+        System.arraycopy(buffer, next, bytes, 0, buffer.length - next);
+        System.arraycopy(buffer, 0, bytes, buffer.length - next, next);
+        return bytes;
+    }
+
+    /**
+     * Returns the bytes kept, decoded with the default charset. If bytes were overwritten, the text is preceded by a truncation
+     * notice.
+     *
+     * @return The text kept.
+     */
+    @Override
+    public String toString() {
+        byte[] bytes;
+        long total;
+        synchronized (this) {
+            bytes = toByteArray();
+            total = count;
+        }
+        String text = new String(bytes, Charset.defaultCharset());
+        if (total > bytes.length) {
+            return "[" + (total - bytes.length) + " bytes of output truncated]" + System.lineSeparator() + text;
+        }
+        return text;
+    }
+}
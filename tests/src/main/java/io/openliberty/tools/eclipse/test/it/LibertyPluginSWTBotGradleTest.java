@@ -125,7 +125,7 @@ public class LibertyPluginSWTBotGradleTest extends AbstractLibertyPluginSWTBotTe
             DashboardView.APP_MENU_ACTION_START_IN_CONTAINER, DashboardView.APP_MENU_ACTION_DEBUG,
             DashboardView.APP_MENU_ACTION_DEBUG_CONFIG, DashboardView.APP_MENU_ACTION_DEBUG_IN_CONTAINER,
             DashboardView.APP_MENU_ACTION_STOP, DashboardView.APP_MENU_ACTION_RUN_TESTS,
-            DashboardView.APP_MENU_ACTION_VIEW_GRADLE_TEST_REPORT };
+            DashboardView.APP_MENU_ACTION_VIEW_GRADLE_TEST_REPORT, DashboardView.APP_MENU_ACTION_VIEW_TEST_RESULTS };
 
     /**
      * Run As configuration menu items.
@@ -139,7 +139,7 @@ public class LibertyPluginSWTBotMavenTest extends AbstractLibertyPluginSWTBotTes
             DashboardView.APP_MENU_ACTION_START_IN_CONTAINER, DashboardView.APP_MENU_ACTION_DEBUG,
             DashboardView.APP_MENU_ACTION_DEBUG_CONFIG, DashboardView.APP_MENU_ACTION_DEBUG_IN_CONTAINER,
             DashboardView.APP_MENU_ACTION_STOP, DashboardView.APP_MENU_ACTION_RUN_TESTS, DashboardView.APP_MENU_ACTION_VIEW_MVN_IT_REPORT,
-            DashboardView.APP_MENU_ACTION_VIEW_MVN_UT_REPORT };
+            DashboardView.APP_MENU_ACTION_VIEW_MVN_UT_REPORT, DashboardView.APP_MENU_ACTION_VIEW_TEST_RESULTS };
 
     /**
      * Run As configuration menu items.
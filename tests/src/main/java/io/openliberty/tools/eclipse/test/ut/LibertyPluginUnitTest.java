@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2022 IBM Corporation and others.
+* Copyright (c) 2022, 2023 IBM Corporation and others.
 *
 * This program and the accompanying materials are made available under the
 * terms of the Eclipse Public License v. 2.0 which is available at
@@ -12,21 +12,56 @@
 *******************************************************************************/
 package io.openliberty.tools.eclipse.test.ut;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.io.StringWriter;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.IResourceProxyVisitor;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -36,10 +71,38 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 
+import io.openliberty.tools.eclipse.BuildConfigDeltaVisitor;
+import io.openliberty.tools.eclipse.CommandBuilder;
+import io.openliberty.tools.eclipse.DevModeOperations;
+import io.openliberty.tools.eclipse.GradleLaunchEngine;
+import io.openliberty.tools.eclipse.HotReloadStatistics;
+import io.openliberty.tools.eclipse.LaunchPlanner;
+import io.openliberty.tools.eclipse.LaunchPlanner.LaunchPlan;
+import io.openliberty.tools.eclipse.LaunchPlanner.PrebuildStep;
+import io.openliberty.tools.eclipse.LibertyNature;
+import io.openliberty.tools.eclipse.Project;
+import io.openliberty.tools.eclipse.ServerConfigDetector;
+import io.openliberty.tools.eclipse.StartLatencyHistory;
+import io.openliberty.tools.eclipse.StopCommandJob;
+import io.openliberty.tools.eclipse.TestHistory;
+import io.openliberty.tools.eclipse.TestResultsIndex;
+import io.openliberty.tools.eclipse.WorkspaceModelSnapshot;
+import io.openliberty.tools.eclipse.WorkspaceProjectsModel;
 import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationDelegateLauncher.RuntimeEnv;
 import io.openliberty.tools.eclipse.debug.DebugModeHandler;
+import io.openliberty.tools.eclipse.debug.DebugPortAllocator;
+import io.openliberty.tools.eclipse.debug.DebugPortSignal;
+import io.openliberty.tools.eclipse.debug.ServerEnvCache;
 import io.openliberty.tools.eclipse.ui.launch.LaunchConfigurationHelper;
 import io.openliberty.tools.eclipse.ui.launch.StartTab;
+import io.openliberty.tools.eclipse.ui.terminal.DevModeReadinessTracker;
+import io.openliberty.tools.eclipse.ui.terminal.HotReloadTracker;
+import io.openliberty.tools.eclipse.ui.terminal.ProjectTab;
+import io.openliberty.tools.eclipse.ui.terminal.ProjectTabLifecycle;
+import io.openliberty.tools.eclipse.ui.terminal.ProjectTabListener;
+import io.openliberty.tools.eclipse.ui.terminal.TestRunTracker;
+import io.openliberty.tools.eclipse.utils.RingBufferOutputStream;
+import io.openliberty.tools.eclipse.utils.Utils;
 
 /**
  * Unit tests.
@@ -237,6 +300,1645 @@ public class LibertyPluginUnitTest {
                 + " was not returned. Configuration returned:: " + cfgNameFoundT5Dev);
     }
 
+    /**
+     * Tests that the incremental update of the workspace project model produces the same model as a complete rebuild when projects
+     * are added, closed, re-opened and deleted.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testIncrementalWorkspaceModelUpdate() throws Exception {
+        Map<String, IProject> workspace = new LinkedHashMap<String, IProject>();
+        Map<String, Boolean> openState = new LinkedHashMap<String, Boolean>();
+        mockWorkspaceProject(workspace, openState, "parent", "/ws/parent", Project.MAVEN_NATURE, false);
+        mockWorkspaceProject(workspace, openState, "server1", "/ws/parent/server1", Project.MAVEN_NATURE, true);
+        mockWorkspaceProject(workspace, openState, "lib1", "/ws/parent/lib1", Project.MAVEN_NATURE, false);
+        mockWorkspaceProject(workspace, openState, "server2", "/ws/parent/server2", Project.MAVEN_NATURE, true);
+        mockWorkspaceProject(workspace, openState, "gradleApp", "/ws/gradleApp", Project.GRADLE_NATURE, true);
+
+        // Test 1. Projects added to an existing model.
+        WorkspaceProjectsModel incrementalModel = new WorkspaceProjectsModel();
+        incrementalModel.createNewCompleteWorkspaceModel(
+                Arrays.asList(workspace.get("parent"), workspace.get("server1"), workspace.get("lib1")), true);
+        incrementalModel.updateWorkspaceModel(Arrays.asList(workspace.get("server2"), workspace.get("gradleApp")), true);
+        assertSameWorkspaceModel(workspace, incrementalModel, "added projects");
+
+        // Test 2. Child project closed.
+        openState.put("server1", false);
+        incrementalModel.updateWorkspaceModel(Arrays.asList(workspace.get("server1")), true);
+        assertSameWorkspaceModel(workspace, incrementalModel, "closed child project");
+
+        // Test 3. Child project re-opened.
+        openState.put("server1", true);
+        incrementalModel.updateWorkspaceModel(Arrays.asList(workspace.get("server1")), true);
+        assertSameWorkspaceModel(workspace, incrementalModel, "re-opened child project");
+
+        // Test 4. Parent project closed.
+        openState.put("parent", false);
+        incrementalModel.updateWorkspaceModel(Arrays.asList(workspace.get("parent")), true);
+        assertSameWorkspaceModel(workspace, incrementalModel, "closed parent project");
+
+        // Test 5. Parent project re-opened.
+        openState.put("parent", true);
+        incrementalModel.updateWorkspaceModel(Arrays.asList(workspace.get("parent")), true);
+        assertSameWorkspaceModel(workspace, incrementalModel, "re-opened parent project");
+
+        // Test 6. Projects deleted.
+        IProject deletedServer2 = workspace.remove("server2");
+        IProject deletedGradleApp = workspace.remove("gradleApp");
+        openState.put("server2", false);
+        openState.put("gradleApp", false);
+        incrementalModel.updateWorkspaceModel(Arrays.asList(deletedServer2, deletedGradleApp), true);
+        assertSameWorkspaceModel(workspace, incrementalModel, "deleted projects");
+    }
+
+    /**
+     * Compares the sequential and the parallel builds of the workspace project model using a synthetic workspace of 1,000 projects
+     * on disk. The resulting models must be the same. The build times are measured by the WorkspaceModelBenchmark benchmark.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testParallelWorkspaceModelBuild() throws Exception {
+        int parentCount = 50;
+        int modulesPerParent = 19;
+
+        Path workspaceDir = Files.createTempDirectory("syntheticWorkspace");
+        try {
+            Map<String, IProject> workspace = createSyntheticWorkspace(workspaceDir, parentCount, modulesPerParent);
+            Assertions.assertTrue(workspace.size() == 1000,
+                    "The synthetic workspace should contain 1000 projects. Found: " + workspace.size());
+            List<IProject> projects = new ArrayList<IProject>(workspace.values());
+
+            WorkspaceProjectsModel sequentialModel = new WorkspaceProjectsModel(false);
+            sequentialModel.createNewCompleteWorkspaceModel(projects, true);
+            WorkspaceProjectsModel parallelModel = new WorkspaceProjectsModel(true);
+            parallelModel.createNewCompleteWorkspaceModel(projects, true);
+
+            List<String> sequentialList = sequentialModel.getSortedDashboardProjectList();
+            List<String> parallelList = parallelModel.getSortedDashboardProjectList();
+            Assertions.assertTrue(sequentialList.equals(parallelList), "The dashboard project lists do not match. Sequential: "
+                    + sequentialList + ". Parallel: " + parallelList);
+
+            for (String name : workspace.keySet()) {
+                String sequentialProject = describeProject(sequentialModel.getProject(name));
+                String parallelProject = describeProject(parallelModel.getProject(name));
+                Assertions.assertTrue(sequentialProject.equals(parallelProject), "Project " + name + " does not match. Sequential: "
+                        + sequentialProject + ". Parallel: " + parallelProject);
+            }
+        } finally {
+            try (Stream<Path> paths = Files.walk(workspaceDir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * Tests that a cancelled build of the workspace project model leaves the projects it did not process out of the model and returns
+     * them, and that updating the model with the returned projects produces the same model as a complete build.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testCancelledWorkspaceModelBuild() throws Exception {
+        Path workspaceDir = Files.createTempDirectory("cancelledWorkspace");
+        try {
+            Map<String, IProject> workspace = createSyntheticWorkspace(workspaceDir, 2, 3);
+            List<IProject> projects = new ArrayList<IProject>(workspace.values());
+
+            // Test 1. No project is processed once the monitor is cancelled.
+            NullProgressMonitor monitor = new NullProgressMonitor();
+            monitor.setCanceled(true);
+            WorkspaceProjectsModel model = new WorkspaceProjectsModel();
+            List<IProject> unprocessed = model.createNewCompleteWorkspaceModel(projects, true, monitor);
+            Assertions.assertTrue(unprocessed.size() == projects.size() && unprocessed.containsAll(projects),
+                    "Unexpected unprocessed projects: " + unprocessed);
+            Assertions.assertTrue(model.getSortedDashboardProjectList().isEmpty(), "The cancelled model should be empty.");
+
+            // Test 2. Updating the model with the unprocessed projects completes it.
+            unprocessed = model.updateWorkspaceModel(unprocessed, true, new NullProgressMonitor());
+            Assertions.assertTrue(unprocessed.isEmpty(), "Unexpected unprocessed projects: " + unprocessed);
+            assertSameWorkspaceModel(workspace, model, "cancelled build");
+        } finally {
+            try (Stream<Path> paths = Files.walk(workspaceDir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * Creates a synthetic workspace on disk made of Maven multi-module projects and returns the mocked projects representing it.
+     * Every fourth module contains Liberty server configuration.
+     * 
+     * @param workspaceDir The workspace directory.
+     * @param parentCount The number of parent projects.
+     * @param modulesPerParent The number of modules in each parent project.
+     * 
+     * @return The mocked projects representing the synthetic workspace.
+     * 
+     * @throws Exception
+     */
+    private Map<String, IProject> createSyntheticWorkspace(Path workspaceDir, int parentCount, int modulesPerParent) throws Exception {
+        Map<String, IProject> workspace = new LinkedHashMap<String, IProject>();
+        for (int i = 0; i < parentCount; i++) {
+            Path parentDir = Files.createDirectories(workspaceDir.resolve("parent" + i));
+            Files.createFile(parentDir.resolve("pom.xml"));
+
+            List<Path> moduleDirs = new ArrayList<Path>();
+            for (int j = 0; j < modulesPerParent; j++) {
+                Path moduleDir = Files.createDirectories(parentDir.resolve("module" + j));
+                Files.createFile(moduleDir.resolve("pom.xml"));
+                if (j % 4 == 0) {
+                    Path configDir = Files.createDirectories(moduleDir.resolve("src/main/liberty/config"));
+                    Files.createFile(configDir.resolve("server.xml"));
+                }
+                moduleDirs.add(moduleDir);
+            }
+
+            workspace.put("parent" + i, mockDiskProject("parent" + i, parentDir, moduleDirs));
+            for (int j = 0; j < modulesPerParent; j++) {
+                String name = "parent" + i + "-module" + j;
+                workspace.put(name, mockDiskProject(name, moduleDirs.get(j), new ArrayList<Path>()));
+            }
+        }
+
+        return workspace;
+    }
+
+    /**
+     * Creates a mocked project whose file lookups are resolved on disk.
+     * 
+     * @param name The project name.
+     * @param projectDir The project directory.
+     * @param folderDirs The folders of the project.
+     * 
+     * @return A mocked project whose file lookups are resolved on disk.
+     * 
+     * @throws CoreException
+     */
+    private IProject mockDiskProject(String name, Path projectDir, List<Path> folderDirs) throws CoreException {
+        IProject iProject = mock(IProject.class);
+        IPath path = new org.eclipse.core.runtime.Path(projectDir.toString());
+
+        when(iProject.getName()).thenReturn(name);
+        when(iProject.getLocation()).thenReturn(path);
+        when(iProject.getRawLocation()).thenReturn(path);
+        when(iProject.isOpen()).thenReturn(true);
+        when(iProject.exists()).thenReturn(true);
+
+        // The build type is determined from the build files on disk. The Liberty nature is reported as present to avoid updates to
+        // the project description.
+        IProjectDescription description = mock(IProjectDescription.class);
+        when(description.hasNature(LibertyNature.NATURE_ID)).thenReturn(true);
+        when(description.getNatureIds()).thenReturn(new String[] { LibertyNature.NATURE_ID });
+        when(iProject.getDescription()).thenReturn(description);
+
+        for (String fileName : new String[] { "pom.xml", "build.gradle", ".project" }) {
+            IFile file = mockDiskFile(projectDir.resolve(fileName));
+            when(iProject.getFile(fileName)).thenReturn(file);
+        }
+
+        for (String configFile : new String[] { "server.xml", "bootstrap.properties", "server.env" }) {
+            String relativePath = "src/main/liberty/config/" + configFile;
+            IFile file = mockDiskFile(projectDir.resolve(relativePath));
+            when(iProject.getFile(new org.eclipse.core.runtime.Path(relativePath))).thenReturn(file);
+        }
+
+        List<IResource> folders = new ArrayList<IResource>();
+        for (Path folderDir : folderDirs) {
+            IFolder folder = mock(IFolder.class);
+            when(folder.getType()).thenReturn(IResource.FOLDER);
+            when(folder.getLocation()).thenReturn(new org.eclipse.core.runtime.Path(folderDir.toString()));
+            folders.add(folder);
+        }
+        IResource[] members = folders.toArray(new IResource[folders.size()]);
+        when(iProject.members()).thenReturn(members);
+
+        stubResourceWalk(iProject, name, () -> {
+            try (Stream<Path> paths = Files.walk(projectDir)) {
+                return paths.filter(Files::isRegularFile).map(path -> projectDir.relativize(path).toString())
+                        .collect(Collectors.toList());
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        return iProject;
+    }
+
+    /**
+     * Creates a mocked file whose existence is checked on disk.
+     * 
+     * @param filePath The path of the file on disk.
+     * 
+     * @return A mocked file whose existence is checked on disk.
+     */
+    private IFile mockDiskFile(Path filePath) {
+        IFile file = mock(IFile.class);
+        File diskFile = filePath.toFile();
+        when(file.exists()).thenAnswer(invocation -> diskFile.exists());
+        return file;
+    }
+
+    /**
+     * Tests that modules nested more than one directory below their parent project are linked to the parent project and that the
+     * default start parameters reference the module through the parent project's pom.xml.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testDeeplyNestedModules() throws Exception {
+        Map<String, IProject> workspace = new LinkedHashMap<String, IProject>();
+        Map<String, Boolean> openState = new LinkedHashMap<String, Boolean>();
+        mockWorkspaceProject(workspace, openState, "aggregator", "/ws/aggregator", Project.MAVEN_NATURE, false);
+        mockWorkspaceProject(workspace, openState, "server1", "/ws/aggregator/services/server1", Project.MAVEN_NATURE, true);
+        mockWorkspaceProject(workspace, openState, "lib1", "/ws/aggregator/services/lib1", Project.MAVEN_NATURE, false);
+        mockWorkspaceProject(workspace, openState, "ear", "/ws/aggregator/ear", Project.MAVEN_NATURE, false);
+
+        // Test 1. Modules two levels deep are children of the aggregator.
+        WorkspaceProjectsModel model = new WorkspaceProjectsModel();
+        model.createNewCompleteWorkspaceModel(new ArrayList<IProject>(workspace.values()), true);
+        String aggregator = describeProject(model.getProject("aggregator"));
+        Assertions.assertTrue(aggregator.contains("children: [ear, lib1, server1]") && aggregator.contains("parentOfServerModule: true"),
+                "The aggregator should have been the parent of all modules and of a server module. Found: " + aggregator);
+        String server1 = describeProject(model.getProject("server1"));
+        Assertions.assertTrue(server1.contains("parent: aggregator") && server1.contains("peers: [ear, lib1]"),
+                "Project server1 should have been a child of the aggregator with peers ear and lib1. Found: " + server1);
+
+        String parms = model.getDefaultStartParameters(workspace.get("server1"));
+        Assertions.assertTrue("-f ../../pom.xml -am -pl services/server1".equals(parms),
+                "The default start parameters for project server1 are not correct. Found: " + parms);
+
+        // Test 2. An intermediate project becomes the closest parent of the nested modules.
+        mockWorkspaceProject(workspace, openState, "services", "/ws/aggregator/services", Project.MAVEN_NATURE, false);
+        model.updateWorkspaceModel(Arrays.asList(workspace.get("services")), true);
+        assertSameWorkspaceModel(workspace, model, "intermediate project added");
+
+        server1 = describeProject(model.getProject("server1"));
+        Assertions.assertTrue(server1.contains("parent: services") && server1.contains("peers: [lib1]"),
+                "Project server1 should have been a child of project services with peer lib1. Found: " + server1);
+        parms = model.getDefaultStartParameters(workspace.get("server1"));
+        Assertions.assertTrue("-f ../pom.xml -am -pl server1".equals(parms),
+                "The default start parameters for project server1 are not correct. Found: " + parms);
+
+        // Test 3. The nested modules move back to the aggregator when the intermediate project is closed.
+        openState.put("services", false);
+        model.updateWorkspaceModel(Arrays.asList(workspace.get("services")), true);
+        assertSameWorkspaceModel(workspace, model, "intermediate project closed");
+    }
+
+    /**
+     * Tests that the workspace project model restored from a saved snapshot is the same as the saved model, and that only the
+     * projects that are not in the snapshot are returned for processing.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testWorkspaceModelSnapshot() throws Exception {
+        Map<String, IProject> workspace = new LinkedHashMap<String, IProject>();
+        Map<String, Boolean> openState = new LinkedHashMap<String, Boolean>();
+        mockWorkspaceProject(workspace, openState, "parent", "/ws/parent", Project.MAVEN_NATURE, false);
+        mockWorkspaceProject(workspace, openState, "server1", "/ws/parent/server1", Project.MAVEN_NATURE, true);
+        mockWorkspaceProject(workspace, openState, "lib1", "/ws/parent/lib1", Project.MAVEN_NATURE, false);
+
+        WorkspaceProjectsModel savedModel = new WorkspaceProjectsModel();
+        savedModel.createNewCompleteWorkspaceModel(new ArrayList<IProject>(workspace.values()), true);
+        File snapshotFile = new File(tempDir, WorkspaceModelSnapshot.SNAPSHOT_FILE_NAME);
+        WorkspaceModelSnapshot.save(savedModel.getProjects(), snapshotFile);
+
+        // Test 1. The restored model is the same as the saved model.
+        List<WorkspaceModelSnapshot.ProjectEntry> entries = WorkspaceModelSnapshot.load(snapshotFile);
+        Assertions.assertTrue(entries != null && entries.size() == 3,
+                "The snapshot should have contained 3 entries. Found: " + (entries == null ? null : entries.size()));
+
+        WorkspaceProjectsModel restoredModel = new WorkspaceProjectsModel();
+        List<IProject> projectsToUpdate = restoredModel.restoreWorkspaceModel(entries, new ArrayList<IProject>(workspace.values()));
+        Assertions.assertTrue(projectsToUpdate.isEmpty(), "No projects should have required processing. Found: " + projectsToUpdate);
+        Assertions.assertTrue(restoredModel.getStaleProjects().isEmpty(),
+                "No projects should have been stale. Found: " + restoredModel.getStaleProjects());
+        assertSameWorkspaceModel(workspace, restoredModel, "restored snapshot");
+
+        // Test 2. Only the project added after the snapshot was saved requires processing.
+        mockWorkspaceProject(workspace, openState, "server2", "/ws/parent/server2", Project.MAVEN_NATURE, true);
+        restoredModel = new WorkspaceProjectsModel();
+        projectsToUpdate = restoredModel.restoreWorkspaceModel(entries, new ArrayList<IProject>(workspace.values()));
+        Assertions.assertTrue(projectsToUpdate.size() == 1 && projectsToUpdate.get(0) == workspace.get("server2"),
+                "Only project server2 should have required processing. Found: " + projectsToUpdate);
+        restoredModel.updateWorkspaceModel(projectsToUpdate, true);
+        assertSameWorkspaceModel(workspace, restoredModel, "restored snapshot with added project");
+
+        // Test 3. The parent of a project deleted after the snapshot was saved requires processing.
+        workspace.remove("lib1");
+        restoredModel = new WorkspaceProjectsModel();
+        projectsToUpdate = restoredModel.restoreWorkspaceModel(entries, new ArrayList<IProject>(workspace.values()));
+        Assertions.assertTrue(projectsToUpdate.contains(workspace.get("parent")),
+                "Project parent should have required processing. Found: " + projectsToUpdate);
+        restoredModel.updateWorkspaceModel(projectsToUpdate, true);
+        assertSameWorkspaceModel(workspace, restoredModel, "restored snapshot with deleted project");
+    }
+
+    /**
+     * Tests that the project's natures and build type are read from the project's description once and read again after the cached
+     * metadata is invalidated.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testProjectMetadataCache() throws Exception {
+        IProject iProject = mock(IProject.class);
+        when(iProject.getName()).thenReturn("cachedProject");
+        IProjectDescription mavenDescription = mock(IProjectDescription.class);
+        when(mavenDescription.getNatureIds()).thenReturn(new String[] { Project.MAVEN_NATURE, Project.JAVA_NATURE_ID });
+        IProjectDescription gradleDescription = mock(IProjectDescription.class);
+        when(gradleDescription.getNatureIds())
+                .thenReturn(new String[] { Project.GRADLE_NATURE, Project.JAVA_NATURE_ID, LibertyNature.NATURE_ID });
+        when(iProject.getDescription()).thenReturn(mavenDescription, gradleDescription);
+        when(iProject.getFile(anyString())).thenReturn(mock(IFile.class));
+
+        // Test 1. Repeated lookups use the cached metadata.
+        Project project = new Project(iProject);
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertTrue(project.getBuildType() == Project.BuildType.MAVEN,
+                    "The build type should have been MAVEN. Found: " + project.getBuildType());
+            Assertions.assertTrue(project.isJavaProject(), "The project should have been identified as a Java project.");
+            Assertions.assertTrue(!project.hasLibertyNature(), "The project should not have had the Liberty nature.");
+        }
+        verify(iProject, times(1)).getDescription();
+
+        // Test 2. The metadata is read again after it is invalidated.
+        project.invalidateMetadataCache();
+        Assertions.assertTrue(project.getBuildType() == Project.BuildType.GRADLE,
+                "The build type should have been GRADLE. Found: " + project.getBuildType());
+        Assertions.assertTrue(project.hasLibertyNature(), "The project should have had the Liberty nature.");
+        verify(iProject, times(2)).getDescription();
+    }
+
+    /**
+     * Tests that Liberty server configuration is detected in the locations configured through the Liberty Maven and Gradle plugins, and
+     * that the cached detection results are used until they are invalidated.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testServerConfigDetection() throws Exception {
+        ServerConfigDetector detector = new ServerConfigDetector();
+        Path workspaceDir = Files.createTempDirectory("configWorkspace");
+        try {
+            // Test 1. Maven project with a non-default server.xml file.
+            Path mavenDir = Files.createDirectories(workspaceDir.resolve("mavenApp"));
+            Files.writeString(mavenDir.resolve("pom.xml"),
+                    "<project><build><plugins><plugin><groupId>io.openliberty.tools</groupId>"
+                            + "<artifactId>liberty-maven-plugin</artifactId><configuration>"
+                            + "<serverXmlFile>src/main/liberty/config/my.xml</serverXmlFile>"
+                            + "</configuration></plugin></plugins></build></project>");
+            Files.createDirectories(mavenDir.resolve("src/main/liberty/config"));
+            Files.createFile(mavenDir.resolve("src/main/liberty/config/my.xml"));
+            IProject mavenProject = mockDiskProject("mavenApp", mavenDir, new ArrayList<Path>());
+            Assertions.assertTrue(detector.isServerModule(mavenProject),
+                    "Project mavenApp should have been a server module. Locations: " + detector.getConfigLocations(mavenProject));
+
+            // Test 2. Gradle project with a non-default configuration directory.
+            Path gradleDir = Files.createDirectories(workspaceDir.resolve("gradleApp"));
+            Files.writeString(gradleDir.resolve("build.gradle"),
+                    "liberty {\n    server {\n        configDirectory = file('src/main/liberty/myConfig')\n    }\n}\n");
+            Files.createDirectories(gradleDir.resolve("src/main/liberty/myConfig"));
+            Files.createFile(gradleDir.resolve("src/main/liberty/myConfig/bootstrap.properties"));
+            IProject gradleProject = mockDiskProject("gradleApp", gradleDir, new ArrayList<Path>());
+            Assertions.assertTrue(detector.isServerModule(gradleProject),
+                    "Project gradleApp should have been a server module. Locations: " + detector.getConfigLocations(gradleProject));
+
+            // Test 3. Configuration in the default directory is ignored if a different configuration directory is configured.
+            Path otherDir = Files.createDirectories(workspaceDir.resolve("otherApp"));
+            Files.writeString(otherDir.resolve("build.gradle"), "liberty { server { configDirectory = file('config') } }");
+            Files.createDirectories(otherDir.resolve("src/main/liberty/config"));
+            Files.createFile(otherDir.resolve("src/main/liberty/config/server.xml"));
+            IProject otherProject = mockDiskProject("otherApp", otherDir, new ArrayList<Path>());
+            Assertions.assertTrue(!detector.isServerModule(otherProject),
+                    "Project otherApp should not have been a server module. Locations: " + detector.getConfigLocations(otherProject));
+
+            // Test 4. The cached result is used until it is invalidated.
+            Files.createDirectories(otherDir.resolve("config"));
+            Files.createFile(otherDir.resolve("config/server.env"));
+            Assertions.assertTrue(!detector.isServerModule(otherProject), "The cached result should have been used.");
+            detector.invalidate(otherProject);
+            Assertions.assertTrue(detector.isServerModule(otherProject),
+                    "Project otherApp should have been detected as a server module after the cached result was invalidated.");
+        } finally {
+            try (Stream<Path> paths = Files.walk(workspaceDir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * Tests that the resolved Maven executable is reused until the project's resolution is invalidated, and that a cached executable
+     * that no longer exists is resolved again.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testCommandResolutionCache() throws Exception {
+        Path workspaceDir = Files.createTempDirectory("commandWorkspace");
+        try {
+            boolean windows = Utils.isWindows();
+            Path binDir = Files.createDirectories(workspaceDir.resolve("maven").resolve("bin"));
+            Files.createFile(binDir.resolve(windows ? "mvn.cmd" : "mvn"));
+            String pathEnv = binDir.toString();
+
+            Path projectDir = Files.createDirectories(workspaceDir.resolve("wrapperApp"));
+            Path mvnw = Files.createFile(projectDir.resolve(windows ? "mvnw.cmd" : "mvnw"));
+            Path wrapperDir = Files.createDirectories(projectDir.resolve(".mvn").resolve("wrapper"));
+            Path wrapperJar = Files.createFile(wrapperDir.resolve("maven-wrapper.jar"));
+            Files.createFile(wrapperDir.resolve("maven-wrapper.properties"));
+            String projectPath = projectDir.toString();
+
+            // Test 1. The wrapper is resolved.
+            String cmd = CommandBuilder.getMavenCommandLine(projectPath, "liberty:dev", pathEnv, false);
+            Assertions.assertTrue(cmd.startsWith(mvnw.toString()), "The wrapper should have been resolved. Command: " + cmd);
+
+            // Test 2. The resolved wrapper is reused.
+            Files.delete(wrapperJar);
+            cmd = CommandBuilder.getMavenCommandLine(projectPath, "liberty:dev", pathEnv, false);
+            Assertions.assertTrue(cmd.startsWith(mvnw.toString()), "The cached wrapper should have been used. Command: " + cmd);
+
+            // Test 3. The wrapper is no longer used once the project's resolution is invalidated.
+            CommandBuilder.invalidate(projectPath);
+            cmd = CommandBuilder.getMavenCommandLine(projectPath, "liberty:dev", pathEnv, false);
+            Assertions.assertTrue(!cmd.startsWith(mvnw.toString()), "The wrapper should not have been used. Command: " + cmd);
+
+            // Test 4. A cached executable that was deleted is resolved again.
+            Files.createFile(wrapperJar);
+            CommandBuilder.getMavenCommandLine(projectPath, "liberty:dev", pathEnv, false);
+            Files.delete(wrapperJar);
+            Files.delete(mvnw);
+            cmd = CommandBuilder.getMavenCommandLine(projectPath, "liberty:dev", pathEnv, false);
+            Assertions.assertTrue(!cmd.startsWith(mvnw.toString()), "The deleted wrapper should not have been used. Command: " + cmd);
+
+            // Test 5. A wrapper added to the project is found once the cached lookup that found no wrapper is invalidated.
+            Files.createFile(mvnw);
+            Files.createFile(wrapperJar);
+            cmd = CommandBuilder.getMavenCommandLine(projectPath, "liberty:dev", pathEnv, false);
+            Assertions.assertTrue(!cmd.startsWith(mvnw.toString()), "The cached wrapper lookup should have been used. Command: " + cmd);
+            CommandBuilder.invalidate(projectPath);
+            cmd = CommandBuilder.getMavenCommandLine(projectPath, "liberty:dev", pathEnv, false);
+            Assertions.assertTrue(cmd.startsWith(mvnw.toString()), "The added wrapper should have been resolved. Command: " + cmd);
+        } finally {
+            CommandBuilder.clearCache();
+            try (Stream<Path> paths = Files.walk(workspaceDir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * Tests that the Maven command is returned as an argument list that preserves paths containing spaces.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testMavenCommandArgumentList() throws Exception {
+        Path workspaceDir = Files.createTempDirectory("command workspace");
+        try {
+            Path projectDir = Files.createDirectories(workspaceDir.resolve("my app"));
+            Path mvnw = Files.createFile(projectDir.resolve(Utils.isWindows() ? "mvnw.cmd" : "mvnw"));
+            Path wrapperDir = Files.createDirectories(projectDir.resolve(".mvn").resolve("wrapper"));
+            Files.createFile(wrapperDir.resolve("maven-wrapper.jar"));
+            Files.createFile(wrapperDir.resolve("maven-wrapper.properties"));
+
+            String goal = "io.openliberty.tools:liberty-maven-plugin:stop";
+            List<String> cmd = CommandBuilder.getMavenCommand(projectDir.toString(), null, goal);
+            Assertions.assertTrue(cmd.equals(List.of(mvnw.toString(), goal)),
+                    "Unexpected command: " + cmd);
+        } finally {
+            CommandBuilder.clearCache();
+            try (Stream<Path> paths = Files.walk(workspaceDir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * Tests that the Gradle installation used by the Tooling API is found from the gradle command, through links and launcher
+     * scripts, and that no installation is returned for a command outside of a Gradle installation.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testGradleHomeResolution() throws Exception {
+        Path rootDir = Files.createTempDirectory("gradleHome");
+        try {
+            // Test 1. A command in the bin directory of an installation.
+            Path home = Files.createDirectories(rootDir.resolve("share").resolve("gradle-8.5"));
+            Files.createDirectories(home.resolve("lib"));
+            Files.createFile(home.resolve("lib").resolve("gradle-launcher-8.5.jar"));
+            Path gradle = Files.createFile(Files.createDirectories(home.resolve("bin")).resolve("gradle"));
+            Assertions.assertTrue(home.toFile().getCanonicalFile().equals(GradleLaunchEngine.getGradleHome(gradle)),
+                    "Unexpected Gradle home: " + GradleLaunchEngine.getGradleHome(gradle));
+
+            // Test 2. A launcher script next to the libexec directory holding the installation.
+            Path cellar = Files.createDirectories(rootDir.resolve("Cellar").resolve("gradle").resolve("8.5"));
+            Path libexec = Files.createDirectories(cellar.resolve("libexec").resolve("lib"));
+            Files.createFile(libexec.resolve("gradle-launcher-8.5.jar"));
+            Path script = Files.createFile(Files.createDirectories(cellar.resolve("bin")).resolve("gradle"));
+            Assertions.assertTrue(cellar.resolve("libexec").toFile().getCanonicalFile().equals(GradleLaunchEngine.getGradleHome(script)),
+                    "Unexpected Gradle home: " + GradleLaunchEngine.getGradleHome(script));
+
+            // Test 3. A command outside of an installation.
+            Path usrBin = Files.createDirectories(rootDir.resolve("usr").resolve("bin"));
+            Path other = Files.createFile(usrBin.resolve("other"));
+            Assertions.assertTrue(GradleLaunchEngine.getGradleHome(other) == null, "No Gradle home should be found.");
+
+            // Test 4. A link to the command of an installation.
+            if (!Utils.isWindows()) {
+                Path link = Files.createSymbolicLink(usrBin.resolve("gradle"), gradle);
+                Assertions.assertTrue(home.toFile().getCanonicalFile().equals(GradleLaunchEngine.getGradleHome(link)),
+                        "Unexpected Gradle home: " + GradleLaunchEngine.getGradleHome(link));
+            }
+        } finally {
+            try (Stream<Path> paths = Files.walk(rootDir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * Tests that the dev mode parameters of a Gradle launch are split into the arguments of the Tooling API build.
+     */
+    @Test
+    public void testGradleDevModeArguments() {
+        // Test 1. No parameters.
+        Assertions.assertTrue(DevModeOperations.getGradleArguments("").isEmpty(), "No arguments expected.");
+
+        // Test 2. Parameters separated by white space.
+        List<String> args = DevModeOperations.getGradleArguments(" --hotTests  --libertyDebugPort=7777\t-Pverbose ");
+        Assertions.assertTrue(args.equals(List.of("--hotTests", "--libertyDebugPort=7777", "-Pverbose")), "Unexpected arguments: " + args);
+
+        // Test 3. Quoted values keep their white space and lose their quotes.
+        args = DevModeOperations.getGradleArguments("-PserverDir=\"/my dir/server\" \"\" --skipTests");
+        Assertions.assertTrue(args.equals(List.of("-PserverDir=/my dir/server", "", "--skipTests")), "Unexpected arguments: " + args);
+    }
+
+    /**
+     * Tests that the ring buffer keeps the most recent output, and that a stop command process is drained and completes with its exit
+     * code.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testStopCommandOutputCapture() throws Exception {
+        // Test 1. Output that fits in the buffer is kept.
+        RingBufferOutputStream buffer = new RingBufferOutputStream(8);
+        buffer.write("abc".getBytes());
+        Assertions.assertTrue(buffer.toString().equals("abc"), "Unexpected buffer content: " + buffer);
+
+        // Test 2. Older output is overwritten.
+        buffer.write("defghij".getBytes());
+        buffer.write('k');
+        Assertions.assertTrue(new String(buffer.toByteArray()).equals("defghijk"),
+                "Unexpected buffer content: " + new String(buffer.toByteArray()));
+        Assertions.assertTrue(buffer.getCount() == 11, "Unexpected byte count: " + buffer.getCount());
+        Assertions.assertTrue(buffer.toString().contains("3 bytes of output truncated"), "Expected a truncation notice: " + buffer);
+
+        // Test 3. A write larger than the buffer keeps its last bytes.
+        buffer.write("0123456789".getBytes(), 0, 10);
+        Assertions.assertTrue(new String(buffer.toByteArray()).equals("23456789"),
+                "Unexpected buffer content: " + new String(buffer.toByteArray()));
+
+        // Test 4. The process output is drained and the exit code is returned.
+        String java = ProcessHandle.current().info().command().orElse("java");
+        ProcessBuilder pb = new ProcessBuilder(java, "-version").redirectErrorStream(true);
+        RingBufferOutputStream output = new RingBufferOutputStream(StopCommandJob.OUTPUT_BUFFER_SIZE);
+        int exitCode = StopCommandJob.launchProcess(pb, output).get(60, TimeUnit.SECONDS);
+        Assertions.assertTrue(exitCode == 0, "Unexpected exit code: " + exitCode + ". Output: " + output);
+        Assertions.assertTrue(output.toString().contains("version"), "Unexpected output: " + output);
+    }
+
+    /**
+     * Tests that projects launched together in debug mode are handed different debug ports of the configured range.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testConcurrentRandomDebugPorts() throws Exception {
+        int launchCount = 20;
+        int firstPort = 47000;
+        int lastPort = 47039;
+        DebugPortAllocator allocator = new DebugPortAllocator();
+        ExecutorService executor = Executors.newFixedThreadPool(launchCount);
+        try {
+            List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+            for (int i = 0; i < launchCount; i++) {
+                String projectName = "app" + i;
+                results.add(executor.submit(() -> allocator.allocate(projectName, firstPort, lastPort)));
+            }
+
+            Set<Integer> ports = new TreeSet<Integer>();
+            for (Future<Integer> result : results) {
+                ports.add(result.get(60, TimeUnit.SECONDS));
+            }
+            Assertions.assertTrue(ports.size() == launchCount, "The same debug port was handed out more than once: " + ports);
+            for (int port : ports) {
+                Assertions.assertTrue(port >= firstPort && port <= lastPort, "Debug port " + port + " is outside the range: " + ports);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that a port chosen by the system is handed out once every port of the configured range is held, that the range is used
+     * again once one of its ports is released, and that the preferred port of a project is handed out first.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testDebugPortRangeExhaustion() throws Exception {
+        List<Integer> systemPorts = new ArrayList<Integer>();
+        DebugPortAllocator allocator = new DebugPortAllocator() {
+            @Override
+            protected boolean isFree(int port) {
+                return true;
+            }
+
+            @Override
+            protected int getSystemPort() {
+                int port = 50000 + systemPorts.size();
+                systemPorts.add(port);
+                return port;
+            }
+        };
+
+        // Test 1. The ports of the range are handed out first.
+        int port1 = allocator.allocate("app1", 47100, 47101);
+        int port2 = allocator.allocate("app2", 47100, 47101);
+        Assertions.assertTrue(port1 != port2 && port1 >= 47100 && port1 <= 47101 && port2 >= 47100 && port2 <= 47101,
+                "Unexpected ports: " + port1 + ", " + port2);
+        Assertions.assertTrue(systemPorts.isEmpty(), "A system port was used while the range had free ports: " + systemPorts);
+
+        // Test 2. Once the range is exhausted, a port chosen by the system is handed out and held.
+        int port3 = allocator.allocate("app3", 47100, 47101);
+        Assertions.assertTrue(systemPorts.equals(Arrays.asList(port3)), "Unexpected fallback port: " + port3 + ". " + systemPorts);
+        Assertions.assertTrue("app3".equals(allocator.getHolder(port3)), "The fallback port is not held: " + allocator);
+
+        // Test 3. A released port of the range is handed out again instead of a system port.
+        allocator.release("app1");
+        int port4 = allocator.allocate("app4", 47100, 47101);
+        Assertions.assertTrue(port4 == port1 && systemPorts.size() == 1, "Unexpected port: " + port4 + ". " + systemPorts);
+
+        // Test 4. A project that held no port is handed the preferred port, such as the one recorded in its server.env file. A project
+        // that held a port gets it back instead.
+        int port5 = allocator.allocate("app5", 47200, 47209, 47205);
+        Assertions.assertTrue(port5 == 47205, "The preferred port was not handed out: " + port5);
+        allocator.release("app5");
+        int port6 = allocator.allocate("app5", 47200, 47209, 47207);
+        Assertions.assertTrue(port6 == 47205, "The last port of the project was not handed out again: " + port6);
+    }
+
+    /**
+     * Tests that the upstream modules shared by several aggregated server modules are planned to be built once, before the server
+     * modules are started.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testLaunchPlanner() throws Exception {
+        Map<String, IProject> workspace = new LinkedHashMap<String, IProject>();
+        Map<String, Boolean> openState = new LinkedHashMap<String, Boolean>();
+        Map<String, Project> projects = new LinkedHashMap<String, Project>();
+        String[][] layout = { { "parent", "/ws/parent" }, { "model", "/ws/parent/shared/model" }, { "util", "/ws/parent/shared/util" },
+                { "lib3", "/ws/parent/lib3" }, { "server1", "/ws/parent/server1" }, { "server2", "/ws/parent/server2" },
+                { "server3", "/ws/parent/server3" } };
+        for (String[] entry : layout) {
+            IProject iProject = mockWorkspaceProject(workspace, openState, entry[0], entry[1], Project.MAVEN_NATURE, false);
+            workspace.put(entry[0], iProject);
+            Project project = new Project(iProject);
+            if (!entry[0].equals("parent")) {
+                project.setParentDirProject(projects.get("parent"));
+            }
+            projects.put(entry[0], project);
+        }
+
+        Map<String, List<String>> dependencies = new LinkedHashMap<String, List<String>>();
+        dependencies.put("server1", Arrays.asList("model"));
+        dependencies.put("server2", Arrays.asList("model"));
+        dependencies.put("server3", Arrays.asList("lib3"));
+        dependencies.put("model", Arrays.asList("util"));
+        LaunchPlanner planner = new LaunchPlanner(project -> dependencies.getOrDefault(project.getName(), new ArrayList<String>())
+                .stream().map(projects::get).collect(Collectors.toList()));
+
+        // Test 1. The modules shared by server1 and server2 are built once. The module only used by server3 is left to dev mode.
+        LaunchPlan plan = planner.plan(Arrays.asList(projects.get("server1"), projects.get("server2"), projects.get("server3")));
+        Assertions.assertTrue(plan.getPrebuildSteps().size() == 1, "Unexpected prebuild steps: " + plan.getPrebuildSteps());
+        PrebuildStep step = plan.getPrebuildSteps().get(0);
+        Assertions.assertTrue(step.getAggregator() == projects.get("parent"), "Unexpected aggregator: " + step.getAggregator());
+        String args = String.join(" ", step.getBuildArgs());
+        Assertions.assertTrue(args.contains("-am -pl shared/model,shared/util"), "Unexpected build arguments: " + args);
+
+        // Test 2. A single module of an aggregator needs no prebuild step.
+        plan = planner.plan(Arrays.asList(projects.get("server1"), projects.get("server3")));
+        Assertions.assertTrue(plan.getPrebuildSteps().isEmpty(), "No prebuild steps were expected: " + plan.getPrebuildSteps());
+    }
+
+    /**
+     * Tests that the dev mode start phases are detected from the terminal output, even when messages are split across writes, and
+     * that the recorded timings can be exported.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testDevModeReadinessTracking() throws Exception {
+        List<ProjectTab.State> states = new ArrayList<ProjectTab.State>();
+        StartLatencyHistory history = new StartLatencyHistory();
+        DevModeReadinessTracker tracker = new DevModeReadinessTracker("readyApp", states::add, history::record);
+
+        String output = "[INFO] Building readyApp\r\n[INFO] Launching defaultServer\n"
+                + "[INFO] [AUDIT   ] CWWKE0001I: The server defaultServer has been launched.\n"
+                + "[INFO] [AUDIT   ] CWWKZ0001I: Application readyApp started in 1.2 seconds.\n"
+                + "[INFO] [AUDIT   ] CWWKF0011I: The defaultServer server is ready to run a smarter planet.\n"
+                + "[INFO] \u001B[1mLiberty is running in dev mode.\u001B[0m\n"
+                + "[INFO] CWWKE0001I: The server defaultServer has been launched.\n";
+        byte[] bytes = output.getBytes(StandardCharsets.UTF_8);
+
+        // Test 1. Write the output in small chunks that split the messages.
+        for (int i = 0; i < bytes.length; i += 7) {
+            tracker.write(bytes, i, Math.min(7, bytes.length - i));
+        }
+        Assertions.assertTrue(tracker.isDone(), "Dev mode should have been detected as running.");
+        Assertions.assertTrue(states.equals(Arrays.asList(ProjectTab.State.SERVER_STARTING, ProjectTab.State.READY)),
+                "Unexpected states: " + states);
+
+        // Test 2. The timings were recorded once, in phase order.
+        List<StartLatencyHistory.Entry> entries = history.getEntries("readyApp");
+        Assertions.assertTrue(entries.size() == 1, "Unexpected entries: " + entries);
+        StartLatencyHistory.Entry entry = entries.get(0);
+        Assertions.assertTrue(entry.getServerLaunchedMs() >= 0 && entry.getAppStartedMs() >= entry.getServerLaunchedMs()
+                && entry.getServerReadyMs() >= entry.getAppStartedMs() && entry.getReadyMs() >= entry.getServerReadyMs(),
+                "Unexpected timings: " + entry);
+
+        // Test 3. The timings are exported as CSV.
+        StringWriter csv = new StringWriter();
+        history.exportCsv(csv);
+        String[] lines = csv.toString().split(System.lineSeparator());
+        Assertions.assertTrue(lines.length == 2 && lines[0].startsWith("project,") && lines[1].startsWith("readyApp,"),
+                "Unexpected CSV: " + csv);
+    }
+
+    /**
+     * Tests that the hot reload cycles are measured from the file saves to the dev mode update messages.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testHotReloadTracking() throws Exception {
+        HotReloadStatistics stats = new HotReloadStatistics();
+        HotReloadTracker tracker = new HotReloadTracker("reloadApp", stats::record);
+        long now = System.nanoTime();
+
+        // Test 1. Update messages without a pending save are ignored.
+        byte[] updated = "[INFO] [AUDIT   ] CWWKZ0003I: The application reloadApp updated in 0.3 seconds.\n"
+                .getBytes(StandardCharsets.UTF_8);
+        tracker.write(updated);
+        Assertions.assertTrue(stats.getSamples("reloadApp").isEmpty(), "Unexpected samples: " + stats.getSamples("reloadApp"));
+
+        // Test 2. Two saves followed by a compilation and an update are recorded as two successful cycles.
+        tracker.fileSaved(now - TimeUnit.MILLISECONDS.toNanos(1500));
+        tracker.fileSaved(now - TimeUnit.MILLISECONDS.toNanos(300));
+        tracker.write("[INFO] Source compilation was successful.\r\n".getBytes(StandardCharsets.UTF_8));
+        tracker.write(updated);
+        List<HotReloadStatistics.Sample> samples = stats.getSamples("reloadApp");
+        Assertions.assertTrue(samples.size() == 2 && tracker.getPendingSaveCount() == 0, "Unexpected samples: " + samples);
+        Assertions.assertTrue(samples.get(0).getLatencyMs() >= 1500 && samples.get(1).getLatencyMs() >= 300
+                && samples.get(1).getLatencyMs() < 1500 && samples.get(1).getCompileMs() >= 300
+                && samples.get(1).getOutcome() == HotReloadStatistics.Outcome.AVAILABLE, "Unexpected samples: " + samples);
+
+        // Test 3. A compilation failure ends the cycle.
+        tracker.fileSaved(System.nanoTime());
+        tracker.write("[ERROR] Source compilation had errors.\n".getBytes(StandardCharsets.UTF_8));
+        samples = stats.getSamples("reloadApp");
+        Assertions.assertTrue(samples.size() == 3 && samples.get(2).getOutcome() == HotReloadStatistics.Outcome.FAILED,
+                "Unexpected samples: " + samples);
+
+        // Test 4. A save that did not lead to an update within the timeout is discarded.
+        tracker.fileSaved(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(HotReloadTracker.PENDING_SAVE_TIMEOUT_MS + 1000));
+        tracker.write("[INFO] [AUDIT   ] CWWKG0017I: The server configuration was successfully updated in 0.2 seconds.\n"
+                .getBytes(StandardCharsets.UTF_8));
+        Assertions.assertTrue(stats.getSamples("reloadApp").size() == 3, "Unexpected samples: " + stats.getSamples("reloadApp"));
+
+        // Test 5. Only the successful cycles are counted in the histogram and percentiles.
+        int[] histogram = stats.getHistogram("reloadApp");
+        Assertions.assertTrue(Arrays.stream(histogram).sum() == 2 && histogram[histogram.length - 1] == 0,
+                "Unexpected histogram: " + Arrays.toString(histogram));
+        Assertions.assertTrue(stats.getPercentile("reloadApp", 90) == samples.get(0).getLatencyMs(),
+                "Unexpected p90: " + stats.getPercentile("reloadApp", 90));
+
+        // Test 6. The cycles are exported as CSV and JSON.
+        StringWriter csv = new StringWriter();
+        stats.exportCsv(csv);
+        String[] lines = csv.toString().split(System.lineSeparator());
+        Assertions.assertTrue(lines.length == 4 && lines[0].startsWith("project,") && lines[3].endsWith(",FAILED"),
+                "Unexpected CSV: " + csv);
+        StringWriter json = new StringWriter();
+        stats.exportJson(json);
+        Assertions.assertTrue(json.toString().startsWith("{\"projects\":[{\"name\":\"reloadApp\",\"updates\":2,\"failed\":1,"),
+                "Unexpected JSON: " + json);
+    }
+
+    /**
+     * Tests that the JUnit XML test results are parsed and indexed incrementally.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testTestResultsIndex() throws Exception {
+        Path projectDir = Files.createTempDirectory("resultsApp");
+        try {
+            Path surefireDir = Files.createDirectories(projectDir.resolve("target").resolve("surefire-reports"));
+            Path failsafeDir = Files.createDirectories(projectDir.resolve("target").resolve("failsafe-reports"));
+            Path unitResults = surefireDir.resolve("TEST-com.demo.ModelTest.xml");
+            Files.write(unitResults, ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                    + "<testsuite name=\"com.demo.ModelTest\" tests=\"3\" failures=\"1\" skipped=\"1\">"
+                    + "<testcase name=\"testGet\" classname=\"com.demo.ModelTest\" time=\"0.25\"/>"
+                    + "<testcase name=\"testPut\" classname=\"com.demo.ModelTest\" time=\"1,200.5\">"
+                    + "<failure type=\"java.lang.AssertionError\">expected 1\n\tat com.demo.ModelTest.testPut</failure>"
+                    + "<rerunFailure message=\"rerun\"/><system-out>output</system-out></testcase>"
+                    + "<testcase name=\"testDelete\" classname=\"com.demo.ModelTest\" time=\"0\"><skipped/></testcase>"
+                    + "</testsuite>").getBytes(StandardCharsets.UTF_8));
+            Files.write(failsafeDir.resolve("TEST-com.demo.HealthIT.xml"), ("<testsuite name=\"com.demo.HealthIT\">"
+                    + "<testcase name=\"testReady\" classname=\"com.demo.HealthIT\" time=\"2.0\">"
+                    + "<flakyFailure message=\"timeout\"/></testcase></testsuite>").getBytes(StandardCharsets.UTF_8));
+            Files.write(failsafeDir.resolve("failsafe-summary.xml"), "<failsafe-summary/>".getBytes(StandardCharsets.UTF_8));
+
+            TestResultsIndex index = new TestResultsIndex();
+            List<String> notifications = new ArrayList<String>();
+            index.addListener((projectName, changedFiles) -> notifications
+                    .add(projectName + ":" + changedFiles.stream().mapToInt(file -> file.getResults().size()).sum()));
+
+            // Test 1. The result files of both plugins are read. Flaky failures are passes, and the first failure is kept.
+            TestResultsIndex.ProjectResults results = index.refresh("resultsApp", projectDir.toString(), Project.BuildType.MAVEN);
+            Map<String, TestResultsIndex.TestResult> byId = results.getResults().stream()
+                    .collect(Collectors.toMap(TestResultsIndex.TestResult::getId, r -> r));
+            Assertions.assertTrue(byId.size() == 4 && results.getCount(TestResultsIndex.Outcome.PASSED) == 2
+                    && results.getCount(TestResultsIndex.Outcome.FAILED) == 1 && results.getCount(TestResultsIndex.Outcome.SKIPPED) == 1,
+                    "Unexpected results: " + results);
+            TestResultsIndex.TestResult failed = byId.get("com.demo.ModelTest#testPut");
+            Assertions.assertTrue(failed.getDurationMs() == 1200500 && "expected 1".equals(failed.getMessage()),
+                    "Unexpected failure: " + failed + ", message: " + failed.getMessage());
+            Assertions.assertTrue(results.getTotalDurationMs() == 1202750, "Unexpected total duration: " + results.getTotalDurationMs());
+            Assertions.assertTrue(notifications.equals(Arrays.asList("resultsApp:4")), "Unexpected notifications: " + notifications);
+
+            // Test 2. Unmodified files are not read again.
+            index.refresh("resultsApp", projectDir.toString(), Project.BuildType.MAVEN);
+            Assertions.assertTrue(notifications.size() == 1, "Unexpected notifications: " + notifications);
+
+            // Test 3. Only the modified file is read again.
+            Files.write(unitResults, ("<testsuite><testcase name=\"testGet\" classname=\"com.demo.ModelTest\" time=\"0.1\"/>"
+                    + "</testsuite>").getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(unitResults, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+            index.update("resultsApp", Arrays.asList(unitResults));
+            results = index.getResults("resultsApp");
+            Assertions.assertTrue(results.getResults().size() == 2 && results.getCount(TestResultsIndex.Outcome.FAILED) == 0,
+                    "Unexpected results: " + results);
+            Assertions.assertTrue(notifications.get(1).equals("resultsApp:1"), "Unexpected notifications: " + notifications);
+
+            // Test 4. The results of deleted files are dropped.
+            Files.delete(unitResults);
+            results = index.refresh("resultsApp", projectDir.toString(), Project.BuildType.MAVEN);
+            Assertions.assertTrue(results.getResults().size() == 1 && notifications.get(2).equals("resultsApp:0"),
+                    "Unexpected results: " + results + ". Notifications: " + notifications);
+        } finally {
+            try (Stream<Path> paths = Files.walk(projectDir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * Tests that the test history is recorded, persisted, and used to find the slowest, regressed and flaky tests.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testTestHistory() throws Exception {
+        Path storeDir = Files.createTempDirectory("testHistory");
+        try {
+            TestHistory history = new TestHistory(storeDir);
+            long[] fastDurations = { 100, 110, 90, 100, 400 };
+            boolean[] flakyFailures = { false, true, false, true, false };
+            for (int run = 0; run < fastDurations.length; run++) {
+                history.resultsChanged("historyApp", resultFile(1000 + run,
+                        new TestResultsIndex.TestResult("com.demo.ModelTest", "testGet", TestResultsIndex.Outcome.PASSED,
+                                fastDurations[run], null),
+                        new TestResultsIndex.TestResult("com.demo.ModelTest", "testPut",
+                                flakyFailures[run] ? TestResultsIndex.Outcome.FAILED : TestResultsIndex.Outcome.PASSED, 50, null),
+                        new TestResultsIndex.TestResult("com.demo.HealthIT", "testReady", TestResultsIndex.Outcome.PASSED, 2000, null),
+                        new TestResultsIndex.TestResult("com.demo.ModelTest", "testDelete", TestResultsIndex.Outcome.SKIPPED, 0,
+                                null)));
+            }
+
+            // Test 1. Skipped tests are not recorded. Results of a run already recorded are ignored.
+            history.resultsChanged("historyApp", resultFile(1004, new TestResultsIndex.TestResult("com.demo.HealthIT", "testReady",
+                    TestResultsIndex.Outcome.FAILED, 5, null)));
+            Map<String, TestHistory.TestStats> stats = history.getStats("historyApp");
+            Assertions.assertTrue(stats.size() == 3 && stats.get("com.demo.HealthIT#testReady").getFailureCount() == 0,
+                    "Unexpected stats: " + stats);
+
+            // Test 2. The slowest tests, the duration regressions and the flaky tests are found.
+            List<TestHistory.TestStats> slowest = history.getSlowestTests("historyApp", 2);
+            Assertions.assertTrue(slowest.size() == 2 && slowest.get(0).getTestId().equals("com.demo.HealthIT#testReady")
+                    && slowest.get(1).getAverageMs() == 160, "Unexpected slowest tests: " + slowest);
+            List<TestHistory.TestStats> regressions = history.getDurationRegressions("historyApp");
+            Assertions.assertTrue(regressions.size() == 1 && regressions.get(0).getTestId().equals("com.demo.ModelTest#testGet")
+                    && regressions.get(0).getBaselineMs() == 100, "Unexpected regressions: " + regressions);
+            List<TestHistory.TestStats> flaky = history.getFlakyTests("historyApp");
+            Assertions.assertTrue(flaky.size() == 1 && flaky.get(0).getTestId().equals("com.demo.ModelTest#testPut"),
+                    "Unexpected flaky tests: " + flaky);
+
+            // Test 3. The history is read back from disk.
+            TestHistory reloaded = new TestHistory(storeDir);
+            List<TestHistory.Run> runs = reloaded.getRuns("historyApp", "com.demo.ModelTest#testPut");
+            Assertions.assertTrue(runs.size() == 5 && runs.get(1).isFailed() && runs.get(4).getTime() == 1004,
+                    "Unexpected runs: " + runs);
+            Assertions.assertTrue(reloaded.getReport("historyApp").contains("com.demo.ModelTest#testPut: failed 2 of 5 runs"),
+                    "Unexpected report: " + reloaded.getReport("historyApp"));
+
+            // Test 4. The number of runs kept per test is limited.
+            for (int run = 0; run < TestHistory.MAX_RUNS_PER_TEST; run++) {
+                reloaded.resultsChanged("historyApp", resultFile(2000 + run, new TestResultsIndex.TestResult("com.demo.ModelTest",
+                        "testPut", TestResultsIndex.Outcome.PASSED, 50, null)));
+            }
+            runs = reloaded.getRuns("historyApp", "com.demo.ModelTest#testPut");
+            Assertions.assertTrue(runs.size() == TestHistory.MAX_RUNS_PER_TEST && runs.get(0).getTime() == 2000,
+                    "Unexpected runs: " + runs.size());
+            Assertions.assertTrue(reloaded.getFlakyTests("historyApp").isEmpty(), "The test should no longer be flaky.");
+
+            // Test 5. The end of the dev mode test runs is detected from the terminal output.
+            List<String> finishedRuns = new ArrayList<String>();
+            TestRunTracker tracker = new TestRunTracker(() -> finishedRuns.add("run"));
+            tracker.write(("[INFO] Running unit tests...\n[INFO] Unit tests finished.\n[INFO] Integration tests failed: There are "
+                    + "test failures.\n[INFO] Tests will run automatically when changes are detected.\n").getBytes(StandardCharsets.UTF_8));
+            Assertions.assertTrue(finishedRuns.size() == 2, "Unexpected test run ends: " + finishedRuns);
+
+            // Test 6. When all result files are read again, only the tests of the files modified since their last run are recorded.
+            List<TestResultsIndex.ChangedFile> reread = new ArrayList<TestResultsIndex.ChangedFile>();
+            reread.addAll(resultFile(1003, new TestResultsIndex.TestResult("com.demo.ModelTest", "testGet",
+                    TestResultsIndex.Outcome.PASSED, 100, null)));
+            reread.addAll(resultFile(3000, new TestResultsIndex.TestResult("com.demo.HealthIT", "testReady",
+                    TestResultsIndex.Outcome.PASSED, 2000, null)));
+            reloaded.resultsChanged("historyApp", reread);
+            Assertions.assertTrue(reloaded.getRuns("historyApp", "com.demo.ModelTest#testGet").size() == 5,
+                    "A unit test run that was already recorded was recorded again.");
+            Assertions.assertTrue(reloaded.getRuns("historyApp", "com.demo.HealthIT#testReady").size() == 6,
+                    "The new integration test run was not recorded.");
+        } finally {
+            try (Stream<Path> paths = Files.walk(storeDir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * Tests that the debugger attach is triggered by the dev mode debug port message, and stops waiting when cancelled.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testDebugPortSignal() throws Exception {
+        // Test 1. The debug port is read from the dev mode message, even if the message is written in several chunks.
+        DebugPortSignal signal = new DebugPortSignal();
+        signal.write("[INFO] CWWKF0011I: The defaultServer server is ready.\n[INFO] Liberty debug po".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertTrue(!signal.isDone(), "The signal should not be done before the debug port message is complete.");
+        signal.write("rt: [ 63624 ]\r\n".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertTrue(signal.isDone(), "The signal should be done.");
+        Integer port = signal.await(1, TimeUnit.SECONDS);
+        Assertions.assertTrue(port != null && port == 63624, "Unexpected debug port: " + port);
+
+        // Test 2. A thread waiting for the debug port returns as soon as the signal is cancelled.
+        DebugPortSignal cancelled = new DebugPortSignal();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> waiter = executor.submit(() -> cancelled.await(1, TimeUnit.MINUTES));
+            cancelled.cancel();
+            Assertions.assertTrue(waiter.get(5, TimeUnit.SECONDS) == null, "The wait should return null when cancelled.");
+            Assertions.assertTrue(cancelled.isCancelled(), "The signal should be cancelled.");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Test 3. The wait times out if the message is not printed.
+        DebugPortSignal silent = new DebugPortSignal();
+        silent.write("[INFO] Liberty debug port: [ none ]\n".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertThrows(java.util.concurrent.TimeoutException.class, () -> silent.await(10, TimeUnit.MILLISECONDS));
+
+        // Test 4. The delay between attach attempts doubles, up to the maximum delay.
+        long backoff = DebugModeHandler.ATTACH_INITIAL_BACKOFF_MS;
+        List<Long> delays = new ArrayList<Long>();
+        for (int i = 0; i < 8; i++) {
+            delays.add(backoff);
+            backoff = DebugModeHandler.getNextAttachBackoff(backoff);
+        }
+        Assertions.assertTrue(delays.equals(Arrays.asList(10L, 20L, 40L, 80L, 160L, 320L, 500L, 500L)), "Unexpected delays: " + delays);
+    }
+
+    /**
+     * Tests that the project terminal tab lifecycle is tracked without the UI thread, and that its listeners and futures are notified.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testProjectTabLifecycle() throws Exception {
+        ProjectTabLifecycle lifecycle = new ProjectTabLifecycle("lifecycleApp");
+        List<String> events = new CopyOnWriteArrayList<String>();
+        lifecycle.addListener(new ProjectTabListener() {
+            @Override
+            public void stateChanged(String projectName, ProjectTab.State oldState, ProjectTab.State newState) {
+                events.add(oldState + "->" + newState);
+            }
+
+            @Override
+            public void terminated(String projectName) {
+                events.add(projectName + " terminated");
+            }
+        });
+        CompletableFuture<ProjectTab.State> ready = lifecycle.whenReady();
+        CompletableFuture<Void> terminated = lifecycle.whenTerminated();
+
+        // Test 1. The state only moves forward. Concurrent updates are applied once.
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> updates = new ArrayList<Future<Boolean>>();
+            for (int i = 0; i < 8; i++) {
+                updates.add(executor.submit(() -> lifecycle.advanceState(ProjectTab.State.STARTED)));
+            }
+            int applied = 0;
+            for (Future<Boolean> update : updates) {
+                applied += update.get(5, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            Assertions.assertTrue(applied == 1, "Unexpected number of applied updates: " + applied);
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertTrue(!lifecycle.advanceState(ProjectTab.State.STARTED), "The state should not move back.");
+        Assertions.assertTrue(!ready.isDone(), "The ready future should not be done.");
+
+        // Test 2. The ready future completes when dev mode is ready.
+        lifecycle.advanceState(ProjectTab.State.READY);
+        Assertions.assertTrue(ready.get(1, TimeUnit.SECONDS) == ProjectTab.State.READY, "The ready future should be completed.");
+        Assertions.assertTrue(events.equals(Arrays.asList("INACTIVE->STARTED", "STARTED->READY")), "Unexpected events: " + events);
+
+        // Test 3. Once stopped, the start states are ignored.
+        lifecycle.setState(ProjectTab.State.STOPPED);
+        Assertions.assertTrue(!lifecycle.advanceState(ProjectTab.State.READY) && lifecycle.getState() == ProjectTab.State.STOPPED,
+                "Unexpected state: " + lifecycle.getState());
+
+        // Test 4. Termination is reported once, and cancelling a returned future does not affect the lifecycle.
+        lifecycle.whenTerminated().cancel(false);
+        Assertions.assertTrue(!lifecycle.isTerminated() && !terminated.isDone(), "The lifecycle should not be terminated.");
+        lifecycle.terminate();
+        lifecycle.terminate();
+        terminated.get(1, TimeUnit.SECONDS);
+        Assertions.assertTrue(lifecycle.isTerminated() && lifecycle.whenTerminated().isDone(), "The lifecycle should be terminated.");
+        Assertions.assertTrue(events.equals(Arrays.asList("INACTIVE->STARTED", "STARTED->READY", "READY->STOPPED",
+                "lifecycleApp terminated")), "Unexpected events: " + events);
+
+        // Test 5. A terminal that ends before dev mode is ready cancels the ready future.
+        ProjectTabLifecycle failed = new ProjectTabLifecycle("failedApp");
+        CompletableFuture<ProjectTab.State> neverReady = failed.whenReady();
+        failed.advanceState(ProjectTab.State.STARTED);
+        failed.terminate();
+        Assertions.assertTrue(neverReady.isCancelled() || neverReady.isCompletedExceptionally(),
+                "The ready future should be cancelled when the terminal ends first.");
+    }
+
+    /**
+     * Tests that debug ports are held by a project until released, that ports in use are skipped, and that a restarted project gets
+     * its previous port back.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testDebugPortAllocator() throws Exception {
+        DebugPortAllocator allocator = new DebugPortAllocator();
+
+        // Test 1. Ports are handed out in order from the range, and are held by the project they were handed out to.
+        int port1 = allocator.allocate("app1", 47100, 47104);
+        int port2 = allocator.allocate("app2", 47100, 47104);
+        Assertions.assertTrue(port1 != port2 && port1 >= 47100 && port2 <= 47104, "Unexpected ports: " + port1 + ", " + port2);
+        Assertions.assertTrue("app1".equals(allocator.getHolder(port1)) && allocator.getPort("app2") == port2,
+                "Unexpected holders: " + allocator);
+
+        // Test 2. A released port is handed back to the same project when it restarts, not to other projects.
+        allocator.release("app1", port1);
+        Assertions.assertTrue(allocator.getHolder(port1) == null, "The port should be released: " + allocator);
+        int port3 = allocator.allocate("app3", 47100, 47104);
+        Assertions.assertTrue(port3 != port1 && port3 != port2, "A port last held by another project was handed out: " + port3);
+        Assertions.assertTrue(allocator.allocate("app1", 47100, 47104) == port1, "The restarted project should get its port back.");
+
+        // Test 3. A stale release for a previous run does not release the port of the current run.
+        allocator.release("app2", port1);
+        Assertions.assertTrue("app1".equals(allocator.getHolder(port1)), "The port of another project was released: " + allocator);
+
+        // Test 4. Ports in use by other processes are skipped.
+        allocator.release("app1");
+        try (ServerSocket busy = new ServerSocket(port1)) {
+            int port4 = allocator.allocate("app1", 47100, 47104);
+            Assertions.assertTrue(port4 != port1, "A port in use was handed out: " + port4);
+        }
+
+        // Test 5. A port requested in the start parameters is taken from the project holding it.
+        String previousHolder = allocator.reserve("app4", port2);
+        Assertions.assertTrue("app2".equals(previousHolder) && allocator.getPort("app2") == null
+                && "app4".equals(allocator.getHolder(port2)), "Unexpected holders: " + allocator);
+
+        // Test 6. When the whole range is in use, a free port chosen by the system is handed out.
+        int port5 = allocator.allocate("app5", 47100, 47100);
+        int port6 = allocator.allocate("app6", 47100, 47100);
+        Assertions.assertTrue(port5 != port6 && port6 > 0 && allocator.getHolder(port6).equals("app6"), "Unexpected ports: " + allocator);
+    }
+
+    /**
+     * Tests that a parent of several Liberty server modules is debugged through each of its server modules, that the server.env files
+     * of all deployed servers are found, and that a debug port in the start parameters is dropped when several servers are debugged.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testMultiServerDebugSupport() throws Exception {
+        DebugModeHandler debugModeHandler = new DebugModeHandler(null);
+        Path tmpDir = Files.createTempDirectory("multiServerDebug");
+        try {
+            Project server1 = mock(Project.class);
+            when(server1.getName()).thenReturn("server1");
+            when(server1.getPath()).thenReturn(tmpDir.resolve("server1").toString());
+            when(server1.getBuildType()).thenReturn(Project.BuildType.MAVEN);
+            Project server2 = mock(Project.class);
+            when(server2.getName()).thenReturn("server2");
+            when(server2.getPath()).thenReturn(tmpDir.resolve("server2").toString());
+            when(server2.getBuildType()).thenReturn(Project.BuildType.GRADLE);
+            Project parent = mock(Project.class);
+            when(parent.getName()).thenReturn("parent");
+            when(parent.isParentOfServerModule()).thenReturn(true);
+            when(parent.getChildLibertyServerProjects()).thenReturn(Arrays.asList(server1, server2));
+
+            // Test 1. A parent is debugged through all of its server modules, and a server module through itself.
+            Assertions.assertTrue(debugModeHandler.getLibertyServerProjects(parent).equals(Arrays.asList(server1, server2)),
+                    "Unexpected server projects: " + debugModeHandler.getLibertyServerProjects(parent));
+            Assertions.assertTrue(debugModeHandler.getLibertyServerProjects(server1).equals(Arrays.asList(server1)),
+                    "A server module should be debugged through itself.");
+
+            // Test 2. Servers that were not deployed yet are skipped.
+            Assertions.assertTrue(debugModeHandler.getServerEnvPaths(parent).isEmpty(), "No server.env file should be found.");
+
+            // Test 3. The server.env files of all deployed servers are found, including several servers of the same module.
+            Path serverEnv1 = DebugModeHandler.getServersPath(server1).resolve("serverA").resolve("server.env");
+            Path serverEnv2 = DebugModeHandler.getServersPath(server1).resolve("serverB").resolve("server.env");
+            Path serverEnv3 = DebugModeHandler.getServersPath(server2).resolve("defaultServer").resolve("server.env");
+            for (Path serverEnv : Arrays.asList(serverEnv1, serverEnv2, serverEnv3)) {
+                Files.createDirectories(serverEnv.getParent());
+                Files.write(serverEnv, "WLP_DEBUG_ADDRESS=7777".getBytes(StandardCharsets.UTF_8));
+            }
+            List<Path> serverEnvPaths = debugModeHandler.getServerEnvPaths(parent);
+            Assertions.assertTrue(serverEnvPaths.equals(Arrays.asList(serverEnv1, serverEnv2, serverEnv3)),
+                    "Unexpected server.env files: " + serverEnvPaths);
+            Assertions.assertTrue(serverEnv3.toString().contains(Paths.get("build", "wlp", "usr", "servers").toString()),
+                    "Unexpected Gradle servers path: " + serverEnv3);
+
+            // Test 4. The debug port parameter is dropped, and the other parameters are kept.
+            Assertions.assertTrue("-DhotTests=true -DskipTests".equals(
+                    DebugModeHandler.removeDebugPortParm(" -DhotTests=true  -DdebugPort=7778 -DskipTests ")),
+                    "The Maven debug port parameter was not removed.");
+            Assertions.assertTrue("--hotTests".equals(DebugModeHandler.removeDebugPortParm("--libertyDebugPort=7778 --hotTests")),
+                    "The Gradle debug port parameter was not removed.");
+            Assertions.assertTrue("".equals(DebugModeHandler.removeDebugPortParm("")), "Empty parameters should stay empty.");
+        } finally {
+            try (Stream<Path> paths = Files.walk(tmpDir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * Tests that each server module of a parent project debugged as a whole is started through its aggregator project, with the user
+     * parameters of the parent's launch and its own debug port.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testServerModuleDebugCommands() throws Exception {
+        Path workspaceDir = Files.createTempDirectory("serverModuleDebug");
+        try {
+            // Modules 0 and 4 hold Liberty server configuration.
+            Map<String, IProject> workspace = createSyntheticWorkspace(workspaceDir, 1, 5);
+            boolean windows = Utils.isWindows();
+            for (String module : new String[] { "module0", "module4" }) {
+                Path moduleDir = workspaceDir.resolve("parent0").resolve(module);
+                Files.createFile(moduleDir.resolve(windows ? "mvnw.cmd" : "mvnw"));
+                Path wrapperDir = Files.createDirectories(moduleDir.resolve(".mvn").resolve("wrapper"));
+                Files.createFile(wrapperDir.resolve("maven-wrapper.jar"));
+                Files.createFile(wrapperDir.resolve("maven-wrapper.properties"));
+            }
+
+            DevModeOperations devModeOps = new DevModeOperations();
+            WorkspaceProjectsModel model = devModeOps.getProjectModel();
+            model.createNewCompleteWorkspaceModel(new ArrayList<IProject>(workspace.values()), true);
+            Project parent = model.getProject("parent0");
+
+            // Test 1. The parent is debugged through both of its server modules.
+            List<String> serverNames = new DebugModeHandler(null).getLibertyServerProjects(parent).stream().map(Project::getName)
+                    .sorted().collect(Collectors.toList());
+            Assertions.assertTrue(serverNames.equals(Arrays.asList("parent0-module0", "parent0-module4")),
+                    "Unexpected server modules: " + serverNames);
+
+            // Test 2. Each module is built through the parent pom, keeps the user parameters, and gets its own debug port.
+            String userParms = "-DhotTests=true -DdebugPort=7777";
+            int port = 47200;
+            for (String module : new String[] { "module0", "module4" }) {
+                Project serverProject = model.getProject("parent0-" + module);
+                String cmd = devModeOps.getServerModuleDevModeCommand(serverProject, userParms, String.valueOf(port));
+                String mvnw = workspaceDir.resolve("parent0").resolve(module).resolve(windows ? "mvnw.cmd" : "mvnw").toString();
+                String expected = mvnw + " io.openliberty.tools:liberty-maven-plugin:dev -f ../pom.xml -am -pl " + module
+                        + " -DhotTests=true -DdebugPort=" + port;
+                Assertions.assertTrue(cmd.contains(expected), "Unexpected command for " + module + ": " + cmd);
+                Assertions.assertTrue(!cmd.contains("7777"), "The debug port of the parent's launch was used: " + cmd);
+                port++;
+            }
+
+            // Test 3. The parameters of the parent's launch that select the project to build are dropped whatever their spacing and
+            // order. Parameters that only contain the same text are kept.
+            userParms = " -DhotTests=true   -pl  other -Dflag=-am  -f ../../pom.xml --also-make --projects=other -DdebugPort=7777 ";
+            Project serverProject = model.getProject("parent0-module0");
+            String cmd = devModeOps.getServerModuleDevModeCommand(serverProject, userParms, "47300");
+            String expected = "io.openliberty.tools:liberty-maven-plugin:dev -f ../pom.xml -am -pl module0 -DhotTests=true -Dflag=-am "
+                    + "-DdebugPort=47300";
+            Assertions.assertTrue(cmd.contains(expected), "Unexpected command for module0: " + cmd);
+        } finally {
+            CommandBuilder.clearCache();
+            try (Stream<Path> paths = Files.walk(workspaceDir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * Tests that server.env files and their entries are cached, and read again only when the server directories or the files change.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testServerEnvCache() throws Exception {
+        ServerEnvCache cache = new ServerEnvCache();
+        Path serversDir = Files.createTempDirectory("serverEnvCache");
+        try {
+            Path serverEnv1 = serversDir.resolve("server1").resolve("server.env");
+            Files.createDirectories(serverEnv1.getParent());
+            Files.write(serverEnv1, Arrays.asList("# Generated by dev mode", "WLP_DEBUG_ADDRESS=1111", "WLP_DEBUG_SUSPEND=n",
+                    "WLP_DEBUG_ADDRESS=2222"), StandardCharsets.UTF_8);
+
+            // Test 1. The server.env files are found once, and returned from the cache while the directories do not change.
+            List<Path> paths = cache.getServerEnvPaths(serversDir);
+            Assertions.assertTrue(paths.equals(Arrays.asList(serverEnv1)), "Unexpected server.env files: " + paths);
+            Assertions.assertTrue(cache.getServerEnvPaths(serversDir) == paths, "The server.env files should have been cached.");
+            Assertions.assertTrue(cache.getServerEnvPaths(serversDir.resolve("missing")).isEmpty(),
+                    "No server.env file should be found in a missing directory.");
+
+            // Test 2. A server added to the servers directory is found.
+            Path serverEnv2 = serversDir.resolve("server2").resolve("server.env");
+            Files.createDirectories(serverEnv2.getParent());
+            Files.write(serverEnv2, "WLP_DEBUG_ADDRESS=3333".getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(serversDir, FileTime.fromMillis(Files.getLastModifiedTime(serversDir).toMillis() + 2000));
+            paths = cache.getServerEnvPaths(serversDir);
+            Assertions.assertTrue(paths.equals(Arrays.asList(serverEnv1, serverEnv2)), "Unexpected server.env files: " + paths);
+
+            // Test 3. The last value of a key is returned, comments are skipped, and the entries are cached.
+            Map<String, String> values = cache.getValues(serverEnv1);
+            Assertions.assertTrue("2222".equals(values.get("WLP_DEBUG_ADDRESS")) && "n".equals(values.get("WLP_DEBUG_SUSPEND"))
+                    && values.size() == 2, "Unexpected server.env entries: " + values);
+            Assertions.assertTrue(cache.getValues(serverEnv1) == values, "The server.env entries should have been cached.");
+
+            // Test 4. A rewritten file is read again.
+            FileTime lastModified = Files.getLastModifiedTime(serverEnv1);
+            Files.write(serverEnv1, "WLP_DEBUG_ADDRESS=4444".getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(serverEnv1, FileTime.fromMillis(lastModified.toMillis() + 2000));
+            Assertions.assertTrue("4444".equals(cache.getValue(serverEnv1, "WLP_DEBUG_ADDRESS")),
+                    "The rewritten server.env file was not read again: " + cache.getValues(serverEnv1));
+
+            // Test 5. A server.env file removed from a server directory is no longer returned.
+            Files.delete(serverEnv2);
+            Files.setLastModifiedTime(serverEnv2.getParent(),
+                    FileTime.fromMillis(Files.getLastModifiedTime(serverEnv2.getParent()).toMillis() + 2000));
+            paths = cache.getServerEnvPaths(serversDir);
+            Assertions.assertTrue(paths.equals(Arrays.asList(serverEnv1)), "Unexpected server.env files: " + paths);
+            Assertions.assertTrue(cache.getValues(serverEnv2).isEmpty(), "A deleted server.env file should have no entries.");
+        } finally {
+            try (Stream<Path> paths = Files.walk(serversDir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * Returns a changed result file holding the input results.
+     * 
+     * @param lastModified The time the file was modified.
+     * @param results The results in the file.
+     * 
+     * @return A list holding the changed result file.
+     */
+    private List<TestResultsIndex.ChangedFile> resultFile(long lastModified, TestResultsIndex.TestResult... results) {
+        return Arrays.asList(new TestResultsIndex.ChangedFile(Path.of("TEST-" + lastModified + ".xml"), lastModified,
+                Arrays.asList(results)));
+    }
+
+    /**
+     * Tests that the Maven daemon client is only used for projects without a Maven wrapper.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testMavenDaemonCommandResolution() throws Exception {
+        Path workspaceDir = Files.createTempDirectory("daemonWorkspace");
+        try {
+            boolean windows = Utils.isWindows();
+            Path binDir = Files.createDirectories(workspaceDir.resolve("mvnd").resolve("bin"));
+            Path mvnd = Files.createFile(binDir.resolve(windows ? "mvnd.cmd" : "mvnd"));
+            String pathEnv = binDir.toString();
+
+            // Test 1. A project without a wrapper uses the Maven daemon client.
+            Path plainDir = Files.createDirectories(workspaceDir.resolve("plainApp"));
+            String cmd = CommandBuilder.getMavenDaemonCommandLine(plainDir.toString(), "liberty:dev", pathEnv, false);
+            Assertions.assertTrue(cmd != null && cmd.startsWith(mvnd.toString()),
+                    "The Maven daemon should have been used. Command: " + cmd);
+
+            // Test 2. A project with a wrapper does not use the Maven daemon client.
+            Path wrapperDir = Files.createDirectories(workspaceDir.resolve("wrapperApp"));
+            Files.createFile(wrapperDir.resolve(windows ? "mvnw.cmd" : "mvnw"));
+            Path wrapperFilesDir = Files.createDirectories(wrapperDir.resolve(".mvn").resolve("wrapper"));
+            Files.createFile(wrapperFilesDir.resolve("maven-wrapper.jar"));
+            Files.createFile(wrapperFilesDir.resolve("maven-wrapper.properties"));
+            cmd = CommandBuilder.getMavenDaemonCommandLine(wrapperDir.toString(), "liberty:dev", pathEnv, false);
+            Assertions.assertTrue(cmd == null, "The Maven daemon should not have been used. Command: " + cmd);
+
+            // Test 3. No Maven daemon client in the PATH.
+            cmd = CommandBuilder.getMavenDaemonCommandLine(plainDir.toString(), "liberty:dev", workspaceDir.toString(), false);
+            Assertions.assertTrue(cmd == null, "No Maven daemon command should have been found. Command: " + cmd);
+        } finally {
+            CommandBuilder.clearCache();
+            try (Stream<Path> paths = Files.walk(workspaceDir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * Tests that only changes to the build files, and Liberty server configuration files added to or removed from the configuration
+     * locations, require a project to be classified again.
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void testBuildConfigDeltaVisitor() throws Exception {
+        IPath projectLocation = new org.eclipse.core.runtime.Path("/ws/app");
+        ServerConfigDetector.ConfigLocations locations = new ServerConfigDetector.ConfigLocations();
+        locations.addConfigDir(projectLocation.append("src/main/liberty/config"));
+        locations.addConfigFile(projectLocation.append("config/my.xml"));
+
+        // Test 1. Source and server.xml content changes do not require classification. Unrelated folders are not visited.
+        IResourceDelta sourceFolder = mockDelta("src/main/java", IResource.FOLDER, IResourceDelta.CHANGED, 0);
+        IResourceDelta configFolder = mockDelta("src/main/liberty/config", IResource.FOLDER, IResourceDelta.CHANGED, 0,
+                mockDelta("src/main/liberty/config/server.xml", IResource.FILE, IResourceDelta.CHANGED, IResourceDelta.CONTENT));
+        IResourceDelta projectDelta = mockDelta("", IResource.PROJECT, IResourceDelta.CHANGED, 0,
+                mockDelta("src", IResource.FOLDER, IResourceDelta.CHANGED, 0, sourceFolder,
+                        mockDelta("src/main/liberty", IResource.FOLDER, IResourceDelta.CHANGED, 0, configFolder)));
+        BuildConfigDeltaVisitor visitor = new BuildConfigDeltaVisitor(projectLocation, locations);
+        projectDelta.accept(visitor);
+        Assertions.assertTrue(!visitor.isReclassificationNeeded(), "Content changes should not have required classification.");
+        Assertions.assertTrue(!new BuildConfigDeltaVisitor(projectLocation, locations).visit(sourceFolder),
+                "Folder src/main/java should not have been visited.");
+
+        // Test 2. A build file change requires classification.
+        projectDelta = mockDelta("", IResource.PROJECT, IResourceDelta.CHANGED, 0,
+                mockDelta("pom.xml", IResource.FILE, IResourceDelta.CHANGED, IResourceDelta.CONTENT));
+        visitor = new BuildConfigDeltaVisitor(projectLocation, locations);
+        projectDelta.accept(visitor);
+        Assertions.assertTrue(visitor.isBuildFileChanged() && visitor.isReclassificationNeeded(),
+                "A pom.xml change should have required classification.");
+
+        // Test 3. A server.env added to the configuration directory requires classification.
+        projectDelta = mockDelta("", IResource.PROJECT, IResourceDelta.CHANGED, 0,
+                mockDelta("src", IResource.FOLDER, IResourceDelta.CHANGED, 0,
+                        mockDelta("src/main/liberty", IResource.FOLDER, IResourceDelta.CHANGED, 0,
+                                mockDelta("src/main/liberty/config", IResource.FOLDER, IResourceDelta.CHANGED, 0,
+                                        mockDelta("src/main/liberty/config/server.env", IResource.FILE, IResourceDelta.ADDED, 0)))));
+        visitor = new BuildConfigDeltaVisitor(projectLocation, locations);
+        projectDelta.accept(visitor);
+        Assertions.assertTrue(!visitor.isBuildFileChanged() && visitor.isReclassificationNeeded(),
+                "An added server.env should have required classification.");
+
+        // Test 4. A configured server.xml file removed from its directory requires classification.
+        projectDelta = mockDelta("", IResource.PROJECT, IResourceDelta.CHANGED, 0, mockDelta("config", IResource.FOLDER,
+                IResourceDelta.CHANGED, 0, mockDelta("config/my.xml", IResource.FILE, IResourceDelta.REMOVED, 0)));
+        visitor = new BuildConfigDeltaVisitor(projectLocation, locations);
+        projectDelta.accept(visitor);
+        Assertions.assertTrue(visitor.isReclassificationNeeded(), "A removed config/my.xml should have required classification.");
+    }
+
+    /**
+     * Creates a mocked resource delta that visits the input child deltas if requested by the visitor.
+     * 
+     * @param projectRelativePath The project relative path of the resource.
+     * @param type The resource type.
+     * @param kind The delta kind.
+     * @param flags The delta flags.
+     * @param children The child deltas.
+     * 
+     * @return A mocked resource delta.
+     * 
+     * @throws CoreException
+     */
+    private IResourceDelta mockDelta(String projectRelativePath, int type, int kind, int flags, IResourceDelta... children)
+            throws CoreException {
+        IPath path = new org.eclipse.core.runtime.Path(projectRelativePath);
+        IResource resource = mock(IResource.class);
+        when(resource.getType()).thenReturn(type);
+        when(resource.getName()).thenReturn(path.lastSegment());
+        when(resource.getProjectRelativePath()).thenReturn(path);
+
+        IResourceDelta delta = mock(IResourceDelta.class);
+        when(delta.getResource()).thenReturn(resource);
+        when(delta.getKind()).thenReturn(kind);
+        when(delta.getFlags()).thenReturn(flags);
+        when(delta.getAffectedChildren()).thenReturn(children);
+        doAnswer(invocation -> {
+            IResourceDeltaVisitor visitor = invocation.getArgument(0);
+            if (visitor.visit(delta)) {
+                for (IResourceDelta child : children) {
+                    child.accept(visitor);
+                }
+            }
+            return null;
+        }).when(delta).accept(any(IResourceDeltaVisitor.class));
+
+        return delta;
+    }
+
+    /**
+     * Asserts that the input model is the same as a model that is completely rebuilt from the input workspace projects.
+     * 
+     * @param workspace The workspace projects.
+     * @param incrementalModel The incrementally updated model.
+     * @param testCase The test case description.
+     */
+    private void assertSameWorkspaceModel(Map<String, IProject> workspace, WorkspaceProjectsModel incrementalModel, String testCase) {
+        WorkspaceProjectsModel fullModel = new WorkspaceProjectsModel();
+        fullModel.createNewCompleteWorkspaceModel(new ArrayList<IProject>(workspace.values()), true);
+
+        List<String> fullList = fullModel.getSortedDashboardProjectList();
+        List<String> incrementalList = incrementalModel.getSortedDashboardProjectList();
+        Assertions.assertTrue(fullList.equals(incrementalList), "Test case: " + testCase
+                + ". The dashboard project lists do not match. Full: " + fullList + ". Incremental: " + incrementalList);
+
+        for (String name : workspace.keySet()) {
+            String fullProject = describeProject(fullModel.getProject(name));
+            String incrementalProject = describeProject(incrementalModel.getProject(name));
+            Assertions.assertTrue(fullProject.equals(incrementalProject), "Test case: " + testCase + ". Project " + name
+                    + " does not match. Full: " + fullProject + ". Incremental: " + incrementalProject);
+        }
+    }
+
+    /**
+     * Returns a string describing the model data of the input project.
+     * 
+     * @param project The project to describe.
+     * 
+     * @return A string describing the model data of the input project.
+     */
+    private String describeProject(Project project) {
+        if (project == null) {
+            return "<null>";
+        }
+
+        Set<String> children = project.getChildDirProjects().stream().map(Project::getName).collect(Collectors.toCollection(TreeSet::new));
+        Set<String> peers = project.getPeerDirProjects().stream().map(Project::getName).collect(Collectors.toCollection(TreeSet::new));
+        Project parent = project.getParentDirProject();
+
+        return "name: " + project.getName() + ". buildType: " + project.getBuildType() + ". serverModule: "
+                + project.isLibertyServerModule() + ". parentOfServerModule: " + project.isParentOfServerModule() + ". parent: "
+                + (parent == null ? "<null>" : parent.getName()) + ". children: " + children + ". peers: " + peers;
+    }
+
+    /**
+     * Creates a mocked project and adds it to the input workspace. The project's folders are derived from the locations of the other
+     * workspace projects.
+     * 
+     * @param workspace The workspace projects.
+     * @param openState The open state of the workspace projects.
+     * @param name The project name.
+     * @param location The project location.
+     * @param buildNature The Maven or Gradle nature.
+     * @param hasServerConfig True if the project contains Liberty server configuration.
+     * 
+     * @return A mocked project.
+     * 
+     * @throws CoreException
+     */
+    private IProject mockWorkspaceProject(Map<String, IProject> workspace, Map<String, Boolean> openState, String name, String location,
+            String buildNature, boolean hasServerConfig) throws CoreException {
+        IProject iProject = mock(IProject.class);
+        IPath path = new org.eclipse.core.runtime.Path(location);
+        openState.put(name, true);
+
+        when(iProject.getName()).thenReturn(name);
+        when(iProject.getLocation()).thenReturn(path);
+        when(iProject.getRawLocation()).thenReturn(path);
+        when(iProject.isOpen()).thenAnswer(invocation -> openState.get(name));
+        when(iProject.exists()).thenAnswer(invocation -> workspace.containsKey(name));
+
+        // The Liberty nature is reported as present to avoid updates to the project description.
+        IProjectDescription description = mock(IProjectDescription.class);
+        when(description.hasNature(buildNature)).thenReturn(true);
+        when(description.hasNature(LibertyNature.NATURE_ID)).thenReturn(true);
+        when(description.getNatureIds()).thenReturn(new String[] { buildNature, LibertyNature.NATURE_ID });
+        when(iProject.getDescription()).thenReturn(description);
+
+        IFile buildFile = mock(IFile.class);
+        when(buildFile.exists()).thenReturn(true);
+        when(iProject.getFile(anyString())).thenReturn(buildFile);
+
+        IFile configFile = mock(IFile.class);
+        when(configFile.exists()).thenReturn(hasServerConfig);
+        when(iProject.getFile(any(IPath.class))).thenReturn(configFile);
+
+        when(iProject.members()).thenAnswer(invocation -> {
+            List<IResource> folders = new ArrayList<IResource>();
+            for (IProject wsProject : workspace.values()) {
+                IPath wsProjectPath = wsProject.getLocation();
+                if (wsProjectPath.removeLastSegments(1).equals(path)) {
+                    IFolder folder = mock(IFolder.class);
+                    when(folder.getType()).thenReturn(IResource.FOLDER);
+                    when(folder.getLocation()).thenReturn(wsProjectPath);
+                    folders.add(folder);
+                }
+            }
+            return folders.toArray(new IResource[folders.size()]);
+        });
+
+        List<String> files = hasServerConfig ? Arrays.asList("src/main/liberty/config/server.xml") : new ArrayList<String>();
+        stubResourceWalk(iProject, name, () -> files);
+
+        workspace.put(name, iProject);
+        return iProject;
+    }
+
+    /**
+     * Stubs the resource proxy walk of the input project. The walk visits the folders and files that lead to the input files.
+     * 
+     * @param iProject The project to stub.
+     * @param name The project name.
+     * @param files Supplies the project relative paths of the files in the project.
+     * 
+     * @throws CoreException
+     */
+    private void stubResourceWalk(IProject iProject, String name, Supplier<List<String>> files) throws CoreException {
+        doAnswer(invocation -> {
+            IResourceProxyVisitor visitor = invocation.getArgument(0);
+            visitResource(visitor, name, org.eclipse.core.runtime.Path.EMPTY, IResource.PROJECT, files.get());
+            return null;
+        }).when(iProject).accept(any(IResourceProxyVisitor.class), anyInt());
+    }
+
+    /**
+     * Visits the input resource and, if requested by the visitor, its members.
+     * 
+     * @param visitor The visitor.
+     * @param projectName The project name.
+     * @param relativePath The project relative path of the resource.
+     * @param type The resource type.
+     * @param files The project relative paths of the files in the project.
+     * 
+     * @throws CoreException
+     */
+    private void visitResource(IResourceProxyVisitor visitor, String projectName, IPath relativePath, int type, List<String> files)
+            throws CoreException {
+        IResourceProxy proxy = mock(IResourceProxy.class);
+        when(proxy.getType()).thenReturn(type);
+        when(proxy.getName()).thenReturn(type == IResource.PROJECT ? projectName : relativePath.lastSegment());
+        when(proxy.requestFullPath()).thenReturn(new org.eclipse.core.runtime.Path("/" + projectName).append(relativePath));
+        if (!visitor.visit(proxy) || type == IResource.FILE) {
+            return;
+        }
+
+        Map<String, Integer> members = new TreeMap<String, Integer>();
+        for (String file : files) {
+            IPath filePath = new org.eclipse.core.runtime.Path(file);
+            int depth = relativePath.segmentCount();
+            if (filePath.segmentCount() > depth && relativePath.isPrefixOf(filePath)) {
+                members.put(filePath.segment(depth), filePath.segmentCount() == depth + 1 ? IResource.FILE : IResource.FOLDER);
+            }
+        }
+        for (Map.Entry<String, Integer> member : members.entrySet()) {
+            visitResource(visitor, projectName, relativePath.append(member.getKey()), member.getValue(), files);
+        }
+    }
+
     /**
      * Returns a list of launch configurations.
      * 